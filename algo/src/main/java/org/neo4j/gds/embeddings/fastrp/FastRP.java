@@ -22,6 +22,7 @@ package org.neo4j.gds.embeddings.fastrp;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -29,7 +30,7 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
@@ -46,16 +47,17 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
     private static final int MIN_BATCH_SIZE = 1;
     private static final int SPARSITY = 3;
     private static final double ENTRY_PROBABILITY = 1.0 / (2 * SPARSITY);
+    // number of floats in the tile into which a task propagates a block of nodes: 32 KiB
+    private static final int TILE_SIZE = 8192;
 
     private final Graph graph;
     private final int concurrency;
     private final float normalizationStrength;
     private final List<String> featureProperties;
     private final float[][] propertyVectors;
-    private final HugeObjectArray<float[]> embeddings;
-    private final HugeObjectArray<float[]> embeddingA;
-    private final HugeObjectArray<float[]> embeddingB;
-    private final EmbeddingCombiner embeddingCombiner;
+    private final HugeFloatMatrix embeddings;
+    private final IntermediateEmbeddings embeddingA;
+    private final IntermediateEmbeddings embeddingB;
 
     private final int embeddingDimension;
     private final int baseEmbeddingDimension;
@@ -68,9 +70,10 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
                 "propertyVectors",
                 MemoryUsage.sizeOfFloatArray(config.featureProperties().size() * config.propertyDimension())
             )
-            .add("embeddings", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingA", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingB", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
+            .add("embeddings", HugeFloatMatrix.memoryEstimation(config.embeddingDimension()))
+            .add("embeddingA", config.intermediatePrecision().memoryEstimation(config.embeddingDimension()))
+            .add("embeddingB", config.intermediatePrecision().memoryEstimation(config.embeddingDimension()))
+            .perThread("propagationTile", MemoryUsage.sizeOfFloatArray(tileSize(config.embeddingDimension())))
             .build();
     }
 
@@ -85,21 +88,15 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         this.featureProperties = config.featureProperties();
 
         this.propertyVectors = new float[featureProperties.size()][config.propertyDimension()];
-        this.embeddings = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingA = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingB = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        // Each of the above arrays will contain a float array of size `embeddingDimension` for each node.
-        tracker.add(3 * graph.nodeCount() * MemoryUsage.sizeOfFloatArray(config.embeddingDimension()));
+        this.embeddings = HugeFloatMatrix.newMatrix(graph.nodeCount(), config.embeddingDimension(), tracker);
+        this.embeddingA = config.intermediatePrecision().newEmbeddings(graph.nodeCount(), config.embeddingDimension(), tracker);
+        this.embeddingB = config.intermediatePrecision().newEmbeddings(graph.nodeCount(), config.embeddingDimension(), tracker);
 
         this.embeddingDimension = config.embeddingDimension();
         this.baseEmbeddingDimension = config.embeddingDimension() - config.propertyDimension();
         this.iterationWeights = config.iterationWeights();
         this.normalizationStrength = config.normalizationStrength();
         this.concurrency = config.concurrency();
-        this.embeddingCombiner = graph.hasRelationshipProperty()
-            ? this::addArrayValuesWeighted
-            : (lhs, rhs, ignoreWeight) -> addArrayValues(lhs, rhs);
-        this.embeddings.setAll((i) -> new float[embeddingDimension]);
     }
 
     @Override
@@ -112,12 +109,12 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         return me();
     }
 
-    public HugeObjectArray<float[]> embeddings() {
+    public HugeFloatMatrix embeddings() {
         return this.embeddings;
     }
 
     @TestOnly
-    HugeObjectArray<float[]> currentEmbedding(int iteration) {
+    IntermediateEmbeddings currentEmbedding(int iteration) {
         return iteration % 2 == 0
             ? this.embeddingA
             : this.embeddingB;
@@ -164,7 +161,10 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
     }
 
     void propagateEmbeddings() {
-        long batchSize = ParallelUtil.adjustedBatchSize(graph.nodeCount(), concurrency, MIN_BATCH_SIZE);
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartition(graph, concurrency);
+        // there are more partitions than threads, the tasks of a thread share its tile
+        int tileSize = tileSize(embeddingDimension);
+        ThreadLocal<float[]> tiles = ThreadLocal.withInitial(() -> new float[tileSize]);
         for (int i = 0; i < iterationWeights.size(); i++) {
             progressLogger.reset(graph.relationshipCount());
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Start", i + 1));
@@ -173,53 +173,52 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
             var localPrevious = i % 2 == 0 ? embeddingB : embeddingA;
             double iterationWeight = iterationWeights.get(i).doubleValue();
 
-            List<Runnable> tasks = PartitionUtils.rangePartition(concurrency, graph.nodeCount(), batchSize)
-                .stream()
-                .map(partition -> new PropagateEmbeddingsTask(
+            ParallelUtil.parallelForEachPartition(
+                partitions,
+                concurrency,
+                partition -> new PropagateEmbeddingsTask(
                     partition,
                     localCurrent,
                     localPrevious,
-                    iterationWeight))
-                .collect(Collectors.toList());
-            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+                    iterationWeight,
+                    tiles.get()
+                ).run()
+            );
 
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Finished", i + 1));
         }
+        // without parallelism, the partitions are propagated on the calling thread
+        tiles.remove();
     }
 
-    private void addArrayValues(float[] lhs, float[] rhs) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] += rhs[i];
-        }
+    private static int tileSize(int embeddingDimension) {
+        return blockSize(embeddingDimension) * embeddingDimension;
     }
 
-    private void addArrayValuesWeighted(float[] lhs, float[] rhs, double weight) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] = (float) Math.fma(rhs[i], weight, lhs[i]);
-        }
+    private static int blockSize(int embeddingDimension) {
+        return Math.max(1, TILE_SIZE / embeddingDimension);
     }
 
-    private static void multiplyArrayValues(float[] lhs, double scalar) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] *= scalar;
-        }
+    static void l2Normalize(float[] array) {
+        l2Normalize(array, 0, array.length);
     }
 
-    static void l2Normalize(float[] array) {
+    private static void l2Normalize(float[] array, int offset, int length) {
         double sum = 0.0f;
-        for (double value : array) {
+        for (int i = offset; i < offset + length; i++) {
+            double value = array[i];
             sum += value * value;
         }
         double sqrtSum = sum == 0 ? 1 : Math.sqrt(sum);
         double scaling = 1 / sqrtSum;
-        for (int i = 0; i < array.length; i++) {
+        for (int i = offset; i < offset + length; i++) {
             array[i] *= scaling;
         }
     }
 
-    private static void updateEmbeddings(double weight, float[] embedding, float[] newEmbedding) {
-        for (int i = 0; i < embedding.length; i++) {
-            embedding[i] += weight * newEmbedding[i];
+    private static void multiplyArrayValues(float[] array, int offset, int length, double scalar) {
+        for (int i = offset; i < offset + length; i++) {
+            array[i] *= scalar;
         }
     }
 
@@ -271,10 +270,6 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         }
     }
 
-    private interface EmbeddingCombiner {
-        void combine(float[] into, float[] add, double weight);
-    }
-
     private final class InitRandomVectorTask implements Runnable {
 
         final float sqrtSparsity = (float) Math.sqrt(SPARSITY);
@@ -293,6 +288,7 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         @Override
         public void run() {
             HighQualityRandom random = new HighQualityRandom();
+            float[] randomVector = new float[embeddingDimension];
             for (long nodeId = partition.startNode(); nodeId < partition.startNode() + partition.nodeCount(); nodeId++) {
                 int degree = graph.degree(nodeId);
                 float scaling = degree == 0
@@ -300,15 +296,13 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
                     : (float) Math.pow(degree, normalizationStrength);
 
                 float entryValue = scaling * sqrtSparsity / sqrtEmbeddingDimension;
-                float[] randomVector = computeRandomVector(nodeId, random, entryValue);
-                embeddingB.set(nodeId, randomVector);
-                embeddingA.set(nodeId, new float[embeddingDimension]);
+                computeRandomVector(nodeId, random, entryValue, randomVector);
+                embeddingB.setRow(nodeId, randomVector, 0);
             }
             progressLogger.logProgress(partition.nodeCount());
         }
 
-        private float[] computeRandomVector(long nodeId, Random random, float entryValue) {
-            float[] randomVector = new float[embeddingDimension];
+        private void computeRandomVector(long nodeId, Random random, float entryValue, float[] randomVector) {
             for (int i = 0; i < embeddingDimension; i++) {
                 randomVector[i] = computeRandomEntry(random, entryValue);
             }
@@ -321,57 +315,78 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
                     }
                 }
             }
-            return randomVector;
         }
     }
 
-    private final class PropagateEmbeddingsTask implements Runnable {
+    /**
+     * Propagates the nodes of a partition in blocks: the neighbour embeddings of all nodes in a block are
+     * summed into a dense tile, which is then normalized and written back row by row.
+     * The tile is owned by the worker thread and reused by all tasks it runs.
+     */
+    private final class PropagateEmbeddingsTask implements Runnable, RelationshipWithPropertyConsumer {
 
         private final Partition partition;
-        private final HugeObjectArray<float[]> localCurrent;
-        private final HugeObjectArray<float[]> localPrevious;
+        private final IntermediateEmbeddings localCurrent;
+        private final IntermediateEmbeddings localPrevious;
         private final double iterationWeight;
         private final Graph concurrentGraph;
+        private final float[] tile;
+        private int tileOffset;
 
         private PropagateEmbeddingsTask(
             Partition partition,
-            HugeObjectArray<float[]> localCurrent,
-            HugeObjectArray<float[]> localPrevious,
-            double iterationWeight
+            IntermediateEmbeddings localCurrent,
+            IntermediateEmbeddings localPrevious,
+            double iterationWeight,
+            float[] tile
         ) {
             this.partition = partition;
             this.localCurrent = localCurrent;
             this.localPrevious = localPrevious;
             this.iterationWeight = iterationWeight;
             this.concurrentGraph = graph.concurrentCopy();
+            this.tile = tile;
         }
 
         @Override
         public void run() {
             long degrees = 0;
-            for (long nodeId = partition.startNode(); nodeId < partition.startNode() + partition.nodeCount(); nodeId++) {
-                float[] embedding = embeddings.get(nodeId);
-                float[] currentEmbedding = localCurrent.get(nodeId);
-                Arrays.fill(currentEmbedding, 0.0f);
+            int blockSize = blockSize(embeddingDimension);
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long blockStart = partition.startNode(); blockStart < endNode; blockStart += blockSize) {
+                int blockLength = (int) Math.min(blockSize, endNode - blockStart);
+                Arrays.fill(tile, 0, blockLength * embeddingDimension, 0.0f);
 
                 // Collect and combine the neighbour embeddings
-                concurrentGraph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
-                    embeddingCombiner.combine(currentEmbedding, localPrevious.get(target), weight);
-                    return true;
-                });
-
-                // Normalize neighbour embeddings
-                var degree = graph.degree(nodeId);
-                int adjustedDegree = degree == 0 ? 1 : degree;
-                double degreeScale = 1.0f / adjustedDegree;
-                multiplyArrayValues(currentEmbedding, degreeScale);
-                l2Normalize(currentEmbedding);
-
-                // Update the result embedding
-                updateEmbeddings(iterationWeight, embedding, currentEmbedding);
-                degrees += degree;
+                for (int i = 0; i < blockLength; i++) {
+                    tileOffset = i * embeddingDimension;
+                    concurrentGraph.forEachRelationship(blockStart + i, 1.0, this);
+                }
+
+                for (int i = 0; i < blockLength; i++) {
+                    long nodeId = blockStart + i;
+                    int offset = i * embeddingDimension;
+
+                    // Normalize neighbour embeddings
+                    var degree = graph.degree(nodeId);
+                    int adjustedDegree = degree == 0 ? 1 : degree;
+                    double degreeScale = 1.0f / adjustedDegree;
+                    multiplyArrayValues(tile, offset, embeddingDimension, degreeScale);
+                    l2Normalize(tile, offset, embeddingDimension);
+
+                    // Update the result embedding
+                    localCurrent.setRow(nodeId, tile, offset);
+                    embeddings.addToRow(nodeId, tile, offset, iterationWeight);
+                    degrees += degree;
+                }
             }
             progressLogger.logProgress(degrees);
         }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            localPrevious.addRowTo(targetNodeId, tile, tileOffset, (float) property);
+            return true;
+        }
     }
 }
@@ -57,6 +57,13 @@ public interface FastRPBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConf
         return 0.0f;
     }
 
+    @Configuration.ConvertWith("org.neo4j.gds.embeddings.fastrp.IntermediatePrecision#parse")
+    @Configuration.ToMapValue("org.neo4j.gds.embeddings.fastrp.IntermediatePrecision#toString")
+    @Value.Default
+    default IntermediatePrecision intermediatePrecision() {
+        return IntermediatePrecision.FLOAT;
+    }
+
     static void validateCommon(List<? extends Number> iterationWeights) {
         if (iterationWeights.isEmpty()) {
             throw new IllegalArgumentException(formatWithLocale(
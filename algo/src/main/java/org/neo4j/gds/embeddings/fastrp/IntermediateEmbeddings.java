@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.fastrp;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.util.Arrays;
+import java.util.function.LongUnaryOperator;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfByteArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfShortArray;
+
+/**
+ * Embeddings of one FastRP iteration, stored in one of the {@link IntermediatePrecision}s.
+ * Rows are written once per iteration and read many times while propagating, so reading always decodes
+ * into a {@code float} tile.
+ */
+interface IntermediateEmbeddings {
+
+    void setRow(long nodeId, float[] values, int fromIndex);
+
+    /**
+     * Adds {@code weight} times the embedding of the node to {@code target[targetOffset, targetOffset + dimension)}.
+     */
+    void addRowTo(long nodeId, float[] target, int targetOffset, float weight);
+
+    float[] getRow(long nodeId);
+
+    long release();
+
+    final class FloatEmbeddings implements IntermediateEmbeddings {
+
+        private final HugeFloatMatrix matrix;
+
+        FloatEmbeddings(HugeFloatMatrix matrix) {
+            this.matrix = matrix;
+        }
+
+        @Override
+        public void setRow(long nodeId, float[] values, int fromIndex) {
+            matrix.setRow(nodeId, values, fromIndex);
+        }
+
+        @Override
+        public void addRowTo(long nodeId, float[] target, int targetOffset, float weight) {
+            matrix.addRowTo(nodeId, target, targetOffset, weight);
+        }
+
+        @Override
+        public float[] getRow(long nodeId) {
+            return matrix.getRow(nodeId);
+        }
+
+        @Override
+        public long release() {
+            return matrix.release();
+        }
+    }
+
+    /**
+     * Pages hold a power of two of complete rows, like in {@link HugeFloatMatrix}.
+     */
+    abstract class PagedEmbeddings implements IntermediateEmbeddings {
+
+        final long nodeCount;
+        final int dimension;
+        final int rowShift;
+        final long rowMask;
+
+        PagedEmbeddings(long nodeCount, int dimension, int bytesPerValue) {
+            this.nodeCount = nodeCount;
+            this.dimension = dimension;
+            this.rowShift = rowShift(dimension, bytesPerValue);
+            this.rowMask = (1L << rowShift) - 1;
+        }
+
+        @Override
+        public float[] getRow(long nodeId) {
+            float[] row = new float[dimension];
+            addRowTo(nodeId, row, 0, 1.0f);
+            return row;
+        }
+
+        int numPages() {
+            return PageUtil.numPagesFor(nodeCount, rowShift, rowMask);
+        }
+
+        int rowsInPage(int page) {
+            return (int) Math.min(1L << rowShift, nodeCount - ((long) page << rowShift));
+        }
+
+        int pageIndex(long nodeId) {
+            return (int) (nodeId >>> rowShift);
+        }
+
+        int rowInPage(long nodeId) {
+            return (int) (nodeId & rowMask);
+        }
+
+        static int rowShift(int dimension, int bytesPerValue) {
+            int rowsPerPage = Math.max(1, PageUtil.pageSizeFor(bytesPerValue) / dimension);
+            return Integer.numberOfTrailingZeros(Integer.highestOneBit(rowsPerPage));
+        }
+
+        /**
+         * The memory of an array of pages, where each page holds {@code valuesPerRow} values for each of its rows.
+         */
+        static long pagesMemory(long nodeCount, int rowShift, int valuesPerRow, LongUnaryOperator sizeOfArray) {
+            long rowsPerPage = 1L << rowShift;
+            long numPages = (nodeCount + rowsPerPage - 1) >>> rowShift;
+            long memory = sizeOfObjectArray(numPages);
+            if (numPages > 0) {
+                long rowsInLastPage = nodeCount - (numPages - 1) * rowsPerPage;
+                memory += (numPages - 1) * sizeOfArray.applyAsLong(rowsPerPage * valuesPerRow);
+                memory += sizeOfArray.applyAsLong(rowsInLastPage * valuesPerRow);
+            }
+            return memory;
+        }
+    }
+
+    /**
+     * Stores IEEE 754 half-precision values, which keep about three significant decimal digits.
+     */
+    final class HalfEmbeddings extends PagedEmbeddings {
+
+        private static final float[] HALF_TO_FLOAT = new float[1 << Short.SIZE];
+
+        static {
+            for (int half = 0; half < HALF_TO_FLOAT.length; half++) {
+                HALF_TO_FLOAT[half] = halfToFloat((short) half);
+            }
+        }
+
+        private final short[][] pages;
+
+        HalfEmbeddings(long nodeCount, int dimension, AllocationTracker tracker) {
+            super(nodeCount, dimension, Short.BYTES);
+            this.pages = new short[numPages()][];
+            for (int page = 0; page < pages.length; page++) {
+                pages[page] = new short[rowsInPage(page) * dimension];
+            }
+            tracker.add(memoryEstimation(nodeCount, dimension));
+        }
+
+        static long memoryEstimation(long nodeCount, int dimension) {
+            return sizeOfInstance(HalfEmbeddings.class) + pagesMemory(
+                nodeCount,
+                rowShift(dimension, Short.BYTES),
+                dimension,
+                length -> sizeOfShortArray(length)
+            );
+        }
+
+        @Override
+        public void setRow(long nodeId, float[] values, int fromIndex) {
+            short[] page = pages[pageIndex(nodeId)];
+            int offset = rowInPage(nodeId) * dimension;
+            for (int i = 0; i < dimension; i++) {
+                page[offset + i] = floatToHalf(values[fromIndex + i]);
+            }
+        }
+
+        @Override
+        public void addRowTo(long nodeId, float[] target, int targetOffset, float weight) {
+            short[] page = pages[pageIndex(nodeId)];
+            int offset = rowInPage(nodeId) * dimension;
+            for (int i = 0; i < dimension; i++) {
+                target[targetOffset + i] += weight * HALF_TO_FLOAT[page[offset + i] & 0xFFFF];
+            }
+        }
+
+        @Override
+        public long release() {
+            long freed = memoryEstimation(nodeCount, dimension);
+            Arrays.fill(pages, null);
+            return freed;
+        }
+
+        /**
+         * Rounds to the nearest half-precision value, ties to even.
+         */
+        static short floatToHalf(float value) {
+            int bits = Float.floatToRawIntBits(value);
+            int sign = (bits >>> 16) & 0x8000;
+            int floatExponent = (bits >>> 23) & 0xFF;
+            int mantissa = bits & 0x7FFFFF;
+
+            if (floatExponent == 0xFF) {
+                // infinity stays infinity, NaN stays NaN
+                return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+            }
+
+            int exponent = floatExponent - 127 + 15;
+            if (exponent >= 0x1F) {
+                return (short) (sign | 0x7C00);
+            }
+            if (exponent <= 0) {
+                if (exponent < -10) {
+                    return (short) sign;
+                }
+                // subnormal: shift the mantissa including its implicit leading bit into place
+                mantissa |= 0x800000;
+                int shift = 14 - exponent;
+                int half = mantissa >> shift;
+                int roundBit = 1 << (shift - 1);
+                if ((mantissa & roundBit) != 0 && (mantissa & (3 * roundBit - 1)) != 0) {
+                    half++;
+                }
+                return (short) (sign | half);
+            }
+
+            int half = sign | (exponent << 10) | (mantissa >> 13);
+            // a carry out of the mantissa correctly increments the exponent, up to infinity
+            if ((mantissa & 0x1000) != 0 && (mantissa & 0x2FFF) != 0) {
+                half++;
+            }
+            return (short) half;
+        }
+
+        static float halfToFloat(short value) {
+            int bits = value & 0xFFFF;
+            int sign = (bits & 0x8000) << 16;
+            int exponent = (bits >>> 10) & 0x1F;
+            int mantissa = bits & 0x3FF;
+
+            if (exponent == 0x1F) {
+                return Float.intBitsToFloat(sign | 0x7F800000 | (mantissa << 13));
+            }
+            if (exponent == 0) {
+                float subnormal = mantissa * 0x1p-24f;
+                return sign == 0 ? subnormal : -subnormal;
+            }
+            return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+        }
+    }
+
+    /**
+     * Stores each row as bytes together with one {@code float} scale for the row.
+     * A row is scaled such that its largest absolute value maps to 127.
+     */
+    final class Int8Embeddings extends PagedEmbeddings {
+
+        private static final float MAX_QUANTIZED = Byte.MAX_VALUE;
+
+        private final byte[][] pages;
+        private final float[][] scales;
+
+        Int8Embeddings(long nodeCount, int dimension, AllocationTracker tracker) {
+            super(nodeCount, dimension, Byte.BYTES);
+            this.pages = new byte[numPages()][];
+            this.scales = new float[pages.length][];
+            for (int page = 0; page < pages.length; page++) {
+                pages[page] = new byte[rowsInPage(page) * dimension];
+                scales[page] = new float[rowsInPage(page)];
+            }
+            tracker.add(memoryEstimation(nodeCount, dimension));
+        }
+
+        static long memoryEstimation(long nodeCount, int dimension) {
+            int rowShift = rowShift(dimension, Byte.BYTES);
+            return sizeOfInstance(Int8Embeddings.class)
+                   + pagesMemory(nodeCount, rowShift, dimension, length -> sizeOfByteArray(length))
+                   + pagesMemory(nodeCount, rowShift, 1, length -> sizeOfFloatArray(length));
+        }
+
+        @Override
+        public void setRow(long nodeId, float[] values, int fromIndex) {
+            float max = 0;
+            for (int i = 0; i < dimension; i++) {
+                max = Math.max(max, Math.abs(values[fromIndex + i]));
+            }
+            float inverseScale = max == 0 ? 0 : MAX_QUANTIZED / max;
+
+            int pageIndex = pageIndex(nodeId);
+            int rowInPage = rowInPage(nodeId);
+            byte[] page = pages[pageIndex];
+            int offset = rowInPage * dimension;
+            for (int i = 0; i < dimension; i++) {
+                page[offset + i] = (byte) Math.round(values[fromIndex + i] * inverseScale);
+            }
+            scales[pageIndex][rowInPage] = max / MAX_QUANTIZED;
+        }
+
+        @Override
+        public void addRowTo(long nodeId, float[] target, int targetOffset, float weight) {
+            int pageIndex = pageIndex(nodeId);
+            int rowInPage = rowInPage(nodeId);
+            byte[] page = pages[pageIndex];
+            int offset = rowInPage * dimension;
+            float scaledWeight = weight * scales[pageIndex][rowInPage];
+            for (int i = 0; i < dimension; i++) {
+                target[targetOffset + i] += scaledWeight * page[offset + i];
+            }
+        }
+
+        @Override
+        public long release() {
+            long freed = memoryEstimation(nodeCount, dimension);
+            Arrays.fill(pages, null);
+            Arrays.fill(scales, null);
+            return freed;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.fastrp;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.graphalgo.utils.StringFormatting.toUpperCaseWithLocale;
+
+/**
+ * The precision in which FastRP stores the embeddings of the previous and the current iteration.
+ * The final embeddings are always accumulated in {@code float} precision.
+ */
+public enum IntermediatePrecision {
+    FLOAT {
+        @Override
+        IntermediateEmbeddings newEmbeddings(long nodeCount, int dimension, AllocationTracker tracker) {
+            return new IntermediateEmbeddings.FloatEmbeddings(HugeFloatMatrix.newMatrix(nodeCount, dimension, tracker));
+        }
+
+        @Override
+        long memoryEstimation(long nodeCount, int dimension) {
+            return HugeFloatMatrix.memoryEstimation(nodeCount, dimension);
+        }
+    },
+    HALF {
+        @Override
+        IntermediateEmbeddings newEmbeddings(long nodeCount, int dimension, AllocationTracker tracker) {
+            return new IntermediateEmbeddings.HalfEmbeddings(nodeCount, dimension, tracker);
+        }
+
+        @Override
+        long memoryEstimation(long nodeCount, int dimension) {
+            return IntermediateEmbeddings.HalfEmbeddings.memoryEstimation(nodeCount, dimension);
+        }
+    },
+    INT8 {
+        @Override
+        IntermediateEmbeddings newEmbeddings(long nodeCount, int dimension, AllocationTracker tracker) {
+            return new IntermediateEmbeddings.Int8Embeddings(nodeCount, dimension, tracker);
+        }
+
+        @Override
+        long memoryEstimation(long nodeCount, int dimension) {
+            return IntermediateEmbeddings.Int8Embeddings.memoryEstimation(nodeCount, dimension);
+        }
+    };
+
+    abstract IntermediateEmbeddings newEmbeddings(long nodeCount, int dimension, AllocationTracker tracker);
+
+    abstract long memoryEstimation(long nodeCount, int dimension);
+
+    MemoryEstimation memoryEstimation(int dimension) {
+        return MemoryEstimations.of(
+            name(),
+            (dimensions, concurrency) -> MemoryRange.of(memoryEstimation(dimensions.nodeCount(), dimension))
+        );
+    }
+
+    public static IntermediatePrecision of(String precision) {
+        try {
+            return valueOf(toUpperCaseWithLocale(precision));
+        } catch (IllegalArgumentException e) {
+            String availablePrecisions = Arrays
+                .stream(values())
+                .map(IntermediatePrecision::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Intermediate precision `%s` is not supported. Must be one of: %s.",
+                precision,
+                availablePrecisions
+            ));
+        }
+    }
+
+    public static IntermediatePrecision parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of(((String) object).toUpperCase(Locale.ENGLISH));
+        }
+        if (object instanceof IntermediatePrecision) {
+            return (IntermediatePrecision) object;
+        }
+        return null;
+    }
+
+    public static String toString(IntermediatePrecision precision) {
+        return precision.toString();
+    }
+}
@@ -22,12 +22,13 @@ package org.neo4j.gds.embeddings.graphsage;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArenaPool;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
-import java.util.Arrays;
 
 import static org.neo4j.gds.embeddings.graphsage.GraphSageHelper.embeddings;
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
@@ -70,34 +71,30 @@ public class GraphSageEmbeddingsGenerator {
         this.tracker = tracker;
     }
 
-    public HugeObjectArray<double[]> makeEmbeddings(
+    public HugeDoubleMatrix makeEmbeddings(
         Graph graph,
         HugeObjectArray<double[]> features
     ) {
-        HugeObjectArray<double[]> result = HugeObjectArray.newArray(
-            double[].class,
-            graph.nodeCount(),
-            tracker
-        );
+        // the first weights of each layer map into the embedding dimension
+        int embeddingDimension = layers[layers.length - 1].weights().get(0).dimension(0);
+        HugeDoubleMatrix result = HugeDoubleMatrix.newMatrix(graph.nodeCount(), embeddingDimension, tracker);
+        var arenas = new TensorArenaPool();
 
         progressLogger.logStart();
         parallelStreamConsume(
             batchProvider.stream(graph),
             concurrency,
             batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
+                var arena = arenas.acquire();
+                ComputationContext ctx = new ComputationContext(arena);
                 Variable<Matrix> embeddingVariable = embeddings(graph, isWeighted, batch, features, layers, featureFunction);
-                int cols = embeddingVariable.dimension(1);
                 double[] embeddings = ctx.forward(embeddingVariable).data();
 
                 for (int nodeIndex = 0; nodeIndex < batch.length; nodeIndex++) {
-                    double[] nodeEmbedding = Arrays.copyOfRange(
-                        embeddings,
-                        nodeIndex * cols,
-                        (nodeIndex + 1) * cols
-                    );
-                    result.set(batch[nodeIndex], nodeEmbedding);
+                    result.setRow(batch[nodeIndex], embeddings, nodeIndex * embeddingDimension);
                 }
+                ctx.release();
+                arenas.release(arena);
                 progressLogger.logProgress();
             })
         );
@@ -27,6 +27,7 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Scalar;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArenaPool;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -110,14 +111,17 @@ public class GraphSageModelTrainer {
             .mapToDouble(nodeId -> Math.pow(graph.degree(nodeId), 0.75))
             .sum();
 
-        double initialLoss = evaluateLoss(graph, features, batchProvider, -1);
+        // arenas are kept for all epochs of this run only
+        var arenas = new TensorArenaPool();
+
+        double initialLoss = evaluateLoss(graph, features, batchProvider, arenas, -1);
         double previousLoss = initialLoss;
         for (int epoch = 0; epoch < epochs; epoch++) {
             var epochMessage = ":: Epoch " + (epoch + 1);
             progressLogger.logStart(epochMessage);
 
-            trainEpoch(graph, features, epoch);
-            double newLoss = evaluateLoss(graph, features, batchProvider, epoch);
+            trainEpoch(graph, features, arenas, epoch);
+            double newLoss = evaluateLoss(graph, features, batchProvider, arenas, epoch);
             epochLosses.put(
                 formatWithLocale("Epoch: %d", epoch),
                 newLoss
@@ -133,7 +137,12 @@ public class GraphSageModelTrainer {
         return ModelTrainResult.of(initialLoss, epochLosses, this.layers);
     }
 
-    private void trainEpoch(Graph graph, HugeObjectArray<double[]> features, int epoch) {
+    private void trainEpoch(
+        Graph graph,
+        HugeObjectArray<double[]> features,
+        TensorArenaPool arenas,
+        int epoch
+    ) {
         List<Weights<? extends Tensor<?>>> weights = getWeights();
 
         AdamOptimizer updater = new AdamOptimizer(weights, learningRate);
@@ -147,6 +156,7 @@ public class GraphSageModelTrainer {
                 graph,
                 features,
                 updater,
+                arenas,
                 epoch,
                 batchCounter.incrementAndGet()
             ))
@@ -158,6 +168,7 @@ public class GraphSageModelTrainer {
         Graph graph,
         HugeObjectArray<double[]> features,
         AdamOptimizer updater,
+        TensorArenaPool arenas,
         int epoch,
         int batchIndex
     ) {
@@ -174,12 +185,15 @@ public class GraphSageModelTrainer {
             .getLog()
             .debug("Epoch %d\tBatch %d, Initial loss: %.10f", epoch, batchIndex, newLoss);
 
+        // the plan of the loss function is compiled once and reused for all iterations on this batch
+        var arena = arenas.acquire();
+        ComputationContext localCtx = new ComputationContext(arena);
         int iteration = 0;
         while (iteration < maxIterations) {
             progressLogger.logStart(":: Iteration " + (iteration + 1));
             oldLoss = newLoss;
 
-            ComputationContext localCtx = new ComputationContext();
+            localCtx.reset();
 
             newLoss = localCtx.forward(lossFunction).dataAt(0);
             double lossDiff = Math.abs((oldLoss - newLoss) / oldLoss);
@@ -195,6 +209,8 @@ public class GraphSageModelTrainer {
             progressLogger.logFinish(":: Iteration " + (iteration + 1));
             iteration++;
         }
+        localCtx.release();
+        arenas.release(arena);
 
         progressLogger.getLog().debug(
             "Epoch %d\tBatch %d LOSS: %.10f at iteration %d",
@@ -209,6 +225,7 @@ public class GraphSageModelTrainer {
         Graph graph,
         HugeObjectArray<double[]> features,
         BatchProvider batchProvider,
+        TensorArenaPool arenas,
         int epoch
     ) {
         DoubleAdder doubleAdder = new DoubleAdder();
@@ -216,9 +233,12 @@ public class GraphSageModelTrainer {
             batchProvider.stream(graph),
             concurrency,
             batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
+                var arena = arenas.acquire();
+                ComputationContext ctx = new ComputationContext(arena);
                 Variable<Scalar> loss = lossFunction(batch, graph, features);
                 doubleAdder.add(ctx.forward(loss).dataAt(0));
+                ctx.release();
+                arenas.release(arena);
             })
         );
         double lossValue = doubleAdder.doubleValue();
@@ -28,7 +28,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.model.Model;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
 
 import static org.neo4j.gds.embeddings.graphsage.GraphSageHelper.initializeFeatures;
 
@@ -69,7 +69,7 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
         );
 
         GraphSageTrainConfig trainConfig = model.trainConfig();
-        HugeObjectArray<double[]> embeddings = embeddingsGenerator.makeEmbeddings(
+        HugeDoubleMatrix embeddings = embeddingsGenerator.makeEmbeddings(
             graph,
             initializeFeatures(graph, trainConfig, tracker)
         );
@@ -89,9 +89,9 @@ public class GraphSage extends Algorithm<GraphSage, GraphSage.GraphSageResult> {
     @ValueClass
     public
     interface GraphSageResult {
-        HugeObjectArray<double[]> embeddings();
+        HugeDoubleMatrix embeddings();
 
-        static GraphSageResult of(HugeObjectArray<double[]> embeddings) {
+        static GraphSageResult of(HugeDoubleMatrix embeddings) {
             return ImmutableGraphSageResult.of(embeddings);
         }
     }
@@ -22,6 +22,7 @@ package org.neo4j.gds.embeddings.graphsage.algo;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.gds.embeddings.graphsage.GraphSageHelper;
 import org.neo4j.gds.embeddings.graphsage.ModelData;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.AbstractAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.MutateConfig;
@@ -31,6 +32,7 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryEstimations.RESIDENT_MEMORY;
@@ -96,7 +98,7 @@ public class GraphSageAlgorithmFactory<CONFIG extends GraphSageBaseConfig> exten
             gsBuilder = gsBuilder.startField(RESIDENT_MEMORY)
                 .add(
                     "resultFeatures",
-                    HugeObjectArray.memoryEstimation(sizeOfDoubleArray(config.embeddingDimension()))
+                    HugeDoubleMatrix.memoryEstimation(config.embeddingDimension())
                 ).endField();
         }
 
@@ -109,14 +111,15 @@ public class GraphSageAlgorithmFactory<CONFIG extends GraphSageBaseConfig> exten
             )
             .perThread(
                 "concurrentBatches",
-                MemoryEstimations.builder().add(
-                    GraphSageHelper.embeddingsEstimation(config, config.batchSize(), nodeCount, 0, false)
-                ).build()
+                MemoryEstimations.builder()
+                    .add(GraphSageHelper.embeddingsEstimation(config, config.batchSize(), nodeCount, 0, false))
+                    .add("tensorArena", TensorArena.memoryEstimation())
+                    .build()
             );
         if (!mutate) {
             builder = builder.add(
                 "resultFeatures",
-                HugeObjectArray.memoryEstimation(sizeOfDoubleArray(config.embeddingDimension()))
+                HugeDoubleMatrix.memoryEstimation(config.embeddingDimension())
             );
         }
         return builder.endField().build();
@@ -22,6 +22,7 @@ package org.neo4j.gds.embeddings.graphsage.algo;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.gds.embeddings.graphsage.Aggregator;
 import org.neo4j.gds.embeddings.graphsage.GraphSageHelper;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.AbstractAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
@@ -138,6 +139,7 @@ public final class GraphSageTrainAlgorithmFactory extends AbstractAlgorithmFacto
                 .add(GraphSageHelper.embeddingsEstimation(config, 3 * config.batchSize(), nodeCount, labelCount, true))
                 .fixed("updateAdamOptimizer", updateAdamOptimizer)
                 .endField()
+                .add("tensorArena", TensorArena.memoryEstimation())
                 .build())
             .endField()
             .endField()
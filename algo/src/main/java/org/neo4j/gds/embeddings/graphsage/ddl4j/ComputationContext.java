@@ -19,37 +19,56 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j;
 
-import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.PassthroughVariable;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Scalar;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorFactory;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 
+/**
+ * Evaluates a {@link Variable} graph.
+ *
+ * The graph below a root variable is compiled once into a topologically sorted plan,
+ * forward and backward passes are then straight loops over that plan.
+ * Intermediate tensors are allocated from a {@link TensorArena} and are only valid
+ * until the context is {@link #reset() reset} or {@link #release() released}.
+ */
 public class ComputationContext {
     private final Map<Variable<?>, Tensor<?>> data;
     private final Map<Variable<?>, Tensor<?>> gradients;
+    private final Map<Variable<?>, List<Variable<?>>> plans;
+    private final TensorArena arena;
+    private final List<double[]> allocated;
 
     public ComputationContext() {
-        this.data = new ConcurrentHashMap<>();
-        this.gradients = new ConcurrentHashMap<>();
+        this(new TensorArena());
+    }
+
+    public ComputationContext(TensorArena arena) {
+        this.data = new HashMap<>();
+        this.gradients = new HashMap<>();
+        this.plans = new IdentityHashMap<>();
+        this.arena = arena;
+        this.allocated = new ArrayList<>();
     }
 
     public <T extends Tensor<T>> T forward(Variable<T> variable) {
-        var cachedData = (T) data.get(variable);
-        if (cachedData != null) {
-            return cachedData;
-        }
-        for (Variable<?> parent : variable.parents()) {
-            forward(parent);
+        for (Variable<?> step : plan(variable)) {
+            if (!data.containsKey(step)) {
+                data.put(step, step.apply(this));
+            }
         }
-        T variableResult = variable.apply(this);
-        data.put(variable, variableResult);
-        return variableResult;
+        return data(variable);
     }
 
     public <T extends Tensor<T>> T data(Variable<T> variable) {
@@ -65,59 +84,99 @@ public class ComputationContext {
         assert function.requireGradient() : "Root variable must have requireGradient==true";
 
         gradients.clear();
-        Queue<BackPropTask> executionQueue = new LinkedBlockingQueue<>();
-        PassthroughVariable<?> dummy = new PassthroughVariable<>(function);
-        executionQueue.add(new BackPropTask(function, dummy));
-        Map<Variable<?>, AtomicInteger> upstreamCounters = new HashMap<>();
-        initUpstream(dummy, upstreamCounters);
-        backward(executionQueue, upstreamCounters);
-    }
+        gradients.put(function, new Scalar(1D));
 
-    private void backward(Queue<BackPropTask> executionQueue, Map<Variable<?>, AtomicInteger> upstreamCounters) {
-        while (!executionQueue.isEmpty()) {
-            BackPropTask task = executionQueue.poll();
-            var variable = task.variable;
-            var child = task.child;
-            Tensor<?> gradient = child.gradient(variable, this);
-            updateGradient(variable, gradient);
-
-            upstreamCounters.get(variable).decrementAndGet();
-            if (upstreamCounters.get(variable).get() == 0) {
-                for (Variable<?> parent : variable.parents()) {
-                    if (parent.requireGradient()) {
-                        executionQueue.offer(new BackPropTask(parent, variable));
-                    }
+        List<Variable<?>> plan = plan(function);
+        for (int i = plan.size() - 1; i >= 0; i--) {
+            Variable<?> variable = plan.get(i);
+            if (!variable.requireGradient()) {
+                continue;
+            }
+            for (Variable<?> parent : variable.parents()) {
+                if (parent.requireGradient()) {
+                    updateGradient(parent, variable.gradient(parent, this));
                 }
             }
         }
     }
 
-    private void initUpstream(Variable<?> function, Map<Variable<?>, AtomicInteger> upstreamCounters) {
-        for (Variable<?> parent : function.parents()) {
-            if (parent.requireGradient()) {
-                boolean firstToSeeParent = !upstreamCounters.containsKey(parent);
-                if (firstToSeeParent) {
-                    initUpstream(parent, upstreamCounters);
-                    upstreamCounters.put(parent, new AtomicInteger(0));
-                }
-                upstreamCounters.get(parent).incrementAndGet();
-            }
+    /**
+     * A zero-filled matrix that lives until this context is reset or released.
+     */
+    public Matrix matrix(int rows, int cols) {
+        return new Matrix(allocate(rows * cols), rows, cols);
+    }
+
+    /**
+     * A zero-filled tensor that lives until this context is reset or released.
+     */
+    public Tensor<?> zeros(int[] dimensions) {
+        Tensor<?> tensor = arena.zeros(dimensions);
+        if (!(tensor instanceof Scalar)) {
+            allocated.add(tensor.data());
         }
+        return tensor;
     }
 
-    private void updateGradient(Variable<?> variable, Tensor<?> gradient) {
-        gradients.putIfAbsent(variable, TensorFactory.constant(0D, variable.dimensions()));
-        gradients.get(variable).addInPlace(gradient);
+    /**
+     * Clears all computed data and gradients, but keeps the compiled plans.
+     * Tensors handed out before are recycled and must not be used afterwards.
+     */
+    public void reset() {
+        data.clear();
+        gradients.clear();
+        for (double[] buffer : allocated) {
+            arena.release(buffer);
+        }
+        allocated.clear();
+    }
+
+    public void release() {
+        reset();
+        plans.clear();
+    }
+
+    private double[] allocate(int size) {
+        double[] buffer = arena.allocate(size);
+        allocated.add(buffer);
+        return buffer;
     }
 
-    static class BackPropTask {
-        Variable<?> variable;
-        Variable<?> child;
+    private List<Variable<?>> plan(Variable<?> root) {
+        return plans.computeIfAbsent(root, ComputationContext::topologicalOrder);
+    }
 
-        BackPropTask(Variable<?> variable, Variable<?> child) {
-            this.variable = variable;
-            this.child = child;
+    private void updateGradient(Variable<?> variable, Tensor<?> gradient) {
+        Tensor<?> accumulated = gradients.get(variable);
+        if (accumulated == null) {
+            accumulated = zeros(variable.dimensions());
+            gradients.put(variable, accumulated);
         }
+        accumulated.addInPlace(gradient);
     }
 
+    private static List<Variable<?>> topologicalOrder(Variable<?> root) {
+        List<Variable<?>> order = new ArrayList<>();
+        Set<Variable<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Variable<?>> stack = new ArrayDeque<>();
+        Deque<Iterator<? extends Variable<?>>> parents = new ArrayDeque<>();
+
+        visited.add(root);
+        stack.push(root);
+        parents.push(root.parents().iterator());
+        while (!stack.isEmpty()) {
+            Iterator<? extends Variable<?>> remainingParents = parents.peek();
+            if (remainingParents.hasNext()) {
+                Variable<?> parent = remainingParents.next();
+                if (visited.add(parent)) {
+                    stack.push(parent);
+                    parents.push(parent.parents().iterator());
+                }
+            } else {
+                parents.pop();
+                order.add(stack.pop());
+            }
+        }
+        return order;
+    }
 }
@@ -19,8 +19,6 @@
  */
 package org.neo4j.gds.embeddings.graphsage.ddl4j.functions;
 
-import org.ejml.data.DMatrix1Row;
-import org.ejml.data.DMatrixRMaj;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.AbstractVariable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions;
@@ -28,7 +26,7 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.graphalgo.NodeLabel;
-import org.neo4j.graphalgo.core.utils.matrix.MatrixUtil;
+import org.neo4j.graphalgo.core.utils.matrix.MatrixKernels;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.ArrayList;
@@ -67,20 +65,14 @@ public class LabelwiseFeatureProjection extends AbstractVariable<Matrix> {
             Weights<? extends Tensor<?>> weights = weightsByLabel.get(label);
             double[] nodeFeatures = features.get(nodeId);
 
-            DMatrix1Row wrappedWeights = DMatrixRMaj.wrap(
-                weights.dimension(0),
-                weights.dimension(1),
-                weights.data().data()
-            );
-            DMatrixRMaj wrappedNodeFeatures = DMatrixRMaj.wrap(1, nodeFeatures.length, nodeFeatures);
-            DMatrixRMaj product = new DMatrixRMaj(weights.dimension(0), 1);
-            MatrixUtil.multTransB(wrappedWeights, wrappedNodeFeatures, product, index -> (index < projectedFeatureDimension));
-            System.arraycopy(
-                product.getData(),
-                0,
+            assert weights.dimension(1) == nodeFeatures.length;
+            MatrixKernels.multVector(
+                weights.data().data(),
+                nodeFeatures,
                 data,
                 i * projectedFeatureDimension,
-                projectedFeatureDimension
+                projectedFeatureDimension,
+                nodeFeatures.length
             );
         });
         return new Matrix(data, nodeIds.length, projectedFeatureDimension);
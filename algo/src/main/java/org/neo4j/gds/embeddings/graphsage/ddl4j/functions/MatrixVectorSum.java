@@ -58,7 +58,8 @@ public class MatrixVectorSum extends AbstractVariable<Matrix> {
         double[] matrixData = ctx.data(matrix).data();
         double[] vectorData = ctx.data(vector).data();
 
-        double[] result = new double[matrixData.length];
+        Matrix resultMatrix = ctx.matrix(rows, cols);
+        double[] result = resultMatrix.data();
 
         for(int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
@@ -67,7 +68,7 @@ public class MatrixVectorSum extends AbstractVariable<Matrix> {
             }
         }
 
-        return new Matrix(result, rows, cols);
+        return resultMatrix;
     }
 
     @Override
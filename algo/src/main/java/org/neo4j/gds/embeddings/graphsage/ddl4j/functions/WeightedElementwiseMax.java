@@ -28,6 +28,8 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.gds.embeddings.graphsage.subgraph.SubGraph;
 import org.neo4j.graphalgo.core.utils.DoubleUtil;
 
+import java.util.Arrays;
+
 public class WeightedElementwiseMax extends SingleParentVariable<Matrix> {
     private final RelationshipWeights relationshipWeights;
     private final SubGraph subGraph;
@@ -52,7 +54,8 @@ public class WeightedElementwiseMax extends SingleParentVariable<Matrix> {
 
     @Override
     public Matrix apply(ComputationContext ctx) {
-        Matrix max = Matrix.fill(Double.NEGATIVE_INFINITY, rows, cols);
+        Matrix max = ctx.matrix(rows, cols);
+        Arrays.fill(max.data(), Double.NEGATIVE_INFINITY);
 
         double[] parentData = ctx.data(parent()).data();
         for (int source = 0; source < rows; source++) {
@@ -85,7 +88,7 @@ public class WeightedElementwiseMax extends SingleParentVariable<Matrix> {
 
     @Override
     public Tensor<?> gradient(Variable<?> parent, ComputationContext ctx) {
-        Tensor<?> result = ctx.data(parent).zeros();
+        Tensor<?> result = ctx.zeros(parent.dimensions());
 
         double[] parentData = ctx.data(parent).data();
         double[] thisGradient = ctx.gradient(this).data();
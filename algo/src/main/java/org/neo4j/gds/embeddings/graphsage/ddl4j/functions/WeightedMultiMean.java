@@ -56,7 +56,8 @@ public class WeightedMultiMean extends SingleParentVariable<Matrix> {
         Variable<?> parent = parent();
         Tensor<?> parentTensor = ctx.data(parent);
         double[] parentData = parentTensor.data();
-        double[] means = new double[adjacency.length * cols];
+        Matrix result = ctx.matrix(this.rows, this.cols);
+        double[] means = result.data();
         for (int sourceIndex = 0; sourceIndex < adjacency.length; sourceIndex++) {
             int sourceId = selfAdjacency[sourceIndex];
             long originalSourceId = subGraph.nextNodes[sourceId];
@@ -77,14 +78,14 @@ public class WeightedMultiMean extends SingleParentVariable<Matrix> {
             }
         }
 
-        return new Matrix(means, this.rows, this.cols);
+        return result;
     }
 
     @Override
     public Tensor<?> gradient(Variable<?> parent, ComputationContext ctx) {
         double[] multiMeanGradient = ctx.gradient(this).data();
 
-        Tensor<?> result = ctx.data(parent).zeros();
+        Tensor<?> result = ctx.zeros(parent.dimensions());
 
         for (int col = 0; col < cols; col++) {
             for (int row = 0; row < rows; row++) {
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import com.carrotsearch.hppc.IntObjectHashMap;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.COLUMNS_INDEX;
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.ROWS_INDEX;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Pool of tensor buffers, keyed by their size.
+ * Buffers are handed out zero-filled and are kept once they have been returned,
+ * so after the first batch has been computed, batches of the same shape no longer allocate.
+ *
+ * An arena is not thread-safe, it is meant to be owned by a single thread.
+ */
+public final class TensorArena {
+
+    private final IntObjectHashMap<ArrayDeque<double[]>> freeBuffers;
+
+    public TensorArena() {
+        this.freeBuffers = new IntObjectHashMap<>();
+    }
+
+    /**
+     * The pooled buffers are the tensors of a single batch, which are already part of the estimation
+     * of the computation graph. This only accounts for the arena that keeps them between batches.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        long slots = MemoryUsage.sizeOfEmptyOpenHashContainer();
+        return MemoryEstimations.builder(TensorArena.class)
+            .fixed(
+                "freeBuffers",
+                MemoryUsage.sizeOfInstance(IntObjectHashMap.class) +
+                MemoryUsage.sizeOfIntArray(slots) +
+                MemoryUsage.sizeOfObjectArray(slots)
+            )
+            .build();
+    }
+
+    public double[] allocate(int size) {
+        var buffers = freeBuffers.get(size);
+        if (buffers == null || buffers.isEmpty()) {
+            return new double[size];
+        }
+        var buffer = buffers.pop();
+        Arrays.fill(buffer, 0D);
+        return buffer;
+    }
+
+    public void release(double[] buffer) {
+        var buffers = freeBuffers.get(buffer.length);
+        if (buffers == null) {
+            buffers = new ArrayDeque<>();
+            freeBuffers.put(buffer.length, buffers);
+        }
+        buffers.push(buffer);
+    }
+
+    public Matrix matrix(int rows, int cols) {
+        return new Matrix(allocate(rows * cols), rows, cols);
+    }
+
+    public Tensor<?> zeros(int[] dimensions) {
+        if (dimensions.length == 1 && dimensions[ROWS_INDEX] == 1) {
+            return new Scalar(0D);
+        } else if (dimensions.length == 1 && dimensions[ROWS_INDEX] > 1) {
+            return new Vector(allocate(dimensions[ROWS_INDEX]));
+        } else if (dimensions.length == 2 && dimensions[ROWS_INDEX] > 0 && dimensions[COLUMNS_INDEX] > 0) {
+            return matrix(dimensions[ROWS_INDEX], dimensions[COLUMNS_INDEX]);
+        } else {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Tensor of dimensions greater than 2 are not supported, got %d dimensions",
+                dimensions.length
+            ));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hands out {@link TensorArena}s to the batches of a single run.
+ * An arena is taken by a batch and given back once the batch is done, so a run creates
+ * at most one arena per concurrently computed batch. The arenas are garbage once the pool
+ * is no longer referenced, a pool should therefore not outlive the run it was created for.
+ */
+public final class TensorArenaPool {
+
+    private final Queue<TensorArena> arenas;
+
+    public TensorArenaPool() {
+        this.arenas = new ConcurrentLinkedQueue<>();
+    }
+
+    public TensorArena acquire() {
+        var arena = arenas.poll();
+        return arena == null ? new TensorArena() : arena;
+    }
+
+    public void release(TensorArena arena) {
+        arenas.offer(arena);
+    }
+}
@@ -28,6 +28,8 @@ import org.neo4j.graphalgo.api.UnionNodeProperties;
 import org.neo4j.graphalgo.api.schema.NodeSchema;
 import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig.AllowSelfLoops;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
@@ -35,6 +37,8 @@ import org.neo4j.graphalgo.core.loading.construction.NodesBuilder;
 import org.neo4j.graphalgo.core.loading.construction.RelationshipsBuilder;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -43,19 +47,25 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.Collectors;
 
 public final class RandomGraphGenerator {
 
+    // Fixed partition size, so that the generated graph for a given seed does not depend on the concurrency.
+    static final long PARTITION_SIZE = ParallelUtil.DEFAULT_BATCH_SIZE;
+
     private final AllocationTracker allocationTracker;
     private final long nodeCount;
     private final long averageDegree;
+    private final long seed;
     private final Random random;
     private final RelationshipDistribution relationshipDistribution;
     private final Aggregation aggregation;
     private final Orientation orientation;
     private final AllowSelfLoops allowSelfLoops;
+    private final int concurrency;
 
     private final Optional<NodeLabelProducer> maybeNodeLabelProducer;
     private final Optional<PropertyProducer> maybeRelationshipPropertyProducer;
@@ -72,6 +82,7 @@ public final class RandomGraphGenerator {
         Aggregation aggregation,
         Orientation orientation,
         AllowSelfLoops allowSelfLoops,
+        int concurrency,
         AllocationTracker allocationTracker
     ) {
         this.relationshipDistribution = relationshipDistribution;
@@ -84,12 +95,9 @@ public final class RandomGraphGenerator {
         this.aggregation = aggregation;
         this.orientation = orientation;
         this.allowSelfLoops = allowSelfLoops;
-        this.random = new Random();
-        if (seed != null) {
-            this.random.setSeed(seed);
-        } else {
-            this.random.setSeed(1);
-        }
+        this.concurrency = concurrency;
+        this.seed = seed != null ? seed : 1;
+        this.random = new Random(this.seed);
     }
 
     public static RandomGraphGeneratorBuilder builder() {
@@ -115,6 +123,7 @@ public final class RandomGraphGenerator {
             .orientation(orientation)
             .loadRelationshipProperty(maybeRelationshipPropertyProducer.isPresent())
             .aggregation(aggregation)
+            .concurrency(concurrency)
             .tracker(allocationTracker)
             .build();
 
@@ -160,6 +169,22 @@ public final class RandomGraphGenerator {
     }
 
     private void generateRelationships(RelationshipsBuilder relationshipsImporter) {
+        var partitions = PartitionUtils.rangePartition(concurrency, nodeCount, PARTITION_SIZE);
+        // Each partition draws from its own generator, split off in partition order from the seed.
+        var seeds = new SplittableRandom(seed);
+        var tasks = new ArrayList<Runnable>(partitions.size());
+        for (Partition partition : partitions) {
+            var partitionRandom = new Random(seeds.split().nextLong());
+            tasks.add(() -> generateRelationships(relationshipsImporter, partition, partitionRandom));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+    }
+
+    private void generateRelationships(
+        RelationshipsBuilder relationshipsImporter,
+        Partition partition,
+        Random random
+    ) {
         LongUnaryOperator degreeProducer = relationshipDistribution.degreeProducer(nodeCount, averageDegree, random);
         LongUnaryOperator relationshipProducer = relationshipDistribution.relationshipProducer(
             nodeCount,
@@ -171,7 +196,8 @@ public final class RandomGraphGenerator {
         long degree, targetId;
         double property;
 
-        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+        long endNode = partition.startNode() + partition.nodeCount();
+        for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
             degree = degreeProducer.applyAsLong(nodeId);
 
             for (int j = 0; j < degree; j++) {
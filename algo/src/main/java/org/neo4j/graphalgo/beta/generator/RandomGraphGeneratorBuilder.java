@@ -42,6 +42,7 @@ public class RandomGraphGeneratorBuilder {
     private Aggregation aggregation = Aggregation.NONE;
     private Orientation orientation = Orientation.NATURAL;
     private RandomGraphGeneratorConfig.AllowSelfLoops allowSelfLoops = RandomGraphGeneratorConfig.AllowSelfLoops.NO;
+    private int concurrency = 1;
     private AllocationTracker allocationTracker = AllocationTracker.empty();
 
     public RandomGraphGeneratorBuilder nodeCount(long nodeCount) {
@@ -98,6 +99,11 @@ public class RandomGraphGeneratorBuilder {
         return this;
     }
 
+    public RandomGraphGeneratorBuilder concurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
     public RandomGraphGeneratorBuilder allocationTracker(AllocationTracker allocationTracker) {
         this.allocationTracker = allocationTracker;
         return this;
@@ -116,6 +122,7 @@ public class RandomGraphGeneratorBuilder {
             aggregation,
             orientation,
             allowSelfLoops,
+            concurrency,
             allocationTracker
         );
     }
@@ -127,6 +134,9 @@ public class RandomGraphGeneratorBuilder {
         if (averageDegree <= 0) {
             throw new IllegalArgumentException("Must provide positive averageDegree");
         }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Must provide positive concurrency");
+        }
         if (relationshipDistribution == null) {
             throw new IllegalArgumentException("Must provide a RelationshipDistribution");
         }
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.modularity.ImmutableModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationFactory;
+import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.louvain.CommunityGraphSummarizer;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Implementation of the Leiden algorithm based on:
+ *
+ * Traag, Vincent A., Ludo Waltman, and Nees Jan van Eck.
+ * "From Louvain to Leiden: guaranteeing well-connected communities."
+ * Scientific Reports 9 (2019): 5233.
+ * https://arxiv.org/pdf/1810.08473.pdf
+ *
+ * Every level runs the parallel {@link ModularityOptimization} also used by Louvain, followed by
+ * a {@link LeidenRefinement} of the found communities. The graph is aggregated based on the refined
+ * communities, while the communities of the modularity optimization are used as seeds for the next level.
+ */
+public final class Leiden extends Algorithm<Leiden, Leiden> {
+
+    private final Graph rootGraph;
+    private final LeidenBaseConfig config;
+    private final NodeProperties seedingValues;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    // results
+    private HugeLongArray[] dendrograms;
+    private double[] modularities;
+    private int ranLevels;
+
+    public Leiden(
+        Graph graph,
+        LeidenBaseConfig config,
+        ExecutorService executorService,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.config = config;
+        this.rootGraph = graph;
+        this.seedingValues = Optional.ofNullable(config.seedProperty()).map(graph::nodeProperties).orElse(null);
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.dendrograms = new HugeLongArray[config.maxLevels()];
+        this.modularities = new double[config.maxLevels()];
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public Leiden compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        Graph workingGraph = rootGraph;
+        NodeProperties nextSeedingValues = seedingValues;
+
+        // maps every node of the root graph to its node in the working graph
+        HugeLongArray workingNodes = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+        workingNodes.setAll(nodeId -> nodeId);
+
+        for (int level = 0; level < config.maxLevels(); level++) {
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Start", level + 1));
+
+            assertRunning();
+
+            ModularityOptimization modularityOptimization = runModularityOptimization(
+                workingGraph,
+                nextSeedingValues
+            );
+            modularityOptimization.release();
+
+            // the previous level already holds the best communities
+            if (hasConverged(level, modularityOptimization.getModularity())) {
+                getProgressLogger().logMessage(formatWithLocale("Level %d :: Finished", level + 1));
+                break;
+            }
+
+            HugeLongArray workingCommunities = HugeLongArray.newArray(workingGraph.nodeCount(), tracker);
+            ParallelUtil.parallelForEachNode(
+                workingGraph,
+                config.concurrency(),
+                nodeId -> workingCommunities.set(nodeId, modularityOptimization.getCommunityId(nodeId))
+            );
+
+            modularities[level] = modularityOptimization.getModularity();
+            HugeLongArray dendrogram = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+            ParallelUtil.parallelForEachNode(
+                rootGraph,
+                config.concurrency(),
+                nodeId -> dendrogram.set(nodeId, workingCommunities.get(workingNodes.get(nodeId)))
+            );
+            dendrograms[level] = dendrogram;
+            ranLevels = level + 1;
+
+            LeidenRefinement refinement = new LeidenRefinement(
+                workingGraph,
+                workingCommunities,
+                config.concurrency(),
+                executorService,
+                progressLogger,
+                tracker
+            ).withTerminationFlag(terminationFlag);
+            HugeLongArray refinedCommunities = refinement.compute();
+            refinement.release();
+
+            getProgressLogger().logMessage(formatWithLocale("Level %d :: Finished", level + 1));
+
+            // no node changed its community, or the refinement did not merge any nodes
+            // and the aggregated graph would equal the working graph
+            if (refinement.communityCount() == workingGraph.nodeCount()
+                || refinement.refinedCommunityCount() == workingGraph.nodeCount()
+            ) {
+                break;
+            }
+
+            Graph aggregatedGraph = summarizeGraph(workingGraph, refinedCommunities);
+            nextSeedingValues = aggregatedSeedingValues(
+                workingGraph,
+                aggregatedGraph,
+                workingCommunities,
+                refinedCommunities
+            );
+
+            ParallelUtil.parallelForEachNode(
+                rootGraph,
+                config.concurrency(),
+                nodeId -> workingNodes.set(
+                    nodeId,
+                    aggregatedGraph.toMappedNodeId(refinedCommunities.get(workingNodes.get(nodeId)))
+                )
+            );
+
+            workingGraph = aggregatedGraph;
+        }
+
+        resizeResultArrays();
+        getProgressLogger().logMessage(":: Finished");
+
+        return this;
+    }
+
+    private void resizeResultArrays() {
+        int numLevels = levels();
+        HugeLongArray[] resizedDendrogram = new HugeLongArray[numLevels];
+        double[] resizedModularities = new double[numLevels];
+        if (numLevels < this.dendrograms.length) {
+            System.arraycopy(this.dendrograms, 0, resizedDendrogram, 0, numLevels);
+            System.arraycopy(this.modularities, 0, resizedModularities, 0, numLevels);
+            this.dendrograms = resizedDendrogram;
+            this.modularities = resizedModularities;
+        }
+    }
+
+    private ModularityOptimization runModularityOptimization(Graph leidenGraph, NodeProperties seed) {
+        ModularityOptimizationStreamConfig modularityOptimizationConfig = ImmutableModularityOptimizationStreamConfig
+            .builder()
+            .maxIterations(config.maxIterations())
+            .tolerance(config.tolerance())
+            .concurrency(config.concurrency())
+            .batchSize(DEFAULT_BATCH_SIZE)
+            .build();
+
+        ModularityOptimization modularityOptimization = new ModularityOptimizationFactory<>()
+            .build(
+                leidenGraph,
+                modularityOptimizationConfig,
+                seed,
+                tracker,
+                progressLogger.getLog()
+            ).withTerminationFlag(terminationFlag);
+
+        modularityOptimization.compute();
+
+        return modularityOptimization;
+    }
+
+    private Graph summarizeGraph(Graph workingGraph, HugeLongArray refinedCommunities) {
+        assertRunning();
+
+        Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
+        return CommunityGraphSummarizer.summarize(
+            workingGraph,
+            refinedCommunities::get,
+            workingGraph.nodeCount() - 1,
+            orientation,
+            config.concurrency(),
+            executorService,
+            tracker
+        );
+    }
+
+    private NodeProperties aggregatedSeedingValues(
+        Graph workingGraph,
+        Graph aggregatedGraph,
+        HugeLongArray workingCommunities,
+        HugeLongArray refinedCommunities
+    ) {
+        // refined communities never span more than one community
+        HugeLongArray aggregatedCommunities = HugeLongArray.newArray(aggregatedGraph.nodeCount(), tracker);
+        ParallelUtil.parallelForEachNode(
+            workingGraph,
+            config.concurrency(),
+            nodeId -> aggregatedCommunities.set(
+                aggregatedGraph.toMappedNodeId(refinedCommunities.get(nodeId)),
+                workingCommunities.get(nodeId)
+            )
+        );
+        return aggregatedCommunities.asNodeProperties();
+    }
+
+    private boolean hasConverged(int level, double currentModularity) {
+        if (level == 0) {
+            return false;
+        }
+
+        double previousModularity = modularities[level - 1];
+        return !(currentModularity > previousModularity && Math.abs(currentModularity - previousModularity) > config.tolerance());
+    }
+
+    public LeidenBaseConfig config() {
+        return this.config;
+    }
+
+    public HugeLongArray[] dendrograms() {
+        return this.dendrograms;
+    }
+
+    public HugeLongArray finalDendrogram() {
+        return this.dendrograms[levels() - 1];
+    }
+
+    public long getCommunity(long nodeId) {
+        return dendrograms[levels() - 1].get(nodeId);
+    }
+
+    public long[] getCommunities(long nodeId) {
+        long[] communities = new long[dendrograms.length];
+
+        for (int i = 0; i < dendrograms.length; i++) {
+            communities[i] = dendrograms[i].get(nodeId);
+        }
+
+        return communities;
+    }
+
+    public int levels() {
+        return this.ranLevels == 0 ? 1 : this.ranLevels;
+    }
+
+    public double[] modularities() {
+        return this.modularities;
+    }
+
+    @Override
+    public void release() {
+        this.rootGraph.releaseTopology();
+    }
+
+    @Override
+    public Leiden me() {
+        return this;
+    }
+}
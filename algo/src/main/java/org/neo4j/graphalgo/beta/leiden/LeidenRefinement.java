@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.beta.k1coloring.ImmutableK1ColoringStreamConfig;
+import org.neo4j.graphalgo.beta.k1coloring.K1Coloring;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringFactory;
+import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
+
+/**
+ * Refinement phase of {@link Leiden}.
+ *
+ * Every node starts in its own refined community. A node that is still a singleton and that is well connected
+ * to the rest of its community merges into the neighbouring, well connected refined community of the same
+ * community which yields the largest positive modularity gain. Refined communities therefore never span
+ * more than one community and are always connected.
+ *
+ * Nodes sharing a color of a distance-1 coloring are never adjacent and are processed in parallel.
+ * Weight updates are applied after each color, so that the decisions do not depend on the scheduling.
+ */
+final class LeidenRefinement extends Algorithm<LeidenRefinement, HugeLongArray> {
+
+    private final Graph graph;
+    private final HugeLongArray communities;
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private List<Partition> partitions;
+    private double totalNodeWeight;
+    private long communityCount;
+    private long refinedCommunityCount;
+    private BitSet colorsUsed;
+    private HugeLongArray colors;
+    private HugeLongArray denseCommunities;
+    private HugeDoubleArray nodeWeights;
+    private HugeDoubleArray nodeExternalWeights;
+    private HugeAtomicDoubleArray communityWeights;
+    private HugeLongArray refinedCommunities;
+    private HugeAtomicLongArray refinedSizes;
+    private HugeDoubleArray refinedWeights;
+    private HugeDoubleArray refinedExternalWeights;
+    private HugeAtomicDoubleArray refinedWeightUpdates;
+    private HugeAtomicDoubleArray refinedExternalWeightUpdates;
+
+    LeidenRefinement(
+        Graph graph,
+        HugeLongArray communities,
+        int concurrency,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.communities = communities;
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public HugeLongArray compute() {
+        progressLogger.logMessage(":: Refinement :: Start");
+
+        computeColoring();
+        init();
+
+        // without any relationships, every node stays a singleton
+        if (totalNodeWeight > 0.0) {
+            long currentColor = colorsUsed.nextSetBit(0);
+            while (currentColor != -1) {
+                assertRunning();
+                refineForColor(currentColor);
+                currentColor = colorsUsed.nextSetBit(currentColor + 1);
+            }
+        }
+
+        this.refinedCommunityCount = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream -> nodeStream.filter(nodeId -> refinedSizes.get(nodeId) > 0).count()
+        );
+
+        progressLogger.logMessage(":: Refinement :: Finished");
+        return refinedCommunities;
+    }
+
+    private void computeColoring() {
+        K1ColoringStreamConfig k1Config = ImmutableK1ColoringStreamConfig
+            .builder()
+            .concurrency(concurrency)
+            .maxIterations(5)
+            .batchSize(DEFAULT_BATCH_SIZE)
+            .build();
+
+        K1Coloring coloring = new K1ColoringFactory<>()
+            .build(graph, k1Config, tracker, progressLogger.getLog())
+            .withTerminationFlag(terminationFlag);
+
+        this.colors = coloring.compute();
+        this.colorsUsed = coloring.usedColors();
+    }
+
+    private void init() {
+        // community ids are arbitrary (i.e. seeded), the weights are indexed by consecutive ids
+        this.denseCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongLongMap communityMapping = new HugeLongLongMap(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long community = communities.get(nodeId);
+            long denseCommunity = communityMapping.getOrDefault(community, -1);
+            if (denseCommunity < 0) {
+                denseCommunity = communityMapping.size();
+                communityMapping.put(community, denseCommunity);
+            }
+            denseCommunities.set(nodeId, denseCommunity);
+        }
+        this.communityCount = communityMapping.size();
+        communityMapping.release();
+
+        this.nodeWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.nodeExternalWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.communityWeights = HugeAtomicDoubleArray.newArray(communityCount, tracker);
+        this.refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        this.refinedSizes = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.refinedWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.refinedExternalWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        this.refinedWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.refinedExternalWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+
+        // the degree of a node does not change during the refinement, the partitions are shared by all colors
+        this.partitions = PartitionUtils.degreeBalancedPartition(graph, concurrency);
+        List<InitTask> initTasks = partitions
+            .stream()
+            .map(partition -> new InitTask(graph.concurrentCopy(), partition))
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(concurrency, initTasks, executor);
+
+        this.totalNodeWeight = initTasks.stream().mapToDouble(InitTask::localSum).sum();
+    }
+
+    private void refineForColor(long currentColor) {
+        List<RefinementTask> tasks = partitions
+            .stream()
+            .map(partition -> new RefinementTask(graph.concurrentCopy(), partition, currentColor))
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            stream -> stream.forEach(nodeId -> {
+                double weightUpdate = refinedWeightUpdates.getAndSet(nodeId, 0.0);
+                double externalWeightUpdate = refinedExternalWeightUpdates.getAndSet(nodeId, 0.0);
+                if (weightUpdate != 0.0 || externalWeightUpdate != 0.0) {
+                    refinedWeights.addTo(nodeId, weightUpdate);
+                    refinedExternalWeights.addTo(nodeId, externalWeightUpdate);
+                }
+            })
+        );
+    }
+
+    long communityCount() {
+        return communityCount;
+    }
+
+    long refinedCommunityCount() {
+        return refinedCommunityCount;
+    }
+
+    @Override
+    public LeidenRefinement me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        this.colors.release();
+        this.colorsUsed = null;
+        this.partitions = null;
+        this.denseCommunities.release();
+        this.nodeWeights.release();
+        this.nodeExternalWeights.release();
+        this.communityWeights.release();
+        this.refinedSizes.release();
+        this.refinedWeights.release();
+        this.refinedExternalWeights.release();
+        this.refinedWeightUpdates.release();
+        this.refinedExternalWeightUpdates.release();
+    }
+
+    private final class InitTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final Partition partition;
+        private double localSum;
+
+        private InitTask(RelationshipIterator relationshipIterator, Partition partition) {
+            this.relationshipIterator = relationshipIterator;
+            this.partition = partition;
+        }
+
+        @Override
+        public void run() {
+            double[] weights = new double[2];
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                long community = denseCommunities.get(nodeId);
+                weights[0] = 0.0;
+                weights[1] = 0.0;
+
+                relationshipIterator.forEachRelationship(nodeId, 1.0, (s, t, w) -> {
+                    weights[0] += w;
+                    if (s != t && denseCommunities.get(t) == community) {
+                        weights[1] += w;
+                    }
+                    return true;
+                });
+
+                nodeWeights.set(nodeId, weights[0]);
+                nodeExternalWeights.set(nodeId, weights[1]);
+                communityWeights.update(community, acc -> acc + weights[0]);
+
+                refinedCommunities.set(nodeId, nodeId);
+                refinedSizes.set(nodeId, 1L);
+                refinedWeights.set(nodeId, weights[0]);
+                refinedExternalWeights.set(nodeId, weights[1]);
+
+                localSum += weights[0];
+            }
+        }
+
+        double localSum() {
+            return localSum;
+        }
+    }
+
+    private final class RefinementTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final Partition partition;
+        private final long color;
+        private final LongDoubleHashMap refinedNeighbourWeights;
+
+        private RefinementTask(RelationshipIterator relationshipIterator, Partition partition, long color) {
+            this.relationshipIterator = relationshipIterator;
+            this.partition = partition;
+            this.color = color;
+            this.refinedNeighbourWeights = new LongDoubleHashMap(50);
+        }
+
+        @Override
+        public void run() {
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                if (colors.get(nodeId) == color) {
+                    refineNode(nodeId);
+                }
+            }
+        }
+
+        private void refineNode(long nodeId) {
+            // only singletons are moved, every other refined community is anchored by its first node
+            if (refinedSizes.get(nodeId) != 1L) {
+                return;
+            }
+
+            long community = denseCommunities.get(nodeId);
+            double communityWeight = communityWeights.get(community);
+            double nodeWeight = nodeWeights.get(nodeId);
+            double nodeExternalWeight = nodeExternalWeights.get(nodeId);
+
+            if (!isWellConnected(nodeExternalWeight, nodeWeight, communityWeight)) {
+                return;
+            }
+
+            refinedNeighbourWeights.clear();
+            relationshipIterator.forEachRelationship(nodeId, 1.0, (s, t, w) -> {
+                if (s != t && denseCommunities.get(t) == community) {
+                    refinedNeighbourWeights.addTo(refinedCommunities.get(t), w);
+                }
+                return true;
+            });
+
+            long bestRefinedCommunity = -1L;
+            double bestGain = 0.0;
+            for (LongDoubleCursor cursor : refinedNeighbourWeights) {
+                long refinedCommunity = cursor.key;
+                double refinedWeight = refinedWeights.get(refinedCommunity);
+                if (!isWellConnected(refinedExternalWeights.get(refinedCommunity), refinedWeight, communityWeight)) {
+                    continue;
+                }
+
+                double gain = cursor.value - nodeWeight * refinedWeight / totalNodeWeight;
+                if (gain > bestGain || (gain == bestGain && bestRefinedCommunity != -1L && refinedCommunity < bestRefinedCommunity)) {
+                    bestGain = gain;
+                    bestRefinedCommunity = refinedCommunity;
+                }
+            }
+
+            if (bestRefinedCommunity == -1L) {
+                return;
+            }
+
+            double weightToBest = refinedNeighbourWeights.get(bestRefinedCommunity);
+
+            refinedCommunities.set(nodeId, bestRefinedCommunity);
+            refinedSizes.set(nodeId, 0L);
+            refinedSizes.getAndAdd(bestRefinedCommunity, 1L);
+
+            refinedWeightUpdates.update(nodeId, acc -> acc - nodeWeight);
+            refinedWeightUpdates.update(bestRefinedCommunity, acc -> acc + nodeWeight);
+            refinedExternalWeightUpdates.update(nodeId, acc -> acc - nodeExternalWeight);
+            // edges between the node and the refined community are no longer leaving the refined community
+            refinedExternalWeightUpdates.update(
+                bestRefinedCommunity,
+                acc -> acc + nodeExternalWeight - 2.0 * weightToBest
+            );
+        }
+
+        private boolean isWellConnected(double externalWeight, double weight, double communityWeight) {
+            return externalWeight >= weight * (communityWeight - weight) / totalNodeWeight;
+        }
+    }
+}
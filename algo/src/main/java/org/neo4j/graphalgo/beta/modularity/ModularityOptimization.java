@@ -218,7 +218,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.communityWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
         this.communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
 
-        var initTasks = PartitionUtils.rangePartition(concurrency, nodeCount)
+        var initTasks = PartitionUtils.degreeBalancedPartition(graph, concurrency)
             .stream()
             .map(partition -> new InitTask(
                 graph.concurrentCopy(),
@@ -230,7 +230,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
             ))
             .collect(Collectors.toList());
 
-        ParallelUtil.run(initTasks, executor);
+        ParallelUtil.runWithConcurrency(concurrency, initTasks, executor);
 
         var doubleTotalNodeWeight = initTasks.stream().mapToDouble(InitTask::localSum).sum();
 
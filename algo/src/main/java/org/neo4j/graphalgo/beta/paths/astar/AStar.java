@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.astar;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.paths.astar.config.ShortestPathAStarBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.DijkstraResult;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Source-target shortest path search guided by the great-circle
+ * distance between each node and the target node.
+ *
+ * The heuristic is given in nautical miles, relationship weights are
+ * expected to be given in the same unit and must not be smaller than the
+ * great-circle distance between their source and target node.
+ */
+public final class AStar extends Algorithm<AStar, DijkstraResult> {
+
+    private final Dijkstra dijkstra;
+
+    public static AStar sourceTarget(
+        Graph graph,
+        ShortestPathAStarBaseConfig config,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        var latitudes = nodeProperties(graph, config.latitudeProperty());
+        var longitudes = nodeProperties(graph, config.longitudeProperty());
+        var targetNode = graph.toMappedNodeId(config.targetNode());
+
+        var heuristic = new HaversineHeuristic(latitudes, longitudes, targetNode);
+        var dijkstra = Dijkstra.sourceTarget(graph, config, heuristic, progressLogger, tracker);
+
+        return new AStar(dijkstra, progressLogger);
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return Dijkstra.memoryEstimation(true);
+    }
+
+    private AStar(Dijkstra dijkstra, ProgressLogger progressLogger) {
+        this.dijkstra = dijkstra;
+        this.progressLogger = progressLogger;
+    }
+
+    @Override
+    public DijkstraResult compute() {
+        return dijkstra.withTerminationFlag(terminationFlag).compute();
+    }
+
+    @Override
+    public AStar me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        dijkstra.release();
+    }
+
+    private static NodeProperties nodeProperties(Graph graph, String propertyKey) {
+        var nodeProperties = graph.nodeProperties(propertyKey);
+        if (nodeProperties == null) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node property `%s` not found in graph with node properties: %s",
+                propertyKey,
+                graph.availableNodeProperties()
+            ));
+        }
+        return nodeProperties;
+    }
+
+    static final class HaversineHeuristic implements Dijkstra.HeuristicFunction {
+
+        private static final double EARTH_RADIUS_IN_NM = 6371 * 0.539957;
+
+        private final NodeProperties latitudes;
+        private final NodeProperties longitudes;
+        private final double targetLatitude;
+        private final double targetLongitude;
+
+        HaversineHeuristic(NodeProperties latitudes, NodeProperties longitudes, long targetNode) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.targetLatitude = latitudes.doubleValue(targetNode);
+            this.targetLongitude = longitudes.doubleValue(targetNode);
+        }
+
+        @Override
+        public double applyAsDouble(long node) {
+            return distance(
+                latitudes.doubleValue(node),
+                longitudes.doubleValue(node),
+                targetLatitude,
+                targetLongitude
+            );
+        }
+
+        static double distance(double lat1, double lon1, double lat2, double lon2) {
+            var latDistance = Math.toRadians(lat2 - lat1);
+            var lonDistance = Math.toRadians(lon2 - lon1);
+            var a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+                    + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                      * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+            var c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+            return EARTH_RADIUS_IN_NM * c;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.AllShortestPathsBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.DoublePageCreator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel single-source shortest paths on non-negative relationship weights.
+ *
+ * <p>
+ * Nodes are grouped into buckets of width {@code delta} by their tentative distance.
+ * Buckets are settled in increasing order: light relationships (weight at most {@code delta})
+ * are relaxed repeatedly until the current bucket is stable, afterwards heavy relationships
+ * of all nodes settled in that bucket are relaxed exactly once.
+ * Relaxations are done in parallel with CAS updates on the distance array. Each worker keeps
+ * thread-local buckets, which are merged into a shared frontier whenever a bucket is processed.
+ * Buckets and the nodes settled by a worker are stored in paged buffers that grow with their content.
+ * </p>
+ *
+ * <p>
+ * The implementation is based on:<br>
+ * <cite>
+ * Meyer, Ulrich, and Peter Sanders.
+ * "Δ-stepping: a parallelizable shortest path algorithm."
+ * Journal of Algorithms 49.1 (2003): 114-152.
+ * </cite>
+ * </p>
+ */
+public final class DeltaStepping extends Algorithm<DeltaStepping, HugeAtomicDoubleArray> {
+
+    private static final long NO_BIN = Long.MAX_VALUE;
+    private static final int FRONTIER_BATCH_SIZE = 64;
+
+    private final Graph graph;
+    private final long sourceNode;
+    private final double delta;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicDoubleArray distances;
+    private HugeLongArray frontier;
+    private HugeAtomicBitSet inFrontier;
+    private HugeAtomicBitSet settled;
+    private final AtomicLong frontierIndex;
+    private final AtomicLong frontierSize;
+
+    private long currentBin;
+
+    public static DeltaStepping of(
+        Graph graph,
+        AllShortestPathsBaseConfig config,
+        double delta,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        return new DeltaStepping(
+            graph,
+            graph.toMappedNodeId(config.sourceNode()),
+            delta,
+            config.concurrency(),
+            executor,
+            progressLogger,
+            tracker
+        );
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(DeltaStepping.class)
+            .perNode("distances", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("frontier", HugeLongArray::memoryEstimation)
+            .perNode("frontier set", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("settled set", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perThread("relax task", MemoryEstimations.builder(RelaxTask.class)
+                .field("local bins", LocalBins.class)
+                .field("settled nodes", NodeBuffer.class)
+                .build())
+            // a node is settled by a single task per bucket
+            .rangePerNode("settled nodes", nodeCount -> MemoryRange.of(0, NodeBuffer.memoryEstimation(nodeCount)))
+            // every relaxation adds its target to a bin, in the worst case every relationship is pending at once
+            .rangePerGraphDimension(
+                "local bins",
+                (dimensions, concurrency) -> MemoryRange.of(0, NodeBuffer.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .build();
+    }
+
+    DeltaStepping(
+        Graph graph,
+        long sourceNode,
+        double delta,
+        int concurrency,
+        ExecutorService executor,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.sourceNode = sourceNode;
+        this.delta = delta;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.progressLogger = progressLogger;
+        this.tracker = tracker;
+
+        long nodeCount = graph.nodeCount();
+        this.distances = HugeAtomicDoubleArray.newArray(
+            nodeCount,
+            DoublePageCreator.of(concurrency, index -> Double.POSITIVE_INFINITY),
+            tracker
+        );
+        this.frontier = HugeLongArray.newArray(nodeCount, tracker);
+        this.inFrontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.settled = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.frontierIndex = new AtomicLong();
+        this.frontierSize = new AtomicLong();
+    }
+
+    @Override
+    public HugeAtomicDoubleArray compute() {
+        progressLogger.logStart();
+
+        List<RelaxTask> tasks = IntStream
+            .range(0, concurrency)
+            .mapToObj(i -> new RelaxTask(graph.concurrentCopy()))
+            .collect(Collectors.toList());
+
+        currentBin = 0L;
+        distances.set(sourceNode, 0.0);
+        frontier.set(0, sourceNode);
+        frontierSize.set(1);
+
+        while (true) {
+            assertRunning();
+
+            // relax light relationships until the current bucket does not change anymore
+            while (frontierSize.get() > 0) {
+                frontierIndex.set(0);
+                runPhase(tasks, Phase.RELAX_LIGHT);
+                frontierSize.set(0);
+                runPhase(tasks, Phase.SYNC);
+            }
+
+            runPhase(tasks, Phase.RELAX_HEAVY);
+
+            currentBin = tasks.stream().mapToLong(task -> task.bins.nextBin()).min().orElse(NO_BIN);
+            if (currentBin == NO_BIN) {
+                break;
+            }
+            runPhase(tasks, Phase.SYNC);
+        }
+
+        tasks.forEach(RelaxTask::release);
+
+        progressLogger.logFinish();
+        return distances;
+    }
+
+    @Override
+    public DeltaStepping me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        frontier = null;
+        inFrontier = null;
+        settled = null;
+    }
+
+    private void runPhase(List<RelaxTask> tasks, Phase phase) {
+        tasks.forEach(task -> task.phase = phase);
+        ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, executor);
+    }
+
+    private long binIndex(double distance) {
+        return (long) (distance / delta);
+    }
+
+    private enum Phase {
+        RELAX_LIGHT,
+        SYNC,
+        RELAX_HEAVY
+    }
+
+    private final class RelaxTask implements Runnable {
+
+        private final Graph localGraph;
+        private final LocalBins bins;
+        // nodes that have been relaxed in the current bucket
+        private final NodeBuffer settledNodes;
+
+        private Phase phase;
+
+        RelaxTask(Graph localGraph) {
+            this.localGraph = localGraph;
+            this.bins = new LocalBins(tracker);
+            this.settledNodes = new NodeBuffer(tracker);
+        }
+
+        @Override
+        public void run() {
+            switch (phase) {
+                case RELAX_LIGHT:
+                    relaxLight();
+                    break;
+                case SYNC:
+                    sync();
+                    break;
+                case RELAX_HEAVY:
+                    relaxHeavy();
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected phase " + phase);
+            }
+        }
+
+        private void relaxLight() {
+            long size = frontierSize.get();
+            long offset;
+            while ((offset = frontierIndex.getAndAdd(FRONTIER_BATCH_SIZE)) < size) {
+                long limit = Math.min(offset + FRONTIER_BATCH_SIZE, size);
+                for (long index = offset; index < limit; index++) {
+                    long nodeId = frontier.get(index);
+                    inFrontier.clear(nodeId);
+
+                    double distance = distances.get(nodeId);
+                    // the node has been moved to and settled in an earlier bucket
+                    if (binIndex(distance) < currentBin) {
+                        continue;
+                    }
+                    if (!settled.getAndSet(nodeId)) {
+                        settledNodes.add(nodeId);
+                    }
+                    localGraph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                        if (weight <= delta) {
+                            relax(target, distance + weight);
+                        }
+                        return true;
+                    });
+                }
+            }
+        }
+
+        private void relaxHeavy() {
+            long size = settledNodes.size();
+            for (long index = 0; index < size; index++) {
+                long nodeId = settledNodes.get(index);
+                settled.clear(nodeId);
+
+                double distance = distances.get(nodeId);
+                localGraph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                    if (weight > delta) {
+                        relax(target, distance + weight);
+                    }
+                    return true;
+                });
+                progressLogger.logProgress(localGraph.degree(nodeId));
+            }
+            settledNodes.clear();
+        }
+
+        private void sync() {
+            NodeBuffer bin = bins.remove(currentBin);
+            if (bin == null) {
+                return;
+            }
+            long size = bin.size();
+            for (long index = 0; index < size; index++) {
+                long nodeId = bin.get(index);
+                if (!inFrontier.getAndSet(nodeId)) {
+                    frontier.set(frontierSize.getAndIncrement(), nodeId);
+                }
+            }
+            bin.release();
+        }
+
+        private void relax(long target, double newDistance) {
+            double oldDistance = distances.get(target);
+            while (newDistance < oldDistance) {
+                double witness = distances.compareAndExchange(target, oldDistance, newDistance);
+                if (Double.compare(witness, oldDistance) == 0) {
+                    bins.add(binIndex(newDistance), target);
+                    return;
+                }
+                oldDistance = witness;
+            }
+        }
+
+        void release() {
+            bins.release();
+            settledNodes.release();
+        }
+    }
+
+    /**
+     * Thread-local buckets, keyed by bucket index.
+     * Only buckets that received a node are materialized.
+     */
+    private static final class LocalBins {
+
+        private final LongObjectHashMap<NodeBuffer> bins;
+        private final AllocationTracker tracker;
+
+        LocalBins(AllocationTracker tracker) {
+            this.bins = new LongObjectHashMap<>();
+            this.tracker = tracker;
+        }
+
+        void add(long binIndex, long nodeId) {
+            NodeBuffer bin = bins.get(binIndex);
+            if (bin == null) {
+                bin = new NodeBuffer(tracker);
+                bins.put(binIndex, bin);
+            }
+            bin.add(nodeId);
+        }
+
+        @Nullable
+        NodeBuffer remove(long binIndex) {
+            return bins.remove(binIndex);
+        }
+
+        long nextBin() {
+            long nextBin = NO_BIN;
+            for (var cursor : bins) {
+                if (cursor.value.size() > 0) {
+                    nextBin = Math.min(nextBin, cursor.key);
+                }
+            }
+            return nextBin;
+        }
+
+        void release() {
+            for (var cursor : bins) {
+                cursor.value.release();
+            }
+            bins.clear();
+        }
+    }
+
+    /**
+     * A growable buffer of node ids, stored in pages.
+     * Small buffers grow their single page by doubling it, so that sparsely filled buckets
+     * do not allocate a full page. Allocations are reported to the allocation tracker.
+     */
+    private static final class NodeBuffer {
+
+        private static final int PAGE_SIZE = PageUtil.pageSizeFor(Long.BYTES);
+        private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+        private static final int MIN_PAGE_SIZE = 16;
+
+        private final AllocationTracker tracker;
+
+        private long[][] pages;
+        private long size;
+
+        static long memoryEstimation(long capacity) {
+            int numPages = PageUtil.numPagesFor(capacity, PAGE_SHIFT, PAGE_MASK);
+            return MemoryUsage.sizeOfInstance(NodeBuffer.class) +
+                   MemoryUsage.sizeOfObjectArray(numPages) +
+                   numPages * MemoryUsage.sizeOfLongArray(PAGE_SIZE);
+        }
+
+        NodeBuffer(AllocationTracker tracker) {
+            this.tracker = tracker;
+            this.pages = new long[0][];
+        }
+
+        void add(long nodeId) {
+            int pageIndex = (int) (size >>> PAGE_SHIFT);
+            int indexInPage = (int) (size & PAGE_MASK);
+            if (pageIndex == pages.length) {
+                addPage();
+            } else if (indexInPage == pages[pageIndex].length) {
+                growPage(pageIndex);
+            }
+            pages[pageIndex][indexInPage] = nodeId;
+            size++;
+        }
+
+        long get(long index) {
+            return pages[(int) (index >>> PAGE_SHIFT)][(int) (index & PAGE_MASK)];
+        }
+
+        long size() {
+            return size;
+        }
+
+        /**
+         * Empties the buffer, but keeps its pages for reuse.
+         */
+        void clear() {
+            size = 0;
+        }
+
+        void release() {
+            long released = 0;
+            for (long[] page : pages) {
+                released += MemoryUsage.sizeOfLongArray(page.length);
+            }
+            tracker.remove(released);
+            pages = new long[0][];
+            size = 0;
+        }
+
+        private void addPage() {
+            int pageCount = pages.length;
+            // only the first page starts small, further pages are only needed once it is full
+            int pageSize = pageCount == 0 ? MIN_PAGE_SIZE : PAGE_SIZE;
+            pages = Arrays.copyOf(pages, pageCount + 1);
+            pages[pageCount] = new long[pageSize];
+            tracker.add(MemoryUsage.sizeOfLongArray(pageSize));
+        }
+
+        private void growPage(int pageIndex) {
+            long[] page = pages[pageIndex];
+            int pageSize = Math.min(page.length << 1, PAGE_SIZE);
+            pages[pageIndex] = Arrays.copyOf(page, pageSize);
+            tracker.add(MemoryUsage.sizeOfLongArray(pageSize) - MemoryUsage.sizeOfLongArray(page.length));
+        }
+    }
+}
@@ -31,10 +31,12 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongDoubleMap;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
 import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
 import java.util.LinkedList;
+import java.util.Optional;
 import java.util.function.LongPredicate;
 import java.util.stream.Stream;
 
@@ -51,6 +53,10 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
     private final HugeLongLongMap path;
     // visited set
     private final BitSet visited;
+    // optional heuristic, turns the traversal into an A* search
+    private final Optional<HeuristicFunction> heuristicFunction;
+    // tentative costs, only tracked if queue priorities include a heuristic
+    private final HugeLongDoubleMap tentativeCosts;
     // path id increasing in order of exploration
     private long pathIndex;
 
@@ -69,6 +75,33 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
             graph,
             sourceNode,
             node -> node == targetNode,
+            Optional.empty(),
+            progressLogger,
+            tracker
+        );
+    }
+
+    /**
+     * Configure Dijkstra to compute at most one source-target shortest path
+     * while prioritizing nodes by their tentative cost plus the given heuristic.
+     *
+     * The heuristic must never overestimate the remaining cost to the target,
+     * otherwise the computed path is not guaranteed to be a shortest path.
+     */
+    public static Dijkstra sourceTarget(
+        Graph graph,
+        ShortestPathBaseConfig config,
+        HeuristicFunction heuristicFunction,
+        ProgressLogger progressLogger,
+        AllocationTracker tracker
+    ) {
+        long sourceNode = graph.toMappedNodeId(config.sourceNode());
+        long targetNode = graph.toMappedNodeId(config.targetNode());
+        return new Dijkstra(
+            graph,
+            sourceNode,
+            node -> node == targetNode,
+            Optional.of(heuristicFunction),
             progressLogger,
             tracker
         );
@@ -84,13 +117,21 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
         AllocationTracker tracker
     ) {
         long sourceNode = graph.toMappedNodeId(config.sourceNode());
-        return new Dijkstra(graph, sourceNode, node -> true, progressLogger, tracker);
+        return new Dijkstra(graph, sourceNode, node -> true, Optional.empty(), progressLogger, tracker);
     }
 
     public static MemoryEstimation memoryEstimation() {
-        return MemoryEstimations.builder(Dijkstra.class)
+        return memoryEstimation(false);
+    }
+
+    public static MemoryEstimation memoryEstimation(boolean withHeuristic) {
+        var builder = MemoryEstimations.builder(Dijkstra.class)
             .add("priority queue", HugeLongPriorityQueue.memoryEstimation())
-            .add("reverse path", HugeLongLongMap.memoryEstimation())
+            .add("reverse path", HugeLongLongMap.memoryEstimation());
+        if (withHeuristic) {
+            builder.add("tentative costs", HugeLongDoubleMap.memoryEstimation());
+        }
+        return builder
             .perNode("visited set", MemoryUsage::sizeOfBitset)
             .build();
     }
@@ -99,6 +140,7 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
         Graph graph,
         long sourceNode,
         LongPredicate stopPredicate,
+        Optional<HeuristicFunction> heuristicFunction,
         ProgressLogger progressLogger,
         AllocationTracker tracker
     ) {
@@ -108,6 +150,8 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
         this.queue = HugeLongPriorityQueue.min(graph.nodeCount());
         this.path = new HugeLongLongMap(tracker);
         this.visited = new BitSet();
+        this.heuristicFunction = heuristicFunction;
+        this.tentativeCosts = heuristicFunction.isPresent() ? new HugeLongDoubleMap(tracker) : null;
         this.pathIndex = 0L;
         this.progressLogger = progressLogger;
     }
@@ -115,7 +159,7 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
     public DijkstraResult compute() {
         progressLogger.logStart();
 
-        queue.add(sourceNode, 0.0);
+        enqueue(sourceNode, 0.0, false);
 
         var pathResultBuilder = ImmutablePathResult.builder()
             .sourceNode(sourceNode);
@@ -131,7 +175,7 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
     private PathResult next(LongPredicate stopPredicate, ImmutablePathResult.Builder pathResultBuilder) {
         while (!queue.isEmpty() && running()) {
             var node = queue.pop();
-            var cost = queue.cost(node);
+            var cost = cost(node);
             visited.set(node);
 
             // For disconnected graphs, this will not reach 100%.
@@ -163,17 +207,36 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
         // we see target again
         if (queue.containsElement(target)) {
             // and found a shorter path to target
-            if (newCost < queue.cost(target)) {
+            if (newCost < cost(target)) {
                 path.put(target, source);
-                queue.set(target, newCost);
+                enqueue(target, newCost, true);
             }
         } else {
             // we see target for the first time
             path.put(target, source);
-            queue.add(target, newCost);
+            enqueue(target, newCost, false);
         }
     }
 
+    private void enqueue(long node, double cost, boolean update) {
+        var priority = cost;
+        if (heuristicFunction.isPresent()) {
+            tentativeCosts.put(node, cost);
+            priority += heuristicFunction.get().applyAsDouble(node);
+        }
+        if (update) {
+            queue.set(node, priority);
+        } else {
+            queue.add(node, priority);
+        }
+    }
+
+    private double cost(long node) {
+        return heuristicFunction.isPresent()
+            ? tentativeCosts.getOrDefault(node, Double.MAX_VALUE)
+            : queue.cost(node);
+    }
+
     private PathResult pathResult(long target, double cost, ImmutablePathResult.Builder pathResultBuilder) {
         var pathNodeIds = new LinkedList<Long>();
         var costs = new LinkedList<Double>();
@@ -182,7 +245,7 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
 
         while (lastNode != PATH_END) {
             pathNodeIds.addFirst(lastNode);
-            costs.addFirst(queue.cost(lastNode));
+            costs.addFirst(cost(lastNode));
             lastNode = this.path.getOrDefault(lastNode, PATH_END);
         }
 
@@ -195,6 +258,15 @@ public final class Dijkstra extends Algorithm<Dijkstra, DijkstraResult> {
             .build();
     }
 
+    @FunctionalInterface
+    public interface HeuristicFunction {
+        /**
+         * Returns a lower bound for the cost of the
+         * shortest path from the given node to the target.
+         */
+        double applyAsDouble(long node);
+    }
+
     @Override
     public Dijkstra me() {
         return this;
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.louvain;
+
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.PreAggregatedRelationshipsBuilder;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Condenses a graph by its communities: every community becomes a node and the
+ * relationships between two communities are summed up into a single relationship.
+ *
+ * The members of each community are grouped first, so that the relationships of a
+ * community can be aggregated in a single hash map and written as one sorted
+ * adjacency list, without going through the generic relationship import.
+ */
+public final class CommunityGraphSummarizer {
+
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private CommunityGraphSummarizer() {}
+
+    /**
+     * @param communities    maps a node of the working graph to its community id
+     * @param maxCommunityId the largest community id returned by {@code communities}
+     * @return a graph with one node per community, its original node ids are the community ids
+     */
+    public static Graph summarize(
+        Graph workingGraph,
+        LongUnaryOperator communities,
+        long maxCommunityId,
+        Orientation orientation,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        var nodesBuilder = GraphFactory.initNodesBuilder()
+            .maxOriginalId(maxCommunityId)
+            .concurrency(concurrency)
+            .tracker(tracker)
+            .build();
+
+        workingGraph.forEachNode((nodeId) -> {
+            nodesBuilder.addNode(communities.applyAsLong(nodeId));
+            return true;
+        });
+
+        IdMap idMap = nodesBuilder.build();
+        long nodeCount = workingGraph.nodeCount();
+        long communityCount = idMap.nodeCount();
+
+        HugeLongArray nodeToCommunity = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.parallelForEachNode(
+            workingGraph,
+            concurrency,
+            nodeId -> nodeToCommunity.set(nodeId, idMap.toMappedNodeId(communities.applyAsLong(nodeId)))
+        );
+
+        // group the nodes by community, the members of community `c` are stored
+        // in `members` between `memberOffsets[c]` (inclusive) and `memberOffsets[c + 1]`
+        HugeLongArray memberOffsets = HugeLongArray.newArray(communityCount + 1, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            memberOffsets.addTo(nodeToCommunity.get(nodeId) + 1, 1);
+        }
+        for (long community = 1; community <= communityCount; community++) {
+            memberOffsets.addTo(community, memberOffsets.get(community - 1));
+        }
+        HugeLongArray members = HugeLongArray.newArray(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long community = nodeToCommunity.get(nodeId);
+            long position = memberOffsets.get(community);
+            members.set(position, nodeId);
+            memberOffsets.set(community, position + 1);
+        }
+        // the inserts moved every offset to the start of the next community
+        for (long community = communityCount; community > 0; community--) {
+            memberOffsets.set(community, memberOffsets.get(community - 1));
+        }
+        memberOffsets.set(0, 0);
+
+        var batches = communityBatches(workingGraph, members, memberOffsets, communityCount, concurrency);
+        var relationshipsBuilder = new PreAggregatedRelationshipsBuilder(
+            communityCount,
+            orientation,
+            concurrency,
+            tracker
+        );
+        var nextBatch = new AtomicInteger();
+        var tasks = IntStream
+            .range(0, Math.min(concurrency, batches.size()))
+            .mapToObj(i -> new CommunityAggregator(
+                workingGraph.concurrentCopy(),
+                relationshipsBuilder,
+                nodeToCommunity,
+                members,
+                memberOffsets,
+                batches,
+                nextBatch
+            ))
+            .collect(Collectors.toList());
+
+        ParallelUtil.run(tasks, executorService);
+
+        nodeToCommunity.release();
+        memberOffsets.release();
+        members.release();
+
+        return GraphFactory.create(idMap, relationshipsBuilder.build(), tracker);
+    }
+
+    /**
+     * Splits the communities into consecutive ranges with about the same number of relationships to scan,
+     * so that a few large communities do not end up in the same batch.
+     */
+    private static List<Partition> communityBatches(
+        Graph workingGraph,
+        HugeLongArray members,
+        HugeLongArray memberOffsets,
+        long communityCount,
+        int concurrency
+    ) {
+        long batchSize = Math.max(
+            1L,
+            ceilDiv(workingGraph.relationshipCount() + workingGraph.nodeCount(), (long) concurrency * BATCHES_PER_THREAD)
+        );
+
+        List<Partition> batches = new ArrayList<>();
+        long batchStart = 0;
+        long batchCost = 0;
+        for (long community = 0; community < communityCount; community++) {
+            long end = memberOffsets.get(community + 1);
+            for (long i = memberOffsets.get(community); i < end; i++) {
+                batchCost += workingGraph.degree(members.get(i)) + 1;
+            }
+            if (batchCost >= batchSize) {
+                batches.add(Partition.of(batchStart, community + 1 - batchStart));
+                batchStart = community + 1;
+                batchCost = 0;
+            }
+        }
+        if (batchStart < communityCount) {
+            batches.add(Partition.of(batchStart, communityCount - batchStart));
+        }
+        return batches;
+    }
+
+    static final class CommunityAggregator implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final PreAggregatedRelationshipsBuilder relationshipsBuilder;
+        private final HugeLongArray nodeToCommunity;
+        private final HugeLongArray members;
+        private final HugeLongArray memberOffsets;
+        private final List<Partition> batches;
+        private final AtomicInteger nextBatch;
+        private final LongDoubleHashMap weights;
+        private long[] targetBuffer;
+        private double[] weightBuffer;
+
+        CommunityAggregator(
+            RelationshipIterator relationshipIterator,
+            PreAggregatedRelationshipsBuilder relationshipsBuilder,
+            HugeLongArray nodeToCommunity,
+            HugeLongArray members,
+            HugeLongArray memberOffsets,
+            List<Partition> batches,
+            AtomicInteger nextBatch
+        ) {
+            this.relationshipIterator = relationshipIterator;
+            this.relationshipsBuilder = relationshipsBuilder;
+            this.nodeToCommunity = nodeToCommunity;
+            this.members = members;
+            this.memberOffsets = memberOffsets;
+            this.batches = batches;
+            this.nextBatch = nextBatch;
+            this.weights = new LongDoubleHashMap();
+            this.targetBuffer = new long[0];
+            this.weightBuffer = new double[0];
+        }
+
+        @Override
+        public void run() {
+            try (var writer = relationshipsBuilder.newWriter()) {
+                int batchIndex;
+                while ((batchIndex = nextBatch.getAndIncrement()) < batches.size()) {
+                    Partition batch = batches.get(batchIndex);
+                    long endCommunity = batch.startNode() + batch.nodeCount();
+                    for (long community = batch.startNode(); community < endCommunity; community++) {
+                        aggregate(community, writer);
+                    }
+                }
+            }
+        }
+
+        private void aggregate(long community, PreAggregatedRelationshipsBuilder.Writer writer) {
+            weights.clear();
+            long end = memberOffsets.get(community + 1);
+            for (long i = memberOffsets.get(community); i < end; i++) {
+                relationshipIterator.forEachRelationship(members.get(i), 1.0, (source, target, property) -> {
+                    weights.addTo(nodeToCommunity.get(target), property);
+                    return true;
+                });
+            }
+
+            int degree = weights.size();
+            if (targetBuffer.length < degree) {
+                targetBuffer = new long[degree];
+                weightBuffer = new double[degree];
+            }
+            int i = 0;
+            for (var cursor : weights.keys()) {
+                targetBuffer[i++] = cursor.value;
+            }
+            Arrays.sort(targetBuffer, 0, degree);
+            for (i = 0; i < degree; i++) {
+                weightBuffer[i] = weights.get(targetBuffer[i]);
+            }
+
+            writer.addRow(community, targetBuffer, weightBuffer, degree);
+        }
+    }
+}
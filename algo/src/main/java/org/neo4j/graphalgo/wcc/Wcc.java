@@ -19,6 +19,10 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
+import com.carrotsearch.hppc.cursors.LongLongCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -26,9 +30,12 @@ import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
@@ -36,6 +43,7 @@ import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -43,11 +51,26 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * Parallel Union-Find Algorithm based on the
  * "Wait-free Parallel Algorithms for the Union-Find Problem" paper.
  *
+ * When seeded, nodes with the same seed value are joined into the same component
+ * before any relationship is visited. The seeded computation therefore only needs
+ * the relationships that were not already considered when computing the seed,
+ * e.g. those of a relationship type that has been added after the last run.
+ *
+ * With {@code sampling} enabled, the algorithm follows the Afforest approach
+ * (Sutton, Ben-Nun, Barak: "Optimizing Parallel Graph Connectivity Computation via Subgraph Sampling"):
+ * It first links a few neighbours of every node, then identifies the largest intermediate
+ * component by sampling nodes and only visits the remaining relationships of nodes outside of it.
+ * Skipping nodes is only possible on undirected graphs, where every relationship is
+ * also visited from its other end.
+ *
  * @see HugeAtomicDisjointSetStruct
  * @see <a href="http://citeseerx.ist.psu.edu/viewdoc/download?doi=10.1.1.56.8354&rep=rep1&type=pdf">the paper</a>
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    static final int NEIGHBOR_ROUNDS = 2;
+    static final int SAMPLING_SIZE = 1024;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -59,10 +82,31 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     private Graph graph;
 
     public static MemoryEstimation memoryEstimation(boolean incremental) {
-        return MemoryEstimations
+        MemoryEstimations.Builder builder = MemoryEstimations
             .builder(Wcc.class)
-            .add("dss", HugeAtomicDisjointSetStruct.memoryEstimation(incremental))
-            .build();
+            .add("dss", HugeAtomicDisjointSetStruct.memoryEstimation(incremental));
+        if (incremental) {
+            builder
+                .rangePerGraphDimension("seed join tasks", (dimensions, concurrency) -> {
+                    long nodeCount = dimensions.nodeCount();
+                    long tasks = Math.min(concurrency, nodeCount);
+                    return representativesMemory(BitUtil.ceilDiv(nodeCount, Math.max(1, concurrency))).times(tasks);
+                })
+                .rangePerNode("seed representatives", Wcc::representativesMemory);
+        }
+        return builder.build();
+    }
+
+    /**
+     * The buffers of a {@link LongLongHashMap} mapping up to {@code maxSeeds} distinct seeds to their representative.
+     */
+    private static MemoryRange representativesMemory(long maxSeeds) {
+        long minBufferSize = MemoryUsage.sizeOfEmptyOpenHashContainer();
+        long maxBufferSize = Math.max(minBufferSize, MemoryUsage.sizeOfOpenHashContainer(maxSeeds));
+        return MemoryRange.of(
+            2 * MemoryUsage.sizeOfLongArray(minBufferSize),
+            2 * MemoryUsage.sizeOfLongArray(maxBufferSize)
+        );
     }
 
     public Wcc(
@@ -112,14 +156,22 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
-            tasks.add(wccTask);
+        if (config.isIncremental()) {
+            joinSeededComponents(dss);
+        }
+
+        if (config.sampling()) {
+            sampledUnion(dss);
+        } else {
+            final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+            for (long i = 0L; i < this.nodeCount; i += batchSize) {
+                WCCTask wccTask = hasThreshold()
+                    ? new WCCWithThresholdTask(threshold(), dss, i)
+                    : new WCCTask(dss, i);
+                tasks.add(wccTask);
+            }
+            ParallelUtil.run(tasks, executor);
         }
-        ParallelUtil.run(tasks, executor);
 
         progressLogger.logMessage(":: Finished");
         return dss;
@@ -139,10 +191,180 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return config.threshold();
     }
 
+    private boolean hasThreshold() {
+        return !Double.isNaN(threshold()) && threshold() != 0;
+    }
+
+    private void sampledUnion(DisjointSetStruct dss) {
+        final Collection<SampledTask> linkTasks = new ArrayList<>(threadSize);
+        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+            linkTasks.add(new SampledTask(dss, i, true, -1L));
+        }
+        ParallelUtil.run(linkTasks, executor);
+
+        long largestComponentNode = graph.isUndirected() ? sampleLargestComponent(dss) : -1L;
+
+        final Collection<SampledTask> tasks = new ArrayList<>(threadSize);
+        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+            tasks.add(new SampledTask(dss, i, false, largestComponentNode));
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    /**
+     * Returns a node of the most frequent component among randomly sampled nodes, or -1 for an empty graph.
+     */
+    private long sampleLargestComponent(DisjointSetStruct dss) {
+        if (nodeCount == 0) {
+            return -1L;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LongIntHashMap sampleCounts = new LongIntHashMap();
+        LongLongHashMap sampleNodes = new LongLongHashMap();
+        for (int i = 0; i < SAMPLING_SIZE; i++) {
+            long node = random.nextLong(nodeCount);
+            long setId = dss.setIdOf(node);
+            sampleCounts.addTo(setId, 1);
+            sampleNodes.put(setId, node);
+        }
+
+        long largestComponent = -1L;
+        int largestCount = 0;
+        for (LongIntCursor cursor : sampleCounts) {
+            if (cursor.value > largestCount) {
+                largestComponent = cursor.key;
+                largestCount = cursor.value;
+            }
+        }
+        return sampleNodes.get(largestComponent);
+    }
+
+    /**
+     * Unions all nodes that share a seed value. Each task joins the nodes of its batch
+     * with the first node of the same seed in that batch. Afterwards, the representatives
+     * of the batches are joined sequentially, which is proportional to the number of
+     * distinct seeds per batch.
+     */
+    private void joinSeededComponents(DisjointSetStruct dss) {
+        final Collection<SeedJoinTask> tasks = new ArrayList<>(threadSize);
+        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+            tasks.add(new SeedJoinTask(dss, i));
+        }
+        ParallelUtil.run(tasks, executor);
+
+        LongLongHashMap representatives = new LongLongHashMap();
+        for (SeedJoinTask task : tasks) {
+            for (LongLongCursor cursor : task.representatives) {
+                int index = representatives.indexOf(cursor.key);
+                if (representatives.indexExists(index)) {
+                    dss.union(representatives.indexGet(index), cursor.value);
+                } else {
+                    representatives.indexInsert(index, cursor.key, cursor.value);
+                }
+            }
+        }
+    }
+
     private static double defaultWeight(double threshold) {
         return threshold + 1;
     }
 
+    private class SeedJoinTask implements Runnable {
+
+        private final DisjointSetStruct struct;
+        private final LongLongHashMap representatives;
+        private final long offset;
+        private final long end;
+
+        SeedJoinTask(DisjointSetStruct struct, long offset) {
+            this.struct = struct;
+            this.representatives = new LongLongHashMap();
+            this.offset = offset;
+            this.end = Math.min(offset + batchSize, nodeCount);
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                long seed = initialComponents.longValue(node);
+                if (seed >= 0) {
+                    int index = representatives.indexOf(seed);
+                    if (representatives.indexExists(index)) {
+                        struct.union(representatives.indexGet(index), node);
+                    } else {
+                        representatives.indexInsert(index, seed, node);
+                    }
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits either the first {@link #NEIGHBOR_ROUNDS} or all remaining relationships of each node in its batch.
+     * When visiting the remaining relationships, nodes in the same component as the given node are skipped.
+     */
+    private class SampledTask implements Runnable, RelationshipConsumer, RelationshipWithPropertyConsumer {
+
+        private final DisjointSetStruct struct;
+        private final RelationshipIterator rels;
+        private final long offset;
+        private final long end;
+        private final boolean link;
+        private final long skipComponentNode;
+        private int visited;
+
+        SampledTask(DisjointSetStruct struct, long offset, boolean link, long skipComponentNode) {
+            this.struct = struct;
+            this.rels = graph.concurrentCopy();
+            this.offset = offset;
+            this.end = Math.min(offset + batchSize, nodeCount);
+            this.link = link;
+            this.skipComponentNode = skipComponentNode;
+        }
+
+        @Override
+        public void run() {
+            boolean withThreshold = hasThreshold();
+            for (long node = offset; node < end; node++) {
+                if (skipComponentNode == -1L || !struct.sameSet(node, skipComponentNode)) {
+                    visited = 0;
+                    if (withThreshold) {
+                        rels.forEachRelationship(node, Wcc.defaultWeight(threshold()), this);
+                    } else {
+                        rels.forEachRelationship(node, this);
+                    }
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+
+                if (!link) {
+                    getProgressLogger().logProgress(graph.degree(node));
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            if (link) {
+                struct.union(sourceNodeId, targetNodeId);
+                return ++visited < NEIGHBOR_ROUNDS;
+            }
+            if (visited++ >= NEIGHBOR_ROUNDS) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            return property <= threshold() || accept(sourceNodeId, targetNodeId);
+        }
+    }
+
     private class WCCTask implements Runnable, RelationshipConsumer {
 
         final DisjointSetStruct struct;
@@ -22,6 +22,8 @@ package org.neo4j.gds.embeddings.fastrp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
@@ -35,6 +37,7 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
@@ -98,13 +101,13 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initRandomVectors();
         HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 2, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 2);
+        randomVectors.setAll(fastRP.currentEmbedding(-1)::getRow);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = randomVectors.get(1);
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.getRow(0));
     }
 
     @Test
@@ -127,20 +130,21 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initRandomVectors();
         HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        randomVectors.setAll(fastRP.currentEmbedding(-1)::getRow);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
             expected[i] = (randomVectors.get(1)[i] + randomVectors.get(2)[i]) / 2.0f;
         }
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.getRow(0));
     }
 
-    @Test
-    void shouldAverageNeighborsWeighted() {
+    @ParameterizedTest
+    @EnumSource(IntermediatePrecision.class)
+    void shouldAverageNeighborsWeighted(IntermediatePrecision intermediatePrecision) {
         GraphLoader graphLoader = new StoreLoaderBuilder()
             .api(db)
             .addNodeLabel("Node1")
@@ -156,6 +160,7 @@ class FastRPTest extends AlgoTestBase {
             .from(DEFAULT_CONFIG)
             .relationshipWeightProperty("weight")
             .embeddingDimension(DEFAULT_EMBEDDING_DIMENSION)
+            .intermediatePrecision(intermediatePrecision)
             .build();
 
         FastRP fastRP = new FastRP(
@@ -167,9 +172,9 @@ class FastRPTest extends AlgoTestBase {
 
         fastRP.initRandomVectors();
         HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        randomVectors.setAll(fastRP.currentEmbedding(-1)::getRow);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
@@ -177,7 +182,7 @@ class FastRPTest extends AlgoTestBase {
         }
         l2Normalize(expected);
 
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.getRow(0));
     }
 
     @Test
@@ -205,9 +210,9 @@ class FastRPTest extends AlgoTestBase {
         double p = 1D / 6D;
         int maxNumPositive = (int) ((p + 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D); // 1:30.000.000 chance of failing :P
         int minNumPositive = (int) ((p - 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D);
-        HugeObjectArray<float[]> randomVectors = fastRP.currentEmbedding(-1);
+        var randomVectors = fastRP.currentEmbedding(-1);
         for (int i = 0; i < graph.nodeCount(); i++) {
-            float[] embedding = randomVectors.get(i);
+            float[] embedding = randomVectors.getRow(i);
             int numZeros = 0;
             int numPositive = 0;
             for (int j = 0; j < 512; j++) {
@@ -246,9 +251,9 @@ class FastRPTest extends AlgoTestBase {
         );
 
         FastRP computeResult = fastRP.compute();
-        HugeObjectArray<float[]> embeddings = computeResult.embeddings();
-        for (int i = 0; i < embeddings.size(); i++) {
-            float[] embedding = embeddings.get(i);
+        HugeFloatMatrix embeddings = computeResult.embeddings();
+        for (int i = 0; i < embeddings.rows(); i++) {
+            float[] embedding = embeddings.getRow(i);
             for (double embeddingValue : embedding) {
                 assertEquals(0.0f, embeddingValue);
             }
@@ -267,7 +272,7 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_808, estimate.min);
+        assertEquals(186_752, estimate.min);
     }
 
     @Test
@@ -282,7 +287,24 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_808, estimate.min);
+        assertEquals(186_752, estimate.min);
+    }
+
+    @Test
+    void testMemoryEstimationWithIntermediatePrecision() {
+        var dimensions = ImmutableGraphDimensions.builder().nodeCount(100).build();
+        var estimates = new long[IntermediatePrecision.values().length];
+        for (IntermediatePrecision precision : IntermediatePrecision.values()) {
+            var config = ImmutableFastRPBaseConfig
+                .builder()
+                .embeddingDimension(128)
+                .intermediatePrecision(precision)
+                .build();
+            estimates[precision.ordinal()] = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage().min;
+        }
+
+        assertTrue(estimates[IntermediatePrecision.FLOAT.ordinal()] > estimates[IntermediatePrecision.HALF.ordinal()]);
+        assertTrue(estimates[IntermediatePrecision.HALF.ordinal()] > estimates[IntermediatePrecision.INT8.ordinal()]);
     }
 
     @Test
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.fastrp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.gds.embeddings.fastrp.IntermediateEmbeddings.HalfEmbeddings.floatToHalf;
+import static org.neo4j.gds.embeddings.fastrp.IntermediateEmbeddings.HalfEmbeddings.halfToFloat;
+
+class IntermediateEmbeddingsTest {
+
+    @Test
+    void shouldParsePrecision() {
+        assertEquals(IntermediatePrecision.HALF, IntermediatePrecision.of("half"));
+        var exception = assertThrows(IllegalArgumentException.class, () -> IntermediatePrecision.of("double"));
+        assertEquals(
+            "Intermediate precision `double` is not supported. Must be one of: FLOAT, HALF, INT8.",
+            exception.getMessage()
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(IntermediatePrecision.class)
+    void shouldStoreRowsWithinPrecision(IntermediatePrecision precision) {
+        int dimension = 300;
+        long nodeCount = 1000;
+        var embeddings = precision.newEmbeddings(nodeCount, dimension, AllocationTracker.empty());
+        var random = new Random(42);
+        var values = new float[(int) nodeCount][dimension];
+        for (int node = 0; node < nodeCount; node++) {
+            for (int i = 0; i < dimension; i++) {
+                values[node][i] = (float) random.nextGaussian();
+            }
+            embeddings.setRow(node, values[node], 0);
+        }
+
+        double tolerance = precision == IntermediatePrecision.FLOAT ? 0 : precision == IntermediatePrecision.HALF ? 4e-3 : 4e-2;
+        for (int node = 0; node < nodeCount; node++) {
+            float[] expected = values[node];
+            float[] actual = embeddings.getRow(node);
+            for (int i = 0; i < dimension; i++) {
+                assertEquals(expected[i], actual[i], tolerance * Math.max(1, Math.abs(expected[i])));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(IntermediatePrecision.class)
+    void shouldAddWeightedRowsToTile(IntermediatePrecision precision) {
+        var embeddings = precision.newEmbeddings(2, 3, AllocationTracker.empty());
+        embeddings.setRow(0, new float[]{0, 0, 0.5f, -1, 0.25f}, 2);
+        embeddings.setRow(1, new float[]{0, 0, 0}, 0);
+
+        var tile = new float[]{1, 1, 1, 1};
+        embeddings.addRowTo(0, tile, 1, 2);
+        embeddings.addRowTo(1, tile, 1, 2);
+        // 0.5 and 0.25 are not exactly representable as int8 relative to 1
+        assertArrayEquals(new float[]{1, 2, -1, 1.5f}, tile, 1e-2f);
+    }
+
+    @ParameterizedTest
+    @EnumSource(IntermediatePrecision.class)
+    void shouldTrackMemory(IntermediatePrecision precision) {
+        var tracker = AllocationTracker.create();
+        var embeddings = precision.newEmbeddings(100_000, 64, tracker);
+        assertEquals(precision.memoryEstimation(100_000, 64), tracker.trackedBytes());
+        assertEquals(tracker.trackedBytes(), embeddings.release());
+    }
+
+    @Test
+    void shouldConvertHalfPrecision() {
+        assertEquals((short) 0x3C00, floatToHalf(1.0f));
+        assertEquals((short) 0xC000, floatToHalf(-2.0f));
+        assertEquals((short) 0x7BFF, floatToHalf(65504f));
+        assertEquals((short) 0x7C00, floatToHalf(1e6f));
+        assertEquals((short) 0x0001, floatToHalf(0x1p-24f));
+        assertEquals((short) 0x8000, floatToHalf(-0.0f));
+        assertTrue(Float.isNaN(halfToFloat(floatToHalf(Float.NaN))));
+        // ties round to even
+        assertEquals((short) 0x3C00, floatToHalf(1.0f + 0x1p-11f));
+        assertEquals((short) 0x3C02, floatToHalf(1.0f + 3 * 0x1p-11f));
+
+        for (int half = 0; half < 1 << 16; half++) {
+            float value = halfToFloat((short) half);
+            if (!Float.isNaN(value)) {
+                assertEquals((short) half, floatToHalf(value));
+            }
+        }
+    }
+}
@@ -26,7 +26,7 @@ import org.neo4j.gds.embeddings.graphsage.algo.MultiLabelGraphSageTrain;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
@@ -76,12 +76,12 @@ class GraphSageEmbeddingsGeneratorTest {
             AllocationTracker.empty()
         );
 
-        HugeObjectArray<double[]> embeddings = embeddingsGenerator.makeEmbeddings(graph, features);
+        HugeDoubleMatrix embeddings = embeddingsGenerator.makeEmbeddings(graph, features);
 
         assertNotNull(embeddings);
-        assertEquals(graph.nodeCount(), embeddings.size());
+        assertEquals(graph.nodeCount(), embeddings.rows());
 
-        LongStream.range(0, graph.nodeCount()).forEach(n -> assertEquals(EMBEDDING_DIMENSION, embeddings.get(n).length));
+        LongStream.range(0, graph.nodeCount()).forEach(n -> assertEquals(EMBEDDING_DIMENSION, embeddings.getRow(n).length));
     }
 
     @ParameterizedTest
@@ -115,8 +115,8 @@ class GraphSageEmbeddingsGeneratorTest {
         );
 
         assertNotNull(embeddings);
-        assertEquals(graph.nodeCount(), embeddings.size());
+        assertEquals(graph.nodeCount(), embeddings.rows());
 
-        LongStream.range(0, graph.nodeCount()).forEach(n -> assertEquals(EMBEDDING_DIMENSION, embeddings.get(n).length));
+        LongStream.range(0, graph.nodeCount()).forEach(n -> assertEquals(EMBEDDING_DIMENSION, embeddings.getRow(n).length));
     }
 }
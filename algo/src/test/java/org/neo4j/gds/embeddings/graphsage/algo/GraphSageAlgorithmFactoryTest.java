@@ -34,6 +34,7 @@ import org.neo4j.gds.embeddings.graphsage.GraphSageHelper;
 import org.neo4j.gds.embeddings.graphsage.Layer;
 import org.neo4j.gds.embeddings.graphsage.LayerConfig;
 import org.neo4j.gds.embeddings.graphsage.ModelData;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.api.schema.GraphSchema;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GdsEdition;
@@ -44,6 +45,7 @@ import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
 import org.neo4j.graphalgo.gdl.GdlGraphs;
 import org.neo4j.logging.NullLog;
 
@@ -90,9 +92,8 @@ class GraphSageAlgorithmFactoryTest {
         var initialFeaturesArray = sizeOfDoubleArray(trainConfig.featuresSize());
         var initialFeaturesMemory = hugeObjectArraySize.applyAsLong(initialFeaturesArray);
 
-        // result: HugeOA[nodeCount * double[embeddingDimension]]
-        var resultFeaturesArray = sizeOfDoubleArray(trainConfig.embeddingDimension());
-        var resultFeaturesMemory = hugeObjectArraySize.applyAsLong(resultFeaturesArray);
+        // result: HugeDoubleMatrix[nodeCount * embeddingDimension]
+        var resultFeaturesMemory = HugeDoubleMatrix.memoryEstimation(nodeCount, trainConfig.embeddingDimension());
 
         // batches:
         // per thread:
@@ -248,8 +249,10 @@ class GraphSageAlgorithmFactoryTest {
             aggregatorMemories.stream()
         ).reduce(MemoryRange.empty(), MemoryRange::add);
 
+        var tensorArenaMemory = TensorArena.memoryEstimation().estimate(GraphDimensions.of(nodeCount), 1).memoryUsage();
+
         var concurrency = gsConfig.concurrency();
-        var evaluateLossMemory = lossFunctionMemory.times(concurrency);
+        var evaluateLossMemory = lossFunctionMemory.add(tensorArenaMemory).times(concurrency);
 
         var expectedMemory = evaluateLossMemory
             .add(MemoryRange.of(initialFeaturesMemory))
@@ -313,10 +316,10 @@ class GraphSageAlgorithmFactoryTest {
             pair(5, "MEAN 1"),
             pair(5, "MEAN 2"),
             pair(5, "normalizeRows"),
-            pair(2, "resultFeatures"),
-            pair(3, "instance"),
-            pair(3, "data"),
-            pair(3, "pages")
+            pair(3, "tensorArena"),
+            pair(4, "this.instance"),
+            pair(4, "freeBuffers"),
+            pair(2, "resultFeatures")
         );
     }
 
@@ -355,9 +358,6 @@ class GraphSageAlgorithmFactoryTest {
             pair(0, "GraphSage"),
             pair(1, RESIDENT_MEMORY),
             pair(2, "resultFeatures"),
-            pair(3, "instance"),
-            pair(3, "data"),
-            pair(3, "pages"),
             pair(1, TEMPORARY_MEMORY),
             pair(2, "this.instance"),
             pair(2, "initialFeatures"),
@@ -373,7 +373,10 @@ class GraphSageAlgorithmFactoryTest {
             pair(5, "firstLayer"),
             pair(5, "MEAN 1"),
             pair(5, "MEAN 2"),
-            pair(5, "normalizeRows")
+            pair(5, "normalizeRows"),
+            pair(3, "tensorArena"),
+            pair(4, "this.instance"),
+            pair(4, "freeBuffers")
         );
     }
 
@@ -574,14 +577,15 @@ class GraphSageAlgorithmFactoryTest {
             .memoryEstimation(config).estimate(GraphDimensions.of(10000), 4);
 
         MemoryRange actual = actualTree.memoryUsage();
+        var tensorArenasMemory = TensorArena.memoryEstimation().estimate(GraphDimensions.of(10000), 1).memoryUsage().times(4);
 
-        assertEquals(6861816, actual.min);
-        assertEquals(18593016, actual.max);
+        assertEquals(6664976 + tensorArenasMemory.min, actual.min);
+        assertEquals(18396176 + tensorArenasMemory.max, actual.max);
 
         assertThat(actualTree.residentMemory())
             .isPresent()
             .map(MemoryTree::memoryUsage)
-            .contains(MemoryRange.of(5320040L));
+            .contains(MemoryRange.of(5123200L));
     }
 
     @AfterEach
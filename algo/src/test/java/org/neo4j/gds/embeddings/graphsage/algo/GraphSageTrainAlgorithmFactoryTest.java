@@ -30,6 +30,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.gds.embeddings.graphsage.Aggregator;
 import org.neo4j.gds.embeddings.graphsage.LayerConfig;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.TensorArena;
 import org.neo4j.graphalgo.core.GdsEdition;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
@@ -354,7 +355,10 @@ class GraphSageTrainAlgorithmFactoryTest {
                 .add(backwardsLossFunctionMemory)
                 .add(MemoryRange.of(updateAdamMemory));
 
+        var tensorArenaMemory = TensorArena.memoryEstimation().estimate(graphDimensions, 1).memoryUsage();
+
         var trainOnEpoch = trainOnBatchMemory
+            .add(tensorArenaMemory)
             .times(concurrency)
             .add(MemoryRange.of(initialAdamMemory));
 
@@ -440,7 +444,10 @@ class GraphSageTrainAlgorithmFactoryTest {
             .add(pair(7, "MEAN 1"))
             .add(pair(7, "MEAN 2"))
             .add(pair(7, "normalizeRows"))
-            .add(pair(5, "updateAdamOptimizer"));
+            .add(pair(5, "updateAdamOptimizer"))
+            .add(pair(4, "tensorArena"))
+            .add(pair(5, "this.instance"))
+            .add(pair(5, "freeBuffers"));
 
         assertThat(flatten(actualEstimation)).containsExactlyElementsOf(expectedTreeStructure.build().collect(toList()));
     }
@@ -70,4 +70,26 @@ class GradientTest {
         assertArrayEquals(ArrayUtil.fill(1D, 5), ctx.gradient(add).data());
         assertArrayEquals(ArrayUtil.fill(1D, 5), ctx.gradient(operand1).data());
     }
+
+    @Test
+    void recomputeAfterReset() {
+        var operand1 = new Weights<>(Matrix.fill(5, 5, 1));
+        var operand2 = new Constant<>(Matrix.fill(4, 5, 1));
+        var add = new MatrixSum(List.of(operand1, operand2));
+        var sum = new ElementSum(List.of(add));
+
+        ComputationContext ctx = new ComputationContext();
+        ctx.forward(sum);
+        ctx.backward(sum);
+
+        ctx.reset();
+        assertNull(ctx.data(add), "Data should be null after reset");
+        assertNull(ctx.gradient(operand1), "Gradient should be null after reset");
+
+        operand1.data().setDataAt(0, 6);
+        assertEquals(46D, ctx.forward(sum).dataAt(0));
+        ctx.backward(sum);
+
+        assertArrayEquals(ArrayUtil.fill(1D, 5), ctx.gradient(operand1).data());
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage.ddl4j.tensor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TensorArenaTest {
+
+    @Test
+    void reusesReleasedBuffersOfSameSize() {
+        TensorArena arena = new TensorArena();
+        double[] buffer = arena.allocate(4);
+        buffer[2] = 42D;
+        arena.release(buffer);
+
+        assertNotSame(buffer, arena.allocate(3));
+        double[] reused = arena.allocate(4);
+        assertSame(buffer, reused);
+        assertArrayEquals(new double[4], reused);
+        assertNotSame(buffer, arena.allocate(4));
+    }
+
+    @Test
+    void createsTensorsByDimensions() {
+        TensorArena arena = new TensorArena();
+
+        assertTrue(arena.zeros(new int[]{1}) instanceof Scalar);
+        assertTrue(arena.zeros(new int[]{3}) instanceof Vector);
+        Tensor<?> matrix = arena.zeros(new int[]{2, 3});
+        assertTrue(matrix instanceof Matrix);
+        assertArrayEquals(new int[]{2, 3}, matrix.dimensions());
+        assertArrayEquals(new double[6], matrix.data());
+    }
+}
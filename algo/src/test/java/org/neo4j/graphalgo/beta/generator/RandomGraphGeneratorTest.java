@@ -91,6 +91,56 @@ class RandomGraphGeneratorTest {
         }
     }
 
+    @Test
+    void shouldGenerateRelsRMatDistributed() {
+        int nbrNodes = 10_000;
+        long avgDeg = 5L;
+
+        RandomGraphGenerator randomGraphGenerator = RandomGraphGenerator.builder()
+            .nodeCount(nbrNodes)
+            .averageDegree(avgDeg)
+            .relationshipDistribution(RelationshipDistribution.RMAT)
+            .allowSelfLoops(AllowSelfLoops.YES)
+            .build();
+        HugeGraph graph = randomGraphGenerator.generate();
+
+        assertEquals(graph.nodeCount(), nbrNodes);
+        assertEquals((double) nbrNodes * avgDeg, graph.relationshipCount(), 1_000D);
+
+        // R-MAT favours nodes with few bits set, node 0 being the most likely source
+        var maxDegree = LongStream.range(0, nbrNodes).map(graph::degree).max().orElse(0L);
+        assertThat(graph.degree(0)).isEqualTo(maxDegree);
+        assertThat(maxDegree).isGreaterThan(100 * avgDeg);
+    }
+
+    @Test
+    void shouldGenerateSameGraphIndependentOfConcurrency() {
+        int nbrNodes = 5 * (int) RandomGraphGenerator.PARTITION_SIZE + 42;
+        for (RelationshipDistribution distribution : RelationshipDistribution.values()) {
+            HugeGraph singleThreaded = RandomGraphGenerator.builder()
+                .nodeCount(nbrNodes)
+                .averageDegree(3)
+                .relationshipDistribution(distribution)
+                .relationshipPropertyProducer(PropertyProducer.random("prop", 0, 1))
+                .seed(1337L)
+                .concurrency(1)
+                .build()
+                .generate();
+
+            HugeGraph multiThreaded = RandomGraphGenerator.builder()
+                .nodeCount(nbrNodes)
+                .averageDegree(3)
+                .relationshipDistribution(distribution)
+                .relationshipPropertyProducer(PropertyProducer.random("prop", 0, 1))
+                .seed(1337L)
+                .concurrency(4)
+                .build()
+                .generate();
+
+            TestSupport.assertGraphEquals(singleThreaded, multiThreaded);
+        }
+    }
+
     @Test
     void shouldNotGenerateSelfLoops() {
         int nbrNodes = 1000;
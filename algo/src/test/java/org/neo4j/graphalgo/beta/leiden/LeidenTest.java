@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.TestProgressLogger;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.extension.TestGraph;
+import org.neo4j.graphalgo.louvain.ImmutableLouvainStreamConfig;
+import org.neo4j.graphalgo.louvain.Louvain;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunitiesWithLabels;
+import static org.neo4j.graphalgo.TestLog.INFO;
+import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.ids;
+import static org.neo4j.graphalgo.core.ProcedureConstants.TOLERANCE_DEFAULT;
+import static org.neo4j.graphalgo.graphbuilder.TransactionTerminationTestUtils.assertTerminates;
+
+@GdlExtension
+class LeidenTest {
+
+    static ImmutableLeidenStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableLeidenStreamConfig.builder()
+            .maxLevels(10)
+            .maxIterations(10)
+            .tolerance(TOLERANCE_DEFAULT)
+            .includeIntermediateCommunities(true)
+            .concurrency(1);
+    }
+
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {seed: 1})" +        // 0
+        ", (b:Node {seed: 1})" +        // 1
+        ", (c:Node {seed: 1})" +        // 2
+        ", (d:Node {seed: 1})" +        // 3
+        ", (e:Node {seed: 1})" +        // 4
+        ", (f:Node {seed: 1})" +        // 5
+        ", (g:Node {seed: 2})" +        // 6
+        ", (h:Node {seed: 2})" +        // 7
+        ", (i:Node {seed: 2})" +        // 8
+        ", (j:Node {seed: 42})" +       // 9
+        ", (k:Node {seed: 42})" +       // 10
+        ", (l:Node {seed: 42})" +       // 11
+        ", (m:Node {seed: 42})" +       // 12
+        ", (n:Node {seed: 42})" +       // 13
+        ", (x:Node {seed: 1})" +        // 14
+        ", (u:Some)" +
+        ", (v:Other)" +
+        ", (w:Label)" +
+
+        ", (a)-[:TYPE_OUT {weight: 1.0}]->(b)" +
+        ", (a)-[:TYPE_OUT {weight: 1.0}]->(d)" +
+        ", (a)-[:TYPE_OUT {weight: 1.0}]->(f)" +
+        ", (b)-[:TYPE_OUT {weight: 1.0}]->(d)" +
+        ", (b)-[:TYPE_OUT {weight: 1.0}]->(x)" +
+        ", (b)-[:TYPE_OUT {weight: 1.0}]->(g)" +
+        ", (b)-[:TYPE_OUT {weight: 1.0}]->(e)" +
+        ", (c)-[:TYPE_OUT {weight: 1.0}]->(x)" +
+        ", (c)-[:TYPE_OUT {weight: 1.0}]->(f)" +
+        ", (d)-[:TYPE_OUT {weight: 1.0}]->(k)" +
+        ", (e)-[:TYPE_OUT {weight: 1.0}]->(x)" +
+        ", (e)-[:TYPE_OUT {weight: 0.01}]->(f)" +
+        ", (e)-[:TYPE_OUT {weight: 1.0}]->(h)" +
+        ", (f)-[:TYPE_OUT {weight: 1.0}]->(g)" +
+        ", (g)-[:TYPE_OUT {weight: 1.0}]->(h)" +
+        ", (h)-[:TYPE_OUT {weight: 1.0}]->(i)" +
+        ", (h)-[:TYPE_OUT {weight: 1.0}]->(j)" +
+        ", (i)-[:TYPE_OUT {weight: 1.0}]->(k)" +
+        ", (j)-[:TYPE_OUT {weight: 1.0}]->(k)" +
+        ", (j)-[:TYPE_OUT {weight: 1.0}]->(m)" +
+        ", (j)-[:TYPE_OUT {weight: 1.0}]->(n)" +
+        ", (k)-[:TYPE_OUT {weight: 1.0}]->(m)" +
+        ", (k)-[:TYPE_OUT {weight: 1.0}]->(l)" +
+        ", (l)-[:TYPE_OUT {weight: 1.0}]->(n)" +
+        ", (m)-[:TYPE_OUT {weight: 1.0}]->(n)" +
+
+        ", (a)<-[:TYPE_IN {weight: 1.0}]-(b)" +
+        ", (a)<-[:TYPE_IN {weight: 1.0}]-(d)" +
+        ", (a)<-[:TYPE_IN {weight: 1.0}]-(f)" +
+        ", (b)<-[:TYPE_IN {weight: 1.0}]-(d)" +
+        ", (b)<-[:TYPE_IN {weight: 1.0}]-(x)" +
+        ", (b)<-[:TYPE_IN {weight: 1.0}]-(g)" +
+        ", (b)<-[:TYPE_IN {weight: 1.0}]-(e)" +
+        ", (c)<-[:TYPE_IN {weight: 1.0}]-(x)" +
+        ", (c)<-[:TYPE_IN {weight: 1.0}]-(f)" +
+        ", (d)<-[:TYPE_IN {weight: 1.0}]-(k)" +
+        ", (e)<-[:TYPE_IN {weight: 1.0}]-(x)" +
+        ", (e)<-[:TYPE_IN {weight: 0.01}]-(f)" +
+        ", (e)<-[:TYPE_IN {weight: 1.0}]-(h)" +
+        ", (f)<-[:TYPE_IN {weight: 1.0}]-(g)" +
+        ", (g)<-[:TYPE_IN {weight: 1.0}]-(h)" +
+        ", (h)<-[:TYPE_IN {weight: 1.0}]-(i)" +
+        ", (h)<-[:TYPE_IN {weight: 1.0}]-(j)" +
+        ", (i)<-[:TYPE_IN {weight: 1.0}]-(k)" +
+        ", (j)<-[:TYPE_IN {weight: 1.0}]-(k)" +
+        ", (j)<-[:TYPE_IN {weight: 1.0}]-(m)" +
+        ", (j)<-[:TYPE_IN {weight: 1.0}]-(n)" +
+        ", (k)<-[:TYPE_IN {weight: 1.0}]-(m)" +
+        ", (k)<-[:TYPE_IN {weight: 1.0}]-(l)" +
+        ", (l)<-[:TYPE_IN {weight: 1.0}]-(n)" +
+        ", (m)<-[:TYPE_IN {weight: 1.0}]-(n)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void testUnweighted() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        final HugeLongArray[] dendrogram = algorithm.dendrograms();
+        final double[] modularities = algorithm.modularities();
+
+        assertCommunities(
+            dendrogram[0],
+            ids(idFunction, "a", "b", "d"),
+            ids(idFunction, "c", "e", "f", "x"),
+            ids(idFunction, "g", "h", "i"),
+            ids(idFunction, "j", "k", "l", "m", "n")
+        );
+
+        assertCommunities(
+            dendrogram[1],
+            ids(idFunction, "a", "b", "c", "d", "e", "f", "x"),
+            ids(idFunction, "g", "h", "i"),
+            ids(idFunction, "j", "k", "l", "m", "n")
+        );
+
+        assertEquals(2, algorithm.levels());
+        assertEquals(0.38, modularities[modularities.length - 1], 0.01);
+    }
+
+    @Test
+    void testWeighted() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.of("weight")
+        );
+
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        final HugeLongArray[] dendrogram = algorithm.dendrograms();
+        final double[] modularities = algorithm.modularities();
+
+        assertCommunities(
+            dendrogram[0],
+            ids(idFunction, "a", "b", "d"),
+            ids(idFunction, "c", "e", "x"),
+            ids(idFunction, "f", "g"),
+            ids(idFunction, "h", "i"),
+            ids(idFunction, "j", "k", "l", "m", "n")
+        );
+
+        assertCommunities(
+            dendrogram[1],
+            ids(idFunction, "a", "b", "c", "d", "e", "f", "g", "x"),
+            ids(idFunction, "h", "i", "j", "k", "l", "m", "n")
+        );
+
+        assertEquals(2, algorithm.levels());
+        assertEquals(0.37, modularities[modularities.length - 1], 0.01);
+    }
+
+    @Test
+    void testSeeded() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.of("weight")
+        );
+
+        Leiden algorithm = new Leiden(
+            graph,
+            defaultConfigBuilder().seedProperty("seed").build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        final HugeLongArray[] dendrogram = algorithm.dendrograms();
+        final double[] modularities = algorithm.modularities();
+
+        var expectedCommunitiesWithLabels = Map.of(
+            1L, ids(idFunction, "a", "b", "c", "d", "e", "f", "x"),
+            2L, ids(idFunction, "g", "h", "i"),
+            42L, ids(idFunction, "j", "k", "l", "m", "n")
+        );
+
+        assertCommunitiesWithLabels(
+            dendrogram[0],
+            expectedCommunitiesWithLabels
+        );
+
+        assertEquals(1, algorithm.levels());
+        assertEquals(0.38, modularities[modularities.length - 1], 0.01);
+    }
+
+    @Test
+    void shouldSplitDisconnectedCommunities() {
+        TestGraph graph = fromGdl(
+            "  (a)-->(b), (b)-->(c), (c)-->(a)" +
+            ", (d)-->(e), (e)-->(f), (f)-->(d)" +
+            ", (g)-->(h)",
+            Orientation.UNDIRECTED
+        );
+
+        // a single community containing two triangles which are not connected to each other
+        HugeLongArray communities = HugeLongArray.newArray(graph.nodeCount(), AllocationTracker.empty());
+        communities.setAll(nodeId -> nodeId == graph.toMappedNodeId("g") || nodeId == graph.toMappedNodeId("h") ? 1 : 0);
+
+        LeidenRefinement refinement = new LeidenRefinement(
+            graph,
+            communities,
+            1,
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        );
+
+        HugeLongArray refinedCommunities = refinement.compute();
+
+        assertEquals(2, refinement.communityCount());
+        assertConnectedCommunities(graph, refinedCommunities);
+        assertEquals(
+            refinedCommunities.get(graph.toMappedNodeId("g")),
+            refinedCommunities.get(graph.toMappedNodeId("h"))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldFindConnectedCommunities(int concurrency) {
+        HugeGraph graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(5)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .orientation(Orientation.UNDIRECTED)
+            .seed(42L)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        Leiden leiden = new Leiden(
+            graph,
+            defaultConfigBuilder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        Louvain louvain = new Louvain(
+            graph,
+            ImmutableLouvainStreamConfig.builder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertConnectedCommunities(graph, leiden.finalDendrogram());
+
+        double leidenModularity = leiden.modularities()[leiden.levels() - 1];
+        double louvainModularity = louvain.modularities()[louvain.levels() - 1];
+        assertTrue(leidenModularity >= louvainModularity - 0.01);
+    }
+
+    @Test
+    void testTolerance() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        Leiden algorithm = new Leiden(
+            graph,
+            ImmutableLeidenStreamConfig.builder()
+                .maxLevels(10)
+                .maxIterations(10)
+                .tolerance(2.0)
+                .includeIntermediateCommunities(false)
+                .concurrency(1)
+                .build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        assertEquals(1, algorithm.levels());
+    }
+
+    @Test
+    void testMaxLevels() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        Leiden algorithm = new Leiden(
+            graph,
+            ImmutableLeidenStreamConfig.builder()
+                .maxLevels(1)
+                .maxIterations(10)
+                .tolerance(TOLERANCE_DEFAULT)
+                .includeIntermediateCommunities(false)
+                .concurrency(1)
+                .build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        assertEquals(1, algorithm.levels());
+    }
+
+    static Stream<Arguments> memoryEstimationTuples() {
+        return Stream.of(
+            arguments(1, 1, 18428641, 37955088),
+            arguments(1, 10, 18428641, 45155448),
+            arguments(4, 1, 18435217, 49759728),
+            arguments(4, 10, 18435217, 56960088)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("memoryEstimationTuples")
+    void testMemoryEstimation(int concurrency, int levels, long expectedMinBytes, long expectedMaxBytes) {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000L)
+            .maxRelCount(500_000L)
+            .build();
+
+        LeidenStreamConfig config = ImmutableLeidenStreamConfig.builder()
+            .maxLevels(levels)
+            .maxIterations(10)
+            .tolerance(TOLERANCE_DEFAULT)
+            .includeIntermediateCommunities(false)
+            .concurrency(1)
+            .build();
+
+        assertMemoryEstimation(
+            () -> new LeidenFactory<>().memoryEstimation(config),
+            dimensions,
+            concurrency,
+            expectedMinBytes,
+            expectedMaxBytes
+        );
+    }
+
+    @Test
+    void testCanBeInterruptedByTxCancellation() {
+        HugeGraph graph = RandomGraphGenerator.builder()
+            .nodeCount(100_000)
+            .averageDegree(10)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .allocationTracker(AllocationTracker.empty())
+            .build()
+            .generate();
+
+        assertTerminates((terminationFlag) ->
+            new Leiden(
+                graph,
+                defaultConfigBuilder().concurrency(2).build(),
+                Pools.DEFAULT,
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+                .withTerminationFlag(terminationFlag)
+                .compute(), 500, 1000
+        );
+    }
+
+    @Test
+    void testLogging() {
+        var graph = graphStore.getGraph(
+            NodeLabel.listOf("Node"),
+            RelationshipType.listOf("TYPE_OUT", "TYPE_IN"),
+            Optional.empty()
+        );
+
+        var config = defaultConfigBuilder().build();
+
+        var testLogger = new TestProgressLogger(0, "Leiden", config.concurrency());
+
+        var leiden = new Leiden(
+            graph,
+            config,
+            Pools.DEFAULT,
+            testLogger,
+            AllocationTracker.empty()
+        );
+
+        leiden.compute();
+
+        assertTrue(testLogger.containsMessage(INFO, ":: Start"));
+        assertTrue(testLogger.containsMessage(INFO, ":: Refinement :: Finished"));
+        assertTrue(testLogger.containsMessage(INFO, "Level 1 :: Finished"));
+        assertTrue(testLogger.containsMessage(INFO, ":: Finished"));
+    }
+
+    private static void assertConnectedCommunities(Graph graph, HugeLongArray communities) {
+        Map<Long, Long> startNodes = new HashMap<>();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            startNodes.putIfAbsent(communities.get(nodeId), nodeId);
+        }
+
+        long reached = 0;
+        boolean[] visited = new boolean[Math.toIntExact(graph.nodeCount())];
+        for (long startNode : startNodes.values()) {
+            long community = communities.get(startNode);
+            var queue = new ArrayDeque<Long>();
+            queue.add(startNode);
+            visited[(int) startNode] = true;
+            while (!queue.isEmpty()) {
+                long nodeId = queue.poll();
+                reached++;
+                graph.forEachRelationship(nodeId, (source, target) -> {
+                    if (!visited[(int) target] && communities.get(target) == community) {
+                        visited[(int) target] = true;
+                        queue.add(target);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        // every node is reachable from the first node of its community without leaving the community
+        assertEquals(graph.nodeCount(), reached);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.astar;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.astar.config.ImmutableShortestPathAStarStreamConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@GdlExtension
+final class AStarTest {
+
+    // airports and their distances in nautical miles
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (ams:Airport {latitude: 52.3086, longitude: 4.7639})" +
+        ", (fra:Airport {latitude: 50.0333, longitude: 8.5706})" +
+        ", (muc:Airport {latitude: 48.3538, longitude: 11.7861})" +
+        ", (vie:Airport {latitude: 48.1103, longitude: 16.5697})" +
+        ", (zrh:Airport {latitude: 47.4647, longitude: 8.5492})" +
+        ", (cdg:Airport {latitude: 49.0097, longitude: 2.5478})" +
+        ", (lhr:Airport {latitude: 51.4706, longitude: -0.4619})" +
+
+        ", (ams)-[:FLIGHT {distance: 198}]->(fra)" +
+        ", (ams)-[:FLIGHT {distance: 216}]->(cdg)" +
+        ", (ams)-[:FLIGHT {distance: 201}]->(lhr)" +
+        ", (fra)-[:FLIGHT {distance: 162}]->(muc)" +
+        ", (fra)-[:FLIGHT {distance: 155}]->(zrh)" +
+        ", (muc)-[:FLIGHT {distance: 193}]->(vie)" +
+        ", (zrh)-[:FLIGHT {distance: 400}]->(vie)" +
+        ", (cdg)-[:FLIGHT {distance: 560}]->(vie)" +
+        ", (lhr)-[:FLIGHT {distance: 690}]->(vie)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    static ImmutableShortestPathAStarStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableShortestPathAStarStreamConfig.builder()
+            .latitudeProperty("latitude")
+            .longitudeProperty("longitude")
+            .concurrency(1);
+    }
+
+    @Test
+    void shouldComputeMemoryEstimation() {
+        TestSupport.assertMemoryEstimation(
+            AStar::memoryEstimation,
+            1_000,
+            1,
+            48_952L,
+            48_952L
+        );
+    }
+
+    @Test
+    void sourceTarget() {
+        var config = defaultConfigBuilder()
+            .sourceNode(idFunction.of("ams"))
+            .targetNode(idFunction.of("vie"))
+            .build();
+
+        var path = AStar
+            .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(
+            List.of(idFunction.of("ams"), idFunction.of("fra"), idFunction.of("muc"), idFunction.of("vie")),
+            path.nodeIds()
+        );
+        assertEquals(List.of(0.0, 198.0, 360.0, 553.0), path.costs());
+        assertEquals(553.0, path.totalCost());
+    }
+
+    @Test
+    void shouldFindSamePathsAsDijkstra() {
+        var airports = new String[]{"ams", "fra", "muc", "vie", "zrh", "cdg", "lhr"};
+        for (String source : airports) {
+            for (String target : airports) {
+                var config = defaultConfigBuilder()
+                    .sourceNode(idFunction.of(source))
+                    .targetNode(idFunction.of(target))
+                    .build();
+
+                var expected = Dijkstra
+                    .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                    .compute()
+                    .paths()
+                    .findFirst()
+                    .get();
+                var actual = AStar
+                    .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                    .compute()
+                    .paths()
+                    .findFirst()
+                    .get();
+
+                assertEquals(expected, actual, source + " -> " + target);
+            }
+        }
+    }
+
+    @Test
+    void nonExisting() {
+        var config = defaultConfigBuilder()
+            .sourceNode(idFunction.of("vie"))
+            .targetNode(idFunction.of("ams"))
+            .build();
+
+        var path = AStar
+            .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(PathResult.EMPTY, path);
+    }
+
+    @Test
+    void heuristicShouldNotOverestimateDistances() {
+        var latitudes = graph.nodeProperties("latitude");
+        var longitudes = graph.nodeProperties("longitude");
+
+        graph.forEachNode(source -> {
+            graph.forEachRelationship(source, 1.0, (s, target, distance) -> {
+                var heuristic = new AStar.HaversineHeuristic(latitudes, longitudes, target);
+                assertTrue(heuristic.applyAsDouble(source) <= distance);
+                return true;
+            });
+            return true;
+        });
+    }
+
+    @Test
+    void shouldFailOnMissingCoordinates() {
+        var config = defaultConfigBuilder()
+            .latitudeProperty("lat")
+            .sourceNode(idFunction.of("ams"))
+            .targetNode(idFunction.of("vie"))
+            .build();
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> AStar.sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+        );
+
+        assertTrue(exception.getMessage().contains("Node property `lat` not found"));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.delta;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.delta.config.ImmutableAllShortestPathsDeltaSteppingStreamConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.Dijkstra;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableAllShortestPathsDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@GdlExtension
+final class DeltaSteppingTest {
+
+    // https://en.wikipedia.org/wiki/Shortest_path_problem#/media/File:Shortest_path_with_direct_weights.svg
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label)" +
+        ", (b:Label)" +
+        ", (c:Label)" +
+        ", (d:Label)" +
+        ", (e:Label)" +
+        ", (f:Label)" +
+        ", (g:Label)" +
+
+        ", (a)-[:TYPE {cost: 4}]->(b)" +
+        ", (a)-[:TYPE {cost: 2}]->(c)" +
+        ", (b)-[:TYPE {cost: 5}]->(c)" +
+        ", (b)-[:TYPE {cost: 10}]->(d)" +
+        ", (c)-[:TYPE {cost: 3}]->(e)" +
+        ", (d)-[:TYPE {cost: 11}]->(f)" +
+        ", (e)-[:TYPE {cost: 4}]->(d)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    static ImmutableAllShortestPathsDeltaSteppingStreamConfig.Builder defaultConfigBuilder() {
+        return ImmutableAllShortestPathsDeltaSteppingStreamConfig.builder()
+            .concurrency(1);
+    }
+
+    static Stream<Arguments> expectedMemoryEstimation() {
+        return Stream.of(
+            Arguments.of(1_000, 1, 16_600L, 49_488L),
+            Arguments.of(1_000_000, 4, 16_250_608L, 24_283_768L),
+            Arguments.of(1_000_000_000, 4, 16_252_442_064L, 24_257_337_272L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectedMemoryEstimation")
+    void shouldComputeMemoryEstimation(int nodeCount, int concurrency, long expectedMinBytes, long expectedMaxBytes) {
+        TestSupport.assertMemoryEstimation(
+            DeltaStepping::memoryEstimation,
+            nodeCount,
+            concurrency,
+            expectedMinBytes,
+            expectedMaxBytes
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0.5, 1", "0.5, 4", "2.0, 1", "2.0, 4", "3.5, 4", "100.0, 4"})
+    void shouldComputeDistances(double delta, int concurrency) {
+        var config = defaultConfigBuilder()
+            .sourceNode(idFunction.of("a"))
+            .delta(delta)
+            .concurrency(concurrency)
+            .build();
+
+        var distances = DeltaStepping.of(
+            graph,
+            config,
+            config.delta(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertEquals(0.0, distances.get(idFunction.of("a")));
+        assertEquals(4.0, distances.get(idFunction.of("b")));
+        assertEquals(2.0, distances.get(idFunction.of("c")));
+        assertEquals(9.0, distances.get(idFunction.of("d")));
+        assertEquals(5.0, distances.get(idFunction.of("e")));
+        assertEquals(20.0, distances.get(idFunction.of("f")));
+        assertEquals(Double.POSITIVE_INFINITY, distances.get(idFunction.of("g")));
+    }
+
+    @Test
+    void shouldComputeDistancesFromAnySourceNode() {
+        var config = defaultConfigBuilder()
+            .sourceNode(idFunction.of("b"))
+            .build();
+
+        var distances = DeltaStepping.of(
+            graph,
+            config,
+            config.delta(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertEquals(Double.POSITIVE_INFINITY, distances.get(idFunction.of("a")));
+        assertEquals(0.0, distances.get(idFunction.of("b")));
+        assertEquals(5.0, distances.get(idFunction.of("c")));
+        assertEquals(10.0, distances.get(idFunction.of("d")));
+        assertEquals(8.0, distances.get(idFunction.of("e")));
+        assertEquals(21.0, distances.get(idFunction.of("f")));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1.0, 1", "4, 1.0, 42", "4, 5.0, 1337", "4, 0.25, 7"})
+    void shouldComputeSameDistancesAsDijkstra(int concurrency, double delta, long seed) {
+        Graph randomGraph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(5)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .relationshipPropertyProducer(PropertyProducer.random("cost", 0, 10))
+            .seed(seed)
+            .build()
+            .generate();
+
+        long sourceNode = randomGraph.toOriginalNodeId(0);
+        var dijkstraConfig = ImmutableAllShortestPathsDijkstraStreamConfig.builder()
+            .sourceNode(sourceNode)
+            .build();
+
+        double[] expected = new double[Math.toIntExact(randomGraph.nodeCount())];
+        Arrays.fill(expected, Double.POSITIVE_INFINITY);
+        Dijkstra
+            .singleSource(randomGraph, dijkstraConfig, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .takeWhile(path -> path != PathResult.EMPTY)
+            .forEach(path -> expected[Math.toIntExact(path.targetNode())] = path.totalCost());
+
+        var config = defaultConfigBuilder()
+            .sourceNode(sourceNode)
+            .delta(delta)
+            .concurrency(concurrency)
+            .build();
+
+        HugeAtomicDoubleArray distances = DeltaStepping.of(
+            randomGraph,
+            config,
+            config.delta(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+
+        for (int nodeId = 0; nodeId < expected.length; nodeId++) {
+            assertEquals(expected[nodeId], distances.get(nodeId), 1E-9);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.dijkstra;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.TestSupport;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.paths.PathResult;
+import org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig;
+import org.neo4j.graphalgo.beta.paths.dijkstra.config.ImmutableShortestPathDijkstraStreamConfig;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@GdlExtension
+final class BidirectionalDijkstraTest {
+
+    // https://www.cise.ufl.edu/~sahni/cop3530/slides/lec326.pdf without relationship id 14
+    @GdlGraph
+    @GdlGraph(graphNamePrefix = "reverse", orientation = Orientation.REVERSE)
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (n1:Label)" +
+        ", (n2:Label)" +
+        ", (n3:Label)" +
+        ", (n4:Label)" +
+        ", (n5:Label)" +
+        ", (n6:Label)" +
+        ", (n7:Label)" +
+
+        ", (n1)-[:TYPE {cost: 6}]->(n2)" +
+        ", (n1)-[:TYPE {cost: 2}]->(n3)" +
+        ", (n1)-[:TYPE {cost: 16}]->(n4)" +
+        ", (n2)-[:TYPE {cost: 4}]->(n5)" +
+        ", (n2)-[:TYPE {cost: 5}]->(n4)" +
+        ", (n3)-[:TYPE {cost: 7}]->(n2)" +
+        ", (n3)-[:TYPE {cost: 3}]->(n5)" +
+        ", (n3)-[:TYPE {cost: 8}]->(n6)" +
+        ", (n4)-[:TYPE {cost: 7}]->(n3)" +
+        ", (n5)-[:TYPE {cost: 4}]->(n4)" +
+        ", (n5)-[:TYPE {cost: 10}]->(n7)" +
+        ", (n6)-[:TYPE {cost: 1}]->(n7)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private Graph reverseGraph;
+
+    @Inject
+    private Graph undirectedGraph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void shouldComputeMemoryEstimation() {
+        TestSupport.assertMemoryEstimation(
+            BidirectionalDijkstra::memoryEstimation,
+            1_000,
+            1,
+            65_408L,
+            65_408L
+        );
+    }
+
+    @Test
+    void sourceTarget() {
+        var config = config("n1", "n7");
+
+        var path = BidirectionalDijkstra
+            .sourceTarget(graph, reverseGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(dijkstra(graph, config), path);
+        assertEquals(11.0, path.totalCost());
+    }
+
+    @Test
+    void sameSourceAndTarget() {
+        var config = config("n3", "n3");
+
+        var path = BidirectionalDijkstra
+            .sourceTarget(graph, reverseGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(dijkstra(graph, config), path);
+    }
+
+    @Test
+    void nonExisting() {
+        var config = config("n7", "n1");
+
+        var path = BidirectionalDijkstra
+            .sourceTarget(graph, reverseGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+
+        assertEquals(PathResult.EMPTY, path);
+    }
+
+    @Test
+    void shouldFindSamePathsAsDijkstra() {
+        var nodes = new String[]{"n1", "n2", "n3", "n4", "n5", "n6", "n7"};
+        for (String source : nodes) {
+            for (String target : nodes) {
+                var config = config(source, target);
+
+                var directed = BidirectionalDijkstra
+                    .sourceTarget(graph, reverseGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                    .compute()
+                    .paths()
+                    .findFirst()
+                    .get();
+                assertEquals(dijkstra(graph, config), directed, source + " -> " + target);
+
+                var undirected = BidirectionalDijkstra
+                    .sourceTarget(undirectedGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                    .compute()
+                    .paths()
+                    .findFirst()
+                    .get();
+                assertEquals(dijkstra(undirectedGraph, config).totalCost(), undirected.totalCost(), source + " -- " + target);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 42, 1337})
+    void shouldComputeSameCostsAsDijkstraOnRandomGraphs(long seed) {
+        Graph randomGraph = RandomGraphGenerator.builder()
+            .nodeCount(1_000)
+            .averageDegree(3)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .relationshipPropertyProducer(PropertyProducer.random("cost", 0, 10))
+            .orientation(Orientation.UNDIRECTED)
+            .seed(seed)
+            .build()
+            .generate();
+
+        for (long target = 0; target < randomGraph.nodeCount(); target += 37) {
+            var config = ImmutableShortestPathDijkstraStreamConfig.builder()
+                .sourceNode(randomGraph.toOriginalNodeId(0))
+                .targetNode(randomGraph.toOriginalNodeId(target))
+                .build();
+
+            var expected = dijkstra(randomGraph, config);
+            var actual = BidirectionalDijkstra
+                .sourceTarget(randomGraph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+                .compute()
+                .paths()
+                .findFirst()
+                .get();
+
+            assertEquals(expected.totalCost(), actual.totalCost(), 1E-9);
+            assertEquals(expected.nodeIds().size() > 0, actual.nodeIds().size() > 0);
+        }
+    }
+
+    @Test
+    void shouldRequireReverseGraphForDirectedGraphs() {
+        var config = config("n1", "n7");
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> BidirectionalDijkstra.sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+        );
+
+        assertEquals(
+            "Bidirectional Dijkstra requires an undirected graph or an explicitly provided reverse graph.",
+            exception.getMessage()
+        );
+    }
+
+    private ShortestPathBaseConfig config(String source, String target) {
+        return ImmutableShortestPathDijkstraStreamConfig.builder()
+            .sourceNode(idFunction.of(source))
+            .targetNode(idFunction.of(target))
+            .build();
+    }
+
+    private static PathResult dijkstra(Graph graph, ShortestPathBaseConfig config) {
+        return Dijkstra
+            .sourceTarget(graph, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute()
+            .paths()
+            .findFirst()
+            .get();
+    }
+}
@@ -69,9 +69,9 @@ final class DijkstraTest {
 
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1_000, 32_728L),
-            Arguments.of(1_000_000, 32_250_472L),
-            Arguments.of(1_000_000_000, 32_254_883_384L)
+            Arguments.of(1_000, 32_736L),
+            Arguments.of(1_000_000, 32_250_480L),
+            Arguments.of(1_000_000_000, 32_254_883_392L)
         );
     }
 
@@ -28,7 +28,9 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
@@ -123,6 +125,37 @@ class IncrementalWccTest {
             .forEach(node -> assertEquals(42, result.setIdOf(node)));
     }
 
+    @Test
+    void shouldOnlyRequireNewRelationshipsWhenSeeded() {
+        // Seeds are the components computed before the relationships below have been added.
+        // Nodes that share a seed are not connected by any of the new relationships.
+        TestGraph graph = fromGdl(
+            "  (a {seed: 0})" +
+            ", (b {seed: 0})" +
+            ", (c {seed: 0})" +
+            ", (d {seed: 3})" +
+            ", (e {seed: 3})" +
+            ", (f {seed: 5})" +
+            ", (g {seed: 6})" +
+            ", (h)" +
+            ", (c)-[:NEW]->(d)" +
+            ", (h)-[:NEW]->(g)"
+        );
+
+        WccStreamConfig config = ImmutableWccStreamConfig.builder()
+            .seedProperty("seed")
+            .build();
+
+        DisjointSetStruct result = run(graph, config);
+
+        for (String variable : List.of("a", "b", "c", "d", "e")) {
+            assertEquals(0, result.setIdOf(graph.toMappedNodeId(variable)), variable);
+        }
+        assertEquals(5, result.setIdOf(graph.toMappedNodeId("f")));
+        assertEquals(6, result.setIdOf(graph.toMappedNodeId("g")));
+        assertEquals(6, result.setIdOf(graph.toMappedNodeId("h")));
+    }
+
     private DisjointSetStruct run(Graph graph, WccBaseConfig config) {
         return new Wcc(
             graph,
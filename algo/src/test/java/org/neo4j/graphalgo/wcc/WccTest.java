@@ -22,10 +22,14 @@ package org.neo4j.graphalgo.wcc;
 import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.PropertyProducer;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
@@ -102,6 +106,32 @@ class WccTest {
         });
     }
 
+    @ParameterizedTest
+    @CsvSource({"NATURAL, 0", "UNDIRECTED, 0", "NATURAL, 0.5", "UNDIRECTED, 0.5"})
+    void shouldComputeSameComponentsWithSampling(Orientation orientation, double threshold) {
+        Graph graph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .relationshipPropertyProducer(PropertyProducer.random("weight", 0, 1))
+            .orientation(orientation)
+            .seed(42L)
+            .build()
+            .generate();
+
+        var configBuilder = ImmutableWccStreamConfig.builder()
+            .relationshipWeightProperty("weight")
+            .threshold(threshold);
+
+        DisjointSetStruct expected = run(graph, configBuilder.build());
+        DisjointSetStruct actual = run(graph, configBuilder.sampling(true).build());
+
+        graph.forEachNode(nodeId -> {
+            assertEquals(expected.setIdOf(nodeId), actual.setIdOf(nodeId), "Node " + nodeId);
+            return true;
+        });
+    }
+
     @Test
     void shouldLogProgress() {
         var graph = createTestGraph(Orientation.NATURAL);
@@ -144,7 +174,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions0, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(344),
             Wcc.memoryEstimation(true).estimate(dimensions0, 1).memoryUsage()
         );
         assertEquals(
@@ -152,7 +182,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions0, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(344),
             Wcc.memoryEstimation(true).estimate(dimensions0, 8).memoryUsage()
         );
         assertEquals(
@@ -160,7 +190,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions0, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(168),
+            MemoryRange.of(344),
             Wcc.memoryEstimation(true).estimate(dimensions0, 64).memoryUsage()
         );
 
@@ -170,7 +200,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(2120, 10_056),
             Wcc.memoryEstimation(true).estimate(dimensions100, 1).memoryUsage()
         );
         assertEquals(
@@ -178,7 +208,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(3352, 10_392),
             Wcc.memoryEstimation(true).estimate(dimensions100, 8).memoryUsage()
         );
         assertEquals(
@@ -186,7 +216,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1768),
+            MemoryRange.of(13_208, 17_176),
             Wcc.memoryEstimation(true).estimate(dimensions100, 64).memoryUsage()
         );
 
@@ -196,7 +226,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100B, 1).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_141_176L, 5_998_290_652_024L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 1).memoryUsage()
         );
         assertEquals(
@@ -204,7 +234,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100B, 8).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_142_408L, 5_998_290_652_360L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 8).memoryUsage()
         );
         assertEquals(
@@ -212,7 +242,7 @@ class WccTest {
             Wcc.memoryEstimation(false).estimate(dimensions100B, 64).memoryUsage()
         );
         assertEquals(
-            MemoryRange.of(1_600_244_140_824L),
+            MemoryRange.of(1_600_244_152_264L, 5_998_290_655_048L),
             Wcc.memoryEstimation(true).estimate(dimensions100B, 64).memoryUsage()
         );
     }
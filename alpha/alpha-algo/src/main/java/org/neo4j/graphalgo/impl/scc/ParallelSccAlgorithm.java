@@ -0,0 +1,740 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.scc;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PagedLongStack;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Parallel strongly connected components based on trimming, forward-backward search and coloring.
+ *
+ * <p>
+ * The graph only provides outgoing relationships, so an index of incoming relationships is built first.
+ * The computation then runs in four steps, each of which only visits nodes that are not yet assigned:
+ * <ol>
+ * <li>Trimming: nodes without incoming or outgoing relationships are singleton components.
+ *     Removing them may trim their neighbours, which is repeated until no node can be trimmed.</li>
+ * <li>Forward-backward: the component of a pivot node with a high degree is the intersection
+ *     of all nodes reachable from the pivot and all nodes that reach the pivot.
+ *     This usually detects the one giant component of real world graphs.</li>
+ * <li>Coloring: the minimum node id is propagated along outgoing relationships until a fixed point is reached.
+ *     Every node whose color equals its own id is the root of a component, which consists of all nodes
+ *     of the same color that reach the root. Coloring is repeated for the nodes that are left.</li>
+ * <li>Once only a few nodes are left, they are assigned by a sequential Tarjan search.</li>
+ * </ol>
+ * All searches only expand the current frontier, so the work of every step is linear in the number
+ * of nodes and relationships it visits. Small frontiers are expanded on the calling thread.
+ * </p>
+ *
+ * <p>
+ * The component id of each node is the smallest node id within its component,
+ * which matches the output of {@link SccAlgorithm}.
+ * </p>
+ *
+ * <p>
+ * The implementation is based on:<br>
+ * <cite>
+ * Slota, George M., Sivasankaran Rajamanickam, and Kamesh Madduri.
+ * "BFS and coloring-based parallel algorithms for strongly connected components and related problems."
+ * 2014 IEEE 28th International Parallel and Distributed Processing Symposium. IEEE, 2014.
+ * </cite>
+ * </p>
+ */
+public class ParallelSccAlgorithm extends Algorithm<ParallelSccAlgorithm, HugeLongArray> {
+
+    private static final long UNASSIGNED = -1L;
+    private static final long MIN_BATCH_SIZE = 10_000L;
+    static final long DEFAULT_SERIAL_THRESHOLD = 100_000L;
+
+    private final Graph graph;
+    private final long nodeCount;
+    private final int concurrency;
+    private final long serialThreshold;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private List<Partition> partitions;
+    private HugeLongArray components;
+    private HugeAtomicBitSet assigned;
+
+    // incoming relationships of node i are stored at inSources[inOffsets[i], inOffsets[i + 1])
+    private HugeLongArray inOffsets;
+    private HugeLongArray inSources;
+
+    private HugeAtomicLongArray inDegrees;
+    private HugeAtomicLongArray outDegrees;
+    private HugeAtomicBitSet visited;
+    private HugeAtomicBitSet otherVisited;
+    private NodeQueue queue;
+    private NodeQueue nextQueue;
+
+    private long setCount;
+    private long minSetSize;
+    private long maxSetSize;
+
+    /**
+     * The in-degree array is reused for the colors, so colors are not estimated separately.
+     * The incoming relationships are bounded by the relationship count, as self loops are skipped.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(ParallelSccAlgorithm.class)
+            .perNode("components", HugeLongArray::memoryEstimation)
+            .perNode("assigned", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("in-degrees", HugeAtomicLongArray::memoryEstimation)
+            .perNode("out-degrees", HugeAtomicLongArray::memoryEstimation)
+            .add("incoming relationships", MemoryEstimations.builder()
+                .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+                .perGraphDimension(
+                    "sources",
+                    (dimensions, concurrency) -> MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+                )
+                .perNode("positions", HugeAtomicLongArray::memoryEstimation)
+                .build())
+            .perNode("visited", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("other visited", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("queues", nodeCount -> 2 * HugeLongArray.memoryEstimation(nodeCount))
+            .perNode("remaining", HugeLongArray::memoryEstimation)
+            // the stacks of the Tarjan search are only used once few enough nodes are left
+            .rangePerNode("tarjan stacks", nodeCount -> MemoryRange.of(
+                0L,
+                4 * HugeLongArray.memoryEstimation(Math.min(nodeCount, DEFAULT_SERIAL_THRESHOLD))
+            ))
+            .build();
+    }
+
+    public ParallelSccAlgorithm(
+        Graph graph,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this(graph, concurrency, DEFAULT_SERIAL_THRESHOLD, executor, tracker);
+    }
+
+    ParallelSccAlgorithm(
+        Graph graph,
+        int concurrency,
+        long serialThreshold,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.concurrency = concurrency;
+        this.serialThreshold = serialThreshold;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public HugeLongArray compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            graph.relationshipCount(),
+            concurrency,
+            MIN_BATCH_SIZE,
+            Integer.MAX_VALUE
+        );
+        partitions = PartitionUtils.degreePartition(graph, batchSize);
+
+        components = HugeLongArray.newArray(nodeCount, tracker);
+        components.fill(UNASSIGNED);
+        assigned = HugeAtomicBitSet.create(nodeCount, tracker);
+        inDegrees = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        outDegrees = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        visited = HugeAtomicBitSet.create(nodeCount, tracker);
+        otherVisited = HugeAtomicBitSet.create(nodeCount, tracker);
+        queue = new NodeQueue(nodeCount, tracker);
+        nextQueue = new NodeQueue(nodeCount, tracker);
+
+        getProgressLogger().logMessage(":: Incoming relationships :: Start");
+        buildIncomingRelationships();
+        getProgressLogger().logMessage(":: Incoming relationships :: Finished");
+
+        getProgressLogger().logMessage(":: Trim :: Start");
+        trim();
+        getProgressLogger().logMessage(":: Trim :: Finished");
+
+        getProgressLogger().logMessage(":: Forward-Backward :: Start");
+        forwardBackward();
+        getProgressLogger().logMessage(":: Forward-Backward :: Finished");
+
+        HugeLongArray remaining = HugeLongArray.newArray(nodeCount, tracker);
+        long remainingCount = collectRemaining(remaining);
+
+        // the degrees are no longer needed, the in-degree array holds the colors from here on
+        HugeAtomicLongArray colors = inDegrees;
+        int iteration = 0;
+        while (remainingCount > serialThreshold) {
+            iteration++;
+            getProgressLogger().logMessage(formatWithLocale(":: Coloring %d :: Start", iteration));
+            propagateColors(colors, remaining, remainingCount);
+            collectComponents(colors, remaining, remainingCount);
+            remainingCount = compactRemaining(remaining, remainingCount);
+            getProgressLogger().logMessage(formatWithLocale(":: Coloring %d :: Finished", iteration));
+        }
+
+        if (remainingCount > 0) {
+            getProgressLogger().logMessage(":: Tarjan :: Start");
+            tarjan(colors, remaining, remainingCount);
+            getProgressLogger().logMessage(":: Tarjan :: Finished");
+        }
+
+        computeSetSizes(colors);
+
+        releaseIntermediateData();
+
+        getProgressLogger().logMessage(":: Finished");
+        return components;
+    }
+
+    @Override
+    public ParallelSccAlgorithm me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        partitions = null;
+        components = null;
+        releaseIntermediateData();
+    }
+
+    /**
+     * number of connected components in the graph
+     */
+    public long getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * minimum set size
+     */
+    public long getMinSetSize() {
+        return minSetSize;
+    }
+
+    /**
+     * maximum component size
+     */
+    public long getMaxSetSize() {
+        return maxSetSize;
+    }
+
+    /**
+     * Counts the in- and out-degree of every node and builds the index of incoming relationships.
+     * Self loops are ignored, as they do not connect a node to any other node.
+     */
+    private void buildIncomingRelationships() {
+        runForEachPartition((localGraph, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long[] outDegree = {0L};
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (source != target) {
+                        inDegrees.getAndAdd(target, 1L);
+                        outDegree[0]++;
+                    }
+                    return true;
+                });
+                outDegrees.set(nodeId, outDegree[0]);
+            }
+            return 0L;
+        });
+
+        inOffsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            inOffsets.set(nodeId, offset);
+            offset += inDegrees.get(nodeId);
+        }
+        inOffsets.set(nodeCount, offset);
+        inSources = HugeLongArray.newArray(offset, tracker);
+
+        // the next free position within the incoming relationships of each node
+        HugeAtomicLongArray positions = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        runForEachPartition((localGraph, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                positions.set(nodeId, inOffsets.get(nodeId));
+            }
+            return 0L;
+        });
+        runForEachPartition((localGraph, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (source != target) {
+                        inSources.set(positions.getAndAdd(target, 1L), source);
+                    }
+                    return true;
+                });
+            }
+            return 0L;
+        });
+        positions.release();
+    }
+
+    /**
+     * Assigns nodes without incoming or outgoing relationships to their own component
+     * and continues with neighbours that lose their last incoming or outgoing relationship that way.
+     */
+    private void trim() {
+        queue.clear();
+        runForEachPartition((localGraph, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (inDegrees.get(nodeId) == 0L || outDegrees.get(nodeId) == 0L) {
+                    assignSingleton(nodeId, queue);
+                }
+            }
+            return 0L;
+        });
+
+        traverse((localGraph, nodeId, next) -> {
+            localGraph.forEachRelationship(nodeId, (source, target) -> {
+                if (source != target && !assigned.get(target) && inDegrees.getAndAdd(target, -1L) == 1L) {
+                    assignSingleton(target, next);
+                }
+                return true;
+            });
+            forEachIncomingRelationship(nodeId, source -> {
+                if (source != nodeId && !assigned.get(source) && outDegrees.getAndAdd(source, -1L) == 1L) {
+                    assignSingleton(source, next);
+                }
+            });
+        });
+    }
+
+    private void assignSingleton(long nodeId, NodeQueue next) {
+        if (!assigned.getAndSet(nodeId)) {
+            components.set(nodeId, nodeId);
+            next.add(nodeId);
+        }
+    }
+
+    /**
+     * Assigns the component of the remaining node with the highest degree product,
+     * which consists of all nodes that are reachable from that pivot and reach the pivot.
+     */
+    private void forwardBackward() {
+        long[] candidates = runForEachPartition((localGraph, start, end) -> {
+            long pivot = -1L;
+            long maxDegreeProduct = -1L;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!assigned.get(nodeId)) {
+                    long degreeProduct = inDegrees.get(nodeId) * outDegrees.get(nodeId);
+                    if (degreeProduct > maxDegreeProduct) {
+                        maxDegreeProduct = degreeProduct;
+                        pivot = nodeId;
+                    }
+                }
+            }
+            return pivot;
+        });
+
+        long pivot = -1L;
+        for (long candidate : candidates) {
+            if (candidate != -1L && (pivot == -1L ||
+                inDegrees.get(candidate) * outDegrees.get(candidate) > inDegrees.get(pivot) * outDegrees.get(pivot))) {
+                pivot = candidate;
+            }
+        }
+        if (pivot == -1L) {
+            return;
+        }
+
+        HugeAtomicBitSet forward = visited;
+        HugeAtomicBitSet backward = otherVisited;
+        forward.clear();
+        backward.clear();
+
+        queue.clear();
+        forward.set(pivot);
+        queue.add(pivot);
+        traverse((localGraph, nodeId, next) -> localGraph.forEachRelationship(nodeId, (source, target) -> {
+            if (!assigned.get(target) && !forward.getAndSet(target)) {
+                next.add(target);
+            }
+            return true;
+        }));
+
+        // every node that is visited backwards within the forward set is part of the component of the pivot
+        queue.clear();
+        backward.set(pivot);
+        queue.add(pivot);
+        traverse((localGraph, nodeId, next) -> forEachIncomingRelationship(nodeId, source -> {
+            if (forward.get(source) && !assigned.get(source) && !backward.getAndSet(source)) {
+                next.add(source);
+            }
+        }));
+
+        long componentId = backward.nextSetBit(0);
+        for (long member = componentId; member != -1L; member = backward.nextSetBit(member + 1)) {
+            components.set(member, componentId);
+            assigned.set(member);
+        }
+    }
+
+    private long collectRemaining(HugeLongArray remaining) {
+        long remainingCount = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (!assigned.get(nodeId)) {
+                remaining.set(remainingCount++, nodeId);
+            }
+        }
+        return remainingCount;
+    }
+
+    private long compactRemaining(HugeLongArray remaining, long remainingCount) {
+        long newCount = 0L;
+        for (long i = 0; i < remainingCount; i++) {
+            long nodeId = remaining.get(i);
+            if (!assigned.get(nodeId)) {
+                remaining.set(newCount++, nodeId);
+            }
+        }
+        return newCount;
+    }
+
+    /**
+     * Pushes the minimum color along outgoing relationships of remaining nodes until no color changes.
+     */
+    private void propagateColors(HugeAtomicLongArray colors, HugeLongArray remaining, long remainingCount) {
+        HugeAtomicBitSet enqueued = visited;
+        enqueued.clear();
+        queue.clear();
+        for (long i = 0; i < remainingCount; i++) {
+            long nodeId = remaining.get(i);
+            colors.set(nodeId, nodeId);
+            enqueued.set(nodeId);
+            queue.add(nodeId);
+        }
+
+        traverse((localGraph, nodeId, next) -> {
+            // cleared before reading the color, so that a concurrent update enqueues the node again
+            enqueued.clear(nodeId);
+            long color = colors.get(nodeId);
+            localGraph.forEachRelationship(nodeId, (source, target) -> {
+                if (!assigned.get(target)) {
+                    long targetColor = colors.get(target);
+                    while (color < targetColor) {
+                        long witness = colors.compareAndExchange(target, targetColor, color);
+                        if (witness == targetColor) {
+                            if (!enqueued.getAndSet(target)) {
+                                next.add(target);
+                            }
+                            break;
+                        }
+                        targetColor = witness;
+                    }
+                }
+                return true;
+            });
+        });
+    }
+
+    /**
+     * Assigns each color root and all nodes of the same color that reach the root to a component.
+     */
+    private void collectComponents(HugeAtomicLongArray colors, HugeLongArray remaining, long remainingCount) {
+        queue.clear();
+        for (long i = 0; i < remainingCount; i++) {
+            long nodeId = remaining.get(i);
+            if (colors.get(nodeId) == nodeId) {
+                components.set(nodeId, nodeId);
+                assigned.set(nodeId);
+                queue.add(nodeId);
+            }
+        }
+
+        traverse((localGraph, nodeId, next) -> {
+            long color = colors.get(nodeId);
+            forEachIncomingRelationship(nodeId, source -> {
+                if (!assigned.get(source) && colors.get(source) == color && !assigned.getAndSet(source)) {
+                    components.set(source, color);
+                    next.add(source);
+                }
+            });
+        });
+    }
+
+    /**
+     * Path-based iterative Tarjan search over the remaining nodes, see {@link SccAlgorithm}.
+     */
+    private void tarjan(HugeAtomicLongArray index, HugeLongArray remaining, long remainingCount) {
+        for (long i = 0; i < remainingCount; i++) {
+            index.set(remaining.get(i), -1L);
+        }
+
+        PagedLongStack stack = new PagedLongStack(remainingCount, tracker);
+        PagedLongStack boundaries = new PagedLongStack(remainingCount, tracker);
+        PagedLongStack members = new PagedLongStack(remainingCount, tracker);
+        // pairs of (node id, action)
+        PagedLongStack todo = new PagedLongStack(remainingCount, tracker);
+        final long visit = 0L;
+        final long visitEdge = 1L;
+        final long postVisit = 2L;
+
+        for (long i = 0; i < remainingCount; i++) {
+            long startNode = remaining.get(i);
+            if (assigned.get(startNode) || index.get(startNode) != -1L) {
+                continue;
+            }
+            assertRunning();
+            todo.push(startNode);
+            todo.push(visit);
+            while (!todo.isEmpty()) {
+                long action = todo.pop();
+                long nodeId = todo.pop();
+                if (action == visit) {
+                    long stackSize = stack.size();
+                    index.set(nodeId, stackSize);
+                    stack.push(nodeId);
+                    boundaries.push(stackSize);
+                    todo.push(nodeId);
+                    todo.push(postVisit);
+                    graph.forEachRelationship(nodeId, (source, target) -> {
+                        if (!assigned.get(target)) {
+                            todo.push(target);
+                            todo.push(visitEdge);
+                        }
+                        return true;
+                    });
+                } else if (action == visitEdge) {
+                    if (assigned.get(nodeId)) {
+                        continue;
+                    }
+                    if (index.get(nodeId) == -1L) {
+                        todo.push(nodeId);
+                        todo.push(visit);
+                    } else {
+                        while (index.get(nodeId) < boundaries.peek()) {
+                            boundaries.pop();
+                        }
+                    }
+                } else if (boundaries.peek() == index.get(nodeId)) {
+                    boundaries.pop();
+                    long componentId = nodeId;
+                    long element;
+                    do {
+                        element = stack.pop();
+                        members.push(element);
+                        componentId = Math.min(componentId, element);
+                    } while (element != nodeId);
+                    while (!members.isEmpty()) {
+                        element = members.pop();
+                        components.set(element, componentId);
+                        assigned.set(element);
+                    }
+                }
+            }
+        }
+
+        stack.release();
+        boundaries.release();
+        members.release();
+        todo.release();
+    }
+
+    private void computeSetSizes(HugeAtomicLongArray setSizes) {
+        setSizes.setAll(0L);
+        runForEachPartition((localGraph, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                setSizes.getAndAdd(components.get(nodeId), 1L);
+            }
+            return 0L;
+        });
+
+        setCount = 0L;
+        minSetSize = nodeCount == 0 ? 0L : Long.MAX_VALUE;
+        maxSetSize = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long setSize = setSizes.get(nodeId);
+            if (setSize > 0L) {
+                setCount++;
+                minSetSize = Math.min(minSetSize, setSize);
+                maxSetSize = Math.max(maxSetSize, setSize);
+            }
+        }
+    }
+
+    private void releaseIntermediateData() {
+        if (inDegrees != null) {
+            inDegrees.release();
+            outDegrees.release();
+        }
+        if (inOffsets != null) {
+            inOffsets.release();
+            inSources.release();
+        }
+        if (queue != null) {
+            queue.release();
+            nextQueue.release();
+        }
+        assigned = null;
+        inDegrees = null;
+        outDegrees = null;
+        inOffsets = null;
+        inSources = null;
+        visited = null;
+        otherVisited = null;
+        queue = null;
+        nextQueue = null;
+    }
+
+    private void forEachIncomingRelationship(long nodeId, NodeConsumer consumer) {
+        long end = inOffsets.get(nodeId + 1);
+        for (long offset = inOffsets.get(nodeId); offset < end; offset++) {
+            consumer.accept(inSources.get(offset));
+        }
+    }
+
+    /**
+     * Expands the nodes in {@link #queue} round by round until no new nodes are discovered.
+     * Large rounds are split into batches that run in parallel, small rounds run on the calling thread.
+     */
+    private void traverse(NodeVisitor visitor) {
+        while (queue.size() > 0) {
+            assertRunning();
+            nextQueue.clear();
+            NodeQueue current = queue;
+            NodeQueue next = nextQueue;
+            long size = current.size();
+            if (size < MIN_BATCH_SIZE || concurrency == 1) {
+                for (long i = 0; i < size; i++) {
+                    visitor.visit(graph, current.get(i), next);
+                }
+            } else {
+                long batchSize = ParallelUtil.adjustedBatchSize(size, concurrency, MIN_BATCH_SIZE);
+                List<Runnable> tasks = new ArrayList<>();
+                for (long batchStart = 0; batchStart < size; batchStart += batchSize) {
+                    long start = batchStart;
+                    long end = Math.min(size, batchStart + batchSize);
+                    Graph localGraph = graph.concurrentCopy();
+                    tasks.add(() -> {
+                        for (long i = start; i < end; i++) {
+                            visitor.visit(localGraph, current.get(i), next);
+                        }
+                    });
+                }
+                ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, executor);
+            }
+            queue = next;
+            nextQueue = current;
+        }
+    }
+
+    /**
+     * Runs the given step for every partition and returns the result of each step.
+     */
+    private long[] runForEachPartition(PartitionStep step) {
+        List<PartitionTask> tasks = partitions
+            .stream()
+            .map(partition -> new PartitionTask(graph.concurrentCopy(), partition, step))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, executor);
+        return tasks.stream().mapToLong(task -> task.result).toArray();
+    }
+
+    @FunctionalInterface
+    private interface PartitionStep {
+        long run(Graph localGraph, long start, long end);
+    }
+
+    @FunctionalInterface
+    private interface NodeVisitor {
+        void visit(Graph localGraph, long nodeId, NodeQueue next);
+    }
+
+    @FunctionalInterface
+    private interface NodeConsumer {
+        void accept(long nodeId);
+    }
+
+    private static final class PartitionTask implements Runnable {
+        private final Graph localGraph;
+        private final Partition partition;
+        private final PartitionStep step;
+        private long result;
+
+        PartitionTask(Graph localGraph, Partition partition, PartitionStep step) {
+            this.localGraph = localGraph;
+            this.partition = partition;
+            this.step = step;
+        }
+
+        @Override
+        public void run() {
+            long start = partition.startNode();
+            result = step.run(localGraph, start, start + partition.nodeCount());
+        }
+    }
+
+    /**
+     * A list of nodes that can be appended to concurrently.
+     */
+    private static final class NodeQueue {
+        private final HugeLongArray nodes;
+        private final AtomicLong size;
+
+        NodeQueue(long capacity, AllocationTracker tracker) {
+            this.nodes = HugeLongArray.newArray(capacity, tracker);
+            this.size = new AtomicLong();
+        }
+
+        void add(long nodeId) {
+            nodes.set(size.getAndIncrement(), nodeId);
+        }
+
+        long get(long index) {
+            return nodes.get(index);
+        }
+
+        long size() {
+            return size.get();
+        }
+
+        void clear() {
+            size.set(0L);
+        }
+
+        void release() {
+            nodes.release();
+        }
+    }
+}
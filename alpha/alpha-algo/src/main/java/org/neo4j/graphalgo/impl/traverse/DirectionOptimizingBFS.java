@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Parallel, level-synchronous breadth first search that computes the depth of every node reachable from a start node.
+ *
+ * <p>
+ * Each level is either expanded top-down, where the nodes of the current frontier push the next depth
+ * to their unvisited neighbours, or bottom-up, where every unvisited node pulls the next depth from the
+ * first of its incoming neighbours that is part of the current frontier. Bottom-up steps are much cheaper
+ * once the frontier covers a large part of the graph, since most nodes find a frontier neighbour early
+ * and stop scanning. The bottom-up step requires incoming relationships, which are available if the graph
+ * is undirected or if a reverse graph is provided. Otherwise, every level is expanded top-down.
+ * </p>
+ *
+ * <p>
+ * The implementation is based on:<br>
+ * <cite>
+ * Beamer, Scott, Krste Asanović, and David Patterson.
+ * "Direction-optimizing breadth-first search."
+ * SC'12: Proceedings of the International Conference on High Performance Computing,
+ * Networking, Storage and Analysis. IEEE, 2012.
+ * </cite>
+ * </p>
+ */
+public class DirectionOptimizingBFS extends Algorithm<DirectionOptimizingBFS, HugeIntArray> {
+
+    public static final int UNREACHABLE = -1;
+
+    // switch to bottom-up once the frontier has more than 1/ALPHA of the unexplored relationships
+    static final long ALPHA = 14;
+    // switch back to top-down once the frontier has less than 1/BETA of all nodes
+    static final long BETA = 24;
+
+    private static final long MIN_BATCH_SIZE = 10_000L;
+
+    private final Graph graph;
+    private final Optional<Graph> reverseGraph;
+    private final long nodeCount;
+    private final long startNodeId;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeIntArray depths;
+    private HugeAtomicBitSet visited;
+    private HugeAtomicBitSet frontier;
+    private HugeAtomicBitSet nextFrontier;
+
+    private int bottomUpLevels;
+
+    /**
+     * Uses the graph itself for bottom-up steps if it is undirected.
+     */
+    public DirectionOptimizingBFS(
+        Graph graph,
+        long startNodeId,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this(
+            graph,
+            graph.isUndirected() ? Optional.of(graph) : Optional.empty(),
+            startNodeId,
+            concurrency,
+            executor,
+            tracker
+        );
+    }
+
+    /**
+     * Uses the given reverse graph, which must contain the relationships of the graph in reverse direction,
+     * for bottom-up steps.
+     */
+    public DirectionOptimizingBFS(
+        Graph graph,
+        Graph reverseGraph,
+        long startNodeId,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this(graph, Optional.of(reverseGraph), startNodeId, concurrency, executor, tracker);
+    }
+
+    private DirectionOptimizingBFS(
+        Graph graph,
+        Optional<Graph> reverseGraph,
+        long startNodeId,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.reverseGraph = reverseGraph;
+        this.nodeCount = graph.nodeCount();
+        this.startNodeId = startNodeId;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public HugeIntArray compute() {
+        getProgressLogger().logMessage(":: Start");
+
+        depths = HugeIntArray.newArray(nodeCount, tracker);
+        depths.fill(UNREACHABLE);
+        bottomUpLevels = 0;
+        if (nodeCount == 0) {
+            getProgressLogger().logMessage(":: Finished");
+            return depths;
+        }
+
+        visited = HugeAtomicBitSet.create(nodeCount, tracker);
+        frontier = HugeAtomicBitSet.create(nodeCount, tracker);
+        nextFrontier = HugeAtomicBitSet.create(nodeCount, tracker);
+
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            graph.relationshipCount(),
+            concurrency,
+            MIN_BATCH_SIZE,
+            Integer.MAX_VALUE
+        );
+        List<LevelTask> tasks = PartitionUtils
+            .degreePartition(graph, batchSize)
+            .stream()
+            .map(partition -> new LevelTask(
+                graph.concurrentCopy(),
+                reverseGraph.map(Graph::concurrentCopy),
+                partition.startNode(),
+                partition.startNode() + partition.nodeCount()
+            ))
+            .collect(Collectors.toList());
+
+        depths.set(startNodeId, 0);
+        visited.set(startNodeId);
+        frontier.set(startNodeId);
+
+        long frontierSize = 1;
+        long frontierRelationships = graph.degree(startNodeId);
+        long unexploredRelationships = graph.relationshipCount() - frontierRelationships;
+        boolean bottomUp = false;
+        int depth = 0;
+
+        while (frontierSize > 0) {
+            assertRunning();
+
+            if (reverseGraph.isPresent()) {
+                if (!bottomUp && frontierRelationships > unexploredRelationships / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < nodeCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+            if (bottomUp) {
+                bottomUpLevels++;
+            }
+
+            depth++;
+            getProgressLogger().logMessage(formatWithLocale(
+                ":: Level %d :: %s",
+                depth,
+                bottomUp ? "bottom-up" : "top-down"
+            ));
+
+            nextFrontier.clear();
+            for (LevelTask task : tasks) {
+                task.prepare(depth, bottomUp);
+            }
+            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, executor);
+
+            frontierSize = 0;
+            frontierRelationships = 0;
+            for (LevelTask task : tasks) {
+                frontierSize += task.discoveredNodes;
+                frontierRelationships += task.discoveredRelationships;
+            }
+            unexploredRelationships -= frontierRelationships;
+
+            HugeAtomicBitSet tmp = frontier;
+            frontier = nextFrontier;
+            nextFrontier = tmp;
+        }
+
+        visited = null;
+        frontier = null;
+        nextFrontier = null;
+
+        getProgressLogger().logMessage(":: Finished");
+        return depths;
+    }
+
+    /**
+     * number of levels that have been expanded bottom-up in the last computation
+     */
+    public int bottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    @Override
+    public DirectionOptimizingBFS me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        depths = null;
+        visited = null;
+        frontier = null;
+        nextFrontier = null;
+    }
+
+    private final class LevelTask implements Runnable {
+        private final Graph localGraph;
+        private final Optional<Graph> localReverseGraph;
+        private final long start;
+        private final long end;
+
+        private int depth;
+        private boolean bottomUp;
+        private long discoveredNodes;
+        private long discoveredRelationships;
+
+        LevelTask(Graph localGraph, Optional<Graph> localReverseGraph, long start, long end) {
+            this.localGraph = localGraph;
+            this.localReverseGraph = localReverseGraph;
+            this.start = start;
+            this.end = end;
+        }
+
+        void prepare(int depth, boolean bottomUp) {
+            this.depth = depth;
+            this.bottomUp = bottomUp;
+            this.discoveredNodes = 0;
+            this.discoveredRelationships = 0;
+        }
+
+        @Override
+        public void run() {
+            if (bottomUp) {
+                bottomUp(localReverseGraph.orElseThrow());
+            } else {
+                topDown();
+            }
+        }
+
+        private void topDown() {
+            long nodeId = frontier.nextSetBit(start, end);
+            while (nodeId != -1) {
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (!visited.getAndSet(target)) {
+                        discover(target);
+                    }
+                    return true;
+                });
+                nodeId = frontier.nextSetBit(nodeId + 1, end);
+            }
+        }
+
+        private void bottomUp(Graph localReverseGraph) {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!visited.get(nodeId)) {
+                    localReverseGraph.forEachRelationship(nodeId, (node, parent) -> {
+                        if (frontier.get(parent)) {
+                            visited.set(node);
+                            discover(node);
+                            return false;
+                        }
+                        return true;
+                    });
+                }
+            }
+        }
+
+        private void discover(long nodeId) {
+            depths.set(nodeId, depth);
+            nextFrontier.set(nodeId);
+            discoveredNodes++;
+            discoveredRelationships += localGraph.degree(nodeId);
+        }
+    }
+}
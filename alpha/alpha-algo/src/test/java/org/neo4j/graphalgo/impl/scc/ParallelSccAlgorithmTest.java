@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.scc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.gdl.GdlGraphs;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@GdlExtension
+class ParallelSccAlgorithmTest {
+
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (g:Node)" +
+        ", (h:Node)" +
+        ", (i:Node)" +
+        ", (j:Node)" +
+        ", (k:Node)" +
+
+        ", (a)-[:TYPE]->(b)" +
+        ", (b)-[:TYPE]->(c)" +
+        ", (c)-[:TYPE]->(a)" +
+
+        ", (d)-[:TYPE]->(e)" +
+        ", (e)-[:TYPE]->(f)" +
+        ", (f)-[:TYPE]->(d)" +
+
+        ", (a)-[:TYPE]->(d)" +
+
+        ", (g)-[:TYPE]->(h)" +
+        ", (h)-[:TYPE]->(i)" +
+        ", (i)-[:TYPE]->(g)" +
+
+        ", (j)-[:TYPE]->(j)" +
+        ", (j)-[:TYPE]->(k)" +
+        ", (k)-[:TYPE]->(g)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void shouldComputeComponents() {
+        ParallelSccAlgorithm scc = new ParallelSccAlgorithm(graph, 4, Pools.DEFAULT, AllocationTracker.empty());
+        HugeLongArray components = scc.compute();
+
+        assertComponent(components, "a", "a", "b", "c");
+        assertComponent(components, "d", "d", "e", "f");
+        assertComponent(components, "g", "g", "h", "i");
+        assertComponent(components, "j", "j");
+        assertComponent(components, "k", "k");
+
+        assertEquals(5, scc.getSetCount());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(3, scc.getMaxSetSize());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 0", "4, 1, 0", "4, 42, 0", "8, 1337, 0", "4, 42, 100000", "4, 42, 5000"})
+    void shouldProduceSameComponentsAsSequentialScc(int concurrency, long seed, long serialThreshold) {
+        Graph randomGraph = RandomGraphGenerator.builder()
+            .nodeCount(10_000)
+            .averageDegree(2)
+            .relationshipDistribution(RelationshipDistribution.POWER_LAW)
+            .seed(seed)
+            .build()
+            .generate();
+
+        SccAlgorithm sequential = new SccAlgorithm(randomGraph, AllocationTracker.empty());
+        HugeLongArray expected = sequential.compute();
+
+        ParallelSccAlgorithm parallel = new ParallelSccAlgorithm(
+            randomGraph,
+            concurrency,
+            serialThreshold,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+        HugeLongArray actual = parallel.compute();
+
+        // the sequential algorithm identifies components by their DFS root, we use the smallest node id
+        Map<Long, Long> smallestNodeIds = new HashMap<>();
+        for (long nodeId = 0; nodeId < randomGraph.nodeCount(); nodeId++) {
+            smallestNodeIds.merge(expected.get(nodeId), nodeId, Math::min);
+        }
+        for (long nodeId = 0; nodeId < randomGraph.nodeCount(); nodeId++) {
+            assertEquals(smallestNodeIds.get(expected.get(nodeId)), actual.get(nodeId));
+        }
+
+        assertEquals(sequential.getSetCount(), parallel.getSetCount());
+        assertEquals(sequential.getMinSetSize(), parallel.getMinSetSize());
+        assertEquals(sequential.getMaxSetSize(), parallel.getMaxSetSize());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 0", "4, 0", "4, 100000"})
+    void shouldHandleLongCyclesAndPaths(int concurrency, long serialThreshold) {
+        int length = 20_000;
+        StringBuilder gdl = new StringBuilder();
+        // a cycle (c0)->(c1)->...->(c0) followed by a path (p0)->(p1)->..., connected by (c0)->(p0)
+        for (int i = 0; i < length; i++) {
+            gdl.append(formatWithLocale("(c%d)-->(c%d), ", i, (i + 1) % length));
+            gdl.append(formatWithLocale("(p%d)-->(p%d), ", i, i + 1));
+        }
+        gdl.append("(c0)-->(p0)");
+        GraphStore graphStore = GdlFactory.of(gdl.toString()).build().graphStore();
+        Graph longGraph = graphStore.getUnion();
+
+        ParallelSccAlgorithm scc = new ParallelSccAlgorithm(
+            longGraph,
+            concurrency,
+            serialThreshold,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+        HugeLongArray components = scc.compute();
+
+        SccAlgorithm sequential = new SccAlgorithm(longGraph, AllocationTracker.empty());
+        sequential.compute();
+
+        assertEquals(sequential.getSetCount(), scc.getSetCount());
+        assertEquals(1 + length + 1, scc.getSetCount());
+        assertEquals(1, scc.getMinSetSize());
+        assertEquals(length, scc.getMaxSetSize());
+
+        long cycleComponent = components.get(longGraph.toMappedNodeId(0));
+        for (long nodeId = 0; nodeId < longGraph.nodeCount(); nodeId++) {
+            if (components.get(nodeId) == cycleComponent) {
+                assertTrue(cycleComponent <= nodeId);
+            } else {
+                assertEquals(nodeId, components.get(nodeId));
+            }
+        }
+    }
+
+    @Test
+    void shouldHandleEmptyGraph() {
+        ParallelSccAlgorithm scc = new ParallelSccAlgorithm(GdlGraphs.EMPTY, 4, Pools.DEFAULT, AllocationTracker.empty());
+        HugeLongArray components = scc.compute();
+
+        assertEquals(0, components.size());
+        assertEquals(0, scc.getSetCount());
+    }
+
+    private void assertComponent(HugeLongArray components, String expectedComponent, String... variables) {
+        long expectedComponentId = idFunction.of(expectedComponent);
+        for (String variable : variables) {
+            assertEquals(expectedComponentId, components.get(idFunction.of(variable)), variable);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.extension.TestGraph;
+import org.neo4j.graphalgo.gdl.GdlGraphs;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.impl.traverse.DirectionOptimizingBFS.UNREACHABLE;
+
+@GdlExtension
+class DirectionOptimizingBFSTest {
+
+    @GdlGraph(graphNamePrefix = "natural")
+    @GdlGraph(graphNamePrefix = "reverse", orientation = Orientation.REVERSE)
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String CYPHER =
+        "CREATE (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (g:Node)" +
+        ", (h:Node)" +
+
+        ", (a)-[:REL]->(b)" +
+        ", (a)-[:REL]->(c)" +
+        ", (b)-[:REL]->(d)" +
+        ", (c)-[:REL]->(d)" +
+        ", (d)-[:REL]->(e)" +
+        ", (d)-[:REL]->(f)" +
+        ", (e)-[:REL]->(g)" +
+        ", (f)-[:REL]->(g)" +
+        ", (h)-[:REL]->(a)";
+
+    @Inject
+    private TestGraph naturalGraph;
+
+    @Inject
+    private TestGraph reverseGraph;
+
+    @Inject
+    private TestGraph undirectedGraph;
+
+    @Inject
+    private IdFunction naturalIdFunction;
+
+    @Test
+    void shouldComputeDepthsTopDown() {
+        HugeIntArray depths = new DirectionOptimizingBFS(
+            naturalGraph,
+            naturalIdFunction.of("a"),
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertDepths(
+            naturalGraph,
+            depths,
+            Map.of("a", 0, "b", 1, "c", 1, "d", 2, "e", 3, "f", 3, "g", 4, "h", UNREACHABLE)
+        );
+    }
+
+    @Test
+    void shouldComputeDepthsWithReverseGraph() {
+        DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(
+            naturalGraph,
+            reverseGraph,
+            naturalIdFunction.of("a"),
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+        HugeIntArray depths = bfs.compute();
+
+        assertDepths(
+            naturalGraph,
+            depths,
+            Map.of("a", 0, "b", 1, "c", 1, "d", 2, "e", 3, "f", 3, "g", 4, "h", UNREACHABLE)
+        );
+        assertThat(bfs.bottomUpLevels()).isPositive();
+    }
+
+    @Test
+    void shouldComputeDepthsOnUndirectedGraph() {
+        HugeIntArray depths = new DirectionOptimizingBFS(
+            undirectedGraph,
+            undirectedGraph.toMappedNodeId(naturalGraph.toOriginalNodeId(naturalIdFunction.of("a"))),
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertDepths(
+            undirectedGraph,
+            depths,
+            Map.of("a", 0, "b", 1, "c", 1, "d", 2, "e", 3, "f", 3, "g", 4, "h", 1)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, NATURAL", "4, NATURAL", "1, UNDIRECTED", "4, UNDIRECTED"})
+    void shouldProduceSameDepthsAsSequentialBfs(int concurrency, Orientation orientation) {
+        Graph randomGraph = randomGraph(orientation);
+        Graph randomReverseGraph = randomGraph(Orientation.REVERSE);
+
+        HugeIntArray expected = sequentialBfs(randomGraph, 0);
+
+        DirectionOptimizingBFS bfs = orientation == Orientation.UNDIRECTED
+            ? new DirectionOptimizingBFS(randomGraph, 0, concurrency, Pools.DEFAULT, AllocationTracker.empty())
+            : new DirectionOptimizingBFS(
+                randomGraph,
+                randomReverseGraph,
+                0,
+                concurrency,
+                Pools.DEFAULT,
+                AllocationTracker.empty()
+            );
+        HugeIntArray actual = bfs.compute();
+
+        assertThat(bfs.bottomUpLevels()).isPositive();
+        for (long nodeId = 0; nodeId < randomGraph.nodeCount(); nodeId++) {
+            assertEquals(expected.get(nodeId), actual.get(nodeId), "depth of node " + nodeId);
+        }
+    }
+
+    @Test
+    void shouldHandleEmptyGraph() {
+        HugeIntArray depths = new DirectionOptimizingBFS(
+            GdlGraphs.EMPTY,
+            0,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).compute();
+
+        assertEquals(0, depths.size());
+    }
+
+    private static Graph randomGraph(Orientation orientation) {
+        return RandomGraphGenerator.builder()
+            .nodeCount(20_000)
+            .averageDegree(8)
+            .relationshipDistribution(RelationshipDistribution.UNIFORM)
+            .orientation(orientation)
+            .seed(42L)
+            .build()
+            .generate();
+    }
+
+    private static HugeIntArray sequentialBfs(Graph graph, long startNodeId) {
+        HugeIntArray depths = HugeIntArray.newArray(graph.nodeCount(), AllocationTracker.empty());
+        depths.fill(UNREACHABLE);
+        depths.set(startNodeId, 0);
+        LongArrayDeque queue = new LongArrayDeque();
+        queue.addLast(startNodeId);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            int depth = depths.get(node);
+            graph.forEachRelationship(node, (source, target) -> {
+                if (depths.get(target) == UNREACHABLE) {
+                    depths.set(target, depth + 1);
+                    queue.addLast(target);
+                }
+                return true;
+            });
+        }
+        return depths;
+    }
+
+    private void assertDepths(TestGraph graph, HugeIntArray depths, Map<String, Integer> expected) {
+        expected.forEach((variable, depth) -> assertEquals(
+            (int) depth,
+            depths.get(graph.toMappedNodeId(naturalGraph.toOriginalNodeId(naturalIdFunction.of(variable)))),
+            variable
+        ));
+    }
+}
@@ -44,6 +44,10 @@ public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionCo
         return 10;
     }
 
+    /**
+     * @deprecated The walks are no longer buffered, this value is ignored.
+     */
+    @Deprecated
     @Value.Default
     @Configuration.IntegerRange(min = 1)
     default int walkBufferSize() {
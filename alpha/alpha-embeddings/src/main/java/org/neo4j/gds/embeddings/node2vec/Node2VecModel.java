@@ -23,7 +23,7 @@ import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 
 import java.util.ArrayList;
 import java.util.Random;
@@ -34,10 +34,10 @@ public class Node2VecModel {
 
     private final NegativeSampleProducer negativeSamples;
 
-    private final HugeObjectArray<Vector> centerEmbeddings;
-    private final HugeObjectArray<Vector> contextEmbeddings;
+    private final HugeFloatMatrix centerEmbeddings;
+    private final HugeFloatMatrix contextEmbeddings;
     private final Node2VecBaseConfig config;
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks walks;
     private final ProbabilityComputer probabilityComputer;
     private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
@@ -46,7 +46,7 @@ public class Node2VecModel {
     Node2VecModel(
         long nodeCount,
         Node2VecBaseConfig config,
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         ProbabilityComputer probabilityComputer,
         ProgressLogger progressLogger,
         AllocationTracker tracker
@@ -84,29 +84,27 @@ public class Node2VecModel {
         progressLogger.logMessage(":: Training :: Finished");
     }
 
-    public HugeObjectArray<Vector> getEmbeddings() {
+    public HugeFloatMatrix getEmbeddings() {
         return centerEmbeddings;
     }
 
-    private HugeObjectArray<Vector> initializeEmbeddings(long nodeCount, int embeddingDimensions) {
-        HugeObjectArray<Vector> embeddings = HugeObjectArray.newArray(
-            Vector.class,
-            nodeCount,
-            tracker
-        );
+    private HugeFloatMatrix initializeEmbeddings(long nodeCount, int embeddingDimensions) {
+        HugeFloatMatrix embeddings = HugeFloatMatrix.newMatrix(nodeCount, embeddingDimensions, tracker);
+        var random = new Random();
         for (var i = 0L; i < nodeCount; i++) {
-            var data = new Random()
+            var data = random
                 .doubles(embeddingDimensions, -1, 1)
                 .collect(() -> new FloatConsumer(embeddingDimensions), FloatConsumer::add, FloatConsumer::addAll).values;
-            embeddings.set(i, new Vector(data));
+            embeddings.setRow(i, data);
         }
         return embeddings;
     }
 
     private class TrainingTask implements Runnable {
         private final PositiveSampleProducer positiveSamples;
-        private final Vector centerGradientBuffer;
-        private final Vector contextGradientBuffer;
+        private final HugeFloatMatrix.Row centerEmbedding;
+        private final HugeFloatMatrix.Row contextEmbedding;
+        private final float[] centerBuffer;
         private final float initialLearningRate;
         private final float learningRateModifier;
         private final long startIndex;
@@ -123,8 +121,9 @@ public class Node2VecModel {
                 config.windowSize(),
                 progressLogger
             );
-            this.centerGradientBuffer = new Vector(config.embeddingDimension());
-            this.contextGradientBuffer = new Vector(config.embeddingDimension());
+            this.centerEmbedding = new HugeFloatMatrix.Row();
+            this.contextEmbedding = new HugeFloatMatrix.Row();
+            this.centerBuffer = new float[config.embeddingDimension()];
 
             this.initialLearningRate = (float) config.initialLearningRate();
             this.learningRateModifier = (float) ((initialLearningRate - config.minLearningRate()) / (endIndex - startIndex));
@@ -147,23 +146,22 @@ public class Node2VecModel {
         }
 
         private void trainSample(long center, long context, boolean positive) {
-            var centerEmbedding = centerEmbeddings.get(center);
-            var contextEmbedding = contextEmbeddings.get(context);
+            centerEmbeddings.initRow(center, centerEmbedding);
+            contextEmbeddings.initRow(context, contextEmbedding);
 
             float affinity = positive
-                ? centerEmbedding.innerProduct(contextEmbedding)
-                : -centerEmbedding.innerProduct(contextEmbedding);
+                ? (float) centerEmbedding.dot(contextEmbedding)
+                : (float) -centerEmbedding.dot(contextEmbedding);
 
 
             float scalar = (float) (positive
                             ? 1 / (Math.exp(affinity) + 1)
                             : -1 / (Math.exp(affinity) + 1));
 
-            centerGradientBuffer.scalarMultiply(contextEmbedding, scalar * learningRate);
-            contextGradientBuffer.scalarMultiply(centerEmbedding, scalar * learningRate);
-
-            centerEmbedding.addMutable(centerGradientBuffer);
-            contextEmbedding.addMutable(contextGradientBuffer);
+            // the context gradient is based on the center embedding before its update
+            centerEmbeddings.copyRowTo(center, centerBuffer);
+            centerEmbedding.addScaled(contextEmbedding, scalar * learningRate);
+            contextEmbeddings.addToRow(context, centerBuffer, scalar * learningRate);
         }
     }
 
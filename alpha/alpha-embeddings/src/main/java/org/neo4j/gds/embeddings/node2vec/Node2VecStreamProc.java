@@ -28,14 +28,13 @@ import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.exceptions.MemoryEstimationNotImplementedException;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -43,10 +42,11 @@ import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static java.lang.Math.multiplyExact;
+import static org.neo4j.graphalgo.results.PrimitiveListViews.doubleList;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 import static org.neo4j.procedure.Mode.READ;
 
-public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vector>, Node2VecStreamProc.StreamResult, Node2VecStreamConfig> {
+public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeFloatMatrix, Node2VecStreamProc.StreamResult, Node2VecStreamConfig> {
 
     static final String NODE2VEC_DESCRIPTION = "The Node2Vec algorithm computes embeddings for nodes based on random walks.";
 
@@ -56,7 +56,7 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<Node2Vec, HugeObjectArray<Vector>, Node2VecStreamConfig> computationResult = compute(
+        ComputationResult<Node2Vec, HugeFloatMatrix, Node2VecStreamConfig> computationResult = compute(
             graphNameOrConfig,
             configuration
         );
@@ -68,7 +68,7 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
 
         return LongStream
             .range(0, graph.nodeCount())
-            .mapToObj(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), result.get(nodeId).data()));
+            .mapToObj(nodeId -> new StreamResult(graph.toOriginalNodeId(nodeId), result.getRow(nodeId)));
     }
 
     @Override
@@ -135,10 +135,7 @@ public class Node2VecStreamProc extends StreamProc<Node2Vec, HugeObjectArray<Vec
 
         StreamResult(long nodeId, float[] embedding) {
             this.nodeId = nodeId;
-            this.embedding = new ArrayList<>(embedding.length);
-            for (var f : embedding) {
-                this.embedding.add((double) f);
-            }
+            this.embedding = doubleList(embedding);
         }
     }
 }
@@ -21,21 +21,21 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
-import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 public class PositiveSampleProducer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks walks;
     private final HugeDoubleArray centerNodeProbabilities;
     private final long batchEnd;
     private final int prefixWindowSize;
     private final int postfixWindowSize;
-    private long[] currentWalk;
+    // the down-sampled nodes of the current walk, reused for all walks
+    private final long[] currentWalk;
+    private int currentWalkLength;
     private long currentCenterWord;
     private long walkIndex;
     private final ProgressLogger progressLogger;
@@ -43,7 +43,7 @@ public class PositiveSampleProducer {
     private int contextWordIndex;
 
     public PositiveSampleProducer(
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         HugeDoubleArray centerNodeProbabilities,
         long batchStart,
         long batchEnd,
@@ -51,6 +51,7 @@ public class PositiveSampleProducer {
         ProgressLogger progressLogger
     ) {
         this.walks = walks;
+        this.currentWalk = new long[walks.maxWalkLength()];
         this.batchEnd = batchEnd;
         this.progressLogger = progressLogger;
         this.centerNodeProbabilities = centerNodeProbabilities;
@@ -85,19 +86,19 @@ public class PositiveSampleProducer {
         if (walkIndex >= walks.size()) {
             return;
         }
-        long[] walk = filter(walks.get(walkIndex));
+        int walkLength = filter(walkIndex);
 
-        while (walkIndex <= batchEnd && walk.length < 2) {
+        while (walkIndex <= batchEnd && walkLength < 2) {
             walkIndex++;
             if (walkIndex < walks.size()) {
-                walk = filter(walks.get(walkIndex));
+                walkLength = filter(walkIndex);
             }
             progressLogger.logProgress();
         }
 
         if (hasNext()) {
             progressLogger.logProgress();
-            this.currentWalk = walk;
+            this.currentWalkLength = walkLength;
             centerWordIndex = -1;
             nextCenterWord();
         }
@@ -106,7 +107,7 @@ public class PositiveSampleProducer {
     private void nextCenterWord() {
         centerWordIndex++;
 
-        if (centerWordIndex < currentWalk.length) {
+        if (centerWordIndex < currentWalkLength) {
             currentCenterWord = currentWalk[centerWordIndex];
             contextWordIndex = Math.max(0, centerWordIndex - prefixWindowSize) - 1;
             nextContextWord();
@@ -121,13 +122,26 @@ public class PositiveSampleProducer {
             contextWordIndex++;
         }
 
-        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalk.length)) {
+        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalkLength)) {
             nextCenterWord();
         }
     }
 
-    private long[] filter(long[] walk) {
-        return Arrays.stream(walk).filter(this::shouldPickNode).toArray();
+    /**
+     * Copies the nodes of the given walk that survive the down-sampling into {@link #currentWalk}.
+     *
+     * @return the number of copied nodes
+     */
+    private int filter(long walkId) {
+        int walkLength = walks.walkLength(walkId);
+        int filteredLength = 0;
+        for (int position = 0; position < walkLength; position++) {
+            long nodeId = walks.get(walkId, position);
+            if (shouldPickNode(nodeId)) {
+                currentWalk[filteredLength++] = nodeId;
+            }
+        }
+        return filteredLength;
     }
 
     private boolean shouldPickNode(long nodeId) {
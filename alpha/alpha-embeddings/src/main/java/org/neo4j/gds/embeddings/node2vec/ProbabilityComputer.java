@@ -24,7 +24,6 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.stream.LongStream;
 
@@ -32,7 +31,7 @@ import static java.lang.Math.addExact;
 
 public class ProbabilityComputer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks walks;
     private final long nodeCount;
     private final int concurrency;
     private final AllocationTracker tracker;
@@ -44,7 +43,7 @@ public class ProbabilityComputer {
     private HugeLongArray contextDistribution;
 
     public ProbabilityComputer(
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         long nodeCount,
         double centerSamplingFactor,
         double contextSamplingExponent,
@@ -77,9 +76,9 @@ public class ProbabilityComputer {
             LongStream.range(0, walks.size()),
             concurrency,
             walkIdStream -> walkIdStream.forEach(walkId -> {
-                var walk = walks.get(walkId);
-                for (long node : walk) {
-                    nodeFrequencies.update(node, count -> addExact(count, 1));
+                int walkLength = walks.walkLength(walkId);
+                for (int position = 0; position < walkLength; position++) {
+                    nodeFrequencies.update(walks.get(walkId, position), count -> addExact(count, 1));
                 }
             })
         );
@@ -24,25 +24,27 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
-import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import java.util.stream.Collectors;
 
-public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
+public class RandomWalk extends Algorithm<RandomWalk, RandomWalks> {
+
+    private static final int MIN_BATCH_SIZE = 100;
 
     private final Graph graph;
     private final int steps;
     private final NextNodeStrategy strategy;
     private final int concurrency;
     private final int walksPerNode;
-    private final int queueSize;
+    private final AllocationTracker tracker;
 
     public RandomWalk(
         Graph graph,
@@ -50,42 +52,34 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         NextNodeStrategy strategy,
         int concurrency,
         int walksPerNode,
-        int queueSize
+        AllocationTracker tracker
     ) {
         this.graph = graph;
         this.steps = steps;
         this.strategy = strategy;
         this.concurrency = concurrency;
         this.walksPerNode = walksPerNode;
-        this.queueSize = queueSize;
+        this.tracker = tracker;
     }
 
+    /**
+     * Returns the walks of all nodes, where the walks starting at node {@code n} have the ids
+     * {@code [n * walksPerNode, (n + 1) * walksPerNode)}.
+     * Walks that reach a node without outgoing relationships end early.
+     */
     @Override
-    public Stream<long[]> compute() {
-        int minBatchSize = 100;
-        int timeout = 100;
-        BlockingQueue<long[]> walks = new ArrayBlockingQueue<>(queueSize);
-        long[] TOMB = new long[0];
-
-        long batchSize = ParallelUtil.adjustedBatchSize(graph.nodeCount(), concurrency, minBatchSize);
-        ArrayList<Runnable> tasks = new ArrayList<>();
-        for (var i = 0; i < graph.nodeCount(); i += batchSize) {
-            var start = i;
-            var stop = Math.min(start + batchSize, graph.nodeCount());
-            tasks.add(
-                () -> {
-                    for (var j = start; j < stop; j++) {
-                        doWalk(j).forEach(walk -> put(walks, walk));
-                    }
-                }
-            );
-        }
-        new Thread(() -> {
-            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
-            put(walks, TOMB);
-        }).start();
-        QueueBasedSpliterator<long[]> spliterator = new QueueBasedSpliterator<>(walks, TOMB, terminationFlag, timeout);
-        return StreamSupport.stream(spliterator, false);
+    public RandomWalks compute() {
+        long nodeCount = graph.nodeCount();
+        RandomWalks walks = RandomWalks.create(nodeCount * walksPerNode, steps + 1, tracker);
+
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, MIN_BATCH_SIZE);
+        List<Runnable> tasks = PartitionUtils.rangePartition(concurrency, nodeCount, batchSize)
+            .stream()
+            .map(partition -> (Runnable) () -> walkPartition(partition, walks))
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+        return walks;
     }
 
     @Override
@@ -96,160 +90,164 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
     @Override
     public void release() { }
 
-    private Stream<long[]> doWalk(long startNodeId) {
-        return IntStream.range(0, walksPerNode).mapToObj(ignored -> {
-            long[] nodeIds = new long[steps + 1];
-            long currentNodeId = startNodeId;
-            long previousNodeId = currentNodeId;
-            nodeIds[0] = currentNodeId;
-            for (int i = 1; i <= steps; i++) {
-                long nextNodeId = strategy.getNextNode(currentNodeId, previousNodeId);
-                previousNodeId = currentNodeId;
-                currentNodeId = nextNodeId;
-
-                if (currentNodeId == -1 || !terminationFlag.running()) {
-                    return Arrays.copyOf(nodeIds, i);
-                }
-                nodeIds[i] = currentNodeId;
+    private void walkPartition(Partition partition, RandomWalks walks) {
+        var sampler = strategy.newSampler(ThreadLocalRandom.current());
+        long endNode = partition.startNode() + partition.nodeCount();
+        for (long startNode = partition.startNode(); startNode < endNode; startNode++) {
+            terminationFlag.assertRunning();
+            for (int walk = 0; walk < walksPerNode; walk++) {
+                doWalk(startNode * walksPerNode + walk, startNode, sampler, walks);
             }
-
-            return nodeIds;
-        });
-    }
-
-    private long toOriginalNodeId(long currentNodeId) {
-        return currentNodeId == -1 ? -1 : graph.toOriginalNodeId(currentNodeId);
+        }
     }
 
-    private static <T> void put(BlockingQueue<T> queue, T items) {
-        try {
-            queue.put(items);
-        } catch (InterruptedException e) {}
+    private void doWalk(long walkId, long startNodeId, NextNodeStrategy.Sampler sampler, RandomWalks walks) {
+        walks.set(walkId, 0, startNodeId);
+        sampler.start(startNodeId);
+        int walkLength = 1;
+        while (walkLength <= steps) {
+            long nextNodeId = sampler.next();
+            if (nextNodeId == -1) {
+                break;
+            }
+            walks.set(walkId, walkLength++, nextNodeId);
+        }
+        walks.setWalkLength(walkId, walkLength);
     }
 
+    /**
+     * Second order transition probabilities of node2vec: from the current node, the walk returns to the
+     * previous node with weight {@code 1 / returnParam}, moves to a common neighbour of both nodes with weight
+     * {@code 1} and moves away from the previous node with weight {@code 1 / inOutParam}.
+     */
     public static class NextNodeStrategy {
+
+        // number of rejection sampling attempts before falling back to computing the full distribution
+        private static final int MAX_REJECTION_ATTEMPTS = 8;
+
         private final Graph graph;
         private final double returnParam;
         private final double inOutParam;
 
-
         public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
             this.graph = graph;
             this.returnParam = returnParam;
             this.inOutParam = inOutParam;
         }
 
-        public long getNextNode(long currentNode, long previousNode) {
-            Graph threadLocalGraph = graph.concurrentCopy();
-
-            int degree = threadLocalGraph.degree(currentNode);
-            if (degree == 0) {
-                return -1;
-            }
-
-            double[] distribution = buildProbabilityDistribution(
-                threadLocalGraph,
-                currentNode,
-                previousNode,
-                returnParam,
-                inOutParam,
-                degree
-            );
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
-
-            return threadLocalGraph.getTarget(currentNode, neighbourIndex);
+        Sampler newSampler(Random random) {
+            return new Sampler(graph.concurrentCopy(), random);
         }
 
-        private double[] buildProbabilityDistribution(
-            Graph threadLocalGraph,
-            long currentNodeId,
-            long previousNodeId,
-            double returnParam,
-            double inOutParam,
-            int degree
-        ) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(
-                threadLocalGraph.concurrentCopy(),
-                degree,
-                currentNodeId,
-                previousNodeId,
-                returnParam,
-                inOutParam
-            );
-            threadLocalGraph.forEachRelationship(currentNodeId, consumer);
-            return consumer.probabilities();
-        }
+        /**
+         * Samples the next node of a single walk at a time. The neighbours of the current and the previous node
+         * are kept in buffers that are reused for all steps, so that sampling does not allocate once the buffers
+         * are large enough. Candidates are drawn uniformly and accepted with their relative weight; after
+         * a few rejections, the next node is drawn from the exact distribution instead.
+         */
+        final class Sampler implements RelationshipConsumer {
+            private final Graph localGraph;
+            private final Random random;
+            private final double maxWeight;
+
+            private long currentNode;
+            private long previousNode;
+            private long[] currentNeighbours;
+            private int currentDegree;
+            private long[] previousNeighbours;
+            private int previousDegree;
+            private double[] weights;
+
+            private Sampler(Graph localGraph, Random random) {
+                this.localGraph = localGraph;
+                this.random = random;
+                this.maxWeight = Math.max(1.0, Math.max(1.0 / returnParam, 1.0 / inOutParam));
+                this.currentNeighbours = new long[0];
+                this.previousNeighbours = new long[0];
+                this.weights = new double[0];
+            }
 
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
+            void start(long startNode) {
+                currentNode = startNode;
+                previousNode = -1;
+                loadNeighbours(startNode);
             }
-            return array;
-        }
 
-        private static int pickIndexFromDistribution(double[] normalizedDistribution, double randomThreshold) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < normalizedDistribution.length; i++) {
-                cumulativeProbability += normalizedDistribution[i];
-                if (randomThreshold <= cumulativeProbability) {
-                    return i;
+            long next() {
+                if (currentDegree == 0) {
+                    return -1;
                 }
+                long nextNode = previousNode == -1
+                    ? currentNeighbours[random.nextInt(currentDegree)]
+                    : sampleSecondOrder();
+
+                // the neighbours of the current node are needed to weight the candidates of the next step
+                long[] tmp = previousNeighbours;
+                previousNeighbours = currentNeighbours;
+                previousDegree = currentDegree;
+                currentNeighbours = tmp;
+                previousNode = currentNode;
+                currentNode = nextNode;
+                loadNeighbours(nextNode);
+
+                return nextNode;
             }
-            return normalizedDistribution.length - 1;
-        }
 
-        private class ProbabilityDistributionComputer implements RelationshipConsumer {
-            private final Graph threadLocalGraph;
-            final double[] probabilities;
-            private final long currentNodeId;
-            private final long previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
+            private long sampleSecondOrder() {
+                for (int attempt = 0; attempt < MAX_REJECTION_ATTEMPTS; attempt++) {
+                    long candidate = currentNeighbours[random.nextInt(currentDegree)];
+                    if (random.nextDouble() * maxWeight < weight(candidate)) {
+                        return candidate;
+                    }
+                }
+
+                if (weights.length < currentDegree) {
+                    weights = new double[BitUtil.nextHighestPowerOfTwo(currentDegree)];
+                }
+                double weightSum = 0;
+                for (int i = 0; i < currentDegree; i++) {
+                    weightSum += weight(currentNeighbours[i]);
+                    weights[i] = weightSum;
+                }
+                double threshold = random.nextDouble() * weightSum;
+                for (int i = 0; i < currentDegree; i++) {
+                    if (threshold < weights[i]) {
+                        return currentNeighbours[i];
+                    }
+                }
+                return currentNeighbours[currentDegree - 1];
+            }
 
-            public ProbabilityDistributionComputer(
-                Graph threadLocalGraph,
-                int degree,
-                long currentNodeId,
-                long previousNodeId,
-                double returnParam,
-                double inOutParam
-            ) {
-                this.threadLocalGraph = threadLocalGraph;
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
+            private double weight(long candidate) {
+                if (candidate == previousNode) {
+                    return 1.0 / returnParam;
+                }
+                if (Arrays.binarySearch(previousNeighbours, 0, previousDegree, candidate) >= 0) {
+                    return 1.0;
+                }
+                return 1.0 / inOutParam;
             }
 
             @Override
-            public boolean accept(long start, long end) {
-                long neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (threadLocalGraph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
-                }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
+            public boolean accept(long source, long target) {
+                currentNeighbours[currentDegree++] = target;
                 return true;
             }
 
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
+            private void loadNeighbours(long nodeId) {
+                int degree = localGraph.degree(nodeId);
+                if (currentNeighbours.length < degree) {
+                    currentNeighbours = new long[BitUtil.nextHighestPowerOfTwo(degree)];
+                }
+                currentDegree = 0;
+                localGraph.forEachRelationship(nodeId, this);
+                // adjacency lists are usually sorted, but not for graphs with multiple relationship types
+                for (int i = 1; i < currentDegree; i++) {
+                    if (currentNeighbours[i - 1] > currentNeighbours[i]) {
+                        Arrays.sort(currentNeighbours, 0, currentDegree);
+                        break;
+                    }
+                }
             }
         }
     }
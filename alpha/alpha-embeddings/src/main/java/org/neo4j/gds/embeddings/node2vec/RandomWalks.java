@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+
+/**
+ * The walks computed by {@link RandomWalk}, stored in a single paged array instead of an array per walk.
+ *
+ * Every walk occupies {@code maxWalkLength} consecutive slots starting at the offset {@code walkId * maxWalkLength},
+ * of which the first {@link #walkLength(long)} slots are used. Walks that reach a node without outgoing relationships
+ * end early and leave the remaining slots unused.
+ */
+public final class RandomWalks {
+
+    private final HugeLongArray nodes;
+    private final HugeIntArray walkLengths;
+    private final int maxWalkLength;
+
+    static RandomWalks create(long walkCount, int maxWalkLength, AllocationTracker tracker) {
+        return new RandomWalks(
+            HugeLongArray.newArray(Math.multiplyExact(walkCount, maxWalkLength), tracker),
+            HugeIntArray.newArray(walkCount, tracker),
+            maxWalkLength
+        );
+    }
+
+    static RandomWalks of(long[]... walks) {
+        int maxWalkLength = Arrays.stream(walks).mapToInt(walk -> walk.length).max().orElse(0);
+        RandomWalks randomWalks = create(walks.length, maxWalkLength, AllocationTracker.empty());
+        for (int walkId = 0; walkId < walks.length; walkId++) {
+            for (int position = 0; position < walks[walkId].length; position++) {
+                randomWalks.set(walkId, position, walks[walkId][position]);
+            }
+            randomWalks.setWalkLength(walkId, walks[walkId].length);
+        }
+        return randomWalks;
+    }
+
+    private RandomWalks(HugeLongArray nodes, HugeIntArray walkLengths, int maxWalkLength) {
+        this.nodes = nodes;
+        this.walkLengths = walkLengths;
+        this.maxWalkLength = maxWalkLength;
+    }
+
+    /**
+     * @return the number of walks
+     */
+    public long size() {
+        return walkLengths.size();
+    }
+
+    public int maxWalkLength() {
+        return maxWalkLength;
+    }
+
+    public int walkLength(long walkId) {
+        return walkLengths.get(walkId);
+    }
+
+    /**
+     * Returns the node at the given position of a walk, the position must be less than {@link #walkLength(long)}.
+     */
+    public long get(long walkId, int position) {
+        return nodes.get(walkId * maxWalkLength + position);
+    }
+
+    /**
+     * Copies a walk into a new array, this is meant for inspecting single walks.
+     */
+    public long[] walk(long walkId) {
+        long[] walk = new long[walkLength(walkId)];
+        for (int position = 0; position < walk.length; position++) {
+            walk[position] = get(walkId, position);
+        }
+        return walk;
+    }
+
+    public void release() {
+        nodes.release();
+        walkLengths.release();
+    }
+
+    void set(long walkId, int position, long nodeId) {
+        nodes.set(walkId * maxWalkLength + position, nodeId);
+    }
+
+    void setWalkLength(long walkId, int walkLength) {
+        walkLengths.set(walkId, walkLength);
+    }
+}
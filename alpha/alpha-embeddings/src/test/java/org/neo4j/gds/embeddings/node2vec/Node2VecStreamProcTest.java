@@ -24,7 +24,7 @@ import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.AlgoBaseProcTest;
 import org.neo4j.graphalgo.GdsCypher;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphdb.QueryExecutionException;
 
 import java.util.List;
@@ -35,7 +35,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.rootCause;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
-class Node2VecStreamProcTest extends Node2VecProcTest<Node2VecStreamConfig> implements AlgoBaseProcTest<Node2Vec, Node2VecStreamConfig, HugeObjectArray<Vector>> {
+class Node2VecStreamProcTest extends Node2VecProcTest<Node2VecStreamConfig> implements AlgoBaseProcTest<Node2Vec, Node2VecStreamConfig, HugeFloatMatrix> {
 
     @Test
     void embeddingsShouldHaveTheConfiguredDimension() {
@@ -51,7 +51,7 @@ class Node2VecStreamProcTest extends Node2VecProcTest<Node2VecStreamConfig> impl
     }
 
     @Override
-    public Class<? extends AlgoBaseProc<Node2Vec, HugeObjectArray<Vector>, Node2VecStreamConfig>> getProcedureClazz() {
+    public Class<? extends AlgoBaseProc<Node2Vec, HugeFloatMatrix, Node2VecStreamConfig>> getProcedureClazz() {
         return Node2VecStreamProc.class;
     }
 
@@ -30,7 +30,7 @@ import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
@@ -70,7 +70,7 @@ class Node2VecTest extends AlgoTestBase {
             .graph();
 
         int embeddingDimension = 128;
-        HugeObjectArray<Vector> node2Vec = new Node2Vec(
+        HugeFloatMatrix node2Vec = new Node2Vec(
             graph,
             ImmutableNode2VecStreamConfig.builder().embeddingDimension(embeddingDimension).build(),
             progressLogger,
@@ -78,7 +78,7 @@ class Node2VecTest extends AlgoTestBase {
         ).compute();
 
         graph.forEachNode(node -> {
-                assertEquals(embeddingDimension, node2Vec.get(node).data().length);
+                assertEquals(embeddingDimension, node2Vec.getRow(node).length);
                 return true;
             }
         );
@@ -23,11 +23,14 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.TestGraphLoader;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -62,11 +65,11 @@ class RandomWalkTest extends AlgoTestBase {
             new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
             config.concurrency(),
             config.walksPerNode(),
-            config.walkBufferSize()
+            AllocationTracker.empty()
         );
 
         int expectedNumberOfWalks = config.walksPerNode() * NODE_COUNT;
-        List<long[]> result = randomWalk.compute().collect(Collectors.toList());
+        List<long[]> result = stream(randomWalk.compute()).collect(Collectors.toList());
         assertEquals(expectedNumberOfWalks, result.size());
         long[] walkForNodeZero = result.stream().filter(arr -> graph.toOriginalNodeId(arr[0]) == 0).findFirst().orElse(new long[0]);
         int expectedStepsInWalkForNode0 = config.walkLength() + 1;
@@ -84,17 +87,46 @@ class RandomWalkTest extends AlgoTestBase {
             new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
             config.concurrency(),
             config.walksPerNode(),
-            config.walkBufferSize()
+            AllocationTracker.empty()
         );
 
         int expectedNumberOfWalks = config.walksPerNode() * 5;
-        List<long[]> result = randomWalk.compute().collect(Collectors.toList());
+        List<long[]> result = stream(randomWalk.compute()).collect(Collectors.toList());
         assertEquals(expectedNumberOfWalks, result.size());
         long[] walkForNodeZero = result.stream().filter(arr -> graph.toOriginalNodeId(arr[0]) == 0).findFirst().orElse(new long[0]);
         int expectedStepsInWalkForNode0 = config.walkLength() + 1;
         assertEquals(expectedStepsInWalkForNode0, walkForNodeZero.length);
     }
 
+    @Test
+    void shouldStoreWalksByStartNode() {
+        runQuery(DEFAULT_DB_CYPHER);
+        Graph graph = TestGraphLoader.from(db).graph(NATIVE);
+        int walksPerNode = 3;
+        RandomWalk randomWalk = new RandomWalk(
+            graph,
+            4,
+            new RandomWalk.NextNodeStrategy(graph, 1, 1),
+            4,
+            walksPerNode,
+            AllocationTracker.empty()
+        );
+
+        RandomWalks walks = randomWalk.compute();
+        assertEquals(NODE_COUNT * walksPerNode, walks.size());
+        for (long walkId = 0; walkId < walks.size(); walkId++) {
+            long[] walk = walks.walk(walkId);
+            long startNode = walkId / walksPerNode;
+            assertEquals(startNode, walk[0]);
+            if (graph.degree(startNode) == 0) {
+                assertEquals(1, walk.length);
+            }
+            for (int i = 1; i < walk.length; i++) {
+                assertTrue(graph.exists(walk[i - 1], walk[i]));
+            }
+        }
+    }
+
     @Test
     void returnFactorShouldMakeWalksIncludeStartNodeMoreOften() {
         runQuery("CREATE (a:Node)" +
@@ -113,12 +145,11 @@ class RandomWalkTest extends AlgoTestBase {
             new RandomWalk.NextNodeStrategy(graph, 0.01, 1),
             4,
             100,
-            1000
+            AllocationTracker.empty()
         );
 
         var nodeCounter = new HashMap<Long, Long>();
-        randomWalk
-            .compute()
+        stream(randomWalk.compute())
             .filter(arr -> graph.toOriginalNodeId(arr[0]) == 0)
             .forEach(arr -> Arrays.stream(arr).forEach(n -> {
                     long neo4jId = graph.toOriginalNodeId(n);
@@ -179,12 +210,11 @@ class RandomWalkTest extends AlgoTestBase {
             new RandomWalk.NextNodeStrategy(graph, 0.01, 100000),
             4,
             1000,
-            1000
+            AllocationTracker.empty()
         );
 
         var nodeCounter = new HashMap<Long, Long>();
-        randomWalk
-            .compute()
+        stream(randomWalk.compute())
             .filter(arr -> graph.toOriginalNodeId(arr[0]) == 0)
             .forEach(arr -> Arrays.stream(arr).forEach(n -> {
                     long neo4jId = graph.toOriginalNodeId(n);
@@ -202,4 +232,8 @@ class RandomWalkTest extends AlgoTestBase {
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(4L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
         assertTrue(nodeCounter.get(3L) > nodeCounter.get(5L) * 10, formatWithLocale("occurrences: %s", nodeCounter));
     }
+
+    private static Stream<long[]> stream(RandomWalks walks) {
+        return LongStream.range(0, walks.size()).mapToObj(walks::walk);
+    }
 }
@@ -31,13 +31,17 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.impl.scc.ParallelSccAlgorithm;
 import org.neo4j.graphalgo.impl.scc.SccAlgorithm;
 import org.neo4j.graphalgo.impl.scc.SccConfig;
 import org.neo4j.graphalgo.result.AbstractCommunityResultBuilder;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
 import org.neo4j.internal.kernel.api.procs.ProcedureCallContext;
+import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
@@ -50,7 +54,7 @@ import java.util.stream.Stream;
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig> {
+public class SccProc extends AlgoBaseProc<ParallelSccAlgorithm, HugeLongArray, SccConfig> {
 
     private static final String DESCRIPTION =
         "The SCC algorithm finds sets of connected nodes in an directed graph, " +
@@ -62,9 +66,9 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<SccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
+        ComputationResult<ParallelSccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        SccAlgorithm algorithm = computationResult.algorithm();
+        ParallelSccAlgorithm algorithm = computationResult.algorithm();
         HugeLongArray components = computationResult.result();
         SccConfig config = computationResult.config();
         AllocationTracker tracker = allocationTracker();
@@ -108,13 +112,22 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
         return Stream.of(writeBuilder.build());
     }
 
+    @Procedure(value = "gds.alpha.scc.write.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> writeEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
     @Procedure(value = "gds.alpha.scc.stream", mode = READ)
     @Description(DESCRIPTION)
     public Stream<SccAlgorithm.StreamResult> stream(
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<SccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
+        ComputationResult<ParallelSccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
 
         AllocationTracker tracker = allocationTracker();
         Graph graph = computationResult.graph();
@@ -133,6 +146,15 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
                 .mapToObj(i -> new SccAlgorithm.StreamResult(graph.toOriginalNodeId(i), components.get(i)));
     }
 
+    @Procedure(value = "gds.alpha.scc.stream.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> streamEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
     @Override
     protected SccConfig newConfig(
         String username,
@@ -144,10 +166,24 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
     }
 
     @Override
-    protected AlgorithmFactory<SccAlgorithm, SccConfig> algorithmFactory() {
-        return (AlphaAlgorithmFactory<SccAlgorithm, SccConfig>) (graph, configuration, tracker, log) ->
-            new SccAlgorithm(graph, tracker)
-                .withTerminationFlag(TerminationFlag.wrap(transaction));
+    protected AlgorithmFactory<ParallelSccAlgorithm, SccConfig> algorithmFactory() {
+        return new AlphaAlgorithmFactory<ParallelSccAlgorithm, SccConfig>() {
+            @Override
+            public ParallelSccAlgorithm buildAlphaAlgo(
+                Graph graph,
+                SccConfig configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                return new ParallelSccAlgorithm(graph, configuration.concurrency(), Pools.DEFAULT, tracker)
+                    .withTerminationFlag(TerminationFlag.wrap(transaction));
+            }
+
+            @Override
+            public MemoryEstimation memoryEstimation(SccConfig configuration) {
+                return ParallelSccAlgorithm.memoryEstimation();
+            }
+        };
     }
 
     public static class SccResult {
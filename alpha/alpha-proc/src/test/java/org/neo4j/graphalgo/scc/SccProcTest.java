@@ -23,11 +23,14 @@ import com.carrotsearch.hppc.IntIntScatterMap;
 import com.carrotsearch.hppc.cursors.IntIntCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.GdsCypher;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SccProcTest extends BaseProcTest {
 
@@ -155,4 +158,22 @@ class SccProcTest extends BaseProcTest {
         }
     }
 
+    @ParameterizedTest
+    @EnumSource(value = GdsCypher.ExecutionModes.class, names = {"WRITE", "STREAM"})
+    void testEstimate(GdsCypher.ExecutionModes mode) {
+        String query = GdsCypher
+            .call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("gds.alpha.scc")
+            .estimationMode(mode)
+            .yields("nodeCount", "relationshipCount", "bytesMin", "bytesMax");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(9, row.getNumber("nodeCount").longValue());
+            assertEquals(10, row.getNumber("relationshipCount").longValue());
+            assertTrue(row.getNumber("bytesMin").longValue() > 0);
+            assertTrue(row.getNumber("bytesMax").longValue() >= row.getNumber("bytesMin").longValue());
+        });
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the compressed adjacency lists of all nodes using the
+ * different access patterns of {@link AdjacencyCursor}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DecompressingCursorBenchmark {
+
+    private long nodeCount;
+    private AdjacencyList adjacencyList;
+    private AdjacencyOffsets adjacencyOffsets;
+    private AdjacencyCursor cursor;
+
+    @Setup(Level.Trial)
+    public void setup(RandomGraphState state) {
+        var topology = state.graph.relationshipTopology();
+        nodeCount = state.graph.nodeCount();
+        adjacencyList = topology.list();
+        adjacencyOffsets = topology.offsets();
+        cursor = adjacencyList.rawDecompressingCursor();
+    }
+
+    @Benchmark
+    public long nextVLong() {
+        long checksum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (initCursor(nodeId)) {
+                while (cursor.hasNextVLong()) {
+                    checksum += cursor.nextVLong();
+                }
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long skipUntil() {
+        long checksum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (initCursor(nodeId)) {
+                // skips all neighbours up to and including the node itself
+                checksum += cursor.skipUntil(nodeId);
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long advance() {
+        long checksum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (initCursor(nodeId)) {
+                // skips all neighbours that are smaller than the node itself
+                checksum += cursor.advance(nodeId);
+            }
+        }
+        return checksum;
+    }
+
+    private boolean initCursor(long nodeId) {
+        long offset = adjacencyOffsets.get(nodeId);
+        if (offset == 0L) {
+            return false;
+        }
+        cursor.init(offset);
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Unions the end nodes of all relationships in a fresh {@link HugeAtomicDisjointSetStruct}.
+ * Allocating the struct is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DisjointSetStructBenchmark {
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    @Benchmark
+    public DisjointSetStruct union(RandomGraphState state) {
+        var graph = state.graph;
+        var dss = new HugeAtomicDisjointSetStruct(graph.nodeCount(), AllocationTracker.empty(), concurrency);
+
+        var tasks = PartitionUtils.rangePartition(concurrency, graph.nodeCount())
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var localGraph = graph.concurrentCopy();
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    localGraph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                        dss.union(sourceNodeId, targetNodeId);
+                        return true;
+                    });
+                }
+            })
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        return dss;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterates all relationships of a {@link HugeGraph}, with and without
+ * relationship properties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ForEachRelationshipBenchmark {
+
+    @Benchmark
+    public void forEachRelationship(RandomGraphState state, Blackhole blackhole) {
+        var graph = state.graph;
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                blackhole.consume(targetNodeId);
+                return true;
+            });
+            return true;
+        });
+    }
+
+    @Benchmark
+    public void forEachRelationshipWithFallbackProperty(RandomGraphState state, Blackhole blackhole) {
+        var graph = state.graph;
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, 1.0, (sourceNodeId, targetNodeId, property) -> {
+                blackhole.consume(property);
+                return true;
+            });
+            return true;
+        });
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.matrix.MatrixKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the matrix kernels against the EJML routines GraphSage used before,
+ * in the shapes of a GraphSage layer: a batch of {@code rows} node embeddings of
+ * dimension {@code inner} multiplied with a transposed {@code cols x inner} weight matrix (forward),
+ * and the two products computing the gradients of both operands (backward).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MatrixKernelsBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    @Param({"64", "256"})
+    public int inner;
+
+    @Param({"64"})
+    public int cols;
+
+    @Param({"4"})
+    public int concurrency;
+
+    // batch x inner
+    private DMatrixRMaj input;
+    // cols x inner
+    private DMatrixRMaj weights;
+    // batch x cols
+    private DMatrixRMaj output;
+    // cols x inner
+    private DMatrixRMaj weightsGradient;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new Random(RandomGraphState.SEED);
+        input = randomMatrix(rows, inner, random);
+        weights = randomMatrix(cols, inner, random);
+        output = randomMatrix(rows, cols, random);
+        weightsGradient = new DMatrixRMaj(cols, inner);
+    }
+
+    @Benchmark
+    public DMatrixRMaj ejmlForward() {
+        var result = new DMatrixRMaj(rows, cols);
+        MatrixMatrixMult_DDRM.multTransB(input, weights, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] kernelForward() {
+        var result = new double[rows * cols];
+        MatrixKernels.multTransB(input.data, weights.data, result, rows, cols, inner);
+        return result;
+    }
+
+    @Benchmark
+    public double[] parallelKernelForward() {
+        var result = new double[rows * cols];
+        MatrixKernels.multTransB(input.data, weights.data, result, rows, cols, inner, concurrency, Pools.DEFAULT);
+        return result;
+    }
+
+    @Benchmark
+    public DMatrixRMaj ejmlInputGradient() {
+        var result = new DMatrixRMaj(rows, inner);
+        MatrixMatrixMult_DDRM.mult_reorder(output, weights, result);
+        return result;
+    }
+
+    @Benchmark
+    public double[] kernelInputGradient() {
+        var result = new double[rows * inner];
+        MatrixKernels.mult(output.data, weights.data, result, rows, inner, cols);
+        return result;
+    }
+
+    @Benchmark
+    public DMatrixRMaj ejmlWeightsGradient() {
+        MatrixMatrixMult_DDRM.multTransA_reorder(output, input, weightsGradient);
+        return weightsGradient;
+    }
+
+    @Benchmark
+    public double[] kernelWeightsGradient() {
+        MatrixKernels.multTransA(output.data, input.data, weightsGradient.data, cols, inner, rows);
+        return weightsGradient.data;
+    }
+
+    private static DMatrixRMaj randomMatrix(int rows, int cols, Random random) {
+        var data = new double[rows * cols];
+        Arrays.setAll(data, i -> random.nextDouble() - 0.5);
+        return DMatrixRMaj.wrap(rows, cols, data);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.core.loading.RadixSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts relationship batches in the layout of the {@code RelationshipsBatchBuffer},
+ * i.e. four longs per relationship: source, target and two property references.
+ * The unsorted batch is copied before each sort, which is part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RadixSortBenchmark {
+
+    @Param({"10000", "100000"})
+    public int batchSize;
+
+    @Param({"100000", "100000000"})
+    public long nodeCount;
+
+    private long[] unsorted;
+    private long[] data;
+    private long[] copy;
+    private int[] histogram;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        var random = new Random(RandomGraphState.SEED);
+        int length = 4 * batchSize;
+        unsorted = new long[length];
+        for (int i = 0; i < length; i += 4) {
+            unsorted[i] = Math.floorMod(random.nextLong(), nodeCount);
+            unsorted[i + 1] = Math.floorMod(random.nextLong(), nodeCount);
+            unsorted[i + 2] = random.nextLong();
+            unsorted[i + 3] = random.nextLong();
+        }
+        data = new long[length];
+        copy = RadixSort.newCopy(data);
+        histogram = RadixSort.newHistogram(length);
+    }
+
+    @Benchmark
+    public long[] sortBySource() {
+        System.arraycopy(unsorted, 0, data, 0, unsorted.length);
+        RadixSort.radixSort(data, copy, histogram, data.length);
+        return data;
+    }
+
+    @Benchmark
+    public long[] sortByTarget() {
+        System.arraycopy(unsorted, 0, data, 0, unsorted.length);
+        RadixSort.radixSort2(data, copy, histogram, data.length);
+        return data;
+    }
+}
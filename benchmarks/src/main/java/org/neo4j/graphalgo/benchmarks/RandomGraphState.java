@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY;
+
+/**
+ * Shared benchmark input: a graph generated by the {@link RandomGraphGenerator}
+ * for every combination of node count, relationship distribution and adjacency encoding.
+ * The seed is fixed, so that all runs operate on the same graph.
+ */
+@State(Scope.Benchmark)
+public class RandomGraphState {
+
+    static final long SEED = 42L;
+
+    @Param({"10000", "100000", "1000000"})
+    public long nodeCount;
+
+    @Param({"10"})
+    public long averageDegree;
+
+    @Param({"UNIFORM", "RANDOM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"false", "true"})
+    public boolean blockPackedAdjacency;
+
+    HugeGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        boolean previous = USE_BLOCK_PACKED_ADJACENCY.toggle(blockPackedAdjacency);
+        try {
+            graph = RandomGraphGenerator.builder()
+                .nodeCount(nodeCount)
+                .averageDegree(averageDegree)
+                .relationshipDistribution(distribution)
+                .seed(SEED)
+                .allocationTracker(AllocationTracker.empty())
+                .build()
+                .generate();
+        } finally {
+            USE_BLOCK_PACKED_ADJACENCY.toggle(previous);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.release();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmarks;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.EnterpriseLicensingExtension;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTrackerExtensionFactory;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+
+/**
+ * Loads a generated graph from an in-memory Neo4j database. The relationships
+ * are imported by the {@code ScanningRelationshipsImporter}, which dominates
+ * the loading time for all but the sparsest graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StoreLoadingBenchmark {
+
+    private static final Label LABEL = Label.label("Node");
+    private static final RelationshipType TYPE = RelationshipType.withName("REL");
+    private static final int TRANSACTION_SIZE = 100_000;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private DatabaseManagementService dbms;
+    private GraphDatabaseAPI db;
+
+    @Setup(Level.Trial)
+    public void setup(RandomGraphState state) {
+        dbms = new TestDatabaseManagementServiceBuilder()
+            .impermanent()
+            .noOpSystemGraphInitializer()
+            .addExtension(new EnterpriseLicensingExtension())
+            .addExtension(new AllocationTrackerExtensionFactory())
+            .build();
+        db = (GraphDatabaseAPI) dbms.database(DEFAULT_DATABASE_NAME);
+
+        var graph = state.graph;
+        var tx = db.beginTx();
+        try {
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                tx.createNode(LABEL);
+                if ((nodeId + 1) % TRANSACTION_SIZE == 0) {
+                    tx = commit(tx);
+                }
+            }
+            tx = commit(tx);
+
+            long relationshipCount = 0;
+            for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+                var source = tx.getNodeById(graph.toOriginalNodeId(nodeId));
+                var relationships = new long[graph.degree(nodeId)];
+                var index = new int[1];
+                graph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                    relationships[index[0]++] = graph.toOriginalNodeId(targetNodeId);
+                    return true;
+                });
+                for (long target : relationships) {
+                    source.createRelationshipTo(tx.getNodeById(target), TYPE);
+                    if (++relationshipCount % TRANSACTION_SIZE == 0) {
+                        tx = commit(tx);
+                        source = tx.getNodeById(graph.toOriginalNodeId(nodeId));
+                    }
+                }
+            }
+            tx.commit();
+        } finally {
+            tx.close();
+        }
+    }
+
+    private Transaction commit(Transaction tx) {
+        tx.commit();
+        tx.close();
+        return db.beginTx();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dbms.shutdown();
+    }
+
+    @Benchmark
+    public GraphStore load() {
+        var graphStore = new StoreLoaderBuilder()
+            .api(db)
+            .concurrency(concurrency)
+            .build()
+            .graphStore();
+        graphStore.release();
+        return graphStore;
+    }
+}
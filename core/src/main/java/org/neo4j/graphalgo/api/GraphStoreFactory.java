@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.RelationshipsBuilder;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 
 import java.util.Map;
 
@@ -65,6 +66,14 @@ public abstract class GraphStoreFactory<STORE extends GraphStore, CONFIG extends
 
     public abstract MemoryEstimation memoryEstimation();
 
+    /**
+     * Estimates memory that is used by the loaded graph, but lives outside of the heap,
+     * e.g. memory-mapped adjacency lists. It is reported separately from {@link #memoryEstimation()}.
+     */
+    public MemoryEstimation offHeapMemoryEstimation() {
+        return MemoryEstimations.empty();
+    }
+
     public GraphDimensions dimensions() {
         return this.dimensions;
     }
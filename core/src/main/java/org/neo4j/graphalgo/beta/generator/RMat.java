@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.generator;
+
+import java.util.Random;
+
+/**
+ * Sampling helpers for {@link RelationshipDistribution#RMAT}.
+ *
+ * A relationship picks one of the quadrants (a, b, c, d) of the adjacency matrix
+ * on each of the {@code scale} recursion levels. The bits of the source node are
+ * determined by the row of the chosen quadrants, the bits of the target node by
+ * its column. We use the probabilities of the Graph500 Kronecker generator.
+ */
+final class RMat {
+
+    static final double A = 0.57;
+    static final double B = 0.19;
+    static final double C = 0.19;
+    static final double D = 0.05;
+
+    private RMat() {}
+
+    /**
+     * Number of recursion levels required to address {@code nodeCount} nodes.
+     */
+    static int scale(long nodeCount) {
+        return 64 - Long.numberOfLeadingZeros(Math.max(nodeCount - 1, 0));
+    }
+
+    /**
+     * Probability that a relationship starts at the given node.
+     */
+    static double sourceProbability(long nodeId, int scale) {
+        int ones = Long.bitCount(nodeId);
+        return Math.pow(C + D, ones) * Math.pow(A + B, scale - ones);
+    }
+
+    /**
+     * Probability that a relationship starts at any of the nodes in {@code [0, nodeCount)}.
+     * This is less than 1 iff {@code nodeCount} is not a power of two.
+     */
+    static double sourceMass(long nodeCount, int scale) {
+        if (nodeCount == 1L << scale) {
+            return 1.0;
+        }
+        double mass = 0.0;
+        double prefixProbability = 1.0;
+        for (int level = scale - 1; level >= 0; level--) {
+            if (((nodeCount >>> level) & 1L) == 1L) {
+                // all nodes sharing the current prefix followed by a 0 bit are smaller than nodeCount
+                mass += prefixProbability * (A + B);
+                prefixProbability *= C + D;
+            } else {
+                prefixProbability *= A + B;
+            }
+        }
+        return mass;
+    }
+
+    /**
+     * Samples the target of a relationship, conditioned on the quadrant rows given by the source node.
+     * Targets outside of {@code [0, nodeCount)} are rejected.
+     */
+    static long targetSample(long sourceNodeId, long nodeCount, int scale, Random random) {
+        long target;
+        do {
+            target = 0L;
+            for (int level = scale - 1; level >= 0; level--) {
+                boolean upperRow = ((sourceNodeId >>> level) & 1L) == 0L;
+                double rightColumnProbability = upperRow ? B / (A + B) : D / (C + D);
+                target <<= 1;
+                if (random.nextDouble() < rightColumnProbability) {
+                    target |= 1L;
+                }
+            }
+        } while (target >= nodeCount);
+        return target;
+    }
+}
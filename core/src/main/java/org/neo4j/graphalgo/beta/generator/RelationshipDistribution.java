@@ -63,6 +63,34 @@ public enum RelationshipDistribution {
             double gamma = 1 + 1.0 / averageDegree;
             return (ignore) -> DistributionHelper.powerLawSample(min, nodeCount - 1, gamma, random);
         }
+    },
+    /**
+     * Recursive matrix model, a generalization of stochastic Kronecker graphs.
+     * Each relationship is placed by recursively descending into one of the four
+     * quadrants of the adjacency matrix, which results in skewed in- and out-degrees
+     * as well as a community structure.
+     *
+     * Chakrabarti, Zhan, Faloutsos: "R-MAT: A Recursive Model for Graph Mining", SDM 2004
+     */
+    RMAT {
+        @Override
+        public LongUnaryOperator degreeProducer(long nodeCount, long averageDegree, Random random) {
+            int scale = RMat.scale(nodeCount);
+            double relationshipCount = (double) nodeCount * averageDegree;
+            double totalMass = RMat.sourceMass(nodeCount, scale);
+            return (nodeId) -> {
+                double expectedDegree = relationshipCount * RMat.sourceProbability(nodeId, scale) / totalMass;
+                long degree = (long) expectedDegree;
+                // randomized rounding to preserve the expected relationship count
+                return random.nextDouble() < expectedDegree - degree ? degree + 1 : degree;
+            };
+        }
+
+        @Override
+        public LongUnaryOperator relationshipProducer(long nodeCount, long averageDegree, Random random) {
+            int scale = RMat.scale(nodeCount);
+            return (nodeId) -> RMat.targetSample(nodeId, nodeCount, scale, random);
+        }
     };
 
     public static RelationshipDistribution parse(Object object) {
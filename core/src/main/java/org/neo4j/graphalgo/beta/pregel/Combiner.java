@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * A combiner folds all messages that are sent to the same
+ * node into a single message at the time they are sent.
+ * <br>
+ * A combiner can be used if a computation only depends
+ * on an aggregate of the received messages, e.g. their sum
+ * or minimum. Instead of storing each message, the framework
+ * then stores a single value per node.
+ * <br>
+ * The combine function must be commutative and associative,
+ * since the order in which messages are combined is undefined.
+ *
+ * @see org.neo4j.graphalgo.beta.pregel.PregelComputation#combiner()
+ */
+public interface Combiner {
+
+    /**
+     * The identity element of the combine function,
+     * i.e. {@code combine(identity(), message) == message}.
+     * It is the value a node receives, if no messages
+     * have been combined.
+     */
+    double identity();
+
+    /**
+     * Combines the current value with the given message.
+     */
+    double combine(double current, double message);
+
+    /**
+     * Sums up all messages.
+     */
+    class Sum implements Combiner {
+
+        @Override
+        public double identity() {
+            return 0.0;
+        }
+
+        @Override
+        public double combine(double current, double message) {
+            return current + message;
+        }
+    }
+
+    /**
+     * Keeps the smallest message.
+     */
+    class Min implements Combiner {
+
+        @Override
+        public double identity() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public double combine(double current, double message) {
+            return Math.min(current, message);
+        }
+    }
+
+    /**
+     * Keeps the largest message.
+     */
+    class Max implements Combiner {
+
+        @Override
+        public double identity() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public double combine(double current, double message) {
+            return Math.max(current, message);
+        }
+    }
+}
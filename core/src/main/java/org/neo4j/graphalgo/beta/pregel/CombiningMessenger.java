@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+/**
+ * Folds all messages sent to a node into a single value
+ * using the {@link Combiner} of the computation.
+ * <p>
+ * In synchronous mode, messages are combined into a send array,
+ * which becomes the receive array in the next superstep. In
+ * asynchronous mode, a single array is used and a node consumes
+ * the combined value when reading it. Whether a slot holds a message
+ * is tracked in a separate bit set, as any value, including the
+ * identity of the combiner, is a valid message.
+ */
+final class CombiningMessenger implements Messenger<CombiningMessenger.SingleMessageIterator> {
+
+    private final Combiner combiner;
+    private final boolean isAsynchronous;
+    private final int concurrency;
+
+    private HugeAtomicDoubleArray sendArray;
+    private HugeAtomicDoubleArray receiveArray;
+    // only used in asynchronous mode
+    private final HugeAtomicBitSet messagePresence;
+
+    static CombiningMessenger of(
+        long nodeCount,
+        PregelConfig config,
+        Combiner combiner,
+        AllocationTracker tracker
+    ) {
+        var sendArray = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        var receiveArray = config.isAsynchronous()
+            ? sendArray
+            : HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        var messagePresence = config.isAsynchronous()
+            ? HugeAtomicBitSet.create(nodeCount, tracker)
+            : null;
+
+        return new CombiningMessenger(
+            sendArray,
+            receiveArray,
+            messagePresence,
+            combiner,
+            config.isAsynchronous(),
+            config.concurrency()
+        );
+    }
+
+    static MemoryEstimation memoryEstimation(boolean isAsynchronous) {
+        var builder = MemoryEstimations.builder(CombiningMessenger.class)
+            .perNode("send array", HugeAtomicDoubleArray::memoryEstimation);
+
+        if (isAsynchronous) {
+            builder.perNode("message presence", MemoryUsage::sizeOfHugeAtomicBitset);
+        } else {
+            builder.perNode("receive array", HugeAtomicDoubleArray::memoryEstimation);
+        }
+
+        return builder.build();
+    }
+
+    private CombiningMessenger(
+        HugeAtomicDoubleArray sendArray,
+        HugeAtomicDoubleArray receiveArray,
+        HugeAtomicBitSet messagePresence,
+        Combiner combiner,
+        boolean isAsynchronous,
+        int concurrency
+    ) {
+        this.sendArray = sendArray;
+        this.receiveArray = receiveArray;
+        this.messagePresence = messagePresence;
+        this.combiner = combiner;
+        this.isAsynchronous = isAsynchronous;
+        this.concurrency = concurrency;
+
+        fill(sendArray, combiner.identity());
+    }
+
+    @Override
+    public void initIteration(int iteration, HugeAtomicBitSet receivers) {
+        if (!isAsynchronous) {
+            // Messages sent in the previous iteration become
+            // readable and the previous receive array is reused
+            // for sending messages in this iteration.
+            var tmp = receiveArray;
+            receiveArray = sendArray;
+            sendArray = tmp;
+            fill(sendArray, combiner.identity());
+        }
+    }
+
+    @Override
+    public Sender sender() {
+        return this::sendTo;
+    }
+
+    @Override
+    public boolean deliversWithinSuperstep() {
+        return isAsynchronous;
+    }
+
+    @Override
+    public SingleMessageIterator messageIterator() {
+        return new SingleMessageIterator();
+    }
+
+    @Override
+    public void initMessageIterator(SingleMessageIterator messageIterator, long nodeId) {
+        if (isAsynchronous) {
+            // A sender combines its message before marking it as present.
+            // If the slot has been consumed in between, the node receives the
+            // identity of the combiner, which does not change a combined value.
+            if (messagePresence.getAndClear(nodeId)) {
+                messageIterator.init(receiveArray.getAndSet(nodeId, combiner.identity()));
+            } else {
+                messageIterator.clear();
+            }
+        } else {
+            messageIterator.init(receiveArray.get(nodeId));
+        }
+    }
+
+    @Override
+    public void release() {
+        sendArray.release();
+        if (!isAsynchronous) {
+            receiveArray.release();
+        }
+    }
+
+    private void sendTo(long targetNodeId, double message) {
+        var sendArray = this.sendArray;
+        double current, combined;
+        do {
+            current = sendArray.get(targetNodeId);
+            combined = combiner.combine(current, message);
+        } while (!sendArray.compareAndSet(targetNodeId, current, combined));
+
+        if (isAsynchronous) {
+            messagePresence.set(targetNodeId);
+        }
+    }
+
+    private void fill(HugeAtomicDoubleArray array, double value) {
+        ParallelUtil.parallelForEachNode(array.size(), concurrency, nodeId -> array.set(nodeId, value));
+    }
+
+    static final class SingleMessageIterator implements Pregel.MessageIterator {
+
+        private boolean hasNext;
+        private double message;
+
+        void init(double message) {
+            this.message = message;
+            this.hasNext = true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public double nextDouble() {
+            hasNext = false;
+            return message;
+        }
+
+        @Override
+        public void clear() {
+            hasNext = false;
+        }
+    }
+}
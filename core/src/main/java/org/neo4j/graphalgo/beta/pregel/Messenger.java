@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+
+/**
+ * A messenger is responsible for storing the messages that
+ * are sent during a superstep and for delivering them to
+ * their receivers.
+ */
+interface Messenger<ITERATOR extends Pregel.MessageIterator> {
+
+    /**
+     * Called once before each superstep. The given bit set
+     * contains all nodes that received messages in the
+     * previous superstep.
+     */
+    void initIteration(int iteration, HugeAtomicBitSet receivers);
+
+    /**
+     * Returns a sender that is exclusively used by a single
+     * compute step, i.e. it does not need to be thread-safe
+     * with respect to other senders returned by this method.
+     */
+    Sender sender();
+
+    /**
+     * Returns true if messages can be received in the same
+     * superstep in which they have been sent.
+     */
+    boolean deliversWithinSuperstep();
+
+    ITERATOR messageIterator();
+
+    void initMessageIterator(ITERATOR messageIterator, long nodeId);
+
+    void release();
+
+    @FunctionalInterface
+    interface Sender {
+        void sendTo(long targetNodeId, double message);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * Stores messages in primitive arrays without boxing or allocating per message.
+ * <p>
+ * During a superstep, each compute step appends its messages as (target, value)
+ * pairs to its own paged send buffer. Before the next superstep, all buffers are
+ * compacted into a single message array in which the messages of each receiver
+ * form a consecutive slice (similar to a CSR layout). The send buffers and the
+ * message array are reused across supersteps.
+ * <p>
+ * Messages are always delivered in the superstep after they have been sent,
+ * also if the computation runs in asynchronous mode.
+ */
+final class PagedMessenger implements Messenger<PagedMessenger.SliceIterator> {
+
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private final List<SendBuffer> sendBuffers;
+
+    // Stores the exclusive end of the message slice for each node.
+    // The slice of a node starts at the end of the previous node's slice.
+    private final HugeAtomicLongArray offsets;
+    private HugeDoubleArray messages;
+
+    static PagedMessenger of(
+        long nodeCount,
+        PregelConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return new PagedMessenger(
+            nodeCount,
+            config.concurrency(),
+            executor,
+            tracker
+        );
+    }
+
+    /**
+     * Assumes that each node sends at most one message
+     * per relationship in a single superstep and that the
+     * messages are spread evenly over the send buffers of
+     * the degree balanced compute steps.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(PagedMessenger.class)
+            .perNode("offsets", HugeAtomicLongArray::memoryEstimation)
+            .perGraphDimension(
+                "messages",
+                (dimensions, concurrency) -> MemoryRange.of(HugeDoubleArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .perGraphDimension(
+                "send buffers",
+                (dimensions, concurrency) -> {
+                    // one send buffer per compute step, see Pregel#createComputeSteps
+                    long sendBufferCount = (long) concurrency * PartitionUtils.PARTITIONS_PER_THREAD;
+                    return MemoryRange.of(sendBufferCount * SendBuffer.memoryEstimation(
+                        BitUtil.ceilDiv(dimensions.maxRelCount(), sendBufferCount)
+                    ));
+                }
+            )
+            .build();
+    }
+
+    private PagedMessenger(
+        long nodeCount,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.nodeCount = nodeCount;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.sendBuffers = new ArrayList<>(concurrency);
+        this.offsets = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.messages = HugeDoubleArray.newArray(0, tracker);
+    }
+
+    @Override
+    public void initIteration(int iteration, HugeAtomicBitSet receivers) {
+        // There are no messages before the first superstep.
+        if (iteration > 0) {
+            compact();
+        }
+    }
+
+    @Override
+    public Sender sender() {
+        var sendBuffer = new SendBuffer(tracker);
+        sendBuffers.add(sendBuffer);
+        return sendBuffer;
+    }
+
+    @Override
+    public boolean deliversWithinSuperstep() {
+        // messages are only visible after the next compaction
+        return false;
+    }
+
+    @Override
+    public SliceIterator messageIterator() {
+        return new SliceIterator();
+    }
+
+    @Override
+    public void initMessageIterator(SliceIterator messageIterator, long nodeId) {
+        long start = nodeId == 0 ? 0 : offsets.get(nodeId - 1);
+        long end = offsets.get(nodeId);
+        messageIterator.init(messages, start, end);
+    }
+
+    @Override
+    public void release() {
+        tracker.remove(offsets.release());
+        tracker.remove(messages.release());
+        sendBuffers.forEach(SendBuffer::release);
+    }
+
+    private void compact() {
+        long messageCount = 0;
+        for (SendBuffer sendBuffer : sendBuffers) {
+            messageCount += sendBuffer.size;
+        }
+
+        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+
+        // Reset message counts from the previous superstep
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(partitions.size(), index -> () -> {
+            var partition = partitions.get(index);
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                offsets.set(nodeId, 0L);
+            }
+        }), executor);
+
+        // Count messages per receiver
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(sendBuffers.size(), index -> () ->
+            sendBuffers.get(index).countTargets(offsets)
+        ), executor);
+
+        // Turn message counts into slice starts, i.e. an exclusive prefix sum
+        long[] partitionSums = new long[partitions.size()];
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(partitions.size(), index -> () -> {
+            var partition = partitions.get(index);
+            long end = partition.startNode() + partition.nodeCount();
+            long sum = 0;
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                sum += offsets.get(nodeId);
+            }
+            partitionSums[index] = sum;
+        }), executor);
+
+        long[] partitionStarts = new long[partitions.size()];
+        for (int i = 1; i < partitionStarts.length; i++) {
+            partitionStarts[i] = partitionStarts[i - 1] + partitionSums[i - 1];
+        }
+
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(partitions.size(), index -> () -> {
+            var partition = partitions.get(index);
+            long end = partition.startNode() + partition.nodeCount();
+            long sliceStart = partitionStarts[index];
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                long count = offsets.get(nodeId);
+                offsets.set(nodeId, sliceStart);
+                sliceStart += count;
+            }
+        }), executor);
+
+        if (messages.size() < messageCount) {
+            tracker.remove(messages.release());
+            messages = HugeDoubleArray.newArray(messageCount + (messageCount >>> 3), tracker);
+        }
+
+        // Move messages into their slices, which turns
+        // the slice starts into (exclusive) slice ends
+        var messages = this.messages;
+        ParallelUtil.runWithConcurrency(concurrency, ParallelUtil.tasks(sendBuffers.size(), index -> () ->
+            sendBuffers.get(index).scatterMessages(offsets, messages)
+        ), executor);
+
+        sendBuffers.forEach(SendBuffer::clear);
+    }
+
+    static final class SendBuffer implements Sender {
+
+        private static final int PAGE_SIZE = PageUtil.pageSizeFor(Long.BYTES);
+        private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final AllocationTracker tracker;
+
+        private long[][] targetPages;
+        private double[][] messagePages;
+        private long size;
+
+        static long memoryEstimation(long capacity) {
+            int numPages = PageUtil.numPagesFor(capacity, PAGE_SHIFT, PAGE_MASK);
+            return sizeOfInstance(SendBuffer.class) +
+                   2 * sizeOfObjectArray(numPages) +
+                   numPages * (sizeOfLongArray(PAGE_SIZE) + sizeOfDoubleArray(PAGE_SIZE));
+        }
+
+        SendBuffer(AllocationTracker tracker) {
+            this.tracker = tracker;
+            this.targetPages = new long[0][];
+            this.messagePages = new double[0][];
+        }
+
+        @Override
+        public void sendTo(long targetNodeId, double message) {
+            int pageIndex = (int) (size >>> PAGE_SHIFT);
+            int indexInPage = (int) (size & PAGE_MASK);
+            if (pageIndex == targetPages.length) {
+                grow();
+            }
+            targetPages[pageIndex][indexInPage] = targetNodeId;
+            messagePages[pageIndex][indexInPage] = message;
+            size++;
+        }
+
+        void countTargets(HugeAtomicLongArray counts) {
+            int pageCount = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                long[] targetPage = targetPages[pageIndex];
+                int pageLength = pageLength(pageIndex);
+                for (int i = 0; i < pageLength; i++) {
+                    counts.getAndAdd(targetPage[i], 1L);
+                }
+            }
+        }
+
+        void scatterMessages(HugeAtomicLongArray sliceCursors, HugeDoubleArray messages) {
+            int pageCount = PageUtil.numPagesFor(size, PAGE_SHIFT, PAGE_MASK);
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                long[] targetPage = targetPages[pageIndex];
+                double[] messagePage = messagePages[pageIndex];
+                int pageLength = pageLength(pageIndex);
+                for (int i = 0; i < pageLength; i++) {
+                    messages.set(sliceCursors.getAndAdd(targetPage[i], 1L), messagePage[i]);
+                }
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void release() {
+            tracker.remove(targetPages.length * (sizeOfLongArray(PAGE_SIZE) + sizeOfDoubleArray(PAGE_SIZE)));
+            targetPages = new long[0][];
+            messagePages = new double[0][];
+            size = 0;
+        }
+
+        private int pageLength(int pageIndex) {
+            long remaining = size - ((long) pageIndex << PAGE_SHIFT);
+            return (int) Math.min(remaining, PAGE_SIZE);
+        }
+
+        private void grow() {
+            int pageCount = targetPages.length;
+            targetPages = Arrays.copyOf(targetPages, pageCount + 1);
+            messagePages = Arrays.copyOf(messagePages, pageCount + 1);
+            targetPages[pageCount] = new long[PAGE_SIZE];
+            messagePages[pageCount] = new double[PAGE_SIZE];
+            tracker.add(sizeOfLongArray(PAGE_SIZE) + sizeOfDoubleArray(PAGE_SIZE));
+        }
+    }
+
+    static final class SliceIterator implements Pregel.MessageIterator {
+
+        private HugeDoubleArray messages;
+        private long position;
+        private long end;
+
+        void init(HugeDoubleArray messages, long start, long end) {
+            this.messages = messages;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public double nextDouble() {
+            return messages.get(position++);
+        }
+
+        @Override
+        public void clear() {
+            this.position = 0;
+            this.end = 0;
+        }
+    }
+}
@@ -20,7 +20,6 @@
 package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.value.Value;
-import org.jctools.queues.MpscLinkedQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
@@ -41,13 +40,12 @@ import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -55,8 +53,9 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
-    // Marks the end of messages from the previous iteration in synchronous mode.
-    private static final Double TERMINATION_SYMBOL = Double.NaN;
+    // Number of nodes a compute step claims at once in asynchronous mode,
+    // a multiple of 64 aligns the batches with the words of the bit sets.
+    static final long ACTIVE_NODE_BATCH_SIZE = 4096;
 
     private final CONFIG config;
 
@@ -66,7 +65,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final CompositeNodeValue nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final Messenger<?> messenger;
 
     private final int concurrency;
     private final ExecutorService executor;
@@ -96,23 +95,54 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public static MemoryEstimation memoryEstimation(PregelSchema pregelSchema) {
-        return MemoryEstimations.builder(Pregel.class)
+        return memoryEstimation(pregelSchema, false, "message queues", QueueMessenger.memoryEstimation());
+    }
+
+    public static MemoryEstimation memoryEstimation(PregelComputation<?> computation, PregelConfig config) {
+        if (computation.combiner().isPresent()) {
+            return memoryEstimation(
+                computation.schema(),
+                config.isAsynchronous(),
+                "combined messages",
+                CombiningMessenger.memoryEstimation(config.isAsynchronous())
+            );
+        }
+        if (config.usePagedMessageStore()) {
+            return memoryEstimation(
+                computation.schema(),
+                config.isAsynchronous(),
+                "paged message store",
+                PagedMessenger.memoryEstimation()
+            );
+        }
+        return memoryEstimation(
+            computation.schema(),
+            config.isAsynchronous(),
+            "message queues",
+            QueueMessenger.memoryEstimation()
+        );
+    }
+
+    private static MemoryEstimation memoryEstimation(
+        PregelSchema pregelSchema,
+        boolean isAsynchronous,
+        String messengerDescription,
+        MemoryEstimation messengerEstimation
+    ) {
+        var estimationBuilder = MemoryEstimations.builder(Pregel.class)
             .perNode("message bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perNode("previous message bits", MemoryUsage::sizeOfHugeAtomicBitset)
-            .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset)
+            .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset);
+
+        if (isAsynchronous) {
+            estimationBuilder
+                .perNode("active bits", MemoryUsage::sizeOfHugeAtomicBitset)
+                .perNode("previous active bits", MemoryUsage::sizeOfHugeAtomicBitset);
+        }
+
+        return estimationBuilder
             .perThread("compute steps", MemoryEstimations.builder(ComputeStep.class).build())
-            .add(
-                "message queues",
-                MemoryEstimations.setup("", (dimensions, concurrency) ->
-                    MemoryEstimations.builder()
-                        .fixed(HugeObjectArray.class.getSimpleName(), MemoryUsage.sizeOfInstance(HugeObjectArray.class))
-                        .perNode("node queue", MemoryEstimations.builder(MpscLinkedQueue.class)
-                            .fixed("messages", dimensions.averageDegree() * Double.BYTES)
-                            .build()
-                        )
-                        .build()
-                )
-            )
+            .add(messengerDescription, messengerEstimation)
             .add(
                 "composite node value",
                 MemoryEstimations.setup("", (dimensions, concurrency) -> {
@@ -166,7 +196,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.executor = executor;
         this.tracker = tracker;
 
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        this.messenger = createMessenger(graph.nodeCount(), config, computation, executor, tracker);
+    }
+
+    private static Messenger<?> createMessenger(
+        long nodeCount,
+        PregelConfig config,
+        PregelComputation<?> computation,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        var combiner = computation.combiner();
+        if (combiner.isPresent()) {
+            return CombiningMessenger.of(nodeCount, config, combiner.get(), tracker);
+        }
+        if (config.usePagedMessageStore()) {
+            return PagedMessenger.of(nodeCount, config, executor, tracker);
+        }
+        return QueueMessenger.of(nodeCount, config, tracker);
     }
 
     public PregelResult run() {
@@ -178,23 +225,60 @@ public final class Pregel<CONFIG extends PregelConfig> {
         // Tracks if a node voted to halt in the previous iteration
         HugeAtomicBitSet voteBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
 
-        List<ComputeStep<CONFIG>> computeSteps = createComputeSteps(voteBits);
+        // In asynchronous mode, compute steps only visit active nodes, i.e.
+        // nodes that received messages or did not vote to halt.
+        HugeAtomicBitSet activeBits = null;
+        HugeAtomicBitSet prevActiveBits = null;
+        AtomicLong nextActiveBatch = null;
+        if (config.isAsynchronous()) {
+            activeBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
+            prevActiveBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
+            nextActiveBatch = new AtomicLong();
+            // All nodes are active in the initial superstep
+            if (graph.nodeCount() > 0) {
+                prevActiveBits.set(0, graph.nodeCount());
+            }
+        }
+
+        List<ComputeStep<CONFIG, ?>> computeSteps = createComputeSteps(voteBits, nextActiveBatch);
 
         int iterations;
         for (iterations = 0; iterations < config.maxIterations(); iterations++) {
             if (iterations > 0) {
                 messageBits.clear();
+                if (activeBits != null) {
+                    activeBits.clear();
+                }
             }
 
+            // Deliver messages from the previous iteration
+            messenger.initIteration(iterations, prevMessageBits);
+
             // Init compute steps with the updated state
-            for (ComputeStep<CONFIG> computeStep : computeSteps) {
-                computeStep.init(iterations, messageBits, prevMessageBits);
+            for (ComputeStep<CONFIG, ?> computeStep : computeSteps) {
+                computeStep.init(iterations, messageBits, prevMessageBits, activeBits, prevActiveBits);
             }
+            if (nextActiveBatch != null) {
+                nextActiveBatch.set(0);
+            }
+
+            ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
 
-            runComputeSteps(computeSteps, iterations, prevMessageBits);
+            if (activeBits != null) {
+                // Nodes that received messages are active in the next iteration
+                activeBits.union(messageBits);
 
-            // No messages have been sent and all nodes voted to halt
-            if (messageBits.isEmpty() && voteBits.allSet()) {
+                // No messages have been sent and all nodes voted to halt
+                if (activeBits.isEmpty()) {
+                    didConverge = true;
+                    break;
+                }
+
+                var tmp = activeBits;
+                activeBits = prevActiveBits;
+                prevActiveBits = tmp;
+            } else if (messageBits.isEmpty() && voteBits.allSet()) {
+                // No messages have been sent and all nodes voted to halt
                 didConverge = true;
                 break;
             }
@@ -213,13 +297,16 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public void release() {
-        messageQueues.release();
+        messenger.release();
     }
 
-    private List<ComputeStep<CONFIG>> createComputeSteps(HugeAtomicBitSet voteBits) {
-        List<Partition> partitions = PartitionUtils.rangePartition(concurrency, graph.nodeCount());
+    private List<ComputeStep<CONFIG, ?>> createComputeSteps(
+        HugeAtomicBitSet voteBits,
+        @Nullable AtomicLong nextActiveBatch
+    ) {
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartition(graph, concurrency);
 
-        List<ComputeStep<CONFIG>> computeSteps = new ArrayList<>(concurrency);
+        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(partitions.size());
 
         for (Partition partition : partitions) {
             computeSteps.add(new ComputeStep<>(
@@ -229,62 +316,19 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 0,
                 partition,
                 nodeValues,
-                messageQueues,
+                messenger,
                 voteBits,
+                nextActiveBatch,
                 graph
             ));
         }
         return computeSteps;
     }
 
-    private void runComputeSteps(
-        Collection<ComputeStep<CONFIG>> computeSteps,
-        final int iteration,
-        HugeAtomicBitSet messageBits
-    ) {
-
-        if (!config.isAsynchronous()) {
-            // Synchronization barrier:
-            // Add termination flag to message queues that
-            // received messages in the previous iteration.
-            if (iteration > 0) {
-                ParallelUtil.parallelStreamConsume(
-                        LongStream.range(0, graph.nodeCount()),
-                        concurrency,
-                        nodeIds -> nodeIds.forEach(nodeId -> {
-                            if (messageBits.get(nodeId)) {
-                                messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
-                            }
-                        }));
-            }
-        }
-
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
-    }
-
-    @SuppressWarnings({"unchecked"})
-    private HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(Graph graph, AllocationTracker tracker) {
-        // sad java 😞
-        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) new MpscLinkedQueue<Double>().getClass();
-
-        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
-                queueClass,
-                graph.nodeCount(),
-                tracker);
-
-        ParallelUtil.parallelStreamConsume(
-                LongStream.range(0, graph.nodeCount()),
-                concurrency,
-                nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, new MpscLinkedQueue<Double>())));
-
-        return messageQueues;
-    }
-
-    public static final class ComputeStep<CONFIG extends PregelConfig> implements Runnable {
+    public static final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends MessageIterator> implements Runnable {
 
         private final long nodeCount;
         private final long relationshipCount;
-        private final boolean isAsync;
         private final boolean isMultiGraph;
         private final PregelComputation<CONFIG> computation;
         private final PregelContext.InitContext<CONFIG> initContext;
@@ -292,7 +336,9 @@ public final class Pregel<CONFIG extends PregelConfig> {
         private final Partition nodeBatch;
         private final Degrees degrees;
         private final CompositeNodeValue nodeValues;
-        private final HugeObjectArray<? extends Queue<Double>> messageQueues;
+        private final Messenger<ITERATOR> messenger;
+        private final Messenger.Sender sender;
+        private final boolean deliversWithinSuperstep;
         private final RelationshipIterator relationshipIterator;
 
         private int iteration;
@@ -300,6 +346,12 @@ public final class Pregel<CONFIG extends PregelConfig> {
         private HugeAtomicBitSet prevMessageBits;
         private final HugeAtomicBitSet voteBits;
 
+        // only used in asynchronous mode
+        private final @Nullable AtomicLong nextActiveBatch;
+        private HugeAtomicBitSet activeBits;
+        private HugeAtomicBitSet prevActiveBits;
+        private boolean receivesWithinSuperstep;
+
         private ComputeStep(
             Graph graph,
             PregelComputation<CONFIG> computation,
@@ -307,21 +359,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
             int iteration,
             Partition nodeBatch,
             CompositeNodeValue nodeValues,
-            HugeObjectArray<? extends Queue<Double>> messageQueues,
+            Messenger<ITERATOR> messenger,
             HugeAtomicBitSet voteBits,
+            @Nullable AtomicLong nextActiveBatch,
             RelationshipIterator relationshipIterator
         ) {
             this.iteration = iteration;
             this.nodeCount = graph.nodeCount();
             this.relationshipCount = graph.relationshipCount();
-            this.isAsync = config.isAsynchronous();
             this.computation = computation;
             this.voteBits = voteBits;
+            this.nextActiveBatch = nextActiveBatch;
             this.nodeBatch = nodeBatch;
             this.degrees = graph;
             this.isMultiGraph = graph.isMultiGraph();
             this.nodeValues = nodeValues;
-            this.messageQueues = messageQueues;
+            this.messenger = messenger;
+            this.sender = messenger.sender();
+            this.deliversWithinSuperstep = messenger.deliversWithinSuperstep();
             this.relationshipIterator = relationshipIterator.concurrentCopy();
             this.computeContext = PregelContext.computeContext(this, config);
             this.initContext = PregelContext.initContext(this, config, graph);
@@ -330,37 +385,96 @@ public final class Pregel<CONFIG extends PregelConfig> {
         void init(
             int iteration,
             HugeAtomicBitSet messageBits,
-            HugeAtomicBitSet prevMessageBits
+            HugeAtomicBitSet prevMessageBits,
+            @Nullable HugeAtomicBitSet activeBits,
+            @Nullable HugeAtomicBitSet prevActiveBits
         ) {
             this.iteration = iteration;
             this.messageBits = messageBits;
             this.prevMessageBits = prevMessageBits;
+            this.activeBits = activeBits;
+            this.prevActiveBits = prevActiveBits;
+            // Messages sent during the initial superstep are received in the next
+            // superstep, as computations usually do not expect messages before.
+            this.receivesWithinSuperstep = deliversWithinSuperstep && iteration > 0;
         }
 
         @Override
         public void run() {
-            var messageIterator = isAsync
-                ? new MessageIterator.Async()
-                : new MessageIterator.Sync();
+            var messageIterator = messenger.messageIterator();
             var messages = new Messages(messageIterator);
 
+            if (nextActiveBatch != null) {
+                computeActiveNodes(messageIterator, messages);
+                return;
+            }
+
             long batchStart = nodeBatch.startNode();
             long batchEnd = batchStart + nodeBatch.nodeCount();
 
             for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
+                computeNode(nodeId, messageIterator, messages);
+            }
+        }
 
-                if (computeContext.isInitialSuperstep()) {
-                    initContext.setNodeId(nodeId);
-                    computation.init(initContext);
+        /**
+         * Visits only the nodes that are set in the active bits of the previous iteration.
+         * Compute steps claim word-aligned batches of nodes until all batches are processed,
+         * so that threads which finish early take over work from the remaining batches.
+         */
+        private void computeActiveNodes(ITERATOR messageIterator, Messages messages) {
+            long batchStart;
+            while ((batchStart = nextActiveBatch.getAndAdd(ACTIVE_NODE_BATCH_SIZE)) < nodeCount) {
+                long batchEnd = Math.min(batchStart + ACTIVE_NODE_BATCH_SIZE, nodeCount);
+
+                long nodeId = nextActiveNode(batchStart, batchEnd);
+                while (nodeId != -1) {
+                    computeNode(nodeId, messageIterator, messages);
+                    if (!voteBits.get(nodeId)) {
+                        activeBits.set(nodeId);
+                    }
+                    nodeId = nextActiveNode(nodeId + 1, batchEnd);
                 }
+            }
+        }
+
+        private long nextActiveNode(long startNode, long endNode) {
+            long nextActive = prevActiveBits.nextSetBit(startNode, endNode);
+            if (receivesWithinSuperstep) {
+                // Nodes that received messages earlier in this superstep are visited as well
+                long nextReceiver = messageBits.nextSetBit(startNode, endNode);
+                if (nextReceiver != -1 && (nextActive == -1 || nextReceiver < nextActive)) {
+                    nextActive = nextReceiver;
+                }
+            }
+            return nextActive;
+        }
+
+        private void computeNode(long nodeId, ITERATOR messageIterator, Messages messages) {
+            if (computeContext.isInitialSuperstep()) {
+                initContext.setNodeId(nodeId);
+                computation.init(initContext);
+            }
+
+            boolean hasMessages = prevMessageBits.get(nodeId);
+            if (receivesWithinSuperstep && messageBits.get(nodeId)) {
+                // The message iterator consumes all messages that have been sent so far.
+                // The bit is cleared beforehand, so that messages sent concurrently are
+                // either consumed now or set the bit again for the next superstep.
+                messageBits.clear(nodeId);
+                hasMessages = true;
+            }
 
-                if (prevMessageBits.get(nodeId) || !voteBits.get(nodeId)) {
-                    voteBits.clear(nodeId);
-                    computeContext.setNodeId(nodeId);
+            if (hasMessages || !voteBits.get(nodeId)) {
+                voteBits.clear(nodeId);
+                computeContext.setNodeId(nodeId);
 
-                    messageIterator.init(receiveMessages(nodeId));
-                    computation.compute(computeContext, messages);
+                if (hasMessages) {
+                    messenger.initMessageIterator(messageIterator, nodeId);
+                } else {
+                    messageIterator.clear();
                 }
+                computation.compute(computeContext, messages);
             }
         }
 
@@ -405,22 +519,17 @@ public final class Pregel<CONFIG extends PregelConfig> {
         }
 
         void sendTo(long targetNodeId, double message) {
-            messageQueues.get(targetNodeId).add(message);
+            sender.sendTo(targetNodeId, message);
             messageBits.set(targetNodeId);
         }
 
         void sendToNeighborsWeighted(long sourceNodeId, double message) {
             relationshipIterator.forEachRelationship(sourceNodeId, 1.0, (source, target, weight) -> {
-                messageQueues.get(target).add(computation.applyRelationshipWeight(message, weight));
-                messageBits.set(target);
+                sendTo(target, computation.applyRelationshipWeight(message, weight));
                 return true;
             });
         }
 
-        private @Nullable Queue<Double> receiveMessages(long nodeId) {
-            return prevMessageBits.get(nodeId) ? messageQueues.get(nodeId) : null;
-        }
-
         double doubleNodeValue(String key, long nodeId) {
             return nodeValues.doubleValue(key, nodeId);
         }
@@ -596,47 +705,24 @@ public final class Pregel<CONFIG extends PregelConfig> {
             this.iterator = iterator;
         }
 
+        /**
+         * Returns an iterator over the messages of the current node.
+         * Using {@link java.util.PrimitiveIterator.OfDouble#nextDouble()}
+         * avoids boxing the messages.
+         */
         @NotNull
         @Override
-        public Iterator<Double> iterator() {
+        public PrimitiveIterator.OfDouble iterator() {
             return iterator;
         }
     }
 
-    abstract static class MessageIterator implements Iterator<Double> {
-
-        Queue<Double> queue;
-
-        @Nullable Double next;
+    interface MessageIterator extends PrimitiveIterator.OfDouble {
 
-        @Override
-        public @Nullable Double next() {
-            return next;
-        }
-
-        void init(@Nullable Queue<Double> queue) {
-            this.queue = queue;
-        }
-
-        static class Sync extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return !Double.isNaN(next = queue.poll());
-            }
-        }
-
-        static class Async extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return (next = queue.poll()) != null;
-            }
-        }
+        /**
+         * Resets the iterator so that it does not return any messages.
+         */
+        void clear();
     }
 
     @ValueClass
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import java.util.Optional;
+
 /**
  * Main interface to express user-defined logic using the
  * Pregel framework. An algorithm is expressed using a
@@ -75,6 +77,26 @@ public interface PregelComputation<C extends PregelConfig> {
      */
     void compute(PregelContext.ComputeContext<C> context, Pregel.Messages messages);
 
+    /**
+     * If the computation only depends on an aggregate of the
+     * received messages, such as their sum or minimum, this
+     * method can be overridden to return a combiner. Messages
+     * are then combined when they are sent and each node
+     * receives at most one message per superstep.
+     * <br>
+     * Example:
+     * <pre>
+     * public Optional&lt;Combiner&gt; combiner() {
+     *      return Optional.of(new Combiner.Sum());
+     * }
+     * </pre>
+     *
+     * @see org.neo4j.graphalgo.beta.pregel.Combiner
+     */
+    default Optional<Combiner> combiner() {
+        return Optional.empty();
+    }
+
     /**
      * If the input graph is weighted, i.e. relationships have a
      * property, this method can be overridden to apply that weight
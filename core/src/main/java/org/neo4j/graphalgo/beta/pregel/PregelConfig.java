@@ -49,6 +49,17 @@ public interface PregelConfig extends
         return false;
     }
 
+    /**
+     * Stores messages in paged primitive arrays instead of one
+     * queue per node. This avoids allocating an object per message,
+     * but messages sent in asynchronous mode are only delivered in
+     * the next superstep.
+     */
+    @Value.Default
+    default boolean usePagedMessageStore() {
+        return false;
+    }
+
     @Value.Default
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     default String writeProperty() {
@@ -29,12 +29,12 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
 
     private final CONFIG config;
 
-    final Pregel.ComputeStep<CONFIG> computeStep;
+    final Pregel.ComputeStep<CONFIG, ?> computeStep;
 
     long nodeId;
 
     static <CONFIG extends PregelConfig> InitContext<CONFIG> initContext(
-        Pregel.ComputeStep<CONFIG> computeStep,
+        Pregel.ComputeStep<CONFIG, ?> computeStep,
         CONFIG config,
         NodePropertyContainer nodePropertyContainer
     ) {
@@ -42,13 +42,13 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
     }
 
     static <CONFIG extends PregelConfig> ComputeContext<CONFIG> computeContext(
-        Pregel.ComputeStep<CONFIG> computeStep,
+        Pregel.ComputeStep<CONFIG, ?> computeStep,
         CONFIG config
     ) {
         return new ComputeContext<>(computeStep, config);
     }
 
-    PregelContext(Pregel.ComputeStep<CONFIG> computeStep, CONFIG config) {
+    PregelContext(Pregel.ComputeStep<CONFIG, ?> computeStep, CONFIG config) {
         this.computeStep = computeStep;
         this.config = config;
     }
@@ -160,7 +160,7 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
         private final NodePropertyContainer nodePropertyContainer;
 
         InitContext(
-            Pregel.ComputeStep<CONFIG> computeStep,
+            Pregel.ComputeStep<CONFIG, ?> computeStep,
             CONFIG config,
             NodePropertyContainer nodePropertyContainer
         ) {
@@ -194,7 +194,7 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
      */
     public static final class ComputeContext<CONFIG extends PregelConfig> extends PregelContext<CONFIG> {
 
-        ComputeContext(Pregel.ComputeStep<CONFIG> computeStep, CONFIG config) {
+        ComputeContext(Pregel.ComputeStep<CONFIG, ?> computeStep, CONFIG config) {
             super(computeStep, config);
             this.sendMessagesFunction = config.relationshipWeightProperty() == null
                 ? computeStep::sendToNeighbors
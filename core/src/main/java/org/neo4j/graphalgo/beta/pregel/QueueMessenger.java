@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.jctools.queues.MpscLinkedQueue;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Queue;
+import java.util.stream.LongStream;
+
+/**
+ * Stores messages in one {@link org.jctools.queues.MpscLinkedQueue} per node.
+ */
+final class QueueMessenger implements Messenger<QueueMessenger.QueueIterator> {
+
+    // Marks the end of messages from the previous iteration in synchronous mode.
+    private static final Double TERMINATION_SYMBOL = Double.NaN;
+
+    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final boolean isAsynchronous;
+    private final int concurrency;
+
+    static QueueMessenger of(long nodeCount, PregelConfig config, AllocationTracker tracker) {
+        return new QueueMessenger(
+            initLinkedQueues(nodeCount, config.concurrency(), tracker),
+            config.isAsynchronous(),
+            config.concurrency()
+        );
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.setup("", (dimensions, concurrency) ->
+            MemoryEstimations.builder()
+                .fixed(HugeObjectArray.class.getSimpleName(), MemoryUsage.sizeOfInstance(HugeObjectArray.class))
+                .perNode("node queue", MemoryEstimations.builder(MpscLinkedQueue.class)
+                    .fixed("messages", dimensions.averageDegree() * Double.BYTES)
+                    .build()
+                )
+                .build()
+        );
+    }
+
+    private QueueMessenger(
+        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues,
+        boolean isAsynchronous,
+        int concurrency
+    ) {
+        this.messageQueues = messageQueues;
+        this.isAsynchronous = isAsynchronous;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void initIteration(int iteration, HugeAtomicBitSet receivers) {
+        if (!isAsynchronous && iteration > 0) {
+            // Synchronization barrier:
+            // Add termination flag to message queues that
+            // received messages in the previous iteration.
+            ParallelUtil.parallelStreamConsume(
+                LongStream.range(0, messageQueues.size()),
+                concurrency,
+                nodeIds -> nodeIds.forEach(nodeId -> {
+                    if (receivers.get(nodeId)) {
+                        messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
+                    }
+                })
+            );
+        }
+    }
+
+    @Override
+    public Sender sender() {
+        return (targetNodeId, message) -> messageQueues.get(targetNodeId).add(message);
+    }
+
+    @Override
+    public boolean deliversWithinSuperstep() {
+        return isAsynchronous;
+    }
+
+    @Override
+    public QueueIterator messageIterator() {
+        return isAsynchronous ? new QueueIterator.Async() : new QueueIterator.Sync();
+    }
+
+    @Override
+    public void initMessageIterator(QueueIterator messageIterator, long nodeId) {
+        messageIterator.init(messageQueues.get(nodeId));
+    }
+
+    @Override
+    public void release() {
+        messageQueues.release();
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(
+        long nodeCount,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        // sad java 😞
+        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) new MpscLinkedQueue<Double>().getClass();
+
+        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
+            queueClass,
+            nodeCount,
+            tracker
+        );
+
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, new MpscLinkedQueue<Double>()))
+        );
+
+        return messageQueues;
+    }
+
+    abstract static class QueueIterator implements Pregel.MessageIterator {
+
+        @Nullable Queue<Double> queue;
+
+        double next;
+
+        @Override
+        public double nextDouble() {
+            return next;
+        }
+
+        @Override
+        public void clear() {
+            this.queue = null;
+        }
+
+        void init(Queue<Double> queue) {
+            this.queue = queue;
+        }
+
+        static class Sync extends QueueIterator {
+            @Override
+            public boolean hasNext() {
+                if (queue == null) {
+                    return false;
+                }
+                return !Double.isNaN(next = queue.poll());
+            }
+        }
+
+        static class Async extends QueueIterator {
+            @Override
+            public boolean hasNext() {
+                if (queue == null) {
+                    return false;
+                }
+                Double message = queue.poll();
+                if (message == null) {
+                    return false;
+                }
+                next = message;
+                return true;
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.neo4j.configuration.connectors.HttpConnector;
 import org.neo4j.configuration.connectors.HttpsConnector;
 import org.neo4j.configuration.helpers.SocketAddress;
 import org.neo4j.graphalgo.compat.EnterpriseLicensingSettings;
+import org.neo4j.graphalgo.compat.GraphSnapshotSettings;
 import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphdb.config.Setting;
 
@@ -49,6 +50,10 @@ public final class Settings {
         return EnterpriseLicensingSettings.enterpriseLicenseFile;
     }
 
+    public static Setting<String> snapshotLocation() {
+        return GraphSnapshotSettings.snapshotLocation;
+    }
+
     public static Setting<Boolean> boltEnabled() {
         return BoltConnector.enabled;
     }
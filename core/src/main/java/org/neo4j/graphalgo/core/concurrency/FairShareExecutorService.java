@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.neo4j.graphalgo.core.concurrency.Pools.THREAD_NAME_PREFIX;
+
+/**
+ * An executor that shares a single {@link ForkJoinPool} between concurrently running jobs.
+ *
+ * A job is the set of tasks submitted by one thread, usually the thread that runs a procedure,
+ * including the tasks that those tasks submit themselves. Jobs are identified by their thread,
+ * the thread name is only used for the {@link #jobStatistics() statistics}. At most {@code parallelism} tasks run at the same time,
+ * and a free slot is always given to the job with the fewest running tasks, so that a job that submits many tasks
+ * does not starve jobs that submit few. Among jobs with the same number of running tasks, the job that
+ * got a slot least recently goes first. Tasks that are submitted from within the pool while all slots
+ * are taken run in the submitting thread instead. If a job has {@code maxQueuedTasksPerJob} tasks waiting,
+ * the submitting thread blocks until one of them is started; other jobs are not affected.
+ */
+public final class FairShareExecutorService extends AbstractExecutorService {
+
+    private static final String FORK_JOIN_INFIX = "-fairshare-";
+
+    private static final ThreadLocal<Job> CURRENT_JOB = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int maxQueuedTasksPerJob;
+
+    private final ReentrantLock lock;
+    private final Condition queueNotFull;
+    private final Map<Thread, Job> jobs;
+    private int runningTasks;
+    private long dispatchCount;
+    private boolean shutdown;
+
+    public FairShareExecutorService(int parallelism, int maxQueuedTasksPerJob) {
+        if (parallelism < 1 || maxQueuedTasksPerJob < 1) {
+            throw new IllegalArgumentException("Parallelism and queue size must be positive.");
+        }
+        this.parallelism = parallelism;
+        this.maxQueuedTasksPerJob = maxQueuedTasksPerJob;
+        this.pool = new ForkJoinPool(
+            parallelism,
+            pool -> {
+                var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                worker.setName(THREAD_NAME_PREFIX + FORK_JOIN_INFIX + worker.getPoolIndex());
+                worker.setDaemon(true);
+                return worker;
+            },
+            null,
+            true
+        );
+        this.lock = new ReentrantLock();
+        this.queueNotFull = lock.newCondition();
+        this.jobs = new LinkedHashMap<>();
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        boolean nested = isWorkerThread() && CURRENT_JOB.get() != null;
+        Thread jobOwner = nested ? CURRENT_JOB.get().owner : Thread.currentThread();
+        boolean runInline = false;
+
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down.");
+            }
+            if (nested && runningTasks >= parallelism) {
+                // The submitting task might wait for the new task to complete,
+                // which would never happen if it had to wait for its own slot.
+                runInline = true;
+            } else {
+                while (!nested && queuedTasks(jobOwner) >= maxQueuedTasksPerJob) {
+                    queueNotFull.await();
+                    if (shutdown) {
+                        throw new RejectedExecutionException("Executor has been shut down.");
+                    }
+                }
+                // the job might have been finished and removed while waiting
+                jobs.computeIfAbsent(jobOwner, Job::new).queue.add(new QueuedTask(command, System.nanoTime()));
+                dispatch();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue capacity.", e);
+        } finally {
+            lock.unlock();
+        }
+        if (runInline) {
+            command.run();
+        }
+    }
+
+    /**
+     * Returns the current queue depth, running tasks and waiting times of all jobs
+     * that have queued or running tasks.
+     */
+    public List<JobStatistics> jobStatistics() {
+        lock.lock();
+        try {
+            List<JobStatistics> statistics = new ArrayList<>(jobs.size());
+            for (Job job : jobs.values()) {
+                statistics.add(ImmutableJobStatistics.of(
+                    job.name,
+                    job.queue.size(),
+                    job.running,
+                    job.started,
+                    job.started == 0 ? 0L : job.totalWaitNanos / job.started
+                ));
+            }
+            return Collections.unmodifiableList(statistics);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            queueNotFull.signalAll();
+            if (runningTasks == 0) {
+                pool.shutdown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        lock.lock();
+        try {
+            shutdown = true;
+            queueNotFull.signalAll();
+            List<Runnable> pending = new ArrayList<>();
+            for (Job job : jobs.values()) {
+                job.queue.forEach(task -> pending.add(task.runnable));
+                job.queue.clear();
+            }
+            pool.shutdownNow();
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return pool.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    // must hold the lock
+    private int queuedTasks(Thread jobOwner) {
+        Job job = jobs.get(jobOwner);
+        return job == null ? 0 : job.queue.size();
+    }
+
+    private boolean isWorkerThread() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof ForkJoinWorkerThread && ((ForkJoinWorkerThread) thread).getPool() == pool;
+    }
+
+    // must hold the lock
+    private void dispatch() {
+        while (runningTasks < parallelism) {
+            Job job = nextJob();
+            if (job == null) {
+                return;
+            }
+            QueuedTask task = job.queue.remove();
+            job.running++;
+            job.started++;
+            job.lastDispatch = ++dispatchCount;
+            job.totalWaitNanos += System.nanoTime() - task.queuedAt;
+            runningTasks++;
+            queueNotFull.signalAll();
+            pool.execute(() -> run(job, task.runnable));
+        }
+    }
+
+    // must hold the lock
+    private Job nextJob() {
+        Job next = null;
+        for (Job job : jobs.values()) {
+            if (job.queue.isEmpty()) {
+                continue;
+            }
+            if (next == null ||
+                job.running < next.running ||
+                (job.running == next.running && job.lastDispatch < next.lastDispatch)) {
+                next = job;
+            }
+        }
+        return next;
+    }
+
+    private void run(Job job, Runnable runnable) {
+        CURRENT_JOB.set(job);
+        try {
+            runnable.run();
+        } finally {
+            CURRENT_JOB.remove();
+            lock.lock();
+            try {
+                job.running--;
+                runningTasks--;
+                if (job.running == 0 && job.queue.isEmpty()) {
+                    jobs.remove(job.owner);
+                }
+                dispatch();
+                if (shutdown && runningTasks == 0) {
+                    pool.shutdown();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @ValueClass
+    public interface JobStatistics {
+
+        String jobName();
+
+        int queuedTasks();
+
+        int runningTasks();
+
+        long startedTasks();
+
+        /**
+         * Average time in nanoseconds that the started tasks of the job have been waiting in the queue.
+         */
+        long averageWaitNanos();
+    }
+
+    private static final class Job {
+        private final Thread owner;
+        private final String name;
+        private final Queue<QueuedTask> queue;
+        private int running;
+        private long started;
+        private long totalWaitNanos;
+        private long lastDispatch;
+
+        Job(Thread owner) {
+            this.owner = owner;
+            this.name = owner.getName();
+            this.queue = new ArrayDeque<>();
+        }
+    }
+
+    private static final class QueuedTask {
+        private final Runnable runnable;
+        private final long queuedAt;
+
+        QueuedTask(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
@@ -28,12 +28,14 @@ import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.utils.ExceptionUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
@@ -48,6 +50,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -109,6 +112,30 @@ public final class ParallelUtil {
         });
     }
 
+    /**
+     * Runs the consumer for every partition on a FJ pool of the requested size.
+     * The partitions are split recursively into halves, so that idle workers steal the remaining halves
+     * from busy ones. Combined with {@link org.neo4j.graphalgo.core.utils.partition.PartitionUtils#degreeBalancedPartition(Graph, int)}
+     * this avoids waiting on a single thread that processes the partition containing the high degree nodes.
+     * The concurrency value is assumed to already be validated towards the edition limitation.
+     */
+    public static void parallelForEachPartition(
+        List<Partition> partitions,
+        int concurrency,
+        Consumer<Partition> consumer
+    ) {
+        if (concurrency == 1 || partitions.size() <= 1) {
+            partitions.forEach(consumer);
+            return;
+        }
+        ForkJoinPool pool = getFJPoolWithConcurrency(concurrency);
+        try {
+            pool.invoke(new PartitionAction(partitions, 0, partitions.size(), consumer));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * @return the number of threads required to compute elementCount with the given batchSize
      */
@@ -1078,6 +1105,34 @@ public final class ParallelUtil {
         }
     }
 
+    private static final class PartitionAction extends RecursiveAction {
+
+        private final List<Partition> partitions;
+        private final int from;
+        private final int to;
+        private final Consumer<Partition> consumer;
+
+        PartitionAction(List<Partition> partitions, int from, int to, Consumer<Partition> consumer) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                consumer.accept(partitions.get(from));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new PartitionAction(partitions, from, mid, consumer),
+                new PartitionAction(partitions, mid, to, consumer)
+            );
+        }
+    }
+
     private static ForkJoinPool getFJPoolWithConcurrency(int concurrency) {
         return new ForkJoinPool(concurrency, forkJoinPoolWorkerThreadFactory, null, false);
     }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.concurrency;
 
 import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 import org.neo4j.internal.helpers.NamedThreadFactory;
 
 import java.util.concurrent.ArrayBlockingQueue;
@@ -55,6 +56,10 @@ public final class Pools {
             corePoolSize = maxPoolSize = CONCURRENCY_LIMITATION;
         }
 
+        if (GdsFeatureToggles.USE_FAIR_SHARE_POOL.isEnabled()) {
+            return new FairShareExecutorService(corePoolSize, corePoolSize * 50);
+        }
+
         return new ThreadPoolExecutor(
             corePoolSize,
             maxPoolSize,
@@ -20,10 +20,13 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 
 import java.util.Arrays;
 
+import static org.neo4j.graphalgo.core.huge.BlockPackedDecoding.decodeDeltaBlock;
+import static org.neo4j.graphalgo.core.huge.BlockPackedDecoding.decodeFirstDeltaBlock;
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
 
 final class AdjacencyDecompressingReader {
@@ -31,15 +34,14 @@ final class AdjacencyDecompressingReader {
     static final int CHUNK_SIZE = 64;
 
     private final long[] block;
+    private final boolean blockPacked;
     private int pos;
     private byte[] array;
     private int offset;
 
-    private boolean blockAlreadyDecoded;
-
-    AdjacencyDecompressingReader() {
+    AdjacencyDecompressingReader(AdjacencyCompression.Encoding encoding) {
         this.block = new long[CHUNK_SIZE];
-        this.blockAlreadyDecoded = false;
+        this.blockPacked = encoding == AdjacencyCompression.Encoding.BLOCK_PACKED;
     }
 
     //@formatter:off
@@ -74,7 +76,10 @@ final class AdjacencyDecompressingReader {
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
         int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
-        this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
+        int length = Math.min(numAdjacencies, CHUNK_SIZE);
+        this.offset = blockPacked
+            ? decodeFirstDeltaBlock(adjacencyPage, Integer.BYTES + offset, length, block)
+            : decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, length, block);
         pos = 0;
         return numAdjacencies;
     }
@@ -95,18 +100,21 @@ final class AdjacencyDecompressingReader {
             return block[pos];
         }
         long targetNode = readNextBlock(remaining);
-        blockAlreadyDecoded = true;
+        // the next call continues at the start of the block that has just been decoded
         this.pos = 0;
         return targetNode;
     }
 
     private long readNextBlock(int remaining) {
-        if (!blockAlreadyDecoded) {
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
-            return block[0];
-        }
-        blockAlreadyDecoded = false;
-        return block[pos];
+        offset = decodeBlock(Math.min(remaining, CHUNK_SIZE));
+        return block[0];
+    }
+
+    private int decodeBlock(int length) {
+        long startValue = block[CHUNK_SIZE - 1];
+        return blockPacked
+            ? decodeDeltaBlock(startValue, array, offset, length, block)
+            : decodeDeltaVLongs(startValue, array, offset, length, block);
     }
 
     long skipUntil(long target, int remaining, MutableIntValue consumed) {
@@ -118,7 +126,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decodeBlock(needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -145,7 +153,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decodeBlock(needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
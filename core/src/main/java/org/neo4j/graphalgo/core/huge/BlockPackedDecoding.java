@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
+
+/**
+ * Decodes adjacency lists written by the {@code BlockPackedEncoding}.
+ *
+ * Every value of a block is extracted by reading the unaligned long that contains
+ * its bits and applying a shift and a mask, which does not branch on the input data.
+ * Blocks near the end of a page or with bit widths that do not fit into such a long
+ * are decoded byte by byte.
+ */
+final class BlockPackedDecoding {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // a value must fit into a long that starts at most 7 bits before it
+    private static final int MAX_UNALIGNED_BIT_WIDTH = Long.SIZE - Byte.SIZE + 1;
+
+    static int decodeFirstDeltaBlock(byte[] adjacencyPage, int offset, int length, long[] out) {
+        if (length <= 0) {
+            return offset;
+        }
+        offset = decodeDeltaVLongs(0L, adjacencyPage, offset, 1, out);
+        return unpack(out[0], adjacencyPage, offset, length - 1, out, 1);
+    }
+
+    static int decodeDeltaBlock(long startValue, byte[] adjacencyPage, int offset, int length, long[] out) {
+        return unpack(startValue, adjacencyPage, offset, length, out, 0);
+    }
+
+    private static int unpack(long value, byte[] adjacencyPage, int offset, int length, long[] out, int into) {
+        if (length <= 0) {
+            return offset;
+        }
+
+        int bitWidth = adjacencyPage[offset++];
+        int end = into + length;
+        int lastByte = offset + (((length - 1) * bitWidth) >>> 3);
+
+        if (bitWidth <= MAX_UNALIGNED_BIT_WIDTH && lastByte + Long.BYTES <= adjacencyPage.length) {
+            long mask = (1L << bitWidth) - 1L;
+            for (int bit = 0; into < end; ++into, bit += bitWidth) {
+                value += ((long) LONGS.get(adjacencyPage, offset + (bit >>> 3)) >>> (bit & 7)) & mask;
+                out[into] = value;
+            }
+        } else {
+            for (int bit = 0; into < end; ++into, bit += bitWidth) {
+                value += readBits(adjacencyPage, offset, bit, bitWidth);
+                out[into] = value;
+            }
+        }
+
+        return offset + ((length * bitWidth + 7) >>> 3);
+    }
+
+    private static long readBits(byte[] adjacencyPage, int offset, int bit, int bitWidth) {
+        if (bitWidth == 0) {
+            return 0L;
+        }
+        int index = offset + (bit >>> 3);
+        int shift = bit & 7;
+        long value = (adjacencyPage[index] & 0xFFL) >>> shift;
+        for (int read = Byte.SIZE - shift; read < bitWidth; read += Byte.SIZE) {
+            value |= (adjacencyPage[++index] & 0xFFL) << read;
+        }
+        return bitWidth == Long.SIZE ? value : value & ((1L << bitWidth) - 1L);
+    }
+
+    private BlockPackedDecoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+
+import java.util.Arrays;
+
+/**
+ * Intersection of a {@link HugeGraph} with relationships that have not been compacted yet.
+ * The compressed adjacency lists do not include those relationships, the neighbours of a node
+ * are therefore collected from the graph and sorted before they are intersected.
+ *
+ * An instance of this is not thread-safe, see {@link GraphIntersect}.
+ */
+final class DeltaGraphIntersect extends GraphIntersect<DeltaGraphIntersect.NeighbourCursor> {
+
+    private final HugeGraph graph;
+
+    DeltaGraphIntersect(HugeGraph graph, long maxDegree) {
+        super(
+            new NeighbourCursor(),
+            new NeighbourCursor(),
+            new NeighbourCursor(),
+            new NeighbourCursor(),
+            maxDegree
+        );
+        this.graph = graph;
+    }
+
+    @Override
+    protected NeighbourCursor cursor(long node, NeighbourCursor reuse) {
+        reuse.reset(graph.degree(node));
+        graph.forEachRelationship(node, (source, target) -> {
+            reuse.add(target);
+            return true;
+        });
+        reuse.sort();
+        return reuse;
+    }
+
+    @Override
+    protected int degree(long node) {
+        return graph.degree(node);
+    }
+
+    static final class NeighbourCursor implements AdjacencyCursor {
+
+        private long[] targets = new long[0];
+        private int size;
+        private int position;
+
+        void reset(int expectedSize) {
+            // the array might be shared with a cursor that copied this one, never fill it in place
+            targets = new long[expectedSize];
+            size = 0;
+            position = 0;
+        }
+
+        void add(long target) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, Math.max(16, 2 * size));
+            }
+            targets[size++] = target;
+        }
+
+        void sort() {
+            Arrays.sort(targets, 0, size);
+        }
+
+        @Override
+        public void init(long index) {
+            throw new UnsupportedOperationException("Neighbour cursors are initialized by their intersection.");
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean hasNextVLong() {
+            return position < size;
+        }
+
+        @Override
+        public long nextVLong() {
+            return targets[position++];
+        }
+
+        @Override
+        public long peekVLong() {
+            return targets[position];
+        }
+
+        @Override
+        public int remaining() {
+            return size - position;
+        }
+
+        @Override
+        public long skipUntil(long target) {
+            if (position >= size) {
+                return NOT_FOUND;
+            }
+            while (position < size - 1 && targets[position] <= target) {
+                position++;
+            }
+            return targets[position++];
+        }
+
+        @Override
+        public long advance(long target) {
+            if (position >= size) {
+                return NOT_FOUND;
+            }
+            while (position < size - 1 && targets[position] < target) {
+                position++;
+            }
+            return targets[position++];
+        }
+
+        @Override
+        public void copyFrom(AdjacencyCursor sourceCursor) {
+            var other = (NeighbourCursor) sourceCursor;
+            targets = other.targets;
+            size = other.size;
+            position = other.position;
+        }
+
+        @Override
+        public void close() {
+            targets = null;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.AdjacencyOffsets;
 import org.neo4j.graphalgo.api.CSRGraph;
+import org.neo4j.graphalgo.api.ImmutableRelationshipCursor;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.PropertyCursor;
@@ -38,6 +39,7 @@ import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -78,6 +80,13 @@ import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.Cursor;
  * and gives access to this data during import. Synchronization between threads only
  * has to happen when a new chunk has to be pre-allocated. This is similar to
  * what most garbage collectors do with TLAB allocations.
+ * <p>
+ * A graph that has been created from a {@link org.neo4j.graphalgo.core.loading.CSRGraphStore} also includes
+ * relationships that have been added to or removed from the graph store since its adjacency lists have been
+ * compacted, see {@link RelationshipsDelta}. Those changes are only weakly consistent: every call reads the
+ * changes of a node at that time, so that e.g. {@link #degree(long)} and a subsequent
+ * {@link #forEachRelationship(long, RelationshipConsumer)} disagree if the node is changed in between.
+ * A graph stops including further changes once the graph store compacts the relationships it has been created from.
  *
  * @see <a href="https://developers.google.com/protocol-buffers/docs/encoding#varints">more abount vlong</a>
  * @see <a href="https://shipilev.net/jvm-anatomy-park/4-tlab-allocation/">more abount TLAB allocation</a>
@@ -113,6 +122,9 @@ public class HugeGraph implements CSRGraph {
     protected final boolean hasRelationshipProperty;
     protected final boolean isMultiGraph;
 
+    @Nullable
+    protected final RelationshipsDelta.View delta;
+
     public static HugeGraph create(
         NodeMapping nodes,
         GraphSchema schema,
@@ -120,6 +132,21 @@ public class HugeGraph implements CSRGraph {
         Relationships.Topology topology,
         Optional<Relationships.Properties> maybeProperties,
         AllocationTracker tracker
+    ) {
+        return create(nodes, schema, nodeProperties, topology, maybeProperties, null, tracker);
+    }
+
+    /**
+     * Creates a graph that merges the given changes into the compressed adjacency lists.
+     */
+    public static HugeGraph create(
+        NodeMapping nodes,
+        GraphSchema schema,
+        Map<String, NodeProperties> nodeProperties,
+        Relationships.Topology topology,
+        Optional<Relationships.Properties> maybeProperties,
+        @Nullable RelationshipsDelta.View delta,
+        AllocationTracker tracker
     ) {
         return new HugeGraph(
             nodes,
@@ -134,6 +161,7 @@ public class HugeGraph implements CSRGraph {
             maybeProperties.map(Relationships.Properties::offsets).orElse(null),
             topology.orientation(),
             topology.isMultiGraph(),
+            delta,
             tracker
         );
     }
@@ -152,6 +180,40 @@ public class HugeGraph implements CSRGraph {
         Orientation orientation,
         boolean isMultiGraph,
         AllocationTracker tracker
+    ) {
+        this(
+            idMapping,
+            schema,
+            nodeProperties,
+            relationshipCount,
+            adjacencyList,
+            adjacencyOffsets,
+            hasRelationshipProperty,
+            defaultPropertyValue,
+            properties,
+            propertyOffsets,
+            orientation,
+            isMultiGraph,
+            null,
+            tracker
+        );
+    }
+
+    public HugeGraph(
+        NodeMapping idMapping,
+        GraphSchema schema,
+        Map<String, NodeProperties> nodeProperties,
+        long relationshipCount,
+        AdjacencyList adjacencyList,
+        AdjacencyOffsets adjacencyOffsets,
+        boolean hasRelationshipProperty,
+        double defaultPropertyValue,
+        @Nullable AdjacencyList properties,
+        @Nullable AdjacencyOffsets propertyOffsets,
+        Orientation orientation,
+        boolean isMultiGraph,
+        @Nullable RelationshipsDelta.View delta,
+        AllocationTracker tracker
     ) {
         this.idMapping = idMapping;
         this.schema = schema;
@@ -166,6 +228,7 @@ public class HugeGraph implements CSRGraph {
         this.propertyOffsets = propertyOffsets;
         this.orientation = orientation;
         this.hasRelationshipProperty = hasRelationshipProperty;
+        this.delta = delta;
         this.cursorCache = newAdjacencyCursor(this.adjacencyList);
         this.emptyCursor = newAdjacencyCursor(this.adjacencyList);
     }
@@ -193,7 +256,7 @@ public class HugeGraph implements CSRGraph {
 
     @Override
     public long relationshipCount() {
-        return relationshipCount;
+        return delta == null ? relationshipCount : relationshipCount + delta.relationshipCountChange();
     }
 
     @Override
@@ -224,6 +287,13 @@ public class HugeGraph implements CSRGraph {
 
         double maybeValue;
 
+        var nodeDelta = nodeDelta(sourceId);
+        if (nodeDelta != null) {
+            var finder = new DeltaPropertyFinder(targetId);
+            runForEach(sourceId, nodeDelta, finder);
+            return finder.found ? finder.value : defaultPropertyValue;
+        }
+
         if (properties != null) {
             maybeValue = findPropertyValue(sourceId, targetId);
             if (!Double.isNaN(maybeValue)) {
@@ -278,6 +348,14 @@ public class HugeGraph implements CSRGraph {
 
     @Override
     public Stream<RelationshipCursor> streamRelationships(long nodeId, double fallbackValue) {
+        if (nodeDelta(nodeId) != null) {
+            var relationships = new ArrayList<RelationshipCursor>();
+            runForEach(nodeId, fallbackValue, (source, target, property) -> {
+                relationships.add(ImmutableRelationshipCursor.of(source, target, property));
+                return true;
+            });
+            return relationships.stream();
+        }
         var adjacencyCursor = adjacencyCursorForIteration(nodeId);
         var spliterator = !hasRelationshipProperty()
             ? AdjacencySpliterator.of(adjacencyCursor, nodeId, fallbackValue)
@@ -292,10 +370,9 @@ public class HugeGraph implements CSRGraph {
             return 0;
         }
         long offset = adjacencyOffsets.get(node);
-        if (offset == 0L) {
-            return 0;
-        }
-        return adjacencyList.degree(offset);
+        int degree = offset == 0L ? 0 : adjacencyList.degree(offset);
+        var nodeDelta = nodeDelta(node);
+        return nodeDelta == null ? degree : nodeDelta.degree(degree);
     }
 
     @Override
@@ -338,12 +415,17 @@ public class HugeGraph implements CSRGraph {
             propertyOffsets,
             orientation,
             isMultiGraph,
+            delta,
             tracker
         );
     }
 
     @Override
     public RelationshipIntersect intersection(long maxDegree) {
+        if (delta != null && !delta.isEmpty()) {
+            // the compressed adjacency lists do not include the changed relationships
+            return new DeltaGraphIntersect(concurrentCopy(), maxDegree);
+        }
         return new HugeGraphIntersect(adjacencyList, adjacencyOffsets, maxDegree);
     }
 
@@ -368,6 +450,11 @@ public class HugeGraph implements CSRGraph {
     }
 
     private void runForEach(long sourceId, RelationshipConsumer consumer) {
+        var nodeDelta = nodeDelta(sourceId);
+        if (nodeDelta != null) {
+            runForEach(sourceId, nodeDelta, (s, t, property) -> consumer.accept(s, t));
+            return;
+        }
         var adjacencyCursor = adjacencyCursorForIteration(sourceId);
         consumeAdjacentNodes(sourceId, adjacencyCursor, consumer);
     }
@@ -375,6 +462,11 @@ public class HugeGraph implements CSRGraph {
     private void runForEach(long sourceId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
         if (!hasRelationshipProperty()) {
             runForEach(sourceId, (s, t) -> consumer.accept(s, t, fallbackValue));
+            return;
+        }
+        var nodeDelta = nodeDelta(sourceId);
+        if (nodeDelta != null) {
+            runForEach(sourceId, nodeDelta, consumer);
         } else {
             var adjacencyCursor = adjacencyCursorForIteration(sourceId);
             var propertyCursor = propertyCursorForIteration(sourceId);
@@ -382,6 +474,37 @@ public class HugeGraph implements CSRGraph {
         }
     }
 
+    private void runForEach(
+        long sourceId,
+        RelationshipsDelta.NodeDelta nodeDelta,
+        RelationshipWithPropertyConsumer consumer
+    ) {
+        var adjacencyCursor = adjacencyCursorForIteration(sourceId);
+        var propertyCursor = hasRelationshipProperty() ? propertyCursorForIteration(sourceId) : null;
+        nodeDelta.merge(adjacencyCursor, new RelationshipsDelta.MergeVisitor() {
+            @Override
+            public boolean baseRelationship(long targetId, boolean removed) {
+                double property = propertyCursor != null
+                    ? Double.longBitsToDouble(propertyCursor.nextLong())
+                    : defaultPropertyValue;
+                return removed || consumer.accept(sourceId, targetId, property);
+            }
+
+            @Override
+            public boolean insertedRelationship(long targetId, int index) {
+                double property = propertyCursor != null
+                    ? delta.insertedProperty(nodeDelta, index)
+                    : defaultPropertyValue;
+                return consumer.accept(sourceId, targetId, property);
+            }
+        });
+    }
+
+    @Nullable
+    private RelationshipsDelta.NodeDelta nodeDelta(long nodeId) {
+        return delta == null ? null : delta.get(nodeId);
+    }
+
     private AdjacencyCursor adjacencyCursorForIteration(long sourceNodeId) {
         if (adjacencyOffsets == null) {
             throw new NullPointerException();
@@ -517,6 +640,26 @@ public class HugeGraph implements CSRGraph {
         }
     }
 
+    private static final class DeltaPropertyFinder implements RelationshipWithPropertyConsumer {
+        private final long targetNodeId;
+        boolean found = false;
+        double value;
+
+        DeltaPropertyFinder(long targetNodeId) {
+            this.targetNodeId = targetNodeId;
+        }
+
+        @Override
+        public boolean accept(long s, long t, double property) {
+            if (t == targetNodeId) {
+                found = true;
+                value = property;
+                return false;
+            }
+            return true;
+        }
+    }
+
     public static class GetTargetConsumer implements RelationshipConsumer {
         static final long TARGET_NOT_FOUND = -1L;
 
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * Adjacency list with the same page layout and addressing as the {@link TransientAdjacencyList},
+ * but with all pages living in memory-mapped files instead of on the heap.
+ *
+ * Pages are located within a few large mapped segments, the page with index {@code i}
+ * starts at {@code pageStarts[i]} within {@code segments[pageSegments[i]]}.
+ * Oversized pages are mapped into their own segments, which follow after all shared segments.
+ * Every adjacency list is prefixed with its length in bytes, which lets the
+ * decompressing cursor copy the compressed list into a local buffer and
+ * decode it with the same reader that is used for on-heap pages.
+ */
+public final class MappedAdjacencyList implements PagedAdjacencyList {
+
+    private ByteBuffer[] segments;
+    private final int[] pageSegments;
+    private final int[] pageStarts;
+    private final int oversizedSegmentsStart;
+    private final AdjacencyCompression.Encoding encoding;
+
+    /**
+     * Only the page locations are kept on the heap.
+     * The compressed adjacency lists are memory-mapped and not part of this estimation,
+     * their size is estimated by {@link #compressedOffHeapMemoryEstimation(long, long)}.
+     */
+    public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
+        MemoryRange adjacencySize = TransientAdjacencyList.compressedAdjacencyByteSize(avgDegree, nodeCount);
+        int minPages = PageUtil.numPagesFor(adjacencySize.min, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(adjacencySize.max, PAGE_SHIFT, PAGE_MASK);
+
+        return MemoryEstimations
+            .builder(MappedAdjacencyList.class)
+            .fixed(
+                "page locations",
+                MemoryRange.of(
+                    2 * MemoryUsage.sizeOfIntArray(minPages),
+                    2 * MemoryUsage.sizeOfIntArray(maxPages)
+                )
+            )
+            .build();
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations.setup("", dimensions -> {
+            long nodeCount = dimensions.nodeCount();
+            long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+            long relCount = undirected ? relCountForType * 2 : relCountForType;
+            long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
+            return MappedAdjacencyList.compressedMemoryEstimation(avgDegree, nodeCount);
+        });
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(boolean undirected) {
+        return compressedMemoryEstimation(ALL_RELATIONSHIPS, undirected);
+    }
+
+    /**
+     * The size of the memory-mapped pages that hold the compressed adjacency lists.
+     * This memory is not allocated on the heap and must not be added to a heap estimation.
+     */
+    public static MemoryEstimation compressedOffHeapMemoryEstimation(long avgDegree, long nodeCount) {
+        MemoryRange adjacencySize = TransientAdjacencyList.compressedAdjacencyByteSize(avgDegree, nodeCount);
+        int minPages = PageUtil.numPagesFor(adjacencySize.min, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(adjacencySize.max, PAGE_SHIFT, PAGE_MASK);
+
+        return MemoryEstimations
+            .builder(MappedAdjacencyList.class.getSimpleName())
+            .fixed("mapped pages", MemoryRange.of((long) minPages * PAGE_SIZE, (long) maxPages * PAGE_SIZE))
+            .build();
+    }
+
+    public static MemoryEstimation compressedOffHeapMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations.setup("", dimensions -> {
+            long nodeCount = dimensions.nodeCount();
+            long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+            long relCount = undirected ? relCountForType * 2 : relCountForType;
+            long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
+            return MappedAdjacencyList.compressedOffHeapMemoryEstimation(avgDegree, nodeCount);
+        });
+    }
+
+    /**
+     * The size of the memory-mapped pages that hold the uncompressed relationship properties.
+     * This memory is not allocated on the heap and must not be added to a heap estimation.
+     */
+    public static MemoryEstimation uncompressedOffHeapMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations
+            .builder(MappedAdjacencyList.class.getSimpleName())
+            .perGraphDimension("mapped pages", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                long uncompressedAdjacencySize = relCount * Long.BYTES + nodeCount * 2L * Integer.BYTES;
+                int pages = PageUtil.numPagesFor(uncompressedAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+
+                return MemoryRange.of((long) pages * PAGE_SIZE);
+            })
+            .build();
+    }
+
+    public static MemoryEstimation uncompressedMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations
+            .builder(MappedAdjacencyList.class)
+            .perGraphDimension("page locations", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                long uncompressedAdjacencySize = relCount * Long.BYTES + nodeCount * 2L * Integer.BYTES;
+                int pages = PageUtil.numPagesFor(uncompressedAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+
+                return MemoryRange.of(2 * MemoryUsage.sizeOfIntArray(pages));
+            })
+            .build();
+    }
+
+    /**
+     * @param segments     mapped regions holding the pages, their byte order is set to little endian
+     * @param pageSegments index into {@code segments} for every page
+     * @param pageStarts   start of every page within its segment
+     * @param oversizedSegmentsStart index of the first segment that holds a single oversized page
+     */
+    public MappedAdjacencyList(
+        ByteBuffer[] segments,
+        int[] pageSegments,
+        int[] pageStarts,
+        int oversizedSegmentsStart,
+        AdjacencyCompression.Encoding encoding
+    ) {
+        for (ByteBuffer segment : segments) {
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.segments = segments;
+        this.pageSegments = pageSegments;
+        this.pageStarts = pageStarts;
+        this.oversizedSegmentsStart = oversizedSegmentsStart;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public int pageCount() {
+        return pageStarts.length;
+    }
+
+    @Override
+    public ByteBuffer page(int pageIndex) {
+        int segmentIndex = pageSegments[pageIndex];
+        ByteBuffer page = segments[segmentIndex].asReadOnlyBuffer();
+        if (segmentIndex < oversizedSegmentsStart) {
+            int start = pageStarts[pageIndex];
+            page.position(start).limit(start + PAGE_SIZE);
+        }
+        return page.slice();
+    }
+
+    @Override
+    public AdjacencyCompression.Encoding encoding() {
+        return encoding;
+    }
+
+    @Override
+    public int degree(long index) {
+        int pageIndex = pageIndex(index, PAGE_SHIFT);
+        return segments[pageSegments[pageIndex]].getInt(pageStarts[pageIndex] + indexInPage(index, PAGE_MASK));
+    }
+
+    @Override
+    public void close() {
+        // the mappings are released once the buffers are garbage collected
+        segments = null;
+    }
+
+    // Cursors
+
+    @Override
+    public Cursor rawCursor() {
+        return new Cursor(this);
+    }
+
+    @Override
+    public AdjacencyCursor rawDecompressingCursor() {
+        return new DecompressingCursor(this);
+    }
+
+    public static final class Cursor implements PropertyCursor {
+
+        private MappedAdjacencyList adjacencyList;
+
+        private ByteBuffer segment;
+        private int degree;
+        private int offset;
+        private int limit;
+
+        private Cursor(MappedAdjacencyList adjacencyList) {
+            this.adjacencyList = adjacencyList;
+        }
+
+        public int length() {
+            return degree;
+        }
+
+        @Override
+        public boolean hasNextLong() {
+            return offset < limit;
+        }
+
+        @Override
+        public long nextLong() {
+            long value = segment.getLong(offset);
+            offset += Long.BYTES;
+            return value;
+        }
+
+        @Override
+        public Cursor init(long fromIndex) {
+            int pageIndex = pageIndex(fromIndex, PAGE_SHIFT);
+            this.segment = adjacencyList.segments[adjacencyList.pageSegments[pageIndex]];
+            this.offset = adjacencyList.pageStarts[pageIndex] + indexInPage(fromIndex, PAGE_MASK);
+            this.degree = segment.getInt(offset);
+            this.offset += Integer.BYTES;
+            this.limit = offset + degree * Long.BYTES;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            adjacencyList = null;
+            segment = null;
+        }
+    }
+
+    /**
+     * Copies the compressed adjacency list into a local buffer and decodes it from there.
+     */
+    public static final class DecompressingCursor extends TransientAdjacencyList.DecompressingCursor {
+
+        private MappedAdjacencyList adjacencyList;
+        // lazily created duplicates of the segments for the relative bulk reads
+        private final ByteBuffer[] readers;
+
+        private byte[] buffer;
+        // set when another cursor copied our state and decodes from our buffer
+        private boolean bufferShared;
+
+        private DecompressingCursor(MappedAdjacencyList adjacencyList) {
+            super(null, adjacencyList.encoding);
+            this.adjacencyList = adjacencyList;
+            this.readers = new ByteBuffer[adjacencyList.segments.length];
+            this.buffer = new byte[0];
+        }
+
+        @Override
+        public void init(long fromIndex) {
+            int pageIndex = pageIndex(fromIndex, PAGE_SHIFT);
+            int segmentIndex = adjacencyList.pageSegments[pageIndex];
+            int offset = adjacencyList.pageStarts[pageIndex] + indexInPage(fromIndex, PAGE_MASK);
+            int length = adjacencyList.segments[segmentIndex].getInt(offset - Integer.BYTES);
+
+            // keep some slack at the end so that the block decoding can always read full longs
+            int requiredLength = length + Long.BYTES;
+            if (bufferShared || buffer.length < requiredLength) {
+                buffer = new byte[Math.max(requiredLength, buffer.length)];
+                bufferShared = false;
+            }
+            reader(segmentIndex).position(offset).get(buffer, 0, length);
+
+            init(buffer, 0);
+        }
+
+        /**
+         * Copy iteration state from another cursor without changing the adjacency list of {@code other}.
+         * Both cursors decode from the buffer of {@code other} until either one is initialized again.
+         */
+        @Override
+        public void copyFrom(AdjacencyCursor other) {
+            super.copyFrom(other);
+            var theOther = (DecompressingCursor) other;
+            theOther.bufferShared = true;
+        }
+
+        private ByteBuffer reader(int segmentIndex) {
+            ByteBuffer reader = readers[segmentIndex];
+            if (reader == null) {
+                reader = readers[segmentIndex] = adjacencyList.segments[segmentIndex].duplicate();
+            }
+            return reader;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            adjacencyList = null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.AdjacencyOffsetsFactory;
+import org.neo4j.graphalgo.core.utils.MappedFiles;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.core.utils.MappedFiles.SEGMENT_SHIFT;
+
+/**
+ * Adjacency offsets that are written into a memory-mapped file once the import has finished.
+ * The offset of node {@code i} is stored at byte position {@code i * Long.BYTES} in that file.
+ */
+public final class MappedAdjacencyOffsets implements AdjacencyOffsets {
+
+    private static final int OFFSETS_PER_SEGMENT_SHIFT = SEGMENT_SHIFT - 3;
+    private static final long OFFSETS_PER_SEGMENT_MASK = (1L << OFFSETS_PER_SEGMENT_SHIFT) - 1;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private ByteBuffer[] segments;
+
+    public static AdjacencyOffsetsFactory forPageSize(int pageSize, Path directory) {
+        return pages -> of(pages, pageSize, directory);
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(MappedAdjacencyOffsets.class).build();
+    }
+
+    /**
+     * The size of the memory-mapped file holding one offset per node.
+     * This memory is not allocated on the heap and must not be added to a heap estimation.
+     */
+    public static MemoryEstimation offHeapMemoryEstimation() {
+        return MemoryEstimations
+            .builder(MappedAdjacencyOffsets.class.getSimpleName())
+            .perNode("mapped offsets", nodeCount -> nodeCount * Long.BYTES)
+            .build();
+    }
+
+    static MappedAdjacencyOffsets of(long[][] pages, int pageSize, Path directory) {
+        Path file = MappedFiles.createSpillFile(directory, "gds-offsets-");
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = buffer.asLongBuffer();
+            for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+                long[] page = pages[pageIndex];
+                if (page == null) {
+                    continue;
+                }
+                assert page.length == pageSize;
+                long position = (long) pageIndex * pageSize * Long.BYTES;
+                for (int start = 0; start < page.length; start += WRITE_BUFFER_SIZE) {
+                    int length = Math.min(WRITE_BUFFER_SIZE, page.length - start);
+                    longs.clear();
+                    longs.put(page, start, length);
+                    buffer.clear().limit(length * Long.BYTES);
+                    MappedFiles.write(channel, buffer, position + (long) start * Long.BYTES);
+                }
+            }
+            return new MappedAdjacencyOffsets(MappedFiles.mapSegments(channel, (long) pages.length * pageSize * Long.BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            MappedFiles.delete(file);
+        }
+    }
+
+    private MappedAdjacencyOffsets(ByteBuffer[] segments) {
+        for (ByteBuffer segment : segments) {
+            segment.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.segments = segments;
+    }
+
+    @Override
+    public long get(long index) {
+        int segmentIndex = (int) (index >>> OFFSETS_PER_SEGMENT_SHIFT);
+        int offset = (int) (index & OFFSETS_PER_SEGMENT_MASK) << 3;
+        return segments[segmentIndex].getLong(offset);
+    }
+
+    @Override
+    public void close() {
+        // the mappings are released once the buffers are garbage collected
+        segments = null;
+    }
+}
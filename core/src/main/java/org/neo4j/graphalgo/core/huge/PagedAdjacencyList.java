@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link AdjacencyList} that keeps its data in byte pages which are addressed by
+ * {@code pageIndex << PAGE_SHIFT | indexInPage}, as done by the {@link TransientAdjacencyList}.
+ * Exposing the pages allows to copy the list without decoding it.
+ */
+public interface PagedAdjacencyList extends AdjacencyList {
+
+    int pageCount();
+
+    /**
+     * @return a read-only view of the page with its position set to zero
+     */
+    ByteBuffer page(int pageIndex);
+
+    AdjacencyCompression.Encoding encoding();
+}
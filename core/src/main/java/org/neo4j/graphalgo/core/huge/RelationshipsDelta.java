@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.PreAggregatedRelationshipsBuilder;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * An overlay of inserted and removed relationships on top of the compressed
+ * adjacency lists of a single relationship type.
+ * <p>
+ * Changes are appended to a log per source node: inserted relationships together with
+ * their property values and removals of all relationships to a target. Appending
+ * only grows the buffers of the log, the log is published together with its length after
+ * every change. Readers get the changes of a node sorted by target, this view is built
+ * from the published log when it is read the first time after a change.
+ * {@link HugeGraph} merges the view with the compressed adjacency list while iterating,
+ * so that the overlay is transparent for algorithms. The raw {@link Relationships.Topology}
+ * of a graph ignores the overlay, it requires the overlay to be compacted first, see {@link #compactInto}.
+ * <p>
+ * In order to compact a delta while the relationship type is still changed, the delta is
+ * {@link #freeze() frozen}: further changes are recorded in a new delta that is layered on top
+ * of the frozen one. Once the compacted adjacency lists are available, the changes of the
+ * new delta are {@link #rebase rebased} onto them.
+ * <p>
+ * Mutations must be serialized by the caller. Concurrent readers see the changes of a node
+ * before or after a mutation, but never in between.
+ */
+public final class RelationshipsDelta {
+
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    // marks an inserted relationship in the log, removals store the number of removed compressed relationships
+    private static final int INSERTED = -1;
+
+    private final Relationships.Topology base;
+    @Nullable
+    private final RelationshipsDelta parent;
+    private final List<String> propertyKeys;
+    private final long nodeCount;
+    private final NodeLog[][] pages;
+    private final AllocationTracker tracker;
+
+    private volatile long relationshipCountChange;
+    private volatile long changedNodeCount;
+
+    public RelationshipsDelta(
+        Relationships.Topology base,
+        List<String> propertyKeys,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        this(base, null, propertyKeys, nodeCount, tracker);
+    }
+
+    private RelationshipsDelta(
+        Relationships.Topology base,
+        @Nullable RelationshipsDelta parent,
+        List<String> propertyKeys,
+        long nodeCount,
+        AllocationTracker tracker
+    ) {
+        this.base = base;
+        this.parent = parent;
+        this.propertyKeys = propertyKeys;
+        this.nodeCount = nodeCount;
+        this.tracker = tracker;
+        int numberOfPages = Math.toIntExact(BitUtil.ceilDiv(nodeCount, PAGE_SIZE));
+        this.pages = new NodeLog[numberOfPages][];
+        tracker.add(sizeOfObjectArray(numberOfPages));
+    }
+
+    /**
+     * The keys of the property values passed to {@link #add(long, long, double[])}, in that order.
+     */
+    public List<String> propertyKeys() {
+        return propertyKeys;
+    }
+
+    /**
+     * The compressed adjacency lists this delta is applied to.
+     */
+    public Relationships.Topology base() {
+        return base;
+    }
+
+    public boolean isEmpty() {
+        return changedNodeCount == 0 && (parent == null || parent.isEmpty());
+    }
+
+    /**
+     * The number of relationships that have been added minus the number of relationships that have been removed.
+     */
+    public long relationshipCountChange() {
+        long change = relationshipCountChange;
+        return parent == null ? change : change + parent.relationshipCountChange();
+    }
+
+    /**
+     * Adds a relationship between the given internal node ids.
+     * If the relationship type does not allow parallel relationships,
+     * an existing relationship between both nodes is replaced.
+     */
+    public void add(long sourceId, long targetId, double[] propertyValues) {
+        assert propertyValues.length == propertyKeys.size();
+        if (!base.isMultiGraph()) {
+            remove(sourceId, targetId);
+        }
+        insert(sourceId, targetId, propertyValues);
+    }
+
+    /**
+     * Removes all relationships between the given internal node ids.
+     *
+     * @return the number of removed relationships
+     */
+    public long remove(long sourceId, long targetId) {
+        int insertedMatches = insertedCount(sourceId, targetId);
+        int baseMatches = isRemovedFromBase(sourceId, targetId) ? 0 : countInBase(sourceId, targetId);
+
+        if (insertedMatches == 0 && baseMatches == 0) {
+            return 0;
+        }
+
+        logForUpdate(sourceId).append(targetId, null, baseMatches);
+
+        long removedCount = insertedMatches + baseMatches;
+        relationshipCountChange = relationshipCountChange - removedCount;
+        return removedCount;
+    }
+
+    /**
+     * Stops recording changes in this delta and returns a new delta, layered on top of this one,
+     * that records all further changes. This delta must not be changed afterwards,
+     * so that it can be compacted while the returned delta is being changed.
+     */
+    public RelationshipsDelta freeze() {
+        return new RelationshipsDelta(base, this, propertyKeys, nodeCount, tracker);
+    }
+
+    /**
+     * Replays the changes recorded in this delta, without the changes of the frozen delta it is layered on,
+     * on top of the given adjacency lists, which are expected to be the compacted frozen delta.
+     * Mutations must be serialized with the ones of this delta.
+     */
+    public RelationshipsDelta rebase(Relationships.Topology compacted) {
+        var rebased = new RelationshipsDelta(compacted, propertyKeys, nodeCount, tracker);
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            NodeLog[] page = pages[pageIndex];
+            if (page == null) {
+                continue;
+            }
+            for (int indexInPage = 0; indexInPage < PAGE_SIZE; indexInPage++) {
+                if (page[indexInPage] != null) {
+                    long nodeId = ((long) pageIndex << PAGE_SHIFT) + indexInPage;
+                    page[indexInPage].replay(nodeId, rebased);
+                }
+            }
+        }
+        return rebased;
+    }
+
+    /**
+     * Writes the merged adjacency lists of all nodes into the given builder, which has to be
+     * created with one property per {@link #propertyKeys() property key}.
+     *
+     * @param baseProperties the compressed property values of the relationship type, in the order of the property keys
+     */
+    public void compactInto(
+        PreAggregatedRelationshipsBuilder builder,
+        List<Relationships.Properties> baseProperties,
+        int concurrency,
+        ExecutorService executorService
+    ) {
+        var tasks = PartitionUtils
+            .rangePartition(concurrency, nodeCount)
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var compactor = new Compactor(baseProperties);
+                try (var writer = builder.newWriter()) {
+                    long endNode = partition.startNode() + partition.nodeCount();
+                    for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                        compactor.writeRow(nodeId, writer);
+                    }
+                }
+            })
+            .collect(Collectors.toList());
+
+        ParallelUtil.run(tasks, executorService);
+    }
+
+    /**
+     * Returns a view on the changes that resolves inserted property values of the given property.
+     */
+    public View view(Optional<String> propertyKey) {
+        return new View(this, propertyKey.map(propertyKeys::indexOf).orElse(-1));
+    }
+
+    @Nullable
+    NodeDelta get(long nodeId) {
+        NodeLog log = ownLog(nodeId);
+        if (log != null) {
+            return log.nodeDelta();
+        }
+        return parent == null ? null : parent.get(nodeId);
+    }
+
+    private void insert(long sourceId, long targetId, double[] propertyValues) {
+        logForUpdate(sourceId).append(targetId, propertyValues, INSERTED);
+        relationshipCountChange = relationshipCountChange + 1;
+    }
+
+    @Nullable
+    private NodeLog ownLog(long nodeId) {
+        NodeLog[] page = pages[(int) (nodeId >>> PAGE_SHIFT)];
+        return page == null ? null : page[(int) (nodeId & PAGE_MASK)];
+    }
+
+    @Nullable
+    private NodeLog log(long nodeId) {
+        NodeLog log = ownLog(nodeId);
+        if (log != null) {
+            return log;
+        }
+        return parent == null ? null : parent.log(nodeId);
+    }
+
+    private NodeLog logForUpdate(long nodeId) {
+        int pageIndex = (int) (nodeId >>> PAGE_SHIFT);
+        NodeLog[] page = pages[pageIndex];
+        if (page == null) {
+            tracker.add(sizeOfObjectArray(PAGE_SIZE));
+            page = pages[pageIndex] = new NodeLog[PAGE_SIZE];
+        }
+        int indexInPage = (int) (nodeId & PAGE_MASK);
+        NodeLog log = page[indexInPage];
+        if (log == null) {
+            log = new NodeLog(parent == null ? null : parent.log(nodeId), propertyKeys.size());
+            page[indexInPage] = log;
+            changedNodeCount = changedNodeCount + 1;
+        }
+        return log;
+    }
+
+    /**
+     * The number of inserted relationships to the given target that have not been removed.
+     */
+    private int insertedCount(long sourceId, long targetId) {
+        NodeLog log = ownLog(sourceId);
+        int count = log == null ? 0 : log.insertedCount(targetId);
+        if (parent != null && (log == null || !log.isRemoved(targetId))) {
+            count += parent.insertedCount(sourceId, targetId);
+        }
+        return count;
+    }
+
+    private boolean isRemovedFromBase(long sourceId, long targetId) {
+        NodeLog log = ownLog(sourceId);
+        if (log != null && log.isRemoved(targetId)) {
+            return true;
+        }
+        return parent != null && parent.isRemovedFromBase(sourceId, targetId);
+    }
+
+    private int countInBase(long sourceId, long targetId) {
+        long offset = base.offsets().get(sourceId);
+        if (offset == 0L) {
+            return 0;
+        }
+        AdjacencyCursor cursor = base.list().decompressingCursor(offset);
+        int count = 0;
+        while (cursor.hasNextVLong()) {
+            long target = cursor.nextVLong();
+            if (target == targetId) {
+                count++;
+            } else if (target > targetId) {
+                break;
+            }
+        }
+        cursor.close();
+        return count;
+    }
+
+    public static final class View {
+
+        private final RelationshipsDelta delta;
+        private final int propertyIndex;
+
+        private View(RelationshipsDelta delta, int propertyIndex) {
+            this.delta = delta;
+            this.propertyIndex = propertyIndex;
+        }
+
+        public boolean isEmpty() {
+            return delta.isEmpty();
+        }
+
+        long relationshipCountChange() {
+            return delta.relationshipCountChange();
+        }
+
+        @Nullable
+        NodeDelta get(long nodeId) {
+            return delta.get(nodeId);
+        }
+
+        double insertedProperty(NodeDelta nodeDelta, int index) {
+            return nodeDelta.insertedProperty(propertyIndex, index);
+        }
+    }
+
+    interface MergeVisitor {
+
+        /**
+         * Called for every relationship of the compressed adjacency list, including removed ones.
+         */
+        boolean baseRelationship(long targetId, boolean removed);
+
+        /**
+         * Called for every inserted relationship, {@code index} points into the inserted property values.
+         */
+        boolean insertedRelationship(long targetId, int index);
+    }
+
+    /**
+     * The changes of a single node in the order they have been made.
+     * Only the first {@code length} entries of the buffers are published,
+     * later entries may be written concurrently.
+     */
+    private static final class LogEntries {
+
+        static final LogEntries EMPTY = new LogEntries(new long[0], new double[0][0], new int[0], 0);
+
+        final long[] targets;
+        final double[][] properties;
+        final int[] removedBaseCounts;
+        final int length;
+
+        LogEntries(long[] targets, double[][] properties, int[] removedBaseCounts, int length) {
+            this.targets = targets;
+            this.properties = properties;
+            this.removedBaseCounts = removedBaseCounts;
+            this.length = length;
+        }
+
+        boolean isInserted(int index) {
+            return removedBaseCounts[index] == INSERTED;
+        }
+    }
+
+    private static final class NodeLog {
+
+        // the log of the same node in the frozen delta this delta is layered on
+        @Nullable
+        private final NodeLog previous;
+        private final int propertyCount;
+
+        private volatile LogEntries entries;
+        private volatile NodeDelta nodeDelta;
+
+        // only accessed by the writer, used to resolve removals without reading the whole log
+        private final LongIntHashMap insertedCounts;
+        private final LongHashSet removedTargets;
+
+        NodeLog(@Nullable NodeLog previous, int propertyCount) {
+            this.previous = previous;
+            this.propertyCount = propertyCount;
+            this.entries = LogEntries.EMPTY;
+            this.insertedCounts = new LongIntHashMap();
+            this.removedTargets = new LongHashSet();
+        }
+
+        int insertedCount(long targetId) {
+            return insertedCounts.getOrDefault(targetId, 0);
+        }
+
+        boolean isRemoved(long targetId) {
+            return removedTargets.contains(targetId);
+        }
+
+        void append(long targetId, @Nullable double[] propertyValues, int removedBaseCount) {
+            var current = entries;
+            int length = current.length;
+            long[] targets = current.targets;
+            double[][] properties = current.properties;
+            int[] removedBaseCounts = current.removedBaseCounts;
+
+            if (length == targets.length) {
+                int capacity = Math.max(4, length << 1);
+                targets = Arrays.copyOf(targets, capacity);
+                removedBaseCounts = Arrays.copyOf(removedBaseCounts, capacity);
+                var grownProperties = new double[propertyCount][];
+                for (int property = 0; property < propertyCount; property++) {
+                    grownProperties[property] = Arrays.copyOf(
+                        properties.length > property ? properties[property] : new double[0],
+                        capacity
+                    );
+                }
+                properties = grownProperties;
+            }
+
+            // the published entries never change, new entries are written behind them
+            targets[length] = targetId;
+            removedBaseCounts[length] = removedBaseCount;
+            if (propertyValues != null) {
+                for (int property = 0; property < propertyCount; property++) {
+                    properties[property][length] = propertyValues[property];
+                }
+            }
+            entries = new LogEntries(targets, properties, removedBaseCounts, length + 1);
+
+            if (removedBaseCount == INSERTED) {
+                insertedCounts.addTo(targetId, 1);
+            } else {
+                insertedCounts.remove(targetId);
+                removedTargets.add(targetId);
+            }
+        }
+
+        NodeDelta nodeDelta() {
+            var currentEntries = entries;
+            var currentDelta = nodeDelta;
+            if (currentDelta == null || currentDelta.source != currentEntries) {
+                // concurrent readers might build the same view, either one is published
+                currentDelta = NodeDelta.of(logsOf(currentEntries), propertyCount, currentEntries);
+                nodeDelta = currentDelta;
+            }
+            return currentDelta;
+        }
+
+        void replay(long nodeId, RelationshipsDelta target) {
+            var currentEntries = entries;
+            double[] propertyValues = new double[propertyCount];
+            for (int index = 0; index < currentEntries.length; index++) {
+                long targetId = currentEntries.targets[index];
+                if (currentEntries.isInserted(index)) {
+                    for (int property = 0; property < propertyCount; property++) {
+                        propertyValues[property] = currentEntries.properties[property][index];
+                    }
+                    target.insert(nodeId, targetId, propertyValues);
+                } else {
+                    target.remove(nodeId, targetId);
+                }
+            }
+        }
+
+        private ArrayDeque<LogEntries> logsOf(LogEntries ownEntries) {
+            var logs = new ArrayDeque<LogEntries>();
+            logs.push(ownEntries);
+            for (var log = previous; log != null; log = log.previous) {
+                logs.push(log.entries);
+            }
+            return logs;
+        }
+    }
+
+    static final class NodeDelta {
+
+        // the log entries this view has been built from
+        private final LogEntries source;
+
+        final long[] insertedTargets;
+        final double[][] insertedProperties;
+        final long[] removedTargets;
+        final int removedBaseCount;
+
+        private NodeDelta(
+            LogEntries source,
+            long[] insertedTargets,
+            double[][] insertedProperties,
+            long[] removedTargets,
+            int removedBaseCount
+        ) {
+            this.source = source;
+            this.insertedTargets = insertedTargets;
+            this.insertedProperties = insertedProperties;
+            this.removedTargets = removedTargets;
+            this.removedBaseCount = removedBaseCount;
+        }
+
+        /**
+         * Resolves the logs of a node, ordered from the oldest to the newest change.
+         * A removal drops all relationships to its target that have been inserted before.
+         */
+        static NodeDelta of(Iterable<LogEntries> logs, int propertyCount, LogEntries source) {
+            var lastRemovals = new LongIntHashMap();
+            int removedBaseCount = 0;
+            int totalLength = 0;
+            for (var log : logs) {
+                for (int index = 0; index < log.length; index++) {
+                    if (!log.isInserted(index)) {
+                        lastRemovals.put(log.targets[index], totalLength + index);
+                        removedBaseCount += log.removedBaseCounts[index];
+                    }
+                }
+                totalLength += log.length;
+            }
+
+            long[] targets = new long[totalLength];
+            double[][] properties = new double[propertyCount][totalLength];
+            int insertedCount = 0;
+            int sequence = 0;
+            for (var log : logs) {
+                for (int index = 0; index < log.length; index++, sequence++) {
+                    long targetId = log.targets[index];
+                    if (log.isInserted(index) && lastRemovals.getOrDefault(targetId, -1) < sequence) {
+                        targets[insertedCount] = targetId;
+                        for (int property = 0; property < propertyCount; property++) {
+                            properties[property][insertedCount] = log.properties[property][index];
+                        }
+                        insertedCount++;
+                    }
+                }
+            }
+
+            // stable, parallel relationships keep the order in which they have been inserted
+            int[] order = insertedCount == 0
+                ? new int[0]
+                : IndirectSort.mergesort(0, insertedCount, new AscendingLongComparator(targets));
+            long[] insertedTargets = new long[insertedCount];
+            double[][] insertedProperties = new double[propertyCount][insertedCount];
+            for (int index = 0; index < insertedCount; index++) {
+                insertedTargets[index] = targets[order[index]];
+                for (int property = 0; property < propertyCount; property++) {
+                    insertedProperties[property][index] = properties[property][order[index]];
+                }
+            }
+
+            long[] removedTargets = lastRemovals.keys().toArray();
+            Arrays.sort(removedTargets);
+
+            return new NodeDelta(source, insertedTargets, insertedProperties, removedTargets, removedBaseCount);
+        }
+
+        int degree(int baseDegree) {
+            return baseDegree - removedBaseCount + insertedTargets.length;
+        }
+
+        double insertedProperty(int propertyIndex, int index) {
+            return insertedProperties[propertyIndex][index];
+        }
+
+        /**
+         * Visits the compressed and the inserted relationships ordered by target id.
+         */
+        void merge(AdjacencyCursor baseCursor, MergeVisitor visitor) {
+            long[] inserted = insertedTargets;
+            long[] removed = removedTargets;
+            int insertedIndex = 0;
+            int removedIndex = 0;
+
+            while (baseCursor.hasNextVLong()) {
+                long target = baseCursor.nextVLong();
+                while (insertedIndex < inserted.length && inserted[insertedIndex] < target) {
+                    if (!visitor.insertedRelationship(inserted[insertedIndex], insertedIndex)) {
+                        return;
+                    }
+                    insertedIndex++;
+                }
+                while (removedIndex < removed.length && removed[removedIndex] < target) {
+                    removedIndex++;
+                }
+                boolean isRemoved = removedIndex < removed.length && removed[removedIndex] == target;
+                if (!visitor.baseRelationship(target, isRemoved)) {
+                    return;
+                }
+            }
+
+            for (; insertedIndex < inserted.length; insertedIndex++) {
+                if (!visitor.insertedRelationship(inserted[insertedIndex], insertedIndex)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class Compactor implements MergeVisitor {
+
+        private final List<Relationships.Properties> baseProperties;
+        private final AdjacencyCursor adjacencyCursor;
+        private final PropertyCursor[] propertyCursors;
+
+        private NodeDelta nodeDelta;
+        private long[] targets;
+        private double[][] properties;
+        private int degree;
+
+        Compactor(List<Relationships.Properties> baseProperties) {
+            this.baseProperties = baseProperties;
+            this.adjacencyCursor = base.list().rawDecompressingCursor();
+            this.propertyCursors = new PropertyCursor[baseProperties.size()];
+            for (int property = 0; property < propertyCursors.length; property++) {
+                propertyCursors[property] = baseProperties.get(property).list().rawCursor();
+            }
+            this.targets = new long[0];
+            this.properties = new double[propertyCursors.length][0];
+        }
+
+        void writeRow(long nodeId, PreAggregatedRelationshipsBuilder.Writer writer) {
+            long offset = base.offsets().get(nodeId);
+            int baseDegree = offset == 0L ? 0 : base.list().degree(offset);
+            nodeDelta = get(nodeId);
+            int capacity = nodeDelta == null ? baseDegree : baseDegree + nodeDelta.insertedTargets.length;
+            if (targets.length < capacity) {
+                targets = new long[capacity];
+                for (int property = 0; property < properties.length; property++) {
+                    properties[property] = new double[capacity];
+                }
+            }
+
+            degree = 0;
+            if (offset != 0L) {
+                adjacencyCursor.init(offset);
+                for (int property = 0; property < propertyCursors.length; property++) {
+                    propertyCursors[property].init(baseProperties.get(property).offsets().get(nodeId));
+                }
+                if (nodeDelta == null) {
+                    while (adjacencyCursor.hasNextVLong()) {
+                        baseRelationship(adjacencyCursor.nextVLong(), false);
+                    }
+                } else {
+                    nodeDelta.merge(adjacencyCursor, this);
+                }
+            } else if (nodeDelta != null) {
+                for (int index = 0; index < nodeDelta.insertedTargets.length; index++) {
+                    insertedRelationship(nodeDelta.insertedTargets[index], index);
+                }
+            }
+
+            writer.addRow(nodeId, targets, properties, degree);
+        }
+
+        @Override
+        public boolean baseRelationship(long targetId, boolean removed) {
+            for (int property = 0; property < propertyCursors.length; property++) {
+                long propertyBits = propertyCursors[property].nextLong();
+                if (!removed) {
+                    properties[property][degree] = Double.longBitsToDouble(propertyBits);
+                }
+            }
+            if (!removed) {
+                targets[degree++] = targetId;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean insertedRelationship(long targetId, int index) {
+            for (int property = 0; property < properties.length; property++) {
+                properties[property][degree] = nodeDelta.insertedProperty(property, index);
+            }
+            targets[degree++] = targetId;
+            return true;
+        }
+    }
+}
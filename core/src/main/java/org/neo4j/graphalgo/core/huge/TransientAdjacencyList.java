@@ -21,8 +21,8 @@ package org.neo4j.graphalgo.core.huge;
 
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
-import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -30,13 +30,15 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.nio.ByteBuffer;
+
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
 
-public final class TransientAdjacencyList implements AdjacencyList {
+public class TransientAdjacencyList implements PagedAdjacencyList {
 
     public static final int PAGE_SHIFT = 18;
     public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
@@ -45,21 +47,9 @@ public final class TransientAdjacencyList implements AdjacencyList {
     private byte[][] pages;
 
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
-        // Best case scenario:
-        // Difference between node identifiers in each adjacency list is 1.
-        // This leads to ideal compression through delta encoding.
-        int deltaBestCase = 1;
-        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase);
-
-        // Worst case scenario:
-        // Relationships are equally distributed across nodes, i.e. each node has the same number of rels.
-        // Within each adjacency list, all identifiers have the highest possible difference between each other.
-        // Highest possible difference is the number of nodes divided by the average degree.
-        long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
-        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase);
-
-        int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
-        int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        MemoryRange adjacencySize = compressedAdjacencyByteSize(avgDegree, nodeCount);
+        int minPages = PageUtil.numPagesFor(adjacencySize.min, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(adjacencySize.max, PAGE_SHIFT, PAGE_MASK);
 
         long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
         long minMemoryReqs = minPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(minPages);
@@ -109,6 +99,23 @@ public final class TransientAdjacencyList implements AdjacencyList {
             .build();
     }
 
+    static MemoryRange compressedAdjacencyByteSize(long avgDegree, long nodeCount) {
+        // Best case scenario:
+        // Difference between node identifiers in each adjacency list is 1.
+        // This leads to ideal compression through delta encoding.
+        int deltaBestCase = 1;
+        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase);
+
+        // Worst case scenario:
+        // Relationships are equally distributed across nodes, i.e. each node has the same number of rels.
+        // Within each adjacency list, all identifiers have the highest possible difference between each other.
+        // Highest possible difference is the number of nodes divided by the average degree.
+        long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
+        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase);
+
+        return MemoryRange.of(bestCaseAdjacencySize, worstCaseAdjacencySize);
+    }
+
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
@@ -118,10 +125,31 @@ public final class TransientAdjacencyList implements AdjacencyList {
         return (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
     }
 
+    public static TransientAdjacencyList of(byte[][] pages, AdjacencyCompression.Encoding encoding) {
+        return encoding == AdjacencyCompression.Encoding.BLOCK_PACKED
+            ? new BlockPacked(pages)
+            : new TransientAdjacencyList(pages);
+    }
+
     public TransientAdjacencyList(byte[][] pages) {
         this.pages = pages;
     }
 
+    @Override
+    public int pageCount() {
+        return pages.length;
+    }
+
+    @Override
+    public ByteBuffer page(int pageIndex) {
+        return ByteBuffer.wrap(pages[pageIndex]).asReadOnlyBuffer();
+    }
+
+    @Override
+    public AdjacencyCompression.Encoding encoding() {
+        return AdjacencyCompression.Encoding.VAR_LONG;
+    }
+
     @Override
     public int degree(long index) {
         return AdjacencyDecompressingReader.readInt(
@@ -143,7 +171,24 @@ public final class TransientAdjacencyList implements AdjacencyList {
 
     @Override
     public AdjacencyCursor rawDecompressingCursor() {
-        return new DecompressingCursor(pages);
+        return new DecompressingCursor(pages, encoding());
+    }
+
+    /**
+     * Adjacency list with target ids written by the {@code BlockPackedEncoding}.
+     * Only the decompressing cursor differs, the layout of the degree and
+     * the uncompressed properties are the same for both encodings.
+     */
+    private static final class BlockPacked extends TransientAdjacencyList {
+
+        private BlockPacked(byte[][] pages) {
+            super(pages);
+        }
+
+        @Override
+        public AdjacencyCompression.Encoding encoding() {
+            return AdjacencyCompression.Encoding.BLOCK_PACKED;
+        }
     }
 
     public static final class Cursor extends MutableIntValue implements PropertyCursor {
@@ -193,7 +238,7 @@ public final class TransientAdjacencyList implements AdjacencyList {
         }
     }
 
-    public static final class DecompressingCursor extends MutableIntValue implements AdjacencyCursor {
+    public static class DecompressingCursor extends MutableIntValue implements AdjacencyCursor {
 
         private byte[][] pages;
         private final AdjacencyDecompressingReader decompress;
@@ -201,16 +246,18 @@ public final class TransientAdjacencyList implements AdjacencyList {
         private int maxTargets;
         private int currentPosition;
 
-        private DecompressingCursor(byte[][] pages) {
+        DecompressingCursor(byte[][] pages, AdjacencyCompression.Encoding encoding) {
             this.pages = pages;
-            this.decompress = new AdjacencyDecompressingReader();
+            this.decompress = new AdjacencyDecompressingReader(encoding);
         }
 
         @Override
         public void init(long fromIndex) {
-            maxTargets = decompress.reset(
-                pages[pageIndex(fromIndex, PAGE_SHIFT)],
-                indexInPage(fromIndex, PAGE_MASK));
+            init(pages[pageIndex(fromIndex, PAGE_SHIFT)], indexInPage(fromIndex, PAGE_MASK));
+        }
+
+        final void init(byte[] page, int offset) {
+            maxTargets = decompress.reset(page, offset);
             currentPosition = 0;
         }
 
@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 import java.util.Arrays;
 
@@ -30,6 +31,25 @@ import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
 
 public final class AdjacencyCompression {
 
+    /**
+     * Byte layout of the compressed adjacency lists.
+     * Both encodings store the delta-encoded target ids.
+     */
+    public enum Encoding {
+        /**
+         * Every delta is stored as a variable length long.
+         */
+        VAR_LONG,
+        /**
+         * Deltas are bit-packed in blocks with a per-block bit width.
+         */
+        BLOCK_PACKED;
+
+        public static Encoding fromFeatureToggle() {
+            return GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY.isEnabled() ? BLOCK_PACKED : VAR_LONG;
+        }
+    }
+
     private static long[] growWithDestroy(long[] values, int newLength) {
         if (values.length < newLength) {
             // give leeway in case of nodes with a reference to themselves
@@ -88,6 +108,21 @@ public final class AdjacencyCompression {
         return encodeVLongs(data, length, out, 0);
     }
 
+    static byte[] ensureBlockPackedCapacity(byte[] out, int length) {
+        int requiredBytes = BlockPackedEncoding.maxEncodedSize(length);
+        if (out.length < requiredBytes) {
+            return new byte[requiredBytes];
+        }
+        return out;
+    }
+
+    /**
+     * Requires {@code out} to be large enough, see {@link #ensureBlockPackedCapacity(byte[], int)}.
+     */
+    static int compressBlockPacked(LongsRef data, byte[] out) {
+        return BlockPackedEncoding.encode(data.longs, data.length, out, 0);
+    }
+
     //@formatter:off
     static void writeDegree(byte[] out, int offset, int degree) {
         out[    offset] = (byte) (degree);
@@ -28,4 +28,8 @@ public interface AdjacencyListBuilder {
     AdjacencyList build();
 
     void flush();
+
+    default AdjacencyCompression.Encoding encoding() {
+        return AdjacencyCompression.Encoding.VAR_LONG;
+    }
 }
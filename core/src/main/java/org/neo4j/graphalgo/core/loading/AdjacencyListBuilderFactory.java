@@ -19,8 +19,24 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.nio.file.Path;
+
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_MAPPED_ADJACENCY;
+
 @FunctionalInterface
 public interface AdjacencyListBuilderFactory {
 
     AdjacencyListBuilder newAdjacencyListBuilder();
+
+    /**
+     * Adjacency lists are built on the heap, unless memory-mapped adjacency lists are enabled.
+     */
+    static AdjacencyListBuilderFactory forLoading(AllocationTracker tracker) {
+        return USE_MAPPED_ADJACENCY.isEnabled()
+            ? MappedAdjacencyListBuilder.builderFactory(Path.of(ADJACENCY_SPILL_DIRECTORY.get()))
+            : TransientAdjacencyListBuilder.builderFactory(tracker);
+    }
 }
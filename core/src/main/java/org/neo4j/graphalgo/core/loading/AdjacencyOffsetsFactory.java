@@ -20,9 +20,25 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.MappedAdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+
+import java.nio.file.Path;
+
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_MAPPED_ADJACENCY;
 
 @FunctionalInterface
 public interface AdjacencyOffsetsFactory {
 
     AdjacencyOffsets newOffsets(long[][] pages);
+
+    /**
+     * Adjacency offsets are kept on the heap, unless memory-mapped adjacency lists are enabled.
+     */
+    static AdjacencyOffsetsFactory forLoading(int pageSize) {
+        return USE_MAPPED_ADJACENCY.isEnabled()
+            ? MappedAdjacencyOffsets.forPageSize(pageSize, Path.of(ADJACENCY_SPILL_DIRECTORY.get()))
+            : TransientAdjacencyOffsets.forPageSize(pageSize);
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Encodes delta-encoded adjacency lists into blocks of {@link #BLOCK_SIZE} values.
+ * Every block starts with a single byte containing the bit width that is required
+ * for the largest value in that block, followed by all values of the block
+ * bit-packed with that width in little endian order.
+ *
+ * The first value of an adjacency list is the absolute target id and not a delta,
+ * so it is stored as a VLong in front of the first block in order to not inflate
+ * the bit width of that block. The first block therefore holds one value less.
+ *
+ * The block boundaries are aligned with the chunks that are decoded by
+ * the {@code AdjacencyDecompressingReader}, which allows the reader to
+ * decode a full chunk with a single, branch-free loop.
+ */
+public final class BlockPackedEncoding {
+
+    public static final int BLOCK_SIZE = 64;
+
+    private static final int MAX_VLONG_BYTES = 10;
+
+    public static int maxEncodedSize(int length) {
+        // the first value and at most one header byte and one long per block
+        return MAX_VLONG_BYTES + ceilDiv(length, BLOCK_SIZE) + length * Long.BYTES;
+    }
+
+    public static int encode(long[] values, int length, byte[] out, int into) {
+        if (length == 0) {
+            return into;
+        }
+        into = VarLongEncoding.encodeVLongs(values, 0, 1, out, into);
+        int blockEnd = Math.min(length, BLOCK_SIZE);
+        into = pack(values, 1, blockEnd, out, into);
+        for (int blockStart = blockEnd; blockStart < length; blockStart += BLOCK_SIZE) {
+            into = pack(values, blockStart, Math.min(length, blockStart + BLOCK_SIZE), out, into);
+        }
+        return into;
+    }
+
+    private static int pack(long[] values, int from, int to, byte[] out, int into) {
+        if (from >= to) {
+            return into;
+        }
+
+        long bits = 0L;
+        for (int i = from; i < to; i++) {
+            bits |= values[i];
+        }
+        int bitWidth = Long.SIZE - Long.numberOfLeadingZeros(bits);
+        int packedBytes = ((to - from) * bitWidth + 7) >>> 3;
+
+        out[into++] = (byte) bitWidth;
+        if (bitWidth > 0) {
+            Arrays.fill(out, into, into + packedBytes, (byte) 0);
+            for (int i = from, bit = 0; i < to; i++, bit += bitWidth) {
+                writeBits(out, into, bit, bitWidth, values[i]);
+            }
+        }
+        return into + packedBytes;
+    }
+
+    private static void writeBits(byte[] out, int offset, int bit, int bitWidth, long value) {
+        int index = offset + (bit >>> 3);
+        int shift = bit & 7;
+        out[index] |= (byte) (value << shift);
+        for (int written = Byte.SIZE - shift; written < bitWidth; written += Byte.SIZE) {
+            out[++index] = (byte) (value >>> written);
+        }
+    }
+
+    private BlockPackedEncoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -20,10 +20,12 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.NodeLabel;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.CSRGraph;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -38,10 +40,13 @@ import org.neo4j.graphalgo.api.schema.GraphSchema;
 import org.neo4j.graphalgo.api.schema.NodeSchema;
 import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
 import org.neo4j.graphalgo.api.schema.RelationshipSchema;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.huge.RelationshipsDelta;
 import org.neo4j.graphalgo.core.huge.UnionGraph;
 import org.neo4j.graphalgo.core.utils.TimeUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
@@ -50,7 +55,9 @@ import org.neo4j.graphalgo.utils.StringJoining;
 import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.values.storable.NumberType;
 
+import java.lang.ref.Cleaner;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -60,6 +67,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -84,6 +95,18 @@ public class CSRGraphStore implements GraphStore {
 
     private final Map<RelationshipType, RelationshipPropertyStore> relationshipProperties;
 
+    private final Map<RelationshipType, RelationshipsDelta> relationshipDeltas;
+
+    // the graphs that use the current compressed relationships of a type
+    private final Map<RelationshipType, TopologyGeneration> topologyGenerations;
+
+    // compressed relationships replaced by a compaction, graphs created before may still use them
+    private final List<TopologyGeneration> replacedGenerations;
+
+    // serializes compactions, mutations and graph creation only wait for the start and the end of a compaction
+    private final Object compactionLock;
+
+    // weakly referenced, so that the relationships they use can be released once they are unreachable
     private final Set<Graph> createdGraphs;
 
     private final AllocationTracker tracker;
@@ -253,9 +276,13 @@ public class CSRGraphStore implements GraphStore {
         this.nodeProperties = new HashMap<>(nodeProperties);
         this.relationships = new HashMap<>(relationships);
         this.relationshipProperties = new HashMap<>(relationshipProperties);
+        this.relationshipDeltas = new ConcurrentHashMap<>();
+        this.topologyGenerations = new HashMap<>();
+        this.replacedGenerations = new ArrayList<>();
+        this.compactionLock = new Object();
 
         this.concurrency = concurrency;
-        this.createdGraphs = new HashSet<>();
+        this.createdGraphs = Collections.newSetFromMap(new WeakHashMap<>());
         this.modificationTime = TimeUtil.now();
         this.tracker = tracker;
     }
@@ -377,16 +404,41 @@ public class CSRGraphStore implements GraphStore {
     @Override
     public long relationshipCount() {
         long sum = 0L;
-        for (var topology : relationships.values()) {
-            long elementCount = topology.elementCount();
+        for (var relationshipType : relationships.keySet()) {
+            long elementCount = relationshipCount(relationshipType);
             sum += elementCount;
         }
         return sum;
     }
 
     @Override
-    public long relationshipCount(RelationshipType relationshipType) {
-        return relationships.get(relationshipType).elementCount();
+    public synchronized long relationshipCount(RelationshipType relationshipType) {
+        long elementCount = relationships.get(relationshipType).elementCount();
+        var delta = relationshipDeltas.get(relationshipType);
+        return delta == null ? elementCount : elementCount + delta.relationshipCountChange();
+    }
+
+    /**
+     * Returns the compressed adjacency lists of the given relationship type. Relationships that have been
+     * added or removed since the last {@link #compactRelationships()} are not included.
+     *
+     * @see #hasRelationshipDelta(RelationshipType)
+     */
+    public synchronized Relationships.Topology relationshipTopology(RelationshipType relationshipType) {
+        return relationships.get(relationshipType);
+    }
+
+    /**
+     * Returns whether the given relationship type has added or removed relationships
+     * that have not been compacted into its adjacency lists yet.
+     */
+    public boolean hasRelationshipDelta(RelationshipType relationshipType) {
+        var delta = relationshipDeltas.get(relationshipType);
+        return delta != null && !delta.isEmpty();
+    }
+
+    public Relationships.Properties relationshipPropertyValues(RelationshipType relationshipType, String propertyKey) {
+        return relationshipProperties.get(relationshipType).get(propertyKey).values();
     }
 
     @Override
@@ -451,7 +503,7 @@ public class CSRGraphStore implements GraphStore {
     public DeletionResult deleteRelationships(RelationshipType relationshipType) {
         return DeletionResult.of(builder ->
             updateGraphStore(graphStore -> {
-                builder.deletedRelationships(graphStore.relationships.get(relationshipType).elementCount());
+                builder.deletedRelationships(graphStore.relationshipCount(relationshipType));
                 graphStore.relationshipProperties
                     .getOrDefault(relationshipType, RelationshipPropertyStore.empty())
                     .relationshipProperties()
@@ -459,12 +511,98 @@ public class CSRGraphStore implements GraphStore {
                     .forEach(property -> builder.putDeletedProperty(property.key(), property.values().elementCount()));
                 graphStore.relationships.remove(relationshipType);
                 graphStore.relationshipProperties.remove(relationshipType);
+                graphStore.relationshipDeltas.remove(relationshipType);
+                graphStore.topologyGenerations.remove(relationshipType);
             })
         );
     }
 
+    /**
+     * Adds a single relationship between two nodes, given by their internal ids, without reloading
+     * the relationship type. Graphs that are created from this graph store include the relationship
+     * right away, it is kept next to the compressed adjacency lists until {@link #compactRelationships()}
+     * folds it in. Relationship types without parallel relationships keep only the added relationship.
+     *
+     * @param propertyValues values of the relationship properties, missing properties use their default value
+     */
+    public void addRelationship(
+        RelationshipType relationshipType,
+        long sourceNodeId,
+        long targetNodeId,
+        Map<String, Double> propertyValues
+    ) {
+        validateRelationship(relationshipType, sourceNodeId, targetNodeId);
+        updateGraphStore(graphStore -> {
+            var delta = graphStore.relationshipDelta(relationshipType);
+            var propertyStore = graphStore.relationshipProperties.get(relationshipType);
+            double[] values = delta.propertyKeys().stream()
+                .mapToDouble(propertyKey -> propertyValues.getOrDefault(
+                    propertyKey,
+                    propertyStore.get(propertyKey).values().defaultPropertyValue()
+                ))
+                .toArray();
+
+            delta.add(sourceNodeId, targetNodeId, values);
+            if (isUndirected(relationshipType) && sourceNodeId != targetNodeId) {
+                delta.add(targetNodeId, sourceNodeId, values);
+            }
+        });
+    }
+
+    public void addRelationship(RelationshipType relationshipType, long sourceNodeId, long targetNodeId) {
+        addRelationship(relationshipType, sourceNodeId, targetNodeId, Collections.emptyMap());
+    }
+
+    /**
+     * Removes all relationships between two nodes, given by their internal ids, without reloading
+     * the relationship type. See {@link #addRelationship(RelationshipType, long, long, Map)}.
+     *
+     * @return the number of removed relationships
+     */
+    public long removeRelationship(RelationshipType relationshipType, long sourceNodeId, long targetNodeId) {
+        validateRelationship(relationshipType, sourceNodeId, targetNodeId);
+        long[] removed = new long[1];
+        updateGraphStore(graphStore -> {
+            var delta = graphStore.relationshipDelta(relationshipType);
+            removed[0] = delta.remove(sourceNodeId, targetNodeId);
+            if (isUndirected(relationshipType) && sourceNodeId != targetNodeId) {
+                removed[0] += delta.remove(targetNodeId, sourceNodeId);
+            }
+        });
+        return removed[0];
+    }
+
+    /**
+     * Rewrites the compressed adjacency lists of all relationship types with added or removed relationships.
+     * The changes made so far are frozen and rewritten without holding the lock of the graph store,
+     * so that mutations and graph creation continue while compacting. Changes made in the meantime are kept
+     * on top of the rewritten adjacency lists. Graphs that have been created before keep their view on the
+     * relationships, the replaced adjacency lists are released once none of those graphs is reachable anymore.
+     */
+    public void compactRelationships() {
+        synchronized (compactionLock) {
+            List<RelationshipsCompaction> compactions = new ArrayList<>();
+            synchronized (this) {
+                relationshipDeltas.forEach((relationshipType, delta) -> {
+                    if (!delta.isEmpty()) {
+                        compactions.add(new RelationshipsCompaction(relationshipType, delta));
+                    }
+                });
+                compactions.forEach(compaction -> relationshipDeltas.put(compaction.relationshipType, compaction.changes));
+            }
+
+            compactions.forEach(RelationshipsCompaction::compact);
+
+            updateGraphStore(graphStore -> compactions.forEach(graphStore::replaceRelationships));
+        }
+    }
+
+    public CompletableFuture<Void> compactRelationshipsInBackground(ExecutorService executorService) {
+        return CompletableFuture.runAsync(this::compactRelationships, executorService);
+    }
+
     @Override
-    public CSRGraph getGraph(
+    public synchronized CSRGraph getGraph(
         Collection<NodeLabel> nodeLabels,
         Collection<RelationshipType> relationshipTypes,
         Optional<String> maybeRelationshipProperty
@@ -474,7 +612,7 @@ public class CSRGraphStore implements GraphStore {
     }
 
     @Override
-    public CSRGraph getUnion() {
+    public synchronized CSRGraph getUnion() {
         return UnionGraph.of(relationships
             .keySet()
             .stream()
@@ -509,6 +647,7 @@ public class CSRGraphStore implements GraphStore {
             closeables.accept((AutoCloseable) this.nodes);
         }
         this.relationships.values().forEach(rel -> closeables.add(rel.list()).add(rel.offsets()));
+        this.replacedGenerations.forEach(generation -> generation.takeReplaced().forEach(closeables));
         this.relationshipProperties.forEach((propertyName, properties) ->
             properties.values().forEach(prop -> closeables.add(prop.values().list()).add(prop.values().offsets()))
         );
@@ -537,6 +676,70 @@ public class CSRGraphStore implements GraphStore {
         this.modificationTime = TimeUtil.now();
     }
 
+    private void validateRelationship(RelationshipType relationshipType, long sourceNodeId, long targetNodeId) {
+        if (!hasRelationshipType(relationshipType)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "No relationships have been loaded for relationship type '%s'",
+                relationshipType.name()
+            ));
+        }
+        if (sourceNodeId < 0 || sourceNodeId >= nodeCount() || targetNodeId < 0 || targetNodeId >= nodeCount()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Relationship (%d)-[:%s]->(%d) references a node that does not exist.",
+                sourceNodeId,
+                relationshipType.name(),
+                targetNodeId
+            ));
+        }
+    }
+
+    private boolean isUndirected(RelationshipType relationshipType) {
+        return relationships.get(relationshipType).orientation() == Orientation.UNDIRECTED;
+    }
+
+    private RelationshipsDelta relationshipDelta(RelationshipType relationshipType) {
+        return relationshipDeltas.computeIfAbsent(relationshipType, relType -> new RelationshipsDelta(
+            relationships.get(relType),
+            new ArrayList<>(relationshipPropertyKeys(relType)),
+            nodeCount(),
+            tracker
+        ));
+    }
+
+    private void replaceRelationships(RelationshipsCompaction compaction) {
+        var relationshipType = compaction.relationshipType;
+        if (relationshipDeltas.get(relationshipType) != compaction.changes) {
+            // the relationship type has been deleted while compacting
+            return;
+        }
+
+        relationships.put(relationshipType, compaction.topology);
+        if (compaction.propertyStore != null) {
+            relationshipProperties.put(relationshipType, compaction.propertyStore);
+        }
+        relationshipDeltas.put(relationshipType, compaction.changes.rebase(compaction.topology));
+
+        var replaced = new ArrayList<AutoCloseable>();
+        var baseTopology = compaction.delta.base();
+        replaced.add(baseTopology.list());
+        replaced.add(baseTopology.offsets());
+        compaction.baseProperties.forEach(properties -> {
+            replaced.add(properties.list());
+            replaced.add(properties.offsets());
+        });
+
+        replacedGenerations.removeIf(TopologyGeneration::isClosed);
+        var generation = topologyGenerations.remove(relationshipType);
+        if (generation == null) {
+            // no graph has been created from the replaced relationships
+            generation = new TopologyGeneration();
+        }
+        generation.replace(replaced);
+        if (!generation.isClosed()) {
+            replacedGenerations.add(generation);
+        }
+    }
+
     private NodeProperty nodeProperty(NodeLabel label, String propertyKey) {
         return this.nodeProperties.getOrDefault(label, NodePropertyStore.empty()).get(propertyKey);
     }
@@ -624,6 +827,13 @@ public class CSRGraphStore implements GraphStore {
                         .singleTypeAndProperty(relTypeAndCSR.getKey(), maybeRelationshipProperty)
                 );
 
+                // graphs keep a reference to the delta, so that they include later changes
+                var relationshipView = relationshipDelta(relType).view(maybeRelationshipProperty);
+                // the graph and all its copies reference the view, it is unreachable once they are
+                topologyGenerations
+                    .computeIfAbsent(relType, ignore -> new TopologyGeneration())
+                    .retain(relationshipView);
+
                 HugeGraph initialGraph = HugeGraph.create(
                     nodes,
                     graphSchema,
@@ -632,6 +842,7 @@ public class CSRGraphStore implements GraphStore {
                     maybeRelationshipProperty.map(propertyKey -> relationshipProperties
                         .get(relType)
                         .get(propertyKey).values()),
+                    relationshipView,
                     tracker
                 );
 
@@ -743,7 +954,130 @@ public class CSRGraphStore implements GraphStore {
         return relationshipPropsBuilder.build();
     }
 
-}
+    /**
+     * Rewrites the compressed relationships of a single type with the changes of its delta.
+     * It is created while holding the lock of the graph store, which freezes the delta,
+     * {@link #compact()} is called without holding the lock.
+     */
+    private final class RelationshipsCompaction {
+
+        final RelationshipType relationshipType;
+        final RelationshipsDelta delta;
+        // takes the changes that are made while compacting
+        final RelationshipsDelta changes;
+        final List<Relationships.Properties> baseProperties;
+        private final RelationshipPropertyStore basePropertyStore;
+
+        Relationships.Topology topology;
+        @Nullable
+        RelationshipPropertyStore propertyStore;
+
+        RelationshipsCompaction(RelationshipType relationshipType, RelationshipsDelta delta) {
+            this.relationshipType = relationshipType;
+            this.delta = delta;
+            this.changes = delta.freeze();
+            this.basePropertyStore = relationshipProperties.getOrDefault(
+                relationshipType,
+                RelationshipPropertyStore.empty()
+            );
+            this.baseProperties = delta.propertyKeys().stream()
+                .map(propertyKey -> basePropertyStore.get(propertyKey).values())
+                .collect(Collectors.toList());
+        }
 
+        void compact() {
+            var base = delta.base();
+            var propertyKeys = delta.propertyKeys();
+
+            var relationshipsBuilder = new PreAggregatedRelationshipsBuilder(
+                nodeCount(),
+                base.orientation(),
+                propertyKeys.size(),
+                base.isMultiGraph(),
+                concurrency,
+                tracker
+            );
+            delta.compactInto(relationshipsBuilder, baseProperties, concurrency, Pools.DEFAULT);
+
+            topology = relationshipsBuilder.buildTopology();
+            if (!propertyKeys.isEmpty()) {
+                RelationshipPropertyStore.Builder builder = RelationshipPropertyStore.builder();
+                for (int i = 0; i < propertyKeys.size(); i++) {
+                    var property = basePropertyStore.get(propertyKeys.get(i));
+                    builder.putIfAbsent(property.key(), ImmutableRelationshipProperty.of(
+                        relationshipsBuilder.buildProperties(i, property.values().defaultPropertyValue()),
+                        property.propertySchema()
+                    ));
+                }
+                propertyStore = builder.build();
+            }
+        }
+    }
+
+    /**
+     * The compressed relationships of a single type between two compactions.
+     * Once replaced, they are closed as soon as no graph that has been created from them is reachable anymore.
+     */
+    private static final class TopologyGeneration {
+
+        private static final Cleaner CLEANER = Cleaner.create();
 
+        private int graphCount;
+        private List<AutoCloseable> replaced;
+        private boolean closed;
 
+        /**
+         * Keeps the relationships open while the given object, which is shared by a graph and its copies, is reachable.
+         */
+        synchronized void retain(Object graphReference) {
+            graphCount++;
+            CLEANER.register(graphReference, this::release);
+        }
+
+        void replace(List<AutoCloseable> replaced) {
+            List<AutoCloseable> unused;
+            synchronized (this) {
+                this.replaced = replaced;
+                unused = graphCount == 0 ? takeReplaced() : List.of();
+            }
+            closeAll(unused);
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Returns the replaced relationships, unless they have already been closed, and marks them as closed.
+         */
+        synchronized List<AutoCloseable> takeReplaced() {
+            if (closed || replaced == null) {
+                return List.of();
+            }
+            closed = true;
+            var result = replaced;
+            replaced = null;
+            return result;
+        }
+
+        private void release() {
+            List<AutoCloseable> unused;
+            synchronized (this) {
+                graphCount--;
+                unused = graphCount == 0 ? takeReplaced() : List.of();
+            }
+            closeAll(unused);
+        }
+
+        private static void closeAll(List<AutoCloseable> closeables) {
+            for (var closeable : closeables) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    ExceptionUtil.throwIfUnchecked(e);
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+}
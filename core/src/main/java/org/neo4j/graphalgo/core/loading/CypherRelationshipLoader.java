@@ -38,7 +38,6 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
@@ -261,8 +260,8 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
 
             RelationshipsBuilder builder = new RelationshipsBuilder(
                 projection,
-                TransientAdjacencyListBuilder.builderFactory(loadingContext.tracker()),
-                TransientAdjacencyOffsets.forPageSize(pageSize)
+                AdjacencyListBuilderFactory.forLoading(loadingContext.tracker()),
+                AdjacencyOffsetsFactory.forLoading(pageSize)
             );
 
             allBuilders.put(relationshipType, builder);
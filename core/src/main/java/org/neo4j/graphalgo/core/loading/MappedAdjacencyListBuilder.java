@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.huge.MappedAdjacencyList;
+import org.neo4j.graphalgo.core.utils.MappedFiles;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SIZE;
+import static org.neo4j.graphalgo.core.utils.MappedFiles.SEGMENT_SHIFT;
+
+/**
+ * Builds a {@link MappedAdjacencyList} whose pages are written into files in the spill directory.
+ *
+ * Every allocator fills a single on-heap page at a time and writes it to its slot
+ * in the page file once it is full, so that the heap usage during the import is
+ * bounded by the number of concurrently used allocators.
+ * Adjacency lists that do not fit into a page get a page of their own,
+ * which is appended to a separate file.
+ *
+ * Every slice is prefixed with its length in bytes, which is required by
+ * the {@link MappedAdjacencyList.DecompressingCursor}.
+ */
+public final class MappedAdjacencyListBuilder implements AdjacencyListBuilder {
+
+    private static final int PAGES_PER_SEGMENT_SHIFT = SEGMENT_SHIFT - PAGE_SHIFT;
+    private static final int PAGES_PER_SEGMENT_MASK = (1 << PAGES_PER_SEGMENT_SHIFT) - 1;
+
+    private final AdjacencyCompression.Encoding encoding;
+    private final Path pageFile;
+    private final Path oversizedPageFile;
+    private final FileChannel pageChannel;
+    private final FileChannel oversizedPageChannel;
+    private final AtomicInteger allocatedPages;
+    private final AtomicLong oversizedPagesSize;
+    private final Queue<OversizedPage> oversizedPages;
+
+    private MappedAdjacencyList adjacencyList;
+
+    public static AdjacencyListBuilderFactory builderFactory(Path directory) {
+        return builderFactory(directory, AdjacencyCompression.Encoding.fromFeatureToggle());
+    }
+
+    public static AdjacencyListBuilderFactory builderFactory(Path directory, AdjacencyCompression.Encoding encoding) {
+        return () -> new MappedAdjacencyListBuilder(directory, encoding);
+    }
+
+    private MappedAdjacencyListBuilder(Path directory, AdjacencyCompression.Encoding encoding) {
+        this.encoding = encoding;
+        this.pageFile = MappedFiles.createSpillFile(directory, "gds-adjacency-");
+        this.oversizedPageFile = MappedFiles.createSpillFile(directory, "gds-adjacency-oversized-");
+        try {
+            this.pageChannel = FileChannel.open(pageFile, READ, WRITE);
+            this.oversizedPageChannel = FileChannel.open(oversizedPageFile, READ, WRITE);
+        } catch (IOException e) {
+            MappedFiles.delete(pageFile);
+            MappedFiles.delete(oversizedPageFile);
+            throw new UncheckedIOException(e);
+        }
+        this.allocatedPages = new AtomicInteger();
+        this.oversizedPagesSize = new AtomicLong();
+        this.oversizedPages = new ConcurrentLinkedQueue<>();
+    }
+
+    @Override
+    public Allocator newAllocator() {
+        return new Allocator(this);
+    }
+
+    @Override
+    public AdjacencyCompression.Encoding encoding() {
+        return encoding;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Maps all written pages. Must only be called after all allocators have been closed.
+     */
+    @Override
+    public synchronized MappedAdjacencyList build() {
+        if (adjacencyList == null) {
+            adjacencyList = mapPages();
+        }
+        return adjacencyList;
+    }
+
+    private MappedAdjacencyList mapPages() {
+        int numberOfPages = allocatedPages.get();
+        try (pageChannel; oversizedPageChannel) {
+            ByteBuffer[] pageSegments = MappedFiles.mapSegments(pageChannel, PageUtil.capacityFor(numberOfPages, PAGE_SHIFT));
+            ByteBuffer[] segments = new ByteBuffer[pageSegments.length + oversizedPages.size()];
+            System.arraycopy(pageSegments, 0, segments, 0, pageSegments.length);
+
+            int[] segmentIndices = new int[numberOfPages];
+            int[] pageStarts = new int[numberOfPages];
+            for (int pageIndex = 0; pageIndex < numberOfPages; pageIndex++) {
+                segmentIndices[pageIndex] = pageIndex >>> PAGES_PER_SEGMENT_SHIFT;
+                pageStarts[pageIndex] = (pageIndex & PAGES_PER_SEGMENT_MASK) << PAGE_SHIFT;
+            }
+
+            int segmentIndex = pageSegments.length;
+            for (OversizedPage page : oversizedPages) {
+                segments[segmentIndex] = MappedFiles.map(oversizedPageChannel, page.position, page.length);
+                segmentIndices[page.pageIndex] = segmentIndex++;
+                pageStarts[page.pageIndex] = 0;
+            }
+
+            return new MappedAdjacencyList(segments, segmentIndices, pageStarts, pageSegments.length, encoding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            MappedFiles.delete(pageFile);
+            MappedFiles.delete(oversizedPageFile);
+        }
+    }
+
+    private void writePage(int pageIndex, byte[] page, int length) {
+        MappedFiles.write(pageChannel, ByteBuffer.wrap(page, 0, length), PageUtil.capacityFor(pageIndex, PAGE_SHIFT));
+    }
+
+    private void writeOversizedPage(int pageIndex, byte[] page) {
+        long position = oversizedPagesSize.getAndAdd(page.length);
+        MappedFiles.write(oversizedPageChannel, ByteBuffer.wrap(page), position);
+        oversizedPages.add(new OversizedPage(pageIndex, position, page.length));
+    }
+
+    private static final class OversizedPage {
+        private final int pageIndex;
+        private final long position;
+        private final int length;
+
+        private OversizedPage(int pageIndex, long position, int length) {
+            this.pageIndex = pageIndex;
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    static final class Allocator implements AdjacencyListAllocator, AdjacencyListPageSlice {
+
+        private final MappedAdjacencyListBuilder builder;
+
+        private byte[] currentPage;
+        private int currentPageIndex;
+        private int currentOffset;
+
+        // slice that is currently written to, either the current page or an oversized page
+        private byte[] page;
+        private int offset;
+        private long address;
+
+        private byte[] oversizedPage;
+        private int oversizedPageIndex;
+
+        private Allocator(MappedAdjacencyListBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void prepare() {
+            // pages are allocated on first use to not hold on to a page for every allocator
+        }
+
+        @Override
+        public AdjacencyListPageSlice allocate(int size) {
+            flushOversizedPage();
+            int sizeWithLength = Integer.BYTES + size;
+            if (sizeWithLength > PAGE_SIZE) {
+                // the page is written once the slice has been filled, i.e. on the next allocation
+                oversizedPage = page = new byte[sizeWithLength];
+                oversizedPageIndex = builder.allocatedPages.getAndIncrement();
+                offset = 0;
+                writeLength(size);
+                address = PageUtil.capacityFor(oversizedPageIndex, PAGE_SHIFT) + offset;
+                return this;
+            }
+            if (currentPage == null) {
+                currentPage = new byte[PAGE_SIZE];
+                currentPageIndex = builder.allocatedPages.getAndIncrement();
+                currentOffset = 0;
+            } else if (currentOffset + sizeWithLength > PAGE_SIZE) {
+                builder.writePage(currentPageIndex, currentPage, currentOffset);
+                currentPageIndex = builder.allocatedPages.getAndIncrement();
+                currentOffset = 0;
+            }
+            page = currentPage;
+            offset = currentOffset;
+            writeLength(size);
+            address = PageUtil.capacityFor(currentPageIndex, PAGE_SHIFT) + offset;
+            currentOffset = offset + size;
+            return this;
+        }
+
+        private void writeLength(int size) {
+            AdjacencyCompression.writeDegree(page, offset, size);
+            offset += Integer.BYTES;
+        }
+
+        private void flushOversizedPage() {
+            if (oversizedPage != null) {
+                builder.writeOversizedPage(oversizedPageIndex, oversizedPage);
+                oversizedPage = null;
+            }
+        }
+
+        @Override
+        public void close() {
+            flushOversizedPage();
+            if (currentPage != null) {
+                builder.writePage(currentPageIndex, currentPage, currentOffset);
+                currentPage = null;
+            }
+            page = null;
+        }
+
+        @Override
+        public long address() {
+            return address;
+        }
+
+        @Override
+        public byte[] page() {
+            return page;
+        }
+
+        @Override
+        public int offset() {
+            return offset;
+        }
+
+        @Override
+        public void bytesWritten(int numberOfBytes) {
+            offset += numberOfBytes;
+        }
+    }
+}
@@ -31,6 +31,8 @@ import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphDimensionsStoreReader;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.MappedAdjacencyList;
+import org.neo4j.graphalgo.core.huge.MappedAdjacencyOffsets;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
 import org.neo4j.graphalgo.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
@@ -77,6 +79,11 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
         return getMemoryEstimation(storeConfig.nodeProjections(), storeConfig.relationshipProjections());
     }
 
+    @Override
+    public MemoryEstimation offHeapMemoryEstimation() {
+        return getOffHeapMemoryEstimation(storeConfig.relationshipProjections());
+    }
+
     public static MemoryEstimation getMemoryEstimation(
         NodeProjections nodeProjections,
         RelationshipProjections relationshipProjections
@@ -91,6 +98,9 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             .forEach(property -> builder.add(property, NodePropertiesFromStoreBuilder.memoryEstimation()));
 
         // relationships
+        // memory-mapped adjacency lists and offsets only contribute their on-heap parts,
+        // the mapped files are estimated by getOffHeapMemoryEstimation
+        boolean mapped = GdsFeatureToggles.USE_MAPPED_ADJACENCY.isEnabled();
         relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> {
 
             boolean undirected = relationshipProjection.orientation() == Orientation.UNDIRECTED;
@@ -98,21 +108,63 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
             // adjacency list
             builder.add(
                 formatWithLocale("adjacency list for '%s'", relationshipType),
-                TransientAdjacencyList.compressedMemoryEstimation(relationshipType, undirected)
+                mapped
+                    ? MappedAdjacencyList.compressedMemoryEstimation(relationshipType, undirected)
+                    : TransientAdjacencyList.compressedMemoryEstimation(relationshipType, undirected)
             );
             builder.add(
                 formatWithLocale("adjacency offsets for '%s'", relationshipType),
-                TransientAdjacencyOffsets.memoryEstimation()
+                mapped ? MappedAdjacencyOffsets.memoryEstimation() : TransientAdjacencyOffsets.memoryEstimation()
             );
             // all properties per projection
             relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
                 builder.add(
                     formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                    mapped
+                        ? MappedAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                        : TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                );
+                builder.add(
+                    formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
+                    mapped ? MappedAdjacencyOffsets.memoryEstimation() : TransientAdjacencyOffsets.memoryEstimation()
+                );
+            });
+        });
+
+        return builder.build();
+    }
+
+    /**
+     * Estimates the size of the memory-mapped files that back the adjacency lists,
+     * offsets and relationship properties if {@link GdsFeatureToggles#USE_MAPPED_ADJACENCY} is enabled.
+     * These files live outside of the heap and are therefore not part of {@link #getMemoryEstimation}.
+     */
+    public static MemoryEstimation getOffHeapMemoryEstimation(RelationshipProjections relationshipProjections) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder("off-heap");
+        if (!GdsFeatureToggles.USE_MAPPED_ADJACENCY.isEnabled()) {
+            return builder.build();
+        }
+
+        relationshipProjections.projections().forEach((relationshipType, relationshipProjection) -> {
+
+            boolean undirected = relationshipProjection.orientation() == Orientation.UNDIRECTED;
+
+            builder.add(
+                formatWithLocale("adjacency list for '%s'", relationshipType),
+                MappedAdjacencyList.compressedOffHeapMemoryEstimation(relationshipType, undirected)
+            );
+            builder.add(
+                formatWithLocale("adjacency offsets for '%s'", relationshipType),
+                MappedAdjacencyOffsets.offHeapMemoryEstimation()
+            );
+            relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
+                builder.add(
+                    formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
+                    MappedAdjacencyList.uncompressedOffHeapMemoryEstimation(relationshipType, undirected)
                 );
                 builder.add(
                     formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyOffsets.memoryEstimation()
+                    MappedAdjacencyOffsets.offHeapMemoryEstimation()
                 );
             });
         });
@@ -219,8 +271,8 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
                 Map.Entry::getKey,
                 projectionEntry -> new RelationshipsBuilder(
                     projectionEntry.getValue(),
-                    TransientAdjacencyListBuilder.builderFactory(tracker),
-                    TransientAdjacencyOffsets.forPageSize(pageSize)
+                    AdjacencyListBuilderFactory.forLoading(tracker),
+                    AdjacencyOffsetsFactory.forLoading(pageSize)
                 )
             ));
 
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationships;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.api.DefaultValue.DOUBLE_DEFAULT_FALLBACK;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Builds weighted relationships from adjacency rows that are already
+ * sorted and aggregated by the caller, e.g. when condensing a graph by
+ * its communities. Each row is compressed and written into the adjacency
+ * pages directly, skipping the buffering, sorting and aggregation of the
+ * regular import. Rows can be added concurrently from one {@link Writer}
+ * per thread, every node must be written at most once.
+ * Parallel relationships are only allowed if the builder is created for a multi-graph.
+ */
+public final class PreAggregatedRelationshipsBuilder {
+
+    // a 64 bit value needs at most 10 bytes in VarLong encoding
+    private static final int MAX_VLONG_BYTES = 10;
+
+    private final Orientation orientation;
+    private final boolean isMultiGraph;
+    private final int pageShift;
+    private final long pageMask;
+    private final long[][] adjacencyOffsets;
+    private final long[][][] propertyOffsets;
+    private final AdjacencyListBuilder adjacencyListBuilder;
+    private final AdjacencyListBuilder[] propertiesListBuilders;
+    private final AdjacencyOffsetsFactory offsetsFactory;
+    private final LongAdder relationshipCount;
+
+    public PreAggregatedRelationshipsBuilder(
+        long nodeCount,
+        Orientation orientation,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        this(nodeCount, orientation, 1, false, concurrency, tracker);
+    }
+
+    public PreAggregatedRelationshipsBuilder(
+        long nodeCount,
+        Orientation orientation,
+        int propertyCount,
+        boolean isMultiGraph,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        ImportSizing importSizing = ImportSizing.of(concurrency, nodeCount);
+        int pageSize = importSizing.pageSize();
+        int numberOfPages = importSizing.numberOfPages();
+
+        this.orientation = orientation;
+        this.isMultiGraph = isMultiGraph;
+        this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+        this.pageMask = pageSize - 1;
+        this.adjacencyOffsets = new long[numberOfPages][];
+        this.propertyOffsets = new long[propertyCount][numberOfPages][];
+        for (int page = 0; page < numberOfPages; page++) {
+            adjacencyOffsets[page] = new long[pageSize];
+            for (int property = 0; property < propertyCount; property++) {
+                propertyOffsets[property][page] = new long[pageSize];
+            }
+        }
+        tracker.add((1L + propertyCount) * numberOfPages * sizeOfLongArray(pageSize));
+
+        var listBuilderFactory = AdjacencyListBuilderFactory.forLoading(tracker);
+        this.adjacencyListBuilder = listBuilderFactory.newAdjacencyListBuilder();
+        this.propertiesListBuilders = new AdjacencyListBuilder[propertyCount];
+        for (int property = 0; property < propertyCount; property++) {
+            propertiesListBuilders[property] = listBuilderFactory.newAdjacencyListBuilder();
+        }
+        this.offsetsFactory = AdjacencyOffsetsFactory.forLoading(pageSize);
+        this.relationshipCount = new LongAdder();
+    }
+
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+    /**
+     * Returns the topology and the first property.
+     * Must only be called after all writers have been closed.
+     */
+    public Relationships build() {
+        return ImmutableRelationships.of(
+            buildTopology(),
+            propertiesListBuilders.length > 0
+                ? Optional.of(buildProperties(0, DOUBLE_DEFAULT_FALLBACK))
+                : Optional.empty()
+        );
+    }
+
+    /**
+     * Must only be called after all writers have been closed.
+     */
+    public Relationships.Topology buildTopology() {
+        adjacencyListBuilder.flush();
+        return ImmutableTopology.of(
+            adjacencyListBuilder.build(),
+            offsetsFactory.newOffsets(adjacencyOffsets),
+            relationshipCount.sum(),
+            orientation,
+            isMultiGraph
+        );
+    }
+
+    /**
+     * Must only be called after all writers have been closed.
+     */
+    public Relationships.Properties buildProperties(int propertyIndex, double defaultPropertyValue) {
+        var propertiesListBuilder = propertiesListBuilders[propertyIndex];
+        propertiesListBuilder.flush();
+        return ImmutableProperties.of(
+            propertiesListBuilder.build(),
+            offsetsFactory.newOffsets(propertyOffsets[propertyIndex]),
+            relationshipCount.sum(),
+            orientation,
+            isMultiGraph,
+            defaultPropertyValue
+        );
+    }
+
+    public final class Writer implements AutoCloseable {
+
+        private final AdjacencyListAllocator adjacencyAllocator;
+        private final AdjacencyListAllocator[] propertiesAllocators;
+        private final AdjacencyCompression.Encoding encoding;
+        private final LongsRef buffer;
+        private byte[] storage;
+
+        private Writer() {
+            this.adjacencyAllocator = adjacencyListBuilder.newAllocator();
+            this.propertiesAllocators = new AdjacencyListAllocator[propertiesListBuilders.length];
+            this.encoding = adjacencyListBuilder.encoding();
+            this.buffer = new LongsRef(0);
+            this.storage = new byte[0];
+            adjacencyAllocator.prepare();
+            for (int property = 0; property < propertiesAllocators.length; property++) {
+                propertiesAllocators[property] = propertiesListBuilders[property].newAllocator();
+                propertiesAllocators[property].prepare();
+            }
+        }
+
+        /**
+         * Writes the relationships of {@code nodeId} for a builder with a single property.
+         * The first {@code degree} entries of {@code targets} must be sorted and unique.
+         */
+        public void addRow(long nodeId, long[] targets, double[] properties, int degree) {
+            if (degree == 0) {
+                return;
+            }
+
+            int pageIndex = (int) (nodeId >>> pageShift);
+            int localId = (int) (nodeId & pageMask);
+
+            adjacencyOffsets[pageIndex][localId] = copyIds(targets, degree);
+            propertyOffsets[0][pageIndex][localId] = copyProperties(properties, degree, propertiesAllocators[0]);
+            relationshipCount.add(degree);
+        }
+
+        /**
+         * Writes the relationships of {@code nodeId}, {@code properties} holds one array per property.
+         * The first {@code degree} entries of {@code targets} must be sorted.
+         */
+        public void addRow(long nodeId, long[] targets, double[][] properties, int degree) {
+            if (degree == 0) {
+                return;
+            }
+
+            int pageIndex = (int) (nodeId >>> pageShift);
+            int localId = (int) (nodeId & pageMask);
+
+            adjacencyOffsets[pageIndex][localId] = copyIds(targets, degree);
+            for (int property = 0; property < propertiesAllocators.length; property++) {
+                propertyOffsets[property][pageIndex][localId] = copyProperties(
+                    properties[property],
+                    degree,
+                    propertiesAllocators[property]
+                );
+            }
+            relationshipCount.add(degree);
+        }
+
+        @Override
+        public void close() {
+            adjacencyAllocator.close();
+            for (var propertiesAllocator : propertiesAllocators) {
+                propertiesAllocator.close();
+            }
+        }
+
+        private long copyIds(long[] targets, int degree) {
+            if (buffer.longs.length < degree) {
+                buffer.longs = new long[degree];
+            }
+            long[] deltas = buffer.longs;
+            deltas[0] = targets[0];
+            for (int i = 1; i < degree; i++) {
+                assert targets[i] > targets[i - 1] || (isMultiGraph && targets[i] == targets[i - 1])
+                    : "targets must be sorted and unique";
+                deltas[i] = targets[i] - targets[i - 1];
+            }
+            buffer.length = degree;
+
+            int requiredBytes;
+            if (encoding == AdjacencyCompression.Encoding.BLOCK_PACKED) {
+                storage = AdjacencyCompression.ensureBlockPackedCapacity(storage, degree);
+                requiredBytes = AdjacencyCompression.compressBlockPacked(buffer, storage);
+            } else {
+                if (storage.length < degree * MAX_VLONG_BYTES) {
+                    storage = new byte[degree * MAX_VLONG_BYTES];
+                }
+                requiredBytes = AdjacencyCompression.compress(buffer, storage);
+            }
+
+            // sizeOf(degree) + compression bytes
+            var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
+            slice.writeInt(degree);
+            slice.insert(storage, 0, requiredBytes);
+            return slice.address();
+        }
+
+        private long copyProperties(double[] properties, int degree, AdjacencyListAllocator propertiesAllocator) {
+            int requiredBytes = degree * Long.BYTES;
+            var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+            slice.writeInt(degree);
+            ByteBuffer
+                .wrap(slice.page(), slice.offset(), requiredBytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer()
+                .put(properties, 0, degree);
+            slice.bytesWritten(requiredBytes);
+            return slice.address();
+        }
+    }
+}
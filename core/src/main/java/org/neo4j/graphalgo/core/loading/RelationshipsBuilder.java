@@ -66,6 +66,7 @@ public class RelationshipsBuilder {
         Aggregation[] aggregations
     ) {
         return new ThreadLocalRelationshipsBuilder(
+            adjacencyListBuilder.encoding(),
             adjacencyListBuilder.newAllocator(),
             Arrays.stream(propertyBuilders)
                 .map(AdjacencyListBuilder::newAllocator)
@@ -90,7 +91,8 @@ public class RelationshipsBuilder {
 
     boolean supportsProperties() {
         // TODO temporary until Geri does support properties
-        return adjacencyListBuilder instanceof TransientAdjacencyListBuilder;
+        return adjacencyListBuilder instanceof TransientAdjacencyListBuilder
+               || adjacencyListBuilder instanceof MappedAdjacencyListBuilder;
     }
 
     public AdjacencyList adjacencyList() {
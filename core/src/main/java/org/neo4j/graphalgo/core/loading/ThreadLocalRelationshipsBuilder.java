@@ -36,14 +36,18 @@ class ThreadLocalRelationshipsBuilder {
     private final long[][] propertyOffsets;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private final AdjacencyCompression.Encoding encoding;
+    private byte[] blockPackedStorage;
 
     ThreadLocalRelationshipsBuilder(
+        AdjacencyCompression.Encoding encoding,
         AdjacencyListAllocator adjacencyAllocator,
         AdjacencyListAllocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
         Aggregation[] aggregations
     ) {
+        this.encoding = encoding;
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
@@ -51,6 +55,7 @@ class ThreadLocalRelationshipsBuilder {
         this.aggregations = aggregations;
         this.lock = new ReentrantLock();
         this.noAggregation = Stream.of(aggregations).allMatch(aggregation -> aggregation == Aggregation.NONE);
+        this.blockPackedStorage = new byte[0];
     }
 
     final void prepare() {
@@ -103,9 +108,7 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        long address = copyIds(storage, requiredBytes, degree);
-        adjacencyOffsets[localId] = address;
+        adjacencyOffsets[localId] = compressAndCopyIds(buffer, storage, degree);
         array.release();
         return degree;
     }
@@ -119,14 +122,24 @@ class ThreadLocalRelationshipsBuilder {
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
+        adjacencyOffsets[localId] = compressAndCopyIds(buffer, storage, degree);
         copyProperties(weights, degree, localId, propertyOffsets);
 
         array.release();
         return degree;
     }
 
+    private long compressAndCopyIds(LongsRef buffer, byte[] storage, int degree) {
+        if (encoding == AdjacencyCompression.Encoding.BLOCK_PACKED) {
+            // the packed size is not bounded by the VLong size of the storage
+            blockPackedStorage = AdjacencyCompression.ensureBlockPackedCapacity(blockPackedStorage, degree);
+            int requiredBytes = AdjacencyCompression.compressBlockPacked(buffer, blockPackedStorage);
+            return copyIds(blockPackedStorage, requiredBytes, degree);
+        }
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        return copyIds(storage, requiredBytes, degree);
+    }
+
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
         // sizeOf(degree) + compression bytes
         var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
@@ -45,16 +45,25 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     private final AllocationTracker tracker;
     private final ReentrantLock growLock;
     private final AtomicInteger allocatedPages;
+    private final AdjacencyCompression.Encoding encoding;
 
     @SuppressWarnings("FieldMayBeFinal")
     private volatile byte[][] pages;
 
     public static AdjacencyListBuilderFactory builderFactory(AllocationTracker tracker){
-        return () -> new TransientAdjacencyListBuilder(tracker);
+        return builderFactory(tracker, AdjacencyCompression.Encoding.fromFeatureToggle());
     }
 
-    private TransientAdjacencyListBuilder(AllocationTracker tracker) {
+    public static AdjacencyListBuilderFactory builderFactory(
+        AllocationTracker tracker,
+        AdjacencyCompression.Encoding encoding
+    ) {
+        return () -> new TransientAdjacencyListBuilder(tracker, encoding);
+    }
+
+    private TransientAdjacencyListBuilder(AllocationTracker tracker, AdjacencyCompression.Encoding encoding) {
         this.tracker = tracker;
+        this.encoding = encoding;
         growLock = new ReentrantLock(true);
         allocatedPages = new AtomicInteger();
         pages = new byte[0][];
@@ -66,7 +75,12 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
     }
 
     public TransientAdjacencyList build() {
-        return new TransientAdjacencyList(pages);
+        return TransientAdjacencyList.of(pages, encoding);
+    }
+
+    @Override
+    public AdjacencyCompression.Encoding encoding() {
+        return encoding;
     }
 
     @Override
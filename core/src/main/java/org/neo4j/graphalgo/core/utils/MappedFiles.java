@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Helpers for data structures that spill their data into memory-mapped files.
+ */
+public final class MappedFiles {
+
+    // a single mapping is limited to Integer.MAX_VALUE bytes
+    public static final int SEGMENT_SHIFT = 30;
+    public static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    /**
+     * The file is deleted on exit, if it has not been deleted by its user before.
+     */
+    public static Path createSpillFile(Path directory, String prefix) {
+        try {
+            Path file = Files.createTempFile(directory, prefix, ".gds");
+            file.toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void write(FileChannel channel, ByteBuffer buffer, long position) {
+        try {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the first {@code size} bytes of the file into consecutive segments of {@link #SEGMENT_SIZE} bytes.
+     * The file is extended if it is smaller than {@code size}.
+     */
+    public static ByteBuffer[] mapSegments(FileChannel channel, long size) {
+        if (size == 0) {
+            return new ByteBuffer[0];
+        }
+        try {
+            if (channel.size() < size) {
+                write(channel, ByteBuffer.allocate(1), size - 1);
+            }
+            int numberOfSegments = Math.toIntExact(BitUtil.ceilDiv(size, SEGMENT_SIZE));
+            ByteBuffer[] segments = new ByteBuffer[numberOfSegments];
+            for (int i = 0; i < numberOfSegments; i++) {
+                long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+            }
+            return segments;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ByteBuffer map(FileChannel channel, long position, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Existing mappings stay valid after the file has been deleted.
+     * On platforms that do not allow deleting mapped files, they are deleted when the JVM exits.
+     */
+    public static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    private MappedFiles() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
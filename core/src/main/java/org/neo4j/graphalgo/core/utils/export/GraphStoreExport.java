@@ -35,6 +35,7 @@ import org.neo4j.graphalgo.core.Settings;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
 import org.neo4j.internal.batchimport.AdditionalInitialIds;
@@ -333,6 +334,11 @@ public class GraphStoreExport {
         }
 
         static RelationshipStore of(GraphStore graphStore, String defaultRelationshipType) {
+            // the exported adjacency lists need to include added and removed relationships
+            if (graphStore instanceof CSRGraphStore) {
+                ((CSRGraphStore) graphStore).compactRelationships();
+            }
+
             Map<RelationshipType, Relationships.Topology> topologies = new HashMap<>();
             Map<RelationshipType, Map<String, Relationships.Properties>> properties = new HashMap<>();
 
@@ -354,6 +360,12 @@ public class GraphStoreExport {
                     var relationshipType = relTypeAndPropertyAndGraph.getOne().getOne();
                     var maybePropertyKey = relTypeAndPropertyAndGraph.getOne().getTwo();
                     var graph = relTypeAndPropertyAndGraph.getTwo();
+                    if (graphStore instanceof CSRGraphStore && ((CSRGraphStore) graphStore).hasRelationshipDelta(relationshipType)) {
+                        throw new IllegalStateException(formatWithLocale(
+                            "Relationships of type '%s' have been modified while exporting the graph.",
+                            relationshipType.name
+                        ));
+                    }
 
                     topologies.computeIfAbsent(relationshipType, ignored -> ((HugeGraph) graph).relationshipTopology());
                     maybePropertyKey.ifPresent(propertyKey -> properties
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.matrix;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Dense matrix multiplication kernels on row-major {@code double[]} matrices.
+ *
+ * The kernels walk the operands in blocks that fit into the CPU caches and
+ * compute the result in tiles of {@value #TILE} rows, so every loaded element is
+ * used for several multiply-adds while it is in a register.
+ * Each kernel has a variant that splits the rows of the result across threads,
+ * which falls back to the single threaded kernel for small matrices.
+ * The parallel variants are not used in production yet: GraphSage already computes
+ * its batches concurrently, so the ddl4j functions use the single threaded kernels.
+ *
+ * The result matrix {@code c} is overwritten and must not be one of the operands.
+ */
+public final class MatrixKernels {
+
+    static final int TILE = 4;
+    static final int INNER_BLOCK = 256;
+    static final int COLUMN_BLOCK = 64;
+
+    // number of multiply-adds below which the parallel variants run single threaded
+    static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    /**
+     * c = a * b, where a is {@code m x k}, b is {@code k x n} and c is {@code m x n}.
+     */
+    public static void mult(double[] a, double[] b, double[] c, int m, int n, int k) {
+        multiplyRows(a, k, 1, b, c, n, k, 0, m);
+    }
+
+    public static void mult(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int n,
+        int k,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        runParallel(m, n, k, concurrency, executor, (start, end) -> multiplyRows(a, k, 1, b, c, n, k, start, end));
+    }
+
+    /**
+     * c = transpose(a) * b, where a is {@code k x m}, b is {@code k x n} and c is {@code m x n}.
+     */
+    public static void multTransA(double[] a, double[] b, double[] c, int m, int n, int k) {
+        multiplyRows(a, 1, m, b, c, n, k, 0, m);
+    }
+
+    public static void multTransA(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int n,
+        int k,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        runParallel(m, n, k, concurrency, executor, (start, end) -> multiplyRows(a, 1, m, b, c, n, k, start, end));
+    }
+
+    /**
+     * c = a * transpose(b), where a is {@code m x k}, b is {@code n x k} and c is {@code m x n}.
+     */
+    public static void multTransB(double[] a, double[] b, double[] c, int m, int n, int k) {
+        multiplyTransBRows(a, b, c, n, k, 0, m);
+    }
+
+    public static void multTransB(
+        double[] a,
+        double[] b,
+        double[] c,
+        int m,
+        int n,
+        int k,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        runParallel(m, n, k, concurrency, executor, (start, end) -> multiplyTransBRows(a, b, c, n, k, start, end));
+    }
+
+    /**
+     * Writes the product of the first {@code rows} rows of the {@code ? x k} matrix {@code a}
+     * and the vector {@code x} of length {@code k} into {@code y}, starting at {@code yOffset}.
+     */
+    public static void multVector(double[] a, double[] x, double[] y, int yOffset, int rows, int k) {
+        int row = 0;
+        for (; row + TILE <= rows; row += TILE) {
+            int a0 = row * k;
+            int a1 = a0 + k;
+            int a2 = a1 + k;
+            int a3 = a2 + k;
+            double y0 = 0, y1 = 0, y2 = 0, y3 = 0;
+            for (int p = 0; p < k; p++) {
+                double xp = x[p];
+                y0 += a[a0 + p] * xp;
+                y1 += a[a1 + p] * xp;
+                y2 += a[a2 + p] * xp;
+                y3 += a[a3 + p] * xp;
+            }
+            y[yOffset + row] = y0;
+            y[yOffset + row + 1] = y1;
+            y[yOffset + row + 2] = y2;
+            y[yOffset + row + 3] = y3;
+        }
+        for (; row < rows; row++) {
+            y[yOffset + row] = dot(a, row * k, x, 0, k);
+        }
+    }
+
+    /**
+     * Computes rows {@code [rowStart, rowEnd)} of c = A * b, where A(i, p) = a[i * aRowStride + p * aColStride].
+     * Rows of b are streamed, tiles of A are kept in registers and tiles of c are accumulated in L1.
+     */
+    private static void multiplyRows(
+        double[] a,
+        int aRowStride,
+        int aColStride,
+        double[] b,
+        double[] c,
+        int n,
+        int k,
+        int rowStart,
+        int rowEnd
+    ) {
+        Arrays.fill(c, rowStart * n, rowEnd * n, 0D);
+        for (int innerStart = 0; innerStart < k; innerStart += INNER_BLOCK) {
+            int innerEnd = Math.min(k, innerStart + INNER_BLOCK);
+            for (int colStart = 0; colStart < n; colStart += COLUMN_BLOCK) {
+                int colEnd = Math.min(n, colStart + COLUMN_BLOCK);
+                int row = rowStart;
+                for (; row + TILE <= rowEnd; row += TILE) {
+                    int c0 = row * n;
+                    int c1 = c0 + n;
+                    int c2 = c1 + n;
+                    int c3 = c2 + n;
+                    for (int p = innerStart; p < innerEnd; p++) {
+                        int aIndex = row * aRowStride + p * aColStride;
+                        double a0 = a[aIndex];
+                        double a1 = a[aIndex + aRowStride];
+                        double a2 = a[aIndex + 2 * aRowStride];
+                        double a3 = a[aIndex + 3 * aRowStride];
+                        int bOffset = p * n;
+                        for (int col = colStart; col < colEnd; col++) {
+                            double bValue = b[bOffset + col];
+                            c[c0 + col] += a0 * bValue;
+                            c[c1 + col] += a1 * bValue;
+                            c[c2 + col] += a2 * bValue;
+                            c[c3 + col] += a3 * bValue;
+                        }
+                    }
+                }
+                for (; row < rowEnd; row++) {
+                    int cOffset = row * n;
+                    for (int p = innerStart; p < innerEnd; p++) {
+                        double aValue = a[row * aRowStride + p * aColStride];
+                        int bOffset = p * n;
+                        for (int col = colStart; col < colEnd; col++) {
+                            c[cOffset + col] += aValue * b[bOffset + col];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes rows {@code [rowStart, rowEnd)} of c = a * transpose(b).
+     * Every element of c is a dot product of two contiguous rows, computed for {@code TILE x TILE} elements at once.
+     */
+    private static void multiplyTransBRows(double[] a, double[] b, double[] c, int n, int k, int rowStart, int rowEnd) {
+        Arrays.fill(c, rowStart * n, rowEnd * n, 0D);
+        for (int innerStart = 0; innerStart < k; innerStart += INNER_BLOCK) {
+            int innerEnd = Math.min(k, innerStart + INNER_BLOCK);
+            int innerLength = innerEnd - innerStart;
+            for (int colStart = 0; colStart < n; colStart += COLUMN_BLOCK) {
+                int colEnd = Math.min(n, colStart + COLUMN_BLOCK);
+                int row = rowStart;
+                for (; row + TILE <= rowEnd; row += TILE) {
+                    int col = colStart;
+                    for (; col + TILE <= colEnd; col += TILE) {
+                        transBTile(a, b, c, n, k, row, col, innerStart, innerEnd);
+                    }
+                    for (; col < colEnd; col++) {
+                        for (int tileRow = row; tileRow < row + TILE; tileRow++) {
+                            c[tileRow * n + col] += dot(a, tileRow * k + innerStart, b, col * k + innerStart, innerLength);
+                        }
+                    }
+                }
+                for (; row < rowEnd; row++) {
+                    for (int col = colStart; col < colEnd; col++) {
+                        c[row * n + col] += dot(a, row * k + innerStart, b, col * k + innerStart, innerLength);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void transBTile(
+        double[] a,
+        double[] b,
+        double[] c,
+        int n,
+        int k,
+        int row,
+        int col,
+        int innerStart,
+        int innerEnd
+    ) {
+        int a0 = row * k;
+        int a1 = a0 + k;
+        int a2 = a1 + k;
+        int a3 = a2 + k;
+        int b0 = col * k;
+        int b1 = b0 + k;
+        int b2 = b1 + k;
+        int b3 = b2 + k;
+
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int p = innerStart; p < innerEnd; p++) {
+            double x0 = a[a0 + p];
+            double x1 = a[a1 + p];
+            double x2 = a[a2 + p];
+            double x3 = a[a3 + p];
+            double y0 = b[b0 + p];
+            double y1 = b[b1 + p];
+            double y2 = b[b2 + p];
+            double y3 = b[b3 + p];
+            c00 += x0 * y0; c01 += x0 * y1; c02 += x0 * y2; c03 += x0 * y3;
+            c10 += x1 * y0; c11 += x1 * y1; c12 += x1 * y2; c13 += x1 * y3;
+            c20 += x2 * y0; c21 += x2 * y1; c22 += x2 * y2; c23 += x2 * y3;
+            c30 += x3 * y0; c31 += x3 * y1; c32 += x3 * y2; c33 += x3 * y3;
+        }
+
+        int c0 = row * n + col;
+        int c1 = c0 + n;
+        int c2 = c1 + n;
+        int c3 = c2 + n;
+        c[c0] += c00; c[c0 + 1] += c01; c[c0 + 2] += c02; c[c0 + 3] += c03;
+        c[c1] += c10; c[c1 + 1] += c11; c[c1 + 2] += c12; c[c1 + 3] += c13;
+        c[c2] += c20; c[c2 + 1] += c21; c[c2 + 2] += c22; c[c2 + 3] += c23;
+        c[c3] += c30; c[c3 + 1] += c31; c[c3 + 2] += c32; c[c3 + 3] += c33;
+    }
+
+    private static double dot(double[] x, int xOffset, double[] y, int yOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += x[xOffset + i] * y[yOffset + i];
+        }
+        return sum;
+    }
+
+    private static void runParallel(
+        int m,
+        int n,
+        int k,
+        int concurrency,
+        ExecutorService executor,
+        RowRangeKernel kernel
+    ) {
+        long multiplyAdds = (long) m * n * k;
+        if (concurrency <= 1 || multiplyAdds < PARALLEL_THRESHOLD || m < 2 * TILE) {
+            kernel.compute(0, m);
+            return;
+        }
+        int tiles = (m + TILE - 1) / TILE;
+        int tilesPerTask = (tiles + concurrency - 1) / concurrency;
+        int rowsPerTask = tilesPerTask * TILE;
+
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (int start = 0; start < m; start += rowsPerTask) {
+            int taskStart = start;
+            int taskEnd = Math.min(m, start + rowsPerTask);
+            tasks.add(() -> kernel.compute(taskStart, taskEnd));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface RowRangeKernel {
+        void compute(int rowStart, int rowEnd);
+    }
+
+    private MatrixKernels() {}
+}
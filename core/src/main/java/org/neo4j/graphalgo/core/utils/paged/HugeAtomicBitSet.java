@@ -152,6 +152,34 @@ public final class HugeAtomicBitSet {
         }
     }
 
+    /**
+     * Resets a bit and returns the previous value.
+     * The index should be less than the BitSet size.
+     */
+    public boolean getAndClear(long index) {
+        assert(index < numBits);
+
+        long wordIndex = index / NUM_BITS;
+        int bitIndex = (int) index % NUM_BITS;
+        long bitmask = ~(1L << bitIndex);
+
+        long oldWord = bits.get(wordIndex);
+        while (true) {
+            long newWord = oldWord & bitmask;
+            if (newWord == oldWord) {
+                // already cleared
+                return false;
+            }
+            long currentWord = bits.compareAndExchange(wordIndex, oldWord, newWord);
+            if (currentWord == oldWord) {
+                // CAS successful
+                return true;
+            }
+            // CAS unsuccessful, try again
+            oldWord = currentWord;
+        }
+    }
+
     /**
      * Toggles the bit at the given index.
      */
@@ -218,6 +246,54 @@ public final class HugeAtomicBitSet {
         return Long.bitCount(bits.get(bits.size() - 1)) >= remainder;
     }
 
+    /**
+     * Returns the index of the first set bit that is greater than or equal
+     * to the given index, or -1 if no such bit exists.
+     */
+    public long nextSetBit(long index) {
+        return nextSetBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first set bit within the range from
+     * the startIndex (inclusive) to the endIndex (exclusive), or -1
+     * if no such bit exists.
+     */
+    public long nextSetBit(long startIndex, long endIndex) {
+        assert(endIndex <= numBits);
+        if (startIndex >= endIndex) {
+            return -1;
+        }
+
+        long wordIndex = startIndex / NUM_BITS;
+        long endWordIndex = (endIndex - 1) / NUM_BITS;
+        long word = bits.get(wordIndex) & (-1L << startIndex);
+
+        while (true) {
+            if (word != 0) {
+                long index = wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+                return index < endIndex ? index : -1;
+            }
+            if (++wordIndex > endWordIndex) {
+                return -1;
+            }
+            word = bits.get(wordIndex);
+        }
+    }
+
+    /**
+     * Sets all bits that are set in the given bit set.
+     * <p>
+     * Note: this method is not thread-safe.
+     */
+    public void union(HugeAtomicBitSet other) {
+        assert(other.numBits == numBits);
+
+        for (long wordIndex = 0; wordIndex < bits.size(); wordIndex++) {
+            bits.set(wordIndex, bits.get(wordIndex) | other.bits.get(wordIndex));
+        }
+    }
+
     /**
      * Returns the number of bits this bitset can hold.
      */
@@ -53,6 +53,15 @@ public abstract class HugeAtomicDoubleArray {
      */
     public abstract void set(long index, double value);
 
+    /**
+     * Atomically sets the value at the given index to the given value.
+     *
+     * @param index the index
+     * @param value the new value
+     * @return the previous value at index
+     */
+    public abstract double getAndSet(long index, double value);
+
     /**
      * Atomically sets the element at position {@code index} to the given
      * updated value if the current value {@code ==} the expected value.
@@ -246,6 +255,11 @@ public abstract class HugeAtomicDoubleArray {
             ARRAY_HANDLE.setVolatile(page, (int) index, value);
         }
 
+        @Override
+        public double getAndSet(long index, double value) {
+            return (double) ARRAY_HANDLE.getAndSet(page, (int) index, value);
+        }
+
         @Override
         public boolean compareAndSet(long index, double expect, double update) {
             return ARRAY_HANDLE.compareAndSet(page, (int) index, expect, update);
@@ -337,6 +351,13 @@ public abstract class HugeAtomicDoubleArray {
             ARRAY_HANDLE.setVolatile(pages[pageIndex], indexInPage, value);
         }
 
+        @Override
+        public double getAndSet(long index, double value) {
+            int pageIndex = pageIndex(index);
+            int indexInPage = indexInPage(index);
+            return (double) ARRAY_HANDLE.getAndSet(pages[pageIndex], indexInPage, value);
+        }
+
         @Override
         public boolean compareAndSet(long index, double expect, double update) {
             int pageIndex = pageIndex(index);
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * A dense matrix of {@code float} values with a fixed number of columns, for example one embedding per node.
+ *
+ * Rows are stored contiguously in row-major order, and pages always hold a power of two of complete rows.
+ * Compared to one {@code float[]} per row, this saves an object header and a reference per row
+ * and keeps neighbouring rows next to each other in memory.
+ * Rows can be accessed without copying through a reusable {@link Row} view.
+ */
+public final class HugeFloatMatrix {
+
+    private final long rows;
+    private final int columns;
+    private final int rowShift;
+    private final long rowMask;
+    private final float[][] pages;
+
+    public static HugeFloatMatrix newMatrix(long rows, int columns, AllocationTracker tracker) {
+        int rowShift = rowShift(columns);
+        int numPages = PageUtil.numPagesFor(rows, rowShift, (1L << rowShift) - 1);
+        float[][] pages = new float[numPages][];
+        long rowsPerPage = 1L << rowShift;
+        for (int page = 0; page < numPages; page++) {
+            long rowsInPage = Math.min(rowsPerPage, rows - page * rowsPerPage);
+            pages[page] = new float[Math.toIntExact(rowsInPage * columns)];
+        }
+        tracker.add(memoryEstimation(rows, columns));
+        return new HugeFloatMatrix(rows, columns, rowShift, pages);
+    }
+
+    public static MemoryEstimation memoryEstimation(int columns) {
+        return MemoryEstimations.of(
+            "matrix",
+            (dimensions, concurrency) -> MemoryRange.of(memoryEstimation(dimensions.nodeCount(), columns))
+        );
+    }
+
+    public static long memoryEstimation(long rows, int columns) {
+        int rowShift = rowShift(columns);
+        long rowsPerPage = 1L << rowShift;
+        // estimations may be asked for more rows than a matrix can hold, so count pages as a long
+        long numPages = (rows + rowsPerPage - 1) >>> rowShift;
+        long memory = sizeOfInstance(HugeFloatMatrix.class) + sizeOfObjectArray(numPages);
+        if (numPages > 0) {
+            long rowsInLastPage = rows - (numPages - 1) * rowsPerPage;
+            memory += (numPages - 1) * sizeOfFloatArray(rowsPerPage * columns);
+            memory += sizeOfFloatArray(rowsInLastPage * columns);
+        }
+        return memory;
+    }
+
+    // the number of rows per page is the largest power of two whose rows fit into a regular page
+    private static int rowShift(int columns) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("A matrix must have at least one column.");
+        }
+        int rowsPerPage = Math.max(1, PageUtil.pageSizeFor(Float.BYTES) / columns);
+        return Integer.numberOfTrailingZeros(Integer.highestOneBit(rowsPerPage));
+    }
+
+    private HugeFloatMatrix(long rows, int columns, int rowShift, float[][] pages) {
+        this.rows = rows;
+        this.columns = columns;
+        this.rowShift = rowShift;
+        this.rowMask = (1L << rowShift) - 1;
+        this.pages = pages;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public float get(long row, int column) {
+        assert column < columns;
+        return pages[pageIndex(row)][offset(row) + column];
+    }
+
+    public void set(long row, int column, float value) {
+        assert column < columns;
+        pages[pageIndex(row)][offset(row) + column] = value;
+    }
+
+    public void addTo(long row, int column, float delta) {
+        assert column < columns;
+        pages[pageIndex(row)][offset(row) + column] += delta;
+    }
+
+    /**
+     * Returns a copy of the given row.
+     */
+    public float[] getRow(long row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(pages[pageIndex(row)], offset, offset + columns);
+    }
+
+    public void copyRowTo(long row, float[] target) {
+        System.arraycopy(pages[pageIndex(row)], offset(row), target, 0, columns);
+    }
+
+    public void setRow(long row, float[] values) {
+        System.arraycopy(values, 0, pages[pageIndex(row)], offset(row), columns);
+    }
+
+    /**
+     * Sets the given row to {@code values[fromIndex, fromIndex + columns)}.
+     */
+    public void setRow(long row, float[] values, int fromIndex) {
+        System.arraycopy(values, fromIndex, pages[pageIndex(row)], offset(row), columns);
+    }
+
+    public void fillRow(long row, float value) {
+        int offset = offset(row);
+        Arrays.fill(pages[pageIndex(row)], offset, offset + columns, value);
+    }
+
+    public void scaleRow(long row, double scalar) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = offset; i < offset + columns; i++) {
+            page[i] *= scalar;
+        }
+    }
+
+    /**
+     * Adds {@code weight * values} to the given row.
+     */
+    public void addToRow(long row, float[] values, double weight) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = 0; i < columns; i++) {
+            page[offset + i] += weight * values[i];
+        }
+    }
+
+    /**
+     * Adds {@code weight * values[fromIndex, fromIndex + columns)} to the given row.
+     */
+    public void addToRow(long row, float[] values, int fromIndex, double weight) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = 0; i < columns; i++) {
+            page[offset + i] += weight * values[fromIndex + i];
+        }
+    }
+
+    /**
+     * Adds the given row to {@code target}.
+     */
+    public void addRowTo(long row, float[] target) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = 0; i < columns; i++) {
+            target[i] += page[offset + i];
+        }
+    }
+
+    /**
+     * Adds {@code weight} times the given row to {@code target}.
+     */
+    public void addRowTo(long row, float[] target, double weight) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = 0; i < columns; i++) {
+            target[i] = (float) Math.fma(page[offset + i], weight, target[i]);
+        }
+    }
+
+    /**
+     * Adds {@code weight} times the given row to {@code target[targetOffset, targetOffset + columns)}.
+     * The loop stays in {@code float} arithmetic so that it can be vectorized.
+     */
+    public void addRowTo(long row, float[] target, int targetOffset, float weight) {
+        float[] page = pages[pageIndex(row)];
+        int offset = offset(row);
+        for (int i = 0; i < columns; i++) {
+            target[targetOffset + i] += weight * page[offset + i];
+        }
+    }
+
+    /**
+     * Initializes the view to point at the given row. The view can be reused for other rows of any matrix.
+     */
+    public Row initRow(long row, Row view) {
+        view.array = pages[pageIndex(row)];
+        view.offset = offset(row);
+        view.length = columns;
+        return view;
+    }
+
+    public long release() {
+        long freed = memoryEstimation(rows, columns);
+        Arrays.fill(pages, null);
+        return freed;
+    }
+
+    private int pageIndex(long row) {
+        assert row < rows;
+        return (int) (row >>> rowShift);
+    }
+
+    private int offset(long row) {
+        return (int) (row & rowMask) * columns;
+    }
+
+    /**
+     * A view on one row of a matrix: the row consists of the values {@code array[offset, offset + length)}.
+     * Changes to the array are changes to the matrix.
+     */
+    public static final class Row {
+        public float[] array;
+        public int offset;
+        public int length;
+
+        public float get(int column) {
+            return array[offset + column];
+        }
+
+        public void set(int column, float value) {
+            array[offset + column] = value;
+        }
+
+        public double dot(Row other) {
+            double result = 0;
+            for (int i = 0; i < length; i++) {
+                result += array[offset + i] * other.array[other.offset + i];
+            }
+            return result;
+        }
+
+        /**
+         * Adds {@code weight * other} to this row.
+         */
+        public void addScaled(Row other, double weight) {
+            for (int i = 0; i < length; i++) {
+                array[offset + i] += weight * other.array[other.offset + i];
+            }
+        }
+    }
+}
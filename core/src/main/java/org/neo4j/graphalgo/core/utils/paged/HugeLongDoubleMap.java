@@ -76,6 +76,10 @@ public class HugeLongDoubleMap implements Iterable<LongDoubleCursor> {
         return keys.sizeOf() + values.sizeOf();
     }
 
+    public void put(long key, double value) {
+        put0(1L + key, value);
+    }
+
     public void addTo(long key, double value) {
         addTo0(1L + key, value);
     }
@@ -84,6 +88,27 @@ public class HugeLongDoubleMap implements Iterable<LongDoubleCursor> {
         return getOrDefault0(1L + key, defaultValue);
     }
 
+    private void put0(long key, double value) {
+        assert assigned < mask + 1L;
+        final long hash = BitMixer.mixPhi(key);
+        long slot = findSlot(key, hash & mask);
+        assert slot != -1L;
+        if (slot >= 0L) {
+            values.set(slot, value);
+            return;
+        }
+
+        slot = ~(1L + slot);
+        if (assigned == resizeAt) {
+            allocateThenInsertThenRehash(slot, key, value);
+        } else {
+            values.set(slot, value);
+            keys.set(slot, key);
+        }
+
+        assigned++;
+    }
+
     private void addTo0(long key, double value) {
         assert assigned < mask + 1L;
         final long hash = BitMixer.mixPhi(key);
@@ -22,15 +22,27 @@ package org.neo4j.graphalgo.core.utils.partition;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.neo4j.graphalgo.core.utils.partition.Partition.MAX_NODE_COUNT;
 
 public final class PartitionUtils {
 
+    /**
+     * Number of partitions per thread created by {@link #degreeBalancedPartition(Graph, int)}.
+     * Having more partitions than threads allows threads that finish early to take over remaining work.
+     */
+    public static final int PARTITIONS_PER_THREAD = 4;
+
+    private static final int DEGREE_BLOCK_SHIFT = 12;
+    private static final int DEGREE_BLOCK_SIZE = 1 << DEGREE_BLOCK_SHIFT;
+
     private PartitionUtils() {}
 
     public static List<Partition> rangePartition(int concurrency, long nodeCount) {
@@ -93,4 +105,71 @@ public final class PartitionUtils {
         return partitions;
     }
 
+    public static List<Partition> degreeBalancedPartition(Graph graph, int concurrency) {
+        return degreeBalancedPartition(graph, concurrency, (long) concurrency * PARTITIONS_PER_THREAD);
+    }
+
+    /**
+     * Splits the node id space into contiguous partitions that have roughly the same cost,
+     * where visiting a node costs its degree plus one.
+     * The cost of blocks of {@value DEGREE_BLOCK_SIZE} nodes is summed up in parallel; only the
+     * blocks in which a partition boundary falls are scanned again node by node.
+     */
+    public static List<Partition> degreeBalancedPartition(Graph graph, int concurrency, long partitionCount) {
+        long nodeCount = graph.nodeCount();
+        if (nodeCount == 0) {
+            return Collections.emptyList();
+        }
+        assert partitionCount > 0L;
+
+        int blockCount = Math.toIntExact(BitUtil.ceilDiv(nodeCount, DEGREE_BLOCK_SIZE));
+        long[] blockCosts = new long[blockCount];
+        ParallelUtil.parallelStreamConsume(
+            IntStream.range(0, blockCount),
+            concurrency,
+            blocks -> blocks.forEach(block -> {
+                long start = (long) block << DEGREE_BLOCK_SHIFT;
+                long end = Math.min(start + DEGREE_BLOCK_SIZE, nodeCount);
+                long cost = 0L;
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    cost += graph.degree(nodeId) + 1L;
+                }
+                blockCosts[block] = cost;
+            })
+        );
+
+        long totalCost = 0L;
+        for (long blockCost : blockCosts) {
+            totalCost += blockCost;
+        }
+        long costPerPartition = BitUtil.ceilDiv(totalCost, partitionCount);
+
+        List<Partition> partitions = new ArrayList<>();
+        long partitionStart = 0L;
+        long partitionCost = 0L;
+        long nodeId = 0L;
+        while (nodeId < nodeCount) {
+            int block = (int) (nodeId >>> DEGREE_BLOCK_SHIFT);
+            long blockEnd = Math.min(((long) block + 1) << DEGREE_BLOCK_SHIFT, nodeCount);
+            // skip over whole blocks as long as they neither complete the partition nor exceed the size limit
+            if (nodeId == ((long) block << DEGREE_BLOCK_SHIFT) &&
+                partitionCost + blockCosts[block] < costPerPartition &&
+                blockEnd - partitionStart <= MAX_NODE_COUNT) {
+                partitionCost += blockCosts[block];
+                nodeId = blockEnd;
+                continue;
+            }
+            partitionCost += graph.degree(nodeId) + 1L;
+            nodeId++;
+            if (partitionCost >= costPerPartition || nodeId - partitionStart >= MAX_NODE_COUNT) {
+                partitions.add(Partition.of(partitionStart, nodeId - partitionStart));
+                partitionStart = nodeId;
+                partitionCost = 0L;
+            }
+        }
+        if (partitionStart < nodeCount) {
+            partitions.add(Partition.of(partitionStart, nodeCount - partitionStart));
+        }
+        return partitions;
+    }
 }
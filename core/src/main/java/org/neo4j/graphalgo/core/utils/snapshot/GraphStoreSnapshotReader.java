@@ -0,0 +1,498 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.snapshot;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableRelationshipProperty;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.NodeProperty;
+import org.neo4j.graphalgo.api.NodePropertyStore;
+import org.neo4j.graphalgo.api.RelationshipPropertyStore;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.api.schema.PropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.IdMapBuilder;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Restores a graph store that has been written by the {@link GraphStoreSnapshotWriter}.
+ *
+ * The snapshot is parsed sequentially, but all large blocks - the node ids, label bit sets,
+ * numeric node properties, adjacency pages and offsets - are only recorded while parsing.
+ * Once the whole file has been visited, the blocks are read in parallel with positional
+ * reads directly into the arrays that back the restored graph store.
+ */
+public final class GraphStoreSnapshotReader {
+
+    private static final int OFFSETS_PAGE_SHIFT = 14;
+    private static final int OFFSETS_PAGE_SIZE = 1 << OFFSETS_PAGE_SHIFT;
+    // number of longs read by a single task
+    private static final int READ_BATCH_SIZE = 1 << 17;
+
+    private final SnapshotInput in;
+    private final AllocationTracker tracker;
+    private final List<Runnable> reads;
+
+    private long nodeCount;
+
+    public static GraphStoreWithConfig read(
+        Path path,
+        String username,
+        NamedDatabaseId databaseId,
+        Optional<String> graphName,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var reader = new GraphStoreSnapshotReader(new SnapshotInput(channel), tracker);
+            return reader.read(username, databaseId, graphName, concurrency);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException(formatWithLocale("The file `%s` does not exist.", path), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private GraphStoreSnapshotReader(SnapshotInput in, AllocationTracker tracker) {
+        this.in = in;
+        this.tracker = tracker;
+        this.reads = new ArrayList<>();
+    }
+
+    private GraphStoreWithConfig read(
+        String username,
+        NamedDatabaseId databaseId,
+        Optional<String> graphName,
+        int concurrency
+    ) {
+        if (in.readLong() != GraphStoreSnapshotWriter.MAGIC) {
+            throw new IllegalArgumentException("The file is not a graph snapshot.");
+        }
+        int version = in.readInt();
+        if (version != GraphStoreSnapshotWriter.VERSION) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Unsupported graph snapshot version %d, expected version %d.",
+                version,
+                GraphStoreSnapshotWriter.VERSION
+            ));
+        }
+
+        GraphCreateConfig config = readConfig(username, graphName);
+
+        nodeCount = in.readLongLength(Long.BYTES);
+        // the stored value is only used for validation, the sparse id mapping is sized by the ids that are actually read
+        long storedHighestOriginalId = in.readLong();
+        HugeLongArray originalIds = HugeLongArray.newArray(nodeCount, tracker);
+        readLater(originalIds, in.skip(nodeCount * Long.BYTES));
+        Map<NodeLabel, BitSet> labelInformation = readLabelInformation();
+
+        Map<NodeLabel, NodePropertyStore> nodeProperties = readNodeProperties();
+        Map<RelationshipType, Relationships.Topology> relationships = new HashMap<>();
+        Map<RelationshipType, RelationshipPropertyStore> relationshipProperties = new HashMap<>();
+        readRelationships(relationships, relationshipProperties);
+
+        ParallelUtil.runWithConcurrency(concurrency, reads, Pools.DEFAULT);
+
+        long highestOriginalId = highestOriginalId(originalIds);
+        if (highestOriginalId > storedHighestOriginalId) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Corrupt graph snapshot: node id %d exceeds the highest stored node id %d.",
+                highestOriginalId,
+                storedHighestOriginalId
+            ));
+        }
+
+        HugeSparseLongArray nodeToGraphIds = IdMapBuilder.buildSparseNodeMapping(
+            nodeCount,
+            highestOriginalId,
+            concurrency,
+            IdMapBuilder.add(originalIds),
+            tracker
+        );
+        IdMap idMap = new IdMap(originalIds, nodeToGraphIds, labelInformation, nodeCount, tracker);
+
+        GraphStore graphStore = CSRGraphStore.of(
+            databaseId,
+            idMap,
+            nodeProperties,
+            relationships,
+            relationshipProperties,
+            concurrency,
+            tracker
+        );
+        return GraphStoreWithConfig.of(graphStore, config);
+    }
+
+    private GraphCreateConfig readConfig(String username, Optional<String> graphName) {
+        byte configType = in.readByte();
+        String storedGraphName = in.readString();
+        String name = graphName.orElse(storedGraphName);
+
+        switch (configType) {
+            case GraphStoreSnapshotWriter.STORE_CONFIG:
+                return GraphCreateFromStoreConfig.of(
+                    username,
+                    name,
+                    null,
+                    null,
+                    CypherMapWrapper.create(SnapshotValues.readMap(in))
+                );
+            case GraphStoreSnapshotWriter.CYPHER_CONFIG:
+                return GraphCreateFromCypherConfig.of(
+                    username,
+                    name,
+                    null,
+                    null,
+                    CypherMapWrapper.create(SnapshotValues.readMap(in))
+                );
+            case GraphStoreSnapshotWriter.RANDOM_CONFIG:
+                long nodeCount = in.readLong();
+                long averageDegree = in.readLong();
+                return RandomGraphGeneratorConfig.of(
+                    username,
+                    name,
+                    nodeCount,
+                    averageDegree,
+                    CypherMapWrapper.create(SnapshotValues.readMap(in))
+                );
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown configuration type %d in graph snapshot.", configType));
+        }
+    }
+
+    private Map<NodeLabel, BitSet> readLabelInformation() {
+        // every label holds at least the length of its name and of its bit set
+        int labelCount = in.readLength(2 * Integer.BYTES);
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>();
+        for (int i = 0; i < labelCount; i++) {
+            NodeLabel nodeLabel = NodeLabel.of(in.readString());
+            long[] words = new long[in.readLength(Long.BYTES)];
+            readLater(words, in.skip((long) words.length * Long.BYTES));
+            labelInformation.put(nodeLabel, new BitSet(words, words.length));
+        }
+        return labelInformation;
+    }
+
+    private Map<NodeLabel, NodePropertyStore> readNodeProperties() {
+        // every label holds at least the length of its name and its property count
+        int labelCount = in.readLength(2 * Integer.BYTES);
+        Map<NodeLabel, NodePropertyStore> nodeProperties = new HashMap<>();
+        for (int i = 0; i < labelCount; i++) {
+            NodeLabel nodeLabel = NodeLabel.of(in.readString());
+            int propertyCount = in.readLength(Integer.BYTES);
+            if (propertyCount == 0) {
+                continue;
+            }
+            NodePropertyStore.Builder builder = NodePropertyStore.builder();
+            for (int j = 0; j < propertyCount; j++) {
+                PropertySchema propertySchema = readPropertySchema();
+                NodeProperties values = readNodePropertyValues(propertySchema.valueType());
+                builder.putIfAbsent(
+                    propertySchema.key(),
+                    NodeProperty.of(propertySchema.key(), propertySchema.state(), values, propertySchema.defaultValue())
+                );
+            }
+            nodeProperties.put(nodeLabel, builder.build());
+        }
+        return nodeProperties;
+    }
+
+    private NodeProperties readNodePropertyValues(ValueType valueType) {
+        switch (valueType) {
+            case LONG:
+                HugeLongArray longValues = HugeLongArray.newArray(nodeCount, tracker);
+                readLater(longValues, in.skip(nodeCount * Long.BYTES));
+                return longValues.asNodeProperties();
+            case DOUBLE:
+                HugeDoubleArray doubleValues = HugeDoubleArray.newArray(nodeCount, tracker);
+                readLater(doubleValues, in.skip(nodeCount * Double.BYTES));
+                return doubleValues.asNodeProperties();
+            case LONG_ARRAY:
+                HugeObjectArray<long[]> longArrays = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        longArrays.set(nodeId, SnapshotValues.readLongArray(in, (int) in.checkLength(length, Long.BYTES)));
+                    }
+                }
+                return new LongArrayNodeProperties() {
+                    @Override
+                    public long[] longArrayValue(long nodeId) {
+                        return longArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return longArrays.size();
+                    }
+                };
+            case FLOAT_ARRAY:
+                HugeObjectArray<float[]> floatArrays = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        floatArrays.set(nodeId, SnapshotValues.readFloatArray(in, (int) in.checkLength(length, Float.BYTES)));
+                    }
+                }
+                return new FloatArrayNodeProperties() {
+                    @Override
+                    public float[] floatArrayValue(long nodeId) {
+                        return floatArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return floatArrays.size();
+                    }
+                };
+            case DOUBLE_ARRAY:
+                HugeObjectArray<double[]> doubleArrays = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length >= 0) {
+                        doubleArrays.set(nodeId, SnapshotValues.readDoubleArray(in, (int) in.checkLength(length, Double.BYTES)));
+                    }
+                }
+                return new DoubleArrayNodeProperties() {
+                    @Override
+                    public double[] doubleArrayValue(long nodeId) {
+                        return doubleArrays.get(nodeId);
+                    }
+
+                    @Override
+                    public long size() {
+                        return doubleArrays.size();
+                    }
+                };
+            default:
+                throw new IllegalStateException(formatWithLocale(
+                    "Unsupported node property type %s in graph snapshot.",
+                    valueType.cypherName()
+                ));
+        }
+    }
+
+    private void readRelationships(
+        Map<RelationshipType, Relationships.Topology> relationships,
+        Map<RelationshipType, RelationshipPropertyStore> relationshipProperties
+    ) {
+        // every type holds at least the length of its name
+        int relationshipTypeCount = in.readLength(Integer.BYTES);
+        for (int i = 0; i < relationshipTypeCount; i++) {
+            RelationshipType relationshipType = RelationshipType.of(in.readString());
+            long elementCount = in.readLong();
+            Orientation orientation = Orientation.valueOf(in.readString());
+            boolean isMultiGraph = in.readBoolean();
+            AdjacencyList adjacencyList = readAdjacencyList();
+            AdjacencyOffsets adjacencyOffsets = readAdjacencyOffsets();
+
+            relationships.put(
+                relationshipType,
+                ImmutableTopology.of(adjacencyList, adjacencyOffsets, elementCount, orientation, isMultiGraph)
+            );
+
+            int propertyCount = in.readLength(Integer.BYTES);
+            if (propertyCount == 0) {
+                continue;
+            }
+            RelationshipPropertyStore.Builder builder = RelationshipPropertyStore.builder();
+            for (int j = 0; j < propertyCount; j++) {
+                PropertySchema propertySchema = readPropertySchema();
+                Aggregation aggregation = Aggregation.valueOf(in.readString());
+                double defaultPropertyValue = in.readDouble();
+                Relationships.Properties values = ImmutableProperties.of(
+                    readAdjacencyList(),
+                    readAdjacencyOffsets(),
+                    elementCount,
+                    orientation,
+                    isMultiGraph,
+                    defaultPropertyValue
+                );
+                builder.putIfAbsent(
+                    propertySchema.key(),
+                    ImmutableRelationshipProperty.of(
+                        values,
+                        RelationshipPropertySchema.of(
+                            propertySchema.key(),
+                            propertySchema.valueType(),
+                            propertySchema.defaultValue(),
+                            propertySchema.state(),
+                            aggregation
+                        )
+                    )
+                );
+            }
+            relationshipProperties.put(relationshipType, builder.build());
+        }
+    }
+
+    private PropertySchema readPropertySchema() {
+        String propertyKey = in.readString();
+        ValueType valueType = ValueType.valueOf(in.readString());
+        GraphStore.PropertyState state = GraphStore.PropertyState.valueOf(in.readString());
+        Object defaultValue = SnapshotValues.read(in);
+        boolean isUserDefined = in.readBoolean();
+        return PropertySchema.of(propertyKey, valueType, DefaultValue.of(defaultValue, isUserDefined), state);
+    }
+
+    private AdjacencyList readAdjacencyList() {
+        var encoding = AdjacencyCompression.Encoding.valueOf(in.readString());
+        byte[][] pages = new byte[in.readLength(Integer.BYTES)][];
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            byte[] page = new byte[in.readLength(Byte.BYTES)];
+            long position = in.skip(page.length);
+            reads.add(() -> in.readFully(position, ByteBuffer.wrap(page)));
+            pages[pageIndex] = page;
+            tracker.add(MemoryUsage.sizeOfByteArray(page.length));
+        }
+        return TransientAdjacencyList.of(pages, encoding);
+    }
+
+    private AdjacencyOffsets readAdjacencyOffsets() {
+        int numberOfPages = (int) ((nodeCount + OFFSETS_PAGE_SIZE - 1) >>> OFFSETS_PAGE_SHIFT);
+        long[][] pages = new long[numberOfPages][];
+        long position = in.skip(nodeCount * Long.BYTES);
+        for (int pageIndex = 0; pageIndex < numberOfPages; pageIndex++) {
+            long pageStart = (long) pageIndex << OFFSETS_PAGE_SHIFT;
+            pages[pageIndex] = new long[(int) Math.min(OFFSETS_PAGE_SIZE, nodeCount - pageStart)];
+            readLater(pages[pageIndex], position + pageStart * Long.BYTES);
+        }
+        return TransientAdjacencyOffsets.forPageSize(OFFSETS_PAGE_SIZE).newOffsets(pages);
+    }
+
+    private static long highestOriginalId(HugeLongArray originalIds) {
+        long highestOriginalId = -1L;
+        try (HugeCursor<long[]> cursor = originalIds.initCursor(originalIds.newCursor())) {
+            while (cursor.next()) {
+                long[] page = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    if (page[i] < 0) {
+                        throw new IllegalArgumentException(formatWithLocale(
+                            "Corrupt graph snapshot: negative node id %d.",
+                            page[i]
+                        ));
+                    }
+                    highestOriginalId = Math.max(highestOriginalId, page[i]);
+                }
+            }
+        }
+        return highestOriginalId;
+    }
+
+    private void readLater(HugeLongArray array, long position) {
+        try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor())) {
+            while (cursor.next()) {
+                long[] page = cursor.array;
+                long pagePosition = position + cursor.base * Long.BYTES;
+                for (int start = cursor.offset; start < cursor.limit; start += READ_BATCH_SIZE) {
+                    int offset = start;
+                    int length = Math.min(READ_BATCH_SIZE, cursor.limit - start);
+                    reads.add(() -> readLongs(pagePosition + (long) offset * Long.BYTES, page, offset, length));
+                }
+            }
+        }
+    }
+
+    private void readLater(HugeDoubleArray array, long position) {
+        try (HugeCursor<double[]> cursor = array.initCursor(array.newCursor())) {
+            while (cursor.next()) {
+                double[] page = cursor.array;
+                long pagePosition = position + cursor.base * Double.BYTES;
+                for (int start = cursor.offset; start < cursor.limit; start += READ_BATCH_SIZE) {
+                    int offset = start;
+                    int length = Math.min(READ_BATCH_SIZE, cursor.limit - start);
+                    reads.add(() -> readDoubles(pagePosition + (long) offset * Double.BYTES, page, offset, length));
+                }
+            }
+        }
+    }
+
+    private void readLater(long[] array, long position) {
+        for (int start = 0; start < array.length; start += READ_BATCH_SIZE) {
+            int offset = start;
+            int length = Math.min(READ_BATCH_SIZE, array.length - start);
+            reads.add(() -> readLongs(position + (long) offset * Long.BYTES, array, offset, length));
+        }
+    }
+
+    private void readLongs(long position, long[] target, int offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        in.readFully(position, buffer);
+        buffer.flip();
+        buffer.asLongBuffer().get(target, offset, length);
+    }
+
+    private void readDoubles(long position, double[] target, int offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        in.readFully(position, buffer);
+        buffer.flip();
+        buffer.asDoubleBuffer().get(target, offset, length);
+    }
+}
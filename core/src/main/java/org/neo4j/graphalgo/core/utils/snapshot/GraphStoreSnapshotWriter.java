@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.snapshot;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.AbstractNodeProjections;
+import org.neo4j.graphalgo.AbstractPropertyMappings;
+import org.neo4j.graphalgo.AbstractRelationshipProjections;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeMapping;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.schema.PropertySchema;
+import org.neo4j.graphalgo.api.schema.RelationshipPropertySchema;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.RandomGraphGeneratorConfig;
+import org.neo4j.graphalgo.core.huge.PagedAdjacencyList;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a {@link CSRGraphStore} together with its create configuration into a single file.
+ *
+ * The snapshot starts with the configuration, followed by the node id mapping, label bit sets,
+ * node properties and finally the relationships per type. Compressed adjacency lists are
+ * written page by page without being decoded, so that the {@link GraphStoreSnapshotReader}
+ * can read every page straight into its final location.
+ * All values are written in little endian byte order.
+ */
+public final class GraphStoreSnapshotWriter {
+
+    static final long MAGIC = 0x0050414E_53534447L; // "GDSSNAP\0" in little endian
+    static final int VERSION = 1;
+
+    static final byte STORE_CONFIG = 0;
+    static final byte CYPHER_CONFIG = 1;
+    static final byte RANDOM_CONFIG = 2;
+
+    private static final Set<String> SKIPPED_CONFIG_KEYS = Set.of("creationTime");
+    private static final Set<String> DERIVED_RANDOM_CONFIG_KEYS = Set.of("nodeProjections", "relationshipProjections");
+
+    private final SnapshotOutput out;
+
+    /**
+     * Relationships that have been added to or removed from the graph store are compacted before writing.
+     *
+     * @return the size of the written snapshot in bytes
+     */
+    public static long write(GraphCreateConfig config, GraphStore graphStore, Path path) {
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Graph snapshots are not supported for graph stores of type %s.",
+                graphStore.getClass().getSimpleName()
+            ));
+        }
+        ((CSRGraphStore) graphStore).compactRelationships();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            try (var out = new SnapshotOutput(channel)) {
+                new GraphStoreSnapshotWriter(out).write(config, (CSRGraphStore) graphStore);
+                return out.position();
+            } catch (RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+        } catch (FileAlreadyExistsException e) {
+            throw new IllegalArgumentException(formatWithLocale("The file `%s` already exists.", path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private GraphStoreSnapshotWriter(SnapshotOutput out) {
+        this.out = out;
+    }
+
+    private void write(GraphCreateConfig config, CSRGraphStore graphStore) {
+        out.writeLong(MAGIC);
+        out.writeInt(VERSION);
+
+        writeConfig(config);
+
+        NodeMapping nodes = graphStore.nodes();
+        writeNodes(nodes);
+        writeNodeProperties(graphStore, nodes.nodeCount());
+        writeRelationships(graphStore, nodes.nodeCount());
+    }
+
+    private void writeConfig(GraphCreateConfig config) {
+        byte configType = config.accept(new GraphCreateConfig.Cases<>() {
+            @Override
+            public Byte store(GraphCreateFromStoreConfig storeConfig) {
+                return STORE_CONFIG;
+            }
+
+            @Override
+            public Byte cypher(GraphCreateFromCypherConfig cypherConfig) {
+                return CYPHER_CONFIG;
+            }
+
+            @Override
+            public Byte random(RandomGraphGeneratorConfig randomGraphConfig) {
+                return RANDOM_CONFIG;
+            }
+        });
+        out.writeByte(configType);
+        out.writeString(config.graphName());
+
+        Set<String> derivedKeys = Collections.emptySet();
+        if (config instanceof RandomGraphGeneratorConfig) {
+            var randomConfig = (RandomGraphGeneratorConfig) config;
+            out.writeLong(randomConfig.nodeCount());
+            out.writeLong(randomConfig.averageDegree());
+            derivedKeys = DERIVED_RANDOM_CONFIG_KEYS;
+        }
+
+        Map<String, Object> configMap = new LinkedHashMap<>();
+        for (var entry : configEntries(config).entrySet()) {
+            var key = entry.getKey();
+            if (entry.getValue() != null && !SKIPPED_CONFIG_KEYS.contains(key) && !derivedKeys.contains(key)) {
+                configMap.put(key, toConfigValue(entry.getValue()));
+            }
+        }
+        SnapshotValues.writeMap(out, configMap);
+    }
+
+    private static Map<String, Object> configEntries(GraphCreateConfig config) {
+        // store configs are normalized into immutables builders which don't implement `toMap`
+        if (config instanceof GraphCreateFromStoreConfig) {
+            var storeConfig = (GraphCreateFromStoreConfig) config;
+            Map<String, Object> entries = new LinkedHashMap<>();
+            entries.put(GraphCreateFromStoreConfig.NODE_PROJECTION_KEY, storeConfig.nodeProjections());
+            entries.put(GraphCreateFromStoreConfig.RELATIONSHIP_PROJECTION_KEY, storeConfig.relationshipProjections());
+            entries.put(GraphCreateFromStoreConfig.NODE_PROPERTIES_KEY, storeConfig.nodeProperties());
+            entries.put(GraphCreateFromStoreConfig.RELATIONSHIP_PROPERTIES_KEY, storeConfig.relationshipProperties());
+            entries.put("readConcurrency", storeConfig.readConcurrency());
+            entries.put("validateRelationships", storeConfig.validateRelationships());
+            return entries;
+        }
+        return config.toMap();
+    }
+
+    private static Object toConfigValue(Object value) {
+        if (value instanceof AbstractNodeProjections) {
+            return ((AbstractNodeProjections) value).toObject();
+        } else if (value instanceof AbstractRelationshipProjections) {
+            return ((AbstractRelationshipProjections) value).toObject();
+        } else if (value instanceof AbstractPropertyMappings) {
+            return ((AbstractPropertyMappings) value).toObject(true);
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value;
+    }
+
+    private void writeNodes(NodeMapping nodes) {
+        long nodeCount = nodes.nodeCount();
+        long highestOriginalId = -1L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            highestOriginalId = Math.max(highestOriginalId, nodes.toOriginalNodeId(nodeId));
+        }
+
+        out.writeLong(nodeCount);
+        out.writeLong(highestOriginalId);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            out.writeLong(nodes.toOriginalNodeId(nodeId));
+        }
+
+        if (nodes.containsOnlyAllNodesLabel()) {
+            out.writeInt(0);
+            return;
+        }
+
+        out.writeInt(nodes.availableNodeLabels().size());
+        for (NodeLabel nodeLabel : nodes.availableNodeLabels()) {
+            BitSet bitSet = new BitSet(nodeCount);
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                if (nodes.hasLabel(nodeId, nodeLabel)) {
+                    bitSet.set(nodeId);
+                }
+            }
+            out.writeString(nodeLabel.name);
+            out.writeInt(bitSet.wlen);
+            for (int i = 0; i < bitSet.wlen; i++) {
+                out.writeLong(bitSet.bits[i]);
+            }
+        }
+    }
+
+    private void writeNodeProperties(CSRGraphStore graphStore, long nodeCount) {
+        Map<NodeLabel, Map<String, PropertySchema>> propertySchemas = graphStore.schema().nodeSchema().properties();
+
+        out.writeInt(propertySchemas.size());
+        propertySchemas.forEach((nodeLabel, properties) -> {
+            out.writeString(nodeLabel.name);
+            out.writeInt(properties.size());
+            properties.forEach((propertyKey, propertySchema) -> {
+                writePropertySchema(propertySchema);
+                writeNodePropertyValues(graphStore.nodePropertyValues(nodeLabel, propertyKey), nodeCount);
+            });
+        });
+    }
+
+    private void writeNodePropertyValues(NodeProperties values, long nodeCount) {
+        switch (values.valueType()) {
+            case LONG:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLong(values.longValue(nodeId));
+                }
+                break;
+            case DOUBLE:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDouble(values.doubleValue(nodeId));
+                }
+                break;
+            case LONG_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    long[] value = values.longArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        SnapshotValues.writeLongArray(out, value);
+                    }
+                }
+                break;
+            case FLOAT_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    float[] value = values.floatArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        SnapshotValues.writeFloatArray(out, value);
+                    }
+                }
+                break;
+            case DOUBLE_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    double[] value = values.doubleArrayValue(nodeId);
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        SnapshotValues.writeDoubleArray(out, value);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node properties of type %s cannot be written to a graph snapshot.",
+                    values.valueType().cypherName()
+                ));
+        }
+    }
+
+    private void writeRelationships(CSRGraphStore graphStore, long nodeCount) {
+        Map<RelationshipType, Map<String, RelationshipPropertySchema>> propertySchemas = graphStore
+            .schema()
+            .relationshipSchema()
+            .properties();
+
+        out.writeInt(graphStore.relationshipTypes().size());
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            if (graphStore.hasRelationshipDelta(relationshipType)) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Relationships of type '%s' have been modified while writing the graph snapshot.",
+                    relationshipType.name
+                ));
+            }
+            Relationships.Topology topology = graphStore.relationshipTopology(relationshipType);
+            out.writeString(relationshipType.name);
+            out.writeLong(topology.elementCount());
+            out.writeString(topology.orientation().name());
+            out.writeBoolean(topology.isMultiGraph());
+            writeAdjacencyList(topology.list());
+            writeAdjacencyOffsets(topology.offsets(), nodeCount);
+
+            var properties = propertySchemas.getOrDefault(relationshipType, Collections.emptyMap());
+            out.writeInt(properties.size());
+            properties.forEach((propertyKey, propertySchema) -> {
+                Relationships.Properties propertyValues = graphStore.relationshipPropertyValues(
+                    relationshipType,
+                    propertyKey
+                );
+                writePropertySchema(propertySchema);
+                out.writeString(propertySchema.aggregation().name());
+                out.writeDouble(propertyValues.defaultPropertyValue());
+                writeAdjacencyList(propertyValues.list());
+                writeAdjacencyOffsets(propertyValues.offsets(), nodeCount);
+            });
+        }
+    }
+
+    private void writePropertySchema(PropertySchema propertySchema) {
+        out.writeString(propertySchema.key());
+        out.writeString(propertySchema.valueType().name());
+        out.writeString(propertySchema.state().name());
+        SnapshotValues.write(out, propertySchema.defaultValue().getObject());
+        out.writeBoolean(propertySchema.defaultValue().isUserDefined());
+    }
+
+    private void writeAdjacencyList(AdjacencyList adjacencyList) {
+        if (!(adjacencyList instanceof PagedAdjacencyList)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Adjacency lists of type %s cannot be written to a graph snapshot.",
+                adjacencyList.getClass().getSimpleName()
+            ));
+        }
+        var pagedAdjacencyList = (PagedAdjacencyList) adjacencyList;
+        out.writeString(pagedAdjacencyList.encoding().name());
+        out.writeInt(pagedAdjacencyList.pageCount());
+        for (int pageIndex = 0; pageIndex < pagedAdjacencyList.pageCount(); pageIndex++) {
+            var page = pagedAdjacencyList.page(pageIndex);
+            out.writeInt(page.remaining());
+            out.writeBytes(page);
+        }
+    }
+
+    private void writeAdjacencyOffsets(AdjacencyOffsets offsets, long nodeCount) {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            out.writeLong(offsets.get(nodeId));
+        }
+    }
+}
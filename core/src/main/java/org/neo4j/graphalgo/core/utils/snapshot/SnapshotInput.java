@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.snapshot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Sequential, buffered reader for little endian primitives.
+ * Large blocks can be skipped and read later on using positional reads,
+ * which are safe to be issued from multiple threads concurrently.
+ */
+final class SnapshotInput {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final long size;
+    private final ByteBuffer buffer;
+    private long channelPosition;
+
+    SnapshotInput(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.limit(0);
+        this.channelPosition = 0L;
+    }
+
+    byte readByte() {
+        ensureAvailable(Byte.BYTES);
+        return buffer.get();
+    }
+
+    boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    int readInt() {
+        ensureAvailable(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    long readLong() {
+        ensureAvailable(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    float readFloat() {
+        ensureAvailable(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+    double readDouble() {
+        ensureAvailable(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    String readString() {
+        byte[] bytes = new byte[readLength(Byte.BYTES)];
+        long position = skip(bytes.length);
+        readFully(position, ByteBuffer.wrap(bytes));
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of elements that follow, each taking at least {@code minBytesPerElement} bytes.
+     * The number is validated against the remaining size of the snapshot before anything is allocated for it.
+     */
+    int readLength(int minBytesPerElement) {
+        return (int) checkLength(readInt(), minBytesPerElement);
+    }
+
+    /**
+     * Like {@link #readLength(int)}, for element counts that may exceed the range of an int.
+     */
+    long readLongLength(int minBytesPerElement) {
+        return checkLength(readLong(), minBytesPerElement);
+    }
+
+    /**
+     * Verifies that {@code length} elements of at least {@code minBytesPerElement} bytes
+     * each fit into the remaining size of the snapshot.
+     */
+    long checkLength(long length, int minBytesPerElement) {
+        if (length < 0 || length > remaining() / Math.max(1, minBytesPerElement)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Corrupt graph snapshot: invalid length %d at position %d.",
+                length,
+                position()
+            ));
+        }
+        return length;
+    }
+
+    long remaining() {
+        return size - position();
+    }
+
+    /**
+     * Skips over the next {@code bytes} bytes.
+     *
+     * @return the position of the first skipped byte, to be used with {@link #readFully(long, ByteBuffer)}
+     */
+    long skip(long bytes) {
+        long start = position();
+        if (bytes < 0 || bytes > size - start) {
+            throw unexpectedEnd();
+        }
+        if (bytes <= buffer.remaining()) {
+            buffer.position(buffer.position() + (int) bytes);
+        } else {
+            channelPosition = start + bytes;
+            buffer.limit(0);
+        }
+        return start;
+    }
+
+    /**
+     * Fills the remaining bytes of {@code target} with the content starting at {@code position}.
+     * Does not change the position of the sequential reads.
+     */
+    void readFully(long position, ByteBuffer target) {
+        try {
+            while (target.hasRemaining()) {
+                int read = channel.read(target, position);
+                if (read < 0) {
+                    throw unexpectedEnd();
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long position() {
+        return channelPosition - buffer.remaining();
+    }
+
+    private void ensureAvailable(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                int read = channel.read(buffer, channelPosition);
+                if (read < 0) {
+                    throw unexpectedEnd();
+                }
+                channelPosition += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+    }
+
+    private static UncheckedIOException unexpectedEnd() {
+        return new UncheckedIOException(new EOFException("Unexpected end of graph snapshot."));
+    }
+}
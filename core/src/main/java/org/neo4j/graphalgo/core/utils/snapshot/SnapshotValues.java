@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.snapshot;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Tagged encoding of the values that occur in configurations and default values.
+ */
+final class SnapshotValues {
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte FLOAT = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte STRING = 6;
+    private static final byte LONG_ARRAY = 7;
+    private static final byte FLOAT_ARRAY = 8;
+    private static final byte DOUBLE_ARRAY = 9;
+    private static final byte LIST = 10;
+    private static final byte MAP = 11;
+
+    static void write(SnapshotOutput out, @Nullable Object value) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeString((String) value);
+        } else if (value instanceof long[]) {
+            out.writeByte(LONG_ARRAY);
+            writeLongArray(out, (long[]) value);
+        } else if (value instanceof float[]) {
+            out.writeByte(FLOAT_ARRAY);
+            writeFloatArray(out, (float[]) value);
+        } else if (value instanceof double[]) {
+            out.writeByte(DOUBLE_ARRAY);
+            writeDoubleArray(out, (double[]) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            list.forEach(element -> write(out, element));
+        } else if (value instanceof Map) {
+            out.writeByte(MAP);
+            writeMap(out, (Map<?, ?>) value);
+        } else {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Values of type %s cannot be written to a graph snapshot.",
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    static @Nullable Object read(SnapshotInput in) {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return in.readString();
+            case LONG_ARRAY:
+                return readLongArray(in);
+            case FLOAT_ARRAY:
+                return readFloatArray(in);
+            case DOUBLE_ARRAY:
+                return readDoubleArray(in);
+            case LIST:
+                int size = in.readLength(Byte.BYTES);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(read(in));
+                }
+                return list;
+            case MAP:
+                return readMap(in);
+            default:
+                throw new IllegalStateException(formatWithLocale("Unknown value type %d in graph snapshot.", type));
+        }
+    }
+
+    static void writeMap(SnapshotOutput out, Map<?, ?> map) {
+        out.writeInt(map.size());
+        map.forEach((key, element) -> {
+            out.writeString(String.valueOf(key));
+            write(out, element);
+        });
+    }
+
+    static Map<String, Object> readMap(SnapshotInput in) {
+        // every entry holds at least the length of its key and the type of its value
+        int size = in.readLength(Integer.BYTES + Byte.BYTES);
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = in.readString();
+            map.put(key, read(in));
+        }
+        return map;
+    }
+
+    static void writeLongArray(SnapshotOutput out, long[] values) {
+        out.writeInt(values.length);
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+
+    static void writeFloatArray(SnapshotOutput out, float[] values) {
+        out.writeInt(values.length);
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    static void writeDoubleArray(SnapshotOutput out, double[] values) {
+        out.writeInt(values.length);
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+
+    static long[] readLongArray(SnapshotInput in) {
+        return readLongArray(in, in.readLength(Long.BYTES));
+    }
+
+    static long[] readLongArray(SnapshotInput in, int length) {
+        long[] values = new long[length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+        return values;
+    }
+
+    static float[] readFloatArray(SnapshotInput in) {
+        return readFloatArray(in, in.readLength(Float.BYTES));
+    }
+
+    static float[] readFloatArray(SnapshotInput in, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    static double[] readDoubleArray(SnapshotInput in) {
+        return readDoubleArray(in, in.readLength(Double.BYTES));
+    }
+
+    static double[] readDoubleArray(SnapshotInput in, int length) {
+        double[] values = new double[length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private SnapshotValues() {}
+}
@@ -25,6 +25,7 @@ import org.neo4j.util.FeatureToggles;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public enum GdsFeatureToggles {
 
@@ -33,7 +34,10 @@ public enum GdsFeatureToggles {
     USE_KERNEL_TRACKER(false),
     USE_PROPERTY_VALUE_INDEX(false),
     USE_PARALLEL_PROPERTY_VALUE_INDEX(false),
-    USE_BIT_ID_MAP(false);
+    USE_BIT_ID_MAP(false),
+    USE_BLOCK_PACKED_ADJACENCY(false),
+    USE_MAPPED_ADJACENCY(false),
+    USE_FAIR_SHARE_POOL(false);
 
     public boolean isEnabled() {
         return current.get();
@@ -82,4 +86,13 @@ public enum GdsFeatureToggles {
     );
     public static final AtomicInteger MAX_ARRAY_LENGTH_SHIFT = new AtomicInteger(MAX_ARRAY_LENGTH_SHIFT_FLAG);
 
+    // Directory for the files that back memory-mapped adjacency lists, see USE_MAPPED_ADJACENCY.
+    public static final String ADJACENCY_SPILL_DIRECTORY_DEFAULT_SETTING = System.getProperty("java.io.tmpdir");
+    private static final String ADJACENCY_SPILL_DIRECTORY_FLAG = FeatureToggles.getString(
+        GdsFeatureToggles.class,
+        "adjacencySpillDirectory",
+        ADJACENCY_SPILL_DIRECTORY_DEFAULT_SETTING
+    );
+    public static final AtomicReference<String> ADJACENCY_SPILL_DIRECTORY = new AtomicReference<>(ADJACENCY_SPILL_DIRECTORY_FLAG);
+
 }
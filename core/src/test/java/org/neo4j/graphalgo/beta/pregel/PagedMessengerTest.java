@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class PagedMessengerTest {
+
+    @Test
+    void deliversMessagesFromMultipleSenders() {
+        int nodeCount = 10_000;
+        int senderCount = 4;
+
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(3)
+            .concurrency(senderCount)
+            .build();
+
+        var messenger = PagedMessenger.of(nodeCount, config, Pools.DEFAULT, AllocationTracker.empty());
+        var receivers = HugeAtomicBitSet.create(nodeCount, AllocationTracker.empty());
+
+        List<Messenger.Sender> senders = new ArrayList<>();
+        for (int i = 0; i < senderCount; i++) {
+            senders.add(messenger.sender());
+        }
+
+        // the send buffers are reused in each iteration
+        for (int iteration = 1; iteration < 3; iteration++) {
+            // node i receives i % 10 messages, each with value i
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                for (int j = 0; j < nodeId % 10; j++) {
+                    senders.get((nodeId + j) % senderCount).sendTo(nodeId, nodeId * iteration);
+                }
+            }
+
+            messenger.initIteration(iteration, receivers);
+
+            var iterator = messenger.messageIterator();
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                messenger.initMessageIterator(iterator, nodeId);
+                int messageCount = 0;
+                while (iterator.hasNext()) {
+                    assertEquals(nodeId * iteration, iterator.nextDouble());
+                    messageCount++;
+                }
+                assertEquals(nodeId % 10, messageCount);
+            }
+        }
+
+        messenger.release();
+    }
+
+    @Test
+    void clearedIteratorHasNoMessages() {
+        var config = ImmutablePregelConfig.builder().maxIterations(2).build();
+        var messenger = PagedMessenger.of(2, config, Pools.DEFAULT, AllocationTracker.empty());
+
+        messenger.sender().sendTo(1, 42);
+        messenger.initIteration(1, HugeAtomicBitSet.create(2, AllocationTracker.empty()));
+
+        var iterator = messenger.messageIterator();
+        messenger.initMessageIterator(iterator, 1);
+        iterator.clear();
+
+        assertFalse(iterator.hasNext());
+    }
+}
@@ -23,11 +23,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.extension.GdlExtension;
@@ -35,12 +38,15 @@ import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_ARRAY_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.LONG_ARRAY_KEY;
@@ -77,11 +83,13 @@ class PregelTest {
         assertArrayEquals(expected, nodeValues.doubleProperties(KEY).toArray());
     }
 
-    @Test
-    void sendMessageToSpecificTarget() {
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendMessageToSpecificTarget(boolean usePagedMessageStore) {
         var config = ImmutablePregelConfig.builder()
             .maxIterations(2)
             .concurrency(1)
+            .usePagedMessageStore(usePagedMessageStore)
             .build();
 
         var pregelJob = Pregel.create(
@@ -135,15 +143,15 @@ class PregelTest {
 
     static Stream<Arguments> estimations() {
         return Stream.of(
-            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), 4_884_096L),
-            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), 4_884_816L),
+            Arguments.of(1, new PregelSchema.Builder().add("key", ValueType.LONG).build(), 4_884_112L),
+            Arguments.of(10, new PregelSchema.Builder().add("key", ValueType.LONG).build(), 4_884_976L),
             Arguments.of(1, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
                     .add("key2", ValueType.DOUBLE)
                     .add("key3", ValueType.LONG_ARRAY)
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_168L
+                6_884_184L
             ),
             Arguments.of(10, new PregelSchema.Builder()
                     .add("key1", ValueType.LONG)
@@ -151,11 +159,46 @@ class PregelTest {
                     .add("key3", ValueType.LONG_ARRAY)
                     .add("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_888L
+                6_885_048L
             )
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("messengerEstimations")
+    void memoryEstimationForMessengers(
+        int concurrency,
+        PregelConfig config,
+        PregelComputation<PregelConfig> computation,
+        long expectedBytes
+    ) {
+        var dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(10_000)
+            .maxRelCount(100_000)
+            .build();
+
+        assertEquals(
+            MemoryRange.of(expectedBytes).max,
+            Pregel.memoryEstimation(computation, config).estimate(dimensions, concurrency).memoryUsage().max
+        );
+    }
+
+    static Stream<Arguments> messengerEstimations() {
+        var queueConfig = ImmutablePregelConfig.builder().maxIterations(10).build();
+        var pagedConfig = ImmutablePregelConfig.builder().maxIterations(10).usePagedMessageStore(true).build();
+        var asyncConfig = ImmutablePregelConfig.builder().maxIterations(10).isAsynchronous(true).build();
+
+        return Stream.of(
+            Arguments.of(1, queueConfig, new TestPregelComputation(), 4_884_112L),
+            Arguments.of(1, pagedConfig, new TestPregelComputation(), 2_800_640L),
+            Arguments.of(10, pagedConfig, new TestPregelComputation(), 3_591_008L),
+            Arguments.of(1, queueConfig, new TestCombinerComputation(), 244_208L),
+            Arguments.of(1, asyncConfig, new TestCombinerComputation(), 168_080L),
+            // the combiner takes precedence over the paged message store
+            Arguments.of(1, pagedConfig, new TestCombinerComputation(), 244_208L)
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("estimations")
     void memoryEstimation(int concurrency, PregelSchema pregelSchema, long expectedBytes) {
@@ -186,6 +229,35 @@ class PregelTest {
                 ImmutablePregelConfig.builder().maxIterations(2).relationshipWeightProperty("prop").build(),
                 new TestWeightComputation(),
                 new double[]{0.0, 2.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).usePagedMessageStore(true).build(),
+                new TestPregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).usePagedMessageStore(true).build(),
+                new TestPregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder()
+                    .maxIterations(2)
+                    .relationshipWeightProperty("prop")
+                    .usePagedMessageStore(true)
+                    .build(),
+                new TestWeightComputation(),
+                new double[]{0.0, 2.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).build(),
+                new TestCombinerComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).build(),
+                new TestCombinerComputation(),
+                new double[]{0.0, 1.0, 1.0}
             )
         );
     }
@@ -246,6 +318,74 @@ class PregelTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void asynchronousModeReceivesMessagesWithinSuperstep(int concurrency) {
+        // a path spanning multiple batches of active nodes
+        int nodeCount = 10_000;
+        var nodesBuilder = GraphFactory.initNodesBuilder().maxOriginalId(nodeCount).build();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            nodesBuilder.addNode(nodeId);
+        }
+        var idMap = nodesBuilder.build();
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .orientation(Orientation.UNDIRECTED)
+            .build();
+        for (long nodeId = 0; nodeId < nodeCount - 1; nodeId++) {
+            relationshipsBuilder.add(nodeId, nodeId + 1);
+        }
+        var path = GraphFactory.create(idMap, relationshipsBuilder.build(), AllocationTracker.empty());
+
+        var syncResult = Pregel.create(
+            path,
+            ImmutablePregelConfig.builder().maxIterations(10).concurrency(concurrency).build(),
+            new TestMinPropagation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        // the minimum travels one hop per superstep
+        assertFalse(syncResult.didConverge());
+
+        var asyncResult = Pregel.create(
+            path,
+            ImmutablePregelConfig.builder().maxIterations(10).concurrency(concurrency).isAsynchronous(true).build(),
+            new TestMinPropagation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        ).run();
+
+        assertTrue(asyncResult.didConverge());
+        var values = asyncResult.nodeValues().doubleProperties(KEY);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertEquals(0.0, values.get(nodeId));
+        }
+    }
+
+    public static class TestMinPropagation extends TestPregelComputation {
+
+        @Override
+        public void init(PregelContext.InitContext<PregelConfig> context) {
+            context.setNodeValue(KEY, (double) context.nodeId());
+        }
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            double current = context.doubleNodeValue(KEY);
+            double min = current;
+            for (var iterator = messages.iterator(); iterator.hasNext(); ) {
+                min = Math.min(min, iterator.nextDouble());
+            }
+
+            if (context.isInitialSuperstep() || min < current) {
+                context.setNodeValue(KEY, min);
+                context.sendToNeighbors(min);
+            }
+            context.voteToHalt();
+        }
+    }
+
     public static class TestWeightComputation extends TestPregelComputation {
 
         @Override
@@ -254,6 +394,118 @@ class PregelTest {
         }
     }
 
+    public static class TestCombinerComputation extends TestPregelComputation {
+
+        @Override
+        public Optional<Combiner> combiner() {
+            return Optional.of(new Combiner.Sum());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("combiners")
+    void combinesMessages(Combiner combiner, double expected) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestSendTo() {
+                @Override
+                public Optional<Combiner> combiner() {
+                    return Optional.of(combiner);
+                }
+            },
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertEquals(expected, nodeValues.doubleProperties(KEY).get(0L));
+    }
+
+    static Stream<Arguments> combiners() {
+        return Stream.of(
+            Arguments.of(new Combiner.Sum(), 2.0),
+            Arguments.of(new Combiner.Min(), 1.0),
+            Arguments.of(new Combiner.Max(), 1.0)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("identityMessages")
+    void deliversMessagesEqualToTheIdentity(Combiner combiner, boolean isAsynchronous) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .isAsynchronous(isAsynchronous)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestSendIdentity(combiner),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        assertEquals(1L, nodeValues.longProperties(TestSendIdentity.COUNT_KEY).get(0L));
+        assertEquals(combiner.identity(), nodeValues.doubleProperties(TestSendIdentity.MESSAGE_KEY).get(0L));
+    }
+
+    static Stream<Arguments> identityMessages() {
+        return Stream.of(true, false).flatMap(isAsynchronous -> Stream.of(
+            Arguments.of(new Combiner.Sum(), isAsynchronous),
+            Arguments.of(new Combiner.Min(), isAsynchronous),
+            Arguments.of(new Combiner.Max(), isAsynchronous)
+        ));
+    }
+
+    static class TestSendIdentity implements PregelComputation<PregelConfig> {
+
+        static final String COUNT_KEY = "count";
+        static final String MESSAGE_KEY = "message";
+
+        private final Combiner combiner;
+
+        TestSendIdentity(Combiner combiner) {
+            this.combiner = combiner;
+        }
+
+        @Override
+        public PregelSchema schema() {
+            return new PregelSchema.Builder()
+                .add(COUNT_KEY, ValueType.LONG)
+                .add(MESSAGE_KEY, ValueType.DOUBLE)
+                .build();
+        }
+
+        @Override
+        public Optional<Combiner> combiner() {
+            return Optional.of(combiner);
+        }
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.nodeId() != 0) {
+                context.sendTo(0L, combiner.identity());
+                context.voteToHalt();
+            } else if (!context.isInitialSuperstep()) {
+                long count = 0;
+                for (var iterator = messages.iterator(); iterator.hasNext(); ) {
+                    context.setNodeValue(MESSAGE_KEY, iterator.nextDouble());
+                    count++;
+                }
+                context.setNodeValue(COUNT_KEY, count);
+                context.voteToHalt();
+            }
+        }
+    }
+
     public static class TestSendTo implements PregelComputation<PregelConfig> {
 
         static final String KEY = "value";
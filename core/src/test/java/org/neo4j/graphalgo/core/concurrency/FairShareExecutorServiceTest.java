@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FairShareExecutorServiceTest {
+
+    private FairShareExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRunAllTasks() throws Exception {
+        executor = new FairShareExecutorService(4, 10);
+        var counter = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(executor.submit(counter::incrementAndGet));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(100, counter.get());
+        assertTrue(executor.jobStatistics().isEmpty());
+    }
+
+    @Test
+    void shouldRunTasksSubmittedFromWithinThePool() throws Exception {
+        executor = new FairShareExecutorService(1, 1);
+
+        var nested = executor.submit(() -> executor.submit(() -> 42).get());
+
+        assertEquals(42, nested.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldGiveFreeSlotsToTheJobWithFewestRunningTasks() throws Exception {
+        executor = new FairShareExecutorService(1, 100);
+        var blocker = new CountDownLatch(1);
+        var order = new ConcurrentLinkedQueue<String>();
+
+        // occupies the only slot, so that the following tasks are queued
+        var blocking = executor.submit(() -> {
+            blocker.await();
+            return null;
+        });
+        for (int i = 0; i < 3; i++) {
+            executor.submit(() -> order.add("flood"));
+        }
+
+        var otherJob = new Thread(() -> executor.submit(() -> order.add("other")), "other-job");
+        otherJob.start();
+        otherJob.join();
+
+        var statistics = executor.jobStatistics();
+        assertEquals(2, statistics.size());
+        var floodingJob = statistics.get(0);
+        assertEquals(Thread.currentThread().getName(), floodingJob.jobName());
+        assertEquals(3, floodingJob.queuedTasks());
+        assertEquals(1, floodingJob.runningTasks());
+        assertEquals("other-job", statistics.get(1).jobName());
+        assertEquals(1, statistics.get(1).queuedTasks());
+        assertEquals(0, statistics.get(1).runningTasks());
+
+        blocker.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(List.of("other", "flood", "flood", "flood"), new ArrayList<>(order));
+    }
+
+    @Test
+    void shouldSeparateJobsOfThreadsWithTheSameName() throws Exception {
+        executor = new FairShareExecutorService(1, 100);
+        var blocker = new CountDownLatch(1);
+
+        var blocking = executor.submit(() -> {
+            blocker.await();
+            return null;
+        });
+
+        var threadName = Thread.currentThread().getName();
+        var otherJob = new Thread(() -> executor.submit(() -> {}), threadName);
+        otherJob.start();
+        otherJob.join();
+
+        var statistics = executor.jobStatistics();
+        assertEquals(2, statistics.size());
+        assertEquals(threadName, statistics.get(0).jobName());
+        assertEquals(1, statistics.get(0).runningTasks());
+        assertEquals(threadName, statistics.get(1).jobName());
+        assertEquals(1, statistics.get(1).queuedTasks());
+
+        blocker.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldBlockSubmittingThreadWhenQueueIsFull() throws Exception {
+        executor = new FairShareExecutorService(1, 1);
+        var blocker = new CountDownLatch(1);
+        var submitted = new CountDownLatch(2);
+
+        var submitter = new Thread(() -> {
+            executor.submit(() -> {
+                blocker.await();
+                return null;
+            });
+            executor.submit(() -> {});
+            submitted.countDown();
+            // the queue of this job is full
+            executor.submit(() -> {});
+            submitted.countDown();
+        });
+        submitter.start();
+
+        assertFalse(submitted.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1L, submitted.getCount());
+
+        blocker.countDown();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+        submitter.join();
+    }
+
+    @Test
+    void shouldRejectTasksAfterShutdown() {
+        executor = new FairShareExecutorService(1, 1);
+        executor.shutdown();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> {}));
+        assertTrue(executor.isShutdown());
+    }
+}
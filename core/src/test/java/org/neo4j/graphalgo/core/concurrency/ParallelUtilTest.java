@@ -28,6 +28,7 @@ import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.graphalgo.api.BatchNodeIterable;
 import org.neo4j.graphalgo.core.loading.HugeParallelGraphImporter;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.AbstractCollection;
 import java.util.Arrays;
@@ -43,6 +44,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.locks.LockSupport;
@@ -134,6 +136,23 @@ final class ParallelUtilTest {
         });
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4})
+    void shouldVisitEachPartitionOnce(int concurrency) {
+        var partitions = PartitionUtils.rangePartition(concurrency, 10_000, 100);
+        var visits = new AtomicLongArray(partitions.size());
+
+        ParallelUtil.parallelForEachPartition(
+            partitions,
+            concurrency,
+            partition -> visits.incrementAndGet((int) (partition.startNode() / 100))
+        );
+
+        for (int i = 0; i < partitions.size(); i++) {
+            assertEquals(1L, visits.get(i));
+        }
+    }
+
     @Test
     void shouldTakeBaseStreams() {
         double[] data = {1.0, 2.5, 3.14};
@@ -21,10 +21,12 @@ package org.neo4j.graphalgo.core.concurrency;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.GdsEdition;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PoolsTest {
 
@@ -47,5 +49,17 @@ class PoolsTest {
         assertEquals(2 * availableProcessors, defaultPool.getMaximumPoolSize());
     }
 
-
+    @Test
+    void shouldGetFairSharePool() {
+        GdsEdition.instance().setToCommunityEdition();
+        GdsFeatureToggles.USE_FAIR_SHARE_POOL.enableAndRun(() -> {
+            var defaultPool = Pools.createDefaultPool();
+            try {
+                assertTrue(defaultPool instanceof FairShareExecutorService);
+                assertEquals(4, ((FairShareExecutorService) defaultPool).parallelism());
+            } finally {
+                defaultPool.shutdown();
+            }
+        });
+    }
 }
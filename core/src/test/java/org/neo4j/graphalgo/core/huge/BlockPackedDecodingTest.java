@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.core.loading.BlockPackedEncoding;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.CHUNK_SIZE;
+
+class BlockPackedDecodingTest {
+
+    @Test
+    void shouldUseTheSameBlockSizeAsTheReader() {
+        assertEquals(CHUNK_SIZE, BlockPackedEncoding.BLOCK_SIZE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 9, 31, 32, 33, 56, 57, 58, 63})
+    void shouldDecodeAllBitWidths(int bitWidth) {
+        var random = new Random(42L + bitWidth);
+        long maxDelta = bitWidth == 0 ? 0L : (1L << bitWidth) - 1L;
+        for (int length : new int[]{1, 2, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 3 * CHUNK_SIZE + 17}) {
+            long[] deltas = new long[length];
+            deltas[0] = 1337L;
+            for (int i = 1; i < length; i++) {
+                deltas[i] = bitWidth == 0 ? 0L : (random.nextLong() & maxDelta);
+            }
+            // make sure that every block needs the full bit width
+            deltas[length - 1] = maxDelta;
+
+            assertArrayEquals(prefixSum(deltas), encodeAndDecode(deltas, 0));
+            assertArrayEquals(prefixSum(deltas), encodeAndDecode(deltas, 1024));
+        }
+    }
+
+    @Test
+    void shouldDecodeMixedBitWidths() {
+        var random = new Random(42L);
+        long[] deltas = new long[10 * CHUNK_SIZE];
+        for (int i = 0; i < deltas.length; i++) {
+            int bitWidth = random.nextInt(40);
+            deltas[i] = random.nextLong() & ((1L << bitWidth) - 1L);
+        }
+
+        assertArrayEquals(prefixSum(deltas), encodeAndDecode(deltas, 0));
+        assertArrayEquals(prefixSum(deltas), encodeAndDecode(deltas, 1024));
+    }
+
+    private static long[] prefixSum(long[] deltas) {
+        long[] values = deltas.clone();
+        Arrays.parallelPrefix(values, Long::sum);
+        return values;
+    }
+
+    /**
+     * Decodes the values in chunks, the same way the {@link AdjacencyDecompressingReader} does.
+     * The encoded values are followed by {@code trailingBytes} to be able to test
+     * decoding up to the end of a page as well as in the middle of a page.
+     */
+    private static long[] encodeAndDecode(long[] deltas, int trailingBytes) {
+        byte[] buffer = new byte[BlockPackedEncoding.maxEncodedSize(deltas.length)];
+        int encodedBytes = BlockPackedEncoding.encode(deltas, deltas.length, buffer, 0);
+        byte[] page = Arrays.copyOf(buffer, encodedBytes + trailingBytes);
+
+        long[] values = new long[deltas.length];
+        long[] block = new long[CHUNK_SIZE];
+
+        int length = Math.min(deltas.length, CHUNK_SIZE);
+        int offset = BlockPackedDecoding.decodeFirstDeltaBlock(page, 0, length, block);
+        System.arraycopy(block, 0, values, 0, length);
+
+        for (int decoded = length; decoded < deltas.length; decoded += length) {
+            length = Math.min(deltas.length - decoded, CHUNK_SIZE);
+            offset = BlockPackedDecoding.decodeDeltaBlock(block[CHUNK_SIZE - 1], page, offset, length, block);
+            System.arraycopy(block, 0, values, decoded, length);
+        }
+
+        assertEquals(encodedBytes, offset);
+        return values;
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+@GdlExtension
+class RelationshipsDeltaTest {
+
+    private static final RelationshipType TYPE = RelationshipType.of("T");
+
+    @GdlGraph
+    private static final String GRAPH =
+        "CREATE" +
+        "  (a), (b), (c), (d)" +
+        ", (a)-[:T {w: 1.0}]->(b)" +
+        ", (a)-[:T {w: 2.0}]->(c)" +
+        ", (b)-[:T {w: 3.0}]->(c)" +
+        ", (c)-[:T {w: 4.0}]->(a)";
+
+    @GdlGraph(graphNamePrefix = "undirected", orientation = Orientation.UNDIRECTED)
+    private static final String UNDIRECTED_GRAPH =
+        "CREATE" +
+        "  (a), (b), (c)" +
+        ", (a)-[:T {w: 1.0}]->(b)";
+
+    @GdlGraph(graphNamePrefix = "aggregated", aggregation = Aggregation.SINGLE)
+    private static final String AGGREGATED_GRAPH =
+        "CREATE" +
+        "  (a), (b)" +
+        ", (a)-[:T {w: 1.0}]->(b)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Inject
+    private GraphStore undirectedGraphStore;
+
+    @Inject
+    private IdFunction undirectedIdFunction;
+
+    @Inject
+    private GraphStore aggregatedGraphStore;
+
+    @Inject
+    private IdFunction aggregatedIdFunction;
+
+    @Test
+    void shouldMergeAddedAndRemovedRelationships() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.of("w"));
+
+        store.addRelationship(TYPE, id(graph, "a"), id(graph, "d"), Map.of("w", 5.0));
+        store.addRelationship(TYPE, id(graph, "d"), id(graph, "b"), Map.of("w", 7.0));
+        assertEquals(1, store.removeRelationship(TYPE, id(graph, "a"), id(graph, "c")));
+        assertEquals(0, store.removeRelationship(TYPE, id(graph, "b"), id(graph, "a")));
+
+        var expected = fromGdl(
+            "  (a)-[{w: 1.0}]->(b)" +
+            ", (a)-[{w: 5.0}]->(d)" +
+            ", (b)-[{w: 3.0}]->(c)" +
+            ", (c)-[{w: 4.0}]->(a)" +
+            ", (d)-[{w: 7.0}]->(b)"
+        );
+
+        // graphs that have been created before see the changes as well
+        assertGraphEquals(expected, graph);
+        assertGraphEquals(expected, graphStore.getGraph(List.of(TYPE), Optional.of("w")));
+
+        assertEquals(5, graph.relationshipCount());
+        assertEquals(5, graphStore.relationshipCount());
+        assertEquals(2, graph.degree(id(graph, "a")));
+        assertEquals(5.0, graph.relationshipProperty(id(graph, "a"), id(graph, "d")));
+        assertThat(graph.exists(id(graph, "a"), id(graph, "c"))).isFalse();
+        assertThat(graph.streamRelationships(id(graph, "a"), 0.0).mapToLong(cursor -> cursor.targetId()))
+            .containsExactly(id(graph, "b"), id(graph, "d"));
+    }
+
+    @Test
+    void shouldCompactChanges() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.of("w"));
+
+        store.addRelationship(TYPE, id(graph, "a"), id(graph, "a"), Map.of("w", 5.0));
+        store.addRelationship(TYPE, id(graph, "a"), id(graph, "b"), Map.of("w", 6.0));
+        store.removeRelationship(TYPE, id(graph, "b"), id(graph, "c"));
+        Graph beforeCompaction = graphStore.getGraph(List.of(TYPE), Optional.of("w"));
+
+        store.compactRelationshipsInBackground(Pools.DEFAULT).join();
+
+        var expected = fromGdl(
+            "  (a)-[{w: 5.0}]->(a)" +
+            ", (a)-[{w: 1.0}]->(b)" +
+            ", (a)-[{w: 6.0}]->(b)" +
+            ", (a)-[{w: 2.0}]->(c)" +
+            ", (b)" +
+            ", (c)-[{w: 4.0}]->(a)" +
+            ", (d)"
+        );
+
+        Graph compacted = graphStore.getGraph(List.of(TYPE), Optional.of("w"));
+        assertGraphEquals(expected, compacted);
+        assertGraphEquals(expected, beforeCompaction);
+        assertEquals(5, compacted.relationshipCount());
+        assertEquals(5, graphStore.relationshipCount());
+        // compacted relationships can be intersected again
+        compacted.intersection(Long.MAX_VALUE);
+
+        // changes after the compaction are not visible to graphs that have been created before
+        store.removeRelationship(TYPE, id(graph, "a"), id(graph, "b"));
+        assertEquals(5, beforeCompaction.relationshipCount());
+        assertEquals(3, graphStore.getGraph(List.of(TYPE), Optional.of("w")).relationshipCount());
+    }
+
+    @Test
+    void shouldMirrorChangesOfUndirectedRelationships() {
+        var store = (CSRGraphStore) undirectedGraphStore;
+        Graph graph = store.getGraph(List.of(TYPE), Optional.of("w"));
+        long a = graph.toMappedNodeId(undirectedIdFunction.of("a"));
+        long b = graph.toMappedNodeId(undirectedIdFunction.of("b"));
+        long c = graph.toMappedNodeId(undirectedIdFunction.of("c"));
+
+        store.addRelationship(TYPE, b, c, Map.of("w", 2.0));
+        assertEquals(2, store.removeRelationship(TYPE, b, a));
+
+        assertGraphEquals(fromGdl("(a), (b)-[{w: 2.0}]->(c)", Orientation.UNDIRECTED), graph);
+        assertEquals(2, graph.relationshipCount());
+    }
+
+    @Test
+    void shouldReplaceRelationshipsWithoutParallelRelationships() {
+        var store = (CSRGraphStore) aggregatedGraphStore;
+        Graph graph = store.getGraph(List.of(TYPE), Optional.of("w"));
+        long a = graph.toMappedNodeId(aggregatedIdFunction.of("a"));
+        long b = graph.toMappedNodeId(aggregatedIdFunction.of("b"));
+
+        store.addRelationship(TYPE, a, b, Map.of("w", 2.0));
+        store.addRelationship(TYPE, a, b, Map.of("w", 3.0));
+
+        assertGraphEquals(fromGdl("(a)-[{w: 3.0}]->(b)"), graph);
+        assertEquals(1, graph.relationshipCount());
+    }
+
+    @Test
+    void shouldUseDefaultPropertyForAddedRelationships() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.empty());
+        store.addRelationship(TYPE, id(graph, "b"), id(graph, "a"));
+
+        // relationships without property values use the default value
+        assertThat(graphStore.getGraph(List.of(TYPE), Optional.of("w")).relationshipProperty(
+            id(graph, "b"),
+            id(graph, "a")
+        )).isNaN();
+    }
+
+    @Test
+    void shouldIntersectUncompactedChanges() {
+        var store = (CSRGraphStore) undirectedGraphStore;
+        Graph graph = store.getGraph(List.of(TYPE), Optional.empty());
+        long a = graph.toMappedNodeId(undirectedIdFunction.of("a"));
+        long b = graph.toMappedNodeId(undirectedIdFunction.of("b"));
+        long c = graph.toMappedNodeId(undirectedIdFunction.of("c"));
+
+        List<long[]> triangles = new ArrayList<>();
+        graph.intersection(Long.MAX_VALUE).intersectAll(a, (x, y, z) -> triangles.add(new long[]{x, y, z}));
+        assertThat(triangles).isEmpty();
+
+        store.addRelationship(TYPE, b, c);
+        store.addRelationship(TYPE, c, a);
+
+        graph.intersection(Long.MAX_VALUE).intersectAll(a, (x, y, z) -> triangles.add(new long[]{x, y, z}));
+        assertThat(triangles).containsExactly(new long[]{a, b, c});
+
+        // the compacted relationships yield the same triangle
+        store.compactRelationships();
+        triangles.clear();
+        store.getGraph(List.of(TYPE), Optional.empty())
+            .intersection(Long.MAX_VALUE)
+            .intersectAll(a, (x, y, z) -> triangles.add(new long[]{x, y, z}));
+        assertThat(triangles).containsExactly(new long[]{a, b, c});
+    }
+
+    @Test
+    void shouldLayerChangesOnFrozenDelta() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.empty());
+        long a = id(graph, "a");
+        long b = id(graph, "b");
+        long c = id(graph, "c");
+        long d = id(graph, "d");
+
+        var frozen = new RelationshipsDelta(
+            store.relationshipTopology(TYPE),
+            List.of(),
+            graph.nodeCount(),
+            AllocationTracker.empty()
+        );
+        frozen.add(a, d, new double[0]);
+
+        var changes = frozen.freeze();
+        assertEquals(1, changes.remove(a, b));
+        assertEquals(1, changes.remove(a, d));
+        changes.add(a, b, new double[0]);
+
+        var nodeDelta = changes.get(a);
+        assertThat(nodeDelta.insertedTargets).containsExactly(b);
+        assertThat(nodeDelta.removedTargets).containsExactly(b, d);
+        assertEquals(2, nodeDelta.degree(2));
+        assertEquals(0, changes.relationshipCountChange());
+
+        // the frozen delta does not include later changes
+        assertThat(frozen.get(a).insertedTargets).containsExactly(d);
+        assertEquals(1, frozen.relationshipCountChange());
+        assertThat(changes.get(c)).isNull();
+    }
+
+    @Test
+    void shouldRebaseChanges() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.empty());
+        long a = id(graph, "a");
+        long b = id(graph, "b");
+        long d = id(graph, "d");
+        var topology = store.relationshipTopology(TYPE);
+
+        var changes = new RelationshipsDelta(topology, List.of(), graph.nodeCount(), AllocationTracker.empty()).freeze();
+        changes.add(a, d, new double[0]);
+        changes.add(a, d, new double[0]);
+        changes.remove(a, b);
+
+        // an empty frozen delta compacts into the same relationships
+        var rebased = changes.rebase(topology);
+        var nodeDelta = rebased.get(a);
+        assertThat(nodeDelta.insertedTargets).containsExactly(d, d);
+        assertThat(nodeDelta.removedTargets).containsExactly(b);
+        assertEquals(3, nodeDelta.degree(2));
+        assertEquals(1, rebased.relationshipCountChange());
+    }
+
+    @Test
+    void shouldAppendManyChangesToASingleNode() {
+        var store = (CSRGraphStore) graphStore;
+        Graph graph = graphStore.getGraph(List.of(TYPE), Optional.of("w"));
+        long a = id(graph, "a");
+        long d = id(graph, "d");
+
+        int changes = 10_000;
+        for (int i = 0; i < changes; i++) {
+            store.addRelationship(TYPE, a, d, Map.of("w", (double) i));
+        }
+
+        assertEquals(2 + changes, graph.degree(a));
+        double[] properties = graph.streamRelationships(a, 0.0)
+            .filter(cursor -> cursor.targetId() == d)
+            .mapToDouble(cursor -> cursor.property())
+            .toArray();
+        // parallel relationships keep the order in which they have been added
+        for (int i = 0; i < changes; i++) {
+            assertEquals(i, properties[i]);
+        }
+
+        assertEquals(changes, store.removeRelationship(TYPE, a, d));
+        assertEquals(2, graph.degree(a));
+    }
+
+    @Test
+    void shouldValidateRelationships() {
+        var store = (CSRGraphStore) graphStore;
+
+        var unknownType = assertThrows(
+            IllegalArgumentException.class,
+            () -> store.addRelationship(RelationshipType.of("X"), 0, 1)
+        );
+        assertThat(unknownType).hasMessage("No relationships have been loaded for relationship type 'X'");
+
+        var unknownNode = assertThrows(
+            IllegalArgumentException.class,
+            () -> store.removeRelationship(TYPE, 0, 42)
+        );
+        assertThat(unknownNode).hasMessage("Relationship (0)-[:T]->(42) references a node that does not exist.");
+    }
+
+    private long id(Graph graph, String variable) {
+        return graph.toMappedNodeId(idFunction.of(variable));
+    }
+}
@@ -46,6 +46,7 @@ import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
 import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
 import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.computeAdjacencyByteSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY;
 
 class TransientAdjacencyListTest {
 
@@ -90,6 +91,35 @@ class TransientAdjacencyListTest {
         assertEquals(64, adjacencyCursor.nextVLong());
     }
 
+    @Test
+    void shouldIterateBlockPackedAdjacencies() {
+        long[] targets = new long[3 * CHUNK_SIZE + 7];
+        Arrays.setAll(targets, i -> i);
+        USE_BLOCK_PACKED_ADJACENCY.enableAndRun(() -> {
+            AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(targets);
+            assertEquals(targets.length, adjacencyCursor.size());
+            for (long target : targets) {
+                assertEquals(target, adjacencyCursor.peekVLong());
+                assertEquals(target, adjacencyCursor.nextVLong());
+            }
+            assertFalse(adjacencyCursor.hasNextVLong());
+        });
+    }
+
+    @Test
+    void shouldSkipAndAdvanceAcrossBlockPackedBlocks() {
+        long[] targets = new long[3 * CHUNK_SIZE + 7];
+        Arrays.setAll(targets, i -> i);
+        USE_BLOCK_PACKED_ADJACENCY.enableAndRun(() -> {
+            AdjacencyCursor adjacencyCursor = adjacencyCursorFromTargets(targets);
+            assertEquals(CHUNK_SIZE + 2, adjacencyCursor.skipUntil(CHUNK_SIZE + 1));
+            assertEquals(3 * CHUNK_SIZE, adjacencyCursor.advance(3 * CHUNK_SIZE));
+            assertEquals(6, adjacencyCursor.remaining());
+            assertEquals(targets.length - 1, adjacencyCursor.skipUntil(targets.length));
+            assertFalse(adjacencyCursor.hasNextVLong());
+        });
+    }
+
     @Test
     void shouldComputeCompressedMemoryEstimationForSinglePage() {
         GraphDimensions dimensions = ImmutableGraphDimensions.builder()
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.neo4j.graphalgo.BaseTest;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
@@ -31,9 +32,13 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -153,6 +158,46 @@ final class HugeGraphLoadingTest extends BaseTest {
         assertEquals(11, graph.relationshipCount());
     }
 
+    @Test
+    void testMappedAdjacencyLoading(@TempDir Path spillDirectory) throws IOException {
+        org.neo4j.graphdb.RelationshipType fooRelType = org.neo4j.graphdb.RelationshipType.withName("FOO");
+        // the uncompressed properties of the hub do not fit into a single page
+        int hubDegree = 40_000;
+
+        runInTransaction(db, tx -> {
+            Node hub = tx.createNode();
+            Node previous = hub;
+            for (int i = 0; i < hubDegree; i++) {
+                Node node = tx.createNode();
+                hub.createRelationshipTo(node, fooRelType).setProperty("weight", (double) i);
+                previous.createRelationshipTo(node, fooRelType).setProperty("weight", 42.0);
+                previous = node;
+            }
+        });
+
+        var loaderBuilder = new StoreLoaderBuilder()
+            .api(db)
+            .addRelationshipProperty(PropertyMapping.of("weight", 1.0));
+
+        Graph heapGraph = loaderBuilder.build().graph();
+
+        var defaultSpillDirectory = GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get();
+        GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(spillDirectory.toString());
+        try {
+            GdsFeatureToggles.USE_MAPPED_ADJACENCY.enableAndRun(() -> {
+                Graph mappedGraph = loaderBuilder.build().graph();
+                assertGraphEquals(heapGraph, mappedGraph);
+            });
+        } finally {
+            GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(defaultSpillDirectory);
+        }
+
+        // spill files are unlinked as soon as they are mapped
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
     @Test
     void testMultipleRelationshipProjectionsOnTheSameType() {
         runQuery("CREATE" +
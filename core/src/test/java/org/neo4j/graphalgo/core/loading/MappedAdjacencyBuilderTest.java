@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.core.huge.MappedAdjacencyOffsets;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MappedAdjacencyBuilderTest extends AdjacencyBuilderBaseTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void test() throws Exception {
+        testAdjacencyList(
+            MappedAdjacencyListBuilder.builderFactory(spillDirectory, AdjacencyCompression.Encoding.VAR_LONG),
+            MappedAdjacencyOffsets.forPageSize(8, spillDirectory)
+        );
+        assertSpillFilesAreRemoved();
+    }
+
+    @Test
+    void testBlockPacked() throws Exception {
+        testAdjacencyList(
+            MappedAdjacencyListBuilder.builderFactory(spillDirectory, AdjacencyCompression.Encoding.BLOCK_PACKED),
+            MappedAdjacencyOffsets.forPageSize(8, spillDirectory)
+        );
+        assertSpillFilesAreRemoved();
+    }
+
+    private void assertSpillFilesAreRemoved() throws IOException {
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -29,8 +29,10 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NativeFactoryTest {
 
@@ -73,4 +75,34 @@ class NativeFactoryTest {
         assertEquals(3_205_950_324L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
         assertEquals(6_011_568_224L, estimate.memoryUsage().max);
     }
+
+    @Test
+    void offHeapMemoryEstimationForMappedAdjacency() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+        NodeProjections nodeProjections = NodeProjections.all();
+        RelationshipProjections relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.ALL
+        );
+
+        MemoryTree transientHeap = NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections).estimate(dimensions, 1);
+        MemoryTree transientOffHeap = NativeFactory.getOffHeapMemoryEstimation(relationshipProjections).estimate(dimensions, 1);
+        assertEquals(0L, transientOffHeap.memoryUsage().max);
+
+        GdsFeatureToggles.USE_MAPPED_ADJACENCY.enableAndRun(() -> {
+            MemoryTree mappedHeap = NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections).estimate(dimensions, 1);
+            MemoryTree mappedOffHeap = NativeFactory.getOffHeapMemoryEstimation(relationshipProjections).estimate(dimensions, 1);
+
+            // the offsets alone take 8 bytes per node
+            assertTrue(mappedOffHeap.memoryUsage().min > 100_000_000L * Long.BYTES);
+            // what moved off the heap shows up in the off-heap estimation, minus array headers
+            long movedMin = transientHeap.memoryUsage().min - mappedHeap.memoryUsage().min;
+            long movedMax = transientHeap.memoryUsage().max - mappedHeap.memoryUsage().max;
+            assertEquals(movedMin, mappedOffHeap.memoryUsage().min, movedMin / 100.0);
+            assertEquals(movedMax, mappedOffHeap.memoryUsage().max, movedMax / 100.0);
+        });
+    }
 }
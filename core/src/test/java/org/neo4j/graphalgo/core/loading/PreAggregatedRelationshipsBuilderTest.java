@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class PreAggregatedRelationshipsBuilderTest {
+
+    @Test
+    void shouldBuildRelationshipsFromRows() {
+        IdMap idMap = idMap(4);
+        var relationshipsBuilder = new PreAggregatedRelationshipsBuilder(
+            4,
+            Orientation.NATURAL,
+            1,
+            AllocationTracker.empty()
+        );
+
+        try (var writer = relationshipsBuilder.newWriter()) {
+            writer.addRow(0, new long[]{1, 2}, new double[]{1.5, 2.5}, 2);
+            // only the first `degree` entries are written
+            writer.addRow(1, new long[]{0, 1, 3, 42}, new double[]{4.0, 5.0, 6.0, 42.0}, 3);
+            writer.addRow(2, new long[0], new double[0], 0);
+            writer.addRow(3, new long[]{3}, new double[]{7.0}, 1);
+        }
+
+        Graph graph = GraphFactory.create(idMap, relationshipsBuilder.build(), AllocationTracker.empty());
+
+        var expected = fromGdl(
+            "(a)-[{w: 1.5}]->(b), (a)-[{w: 2.5}]->(c), (b)-[{w: 4.0}]->(a), (b)-[{w: 5.0}]->(b), " +
+            "(b)-[{w: 6.0}]->(d), (c), (d)-[{w: 7.0}]->(d)"
+        );
+
+        assertGraphEquals(expected, graph);
+        assertEquals(6, graph.relationshipCount());
+    }
+
+    @Test
+    void shouldMatchAggregatingImportWithConcurrentWriters() {
+        int nodeCount = 10_000;
+        int concurrency = 4;
+        var random = new Random(42L);
+        IdMap idMap = idMap(nodeCount);
+
+        var aggregatingBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .orientation(Orientation.NATURAL)
+            .loadRelationshipProperty(true)
+            .aggregation(Aggregation.SUM)
+            .build();
+
+        long[][] targets = new long[nodeCount][];
+        double[][] weights = new double[nodeCount][];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            targets[nodeId] = random.longs(random.nextInt(50), 0, nodeCount).distinct().sorted().toArray();
+            weights[nodeId] = new double[targets[nodeId].length];
+            for (int i = 0; i < targets[nodeId].length; i++) {
+                weights[nodeId][i] = random.nextDouble();
+                aggregatingBuilder.add(nodeId, targets[nodeId][i], weights[nodeId][i]);
+            }
+        }
+
+        var relationshipsBuilder = new PreAggregatedRelationshipsBuilder(
+            nodeCount,
+            Orientation.NATURAL,
+            concurrency,
+            AllocationTracker.empty()
+        );
+        var tasks = IntStream.range(0, concurrency).mapToObj(thread -> (Runnable) () -> {
+            try (var writer = relationshipsBuilder.newWriter()) {
+                for (int nodeId = thread; nodeId < nodeCount; nodeId += concurrency) {
+                    writer.addRow(nodeId, targets[nodeId], weights[nodeId], targets[nodeId].length);
+                }
+            }
+        }).collect(Collectors.toList());
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        Graph expected = GraphFactory.create(idMap, aggregatingBuilder.build(), AllocationTracker.empty());
+        Graph actual = GraphFactory.create(idMap, relationshipsBuilder.build(), AllocationTracker.empty());
+
+        assertEquals(Arrays.stream(targets).mapToLong(t -> t.length).sum(), actual.relationshipCount());
+        assertGraphEquals(expected, actual);
+    }
+
+    private static IdMap idMap(int nodeCount) {
+        var nodesBuilder = GraphFactory.initNodesBuilder().maxOriginalId(nodeCount - 1).build();
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            nodesBuilder.addNode(nodeId);
+        }
+        return nodesBuilder.build();
+    }
+}
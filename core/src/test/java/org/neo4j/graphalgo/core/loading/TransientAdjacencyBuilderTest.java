@@ -32,4 +32,15 @@ class TransientAdjacencyBuilderTest extends AdjacencyBuilderBaseTest {
             TransientAdjacencyOffsets.forPageSize(8)
         );
     }
+
+    @Test
+    void testBlockPacked() throws Exception {
+        testAdjacencyList(
+            TransientAdjacencyListBuilder.builderFactory(
+                AllocationTracker.empty(),
+                AdjacencyCompression.Encoding.BLOCK_PACKED
+            ),
+            TransientAdjacencyOffsets.forPageSize(8)
+        );
+    }
 }
@@ -153,4 +153,50 @@ class PartitionUtilsTest {
         assertEquals(3, partitions.get(0).nodeCount());
     }
 
+    @Test
+    void testDegreeBalancedPartitioning() {
+        Graph graph = fromGdl(
+            "(a)-->(b)" +
+            "(a)-->(c)" +
+            "(a)-->(d)" +
+            "(a)-->(e)" +
+            "(a)-->(f)" +
+            "(b)-->(c)" +
+            "(g), (h), (i), (j)"
+        );
+
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartition(graph, 1, 2);
+        assertEquals(List.of(Partition.of(0, 2), Partition.of(2, 8)), partitions);
+    }
+
+    @Test
+    void testDegreeBalancedPartitioningCoversAllNodes() {
+        var gdl = new StringBuilder();
+        for (int i = 1; i < 10_000; i++) {
+            // a hub followed by nodes of increasing degree
+            gdl.append(formatWithLocale("(n0)-->(n%d)", i));
+            if (i % 100 == 0) {
+                for (int j = 0; j < i / 100; j++) {
+                    gdl.append(formatWithLocale("(n%d)-->(n%d)", i, j));
+                }
+            }
+        }
+        Graph graph = fromGdl(gdl.toString());
+
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartition(graph, 4);
+
+        long expectedStart = 0L;
+        for (Partition partition : partitions) {
+            assertEquals(expectedStart, partition.startNode());
+            assertTrue(partition.nodeCount() > 0);
+            expectedStart += partition.nodeCount();
+        }
+        assertEquals(graph.nodeCount(), expectedStart);
+        assertTrue(partitions.size() <= 4 * PartitionUtils.PARTITIONS_PER_THREAD);
+    }
+
+    @Test
+    void testDegreeBalancedPartitioningOnEmptyGraph() {
+        assertTrue(PartitionUtils.degreeBalancedPartition(fromGdl(""), 4).isEmpty());
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.matrix;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MatrixKernelsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 1", "3, 5, 7", "4, 4, 4", "13, 66, 9", "70, 31, 300", "130, 90, 100"})
+    void mult(int m, int n, int k) {
+        var random = new Random(42);
+        var a = randomMatrix(m, k, random);
+        var b = randomMatrix(k, n, random);
+        var expected = new DMatrixRMaj(m, n);
+        MatrixMatrixMult_DDRM.mult_reorder(a, b, expected);
+
+        var c = new double[m * n];
+        Arrays.fill(c, 42D);
+        MatrixKernels.mult(a.data, b.data, c, m, n, k);
+        assertArrayEquals(expected.data, c, DELTA);
+
+        var parallel = new double[m * n];
+        MatrixKernels.mult(a.data, b.data, parallel, m, n, k, 4, Pools.DEFAULT);
+        assertArrayEquals(expected.data, parallel, DELTA);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 1", "3, 5, 7", "4, 4, 4", "13, 66, 9", "70, 31, 300", "130, 90, 100"})
+    void multTransA(int m, int n, int k) {
+        var random = new Random(42);
+        var a = randomMatrix(k, m, random);
+        var b = randomMatrix(k, n, random);
+        var expected = new DMatrixRMaj(m, n);
+        MatrixMatrixMult_DDRM.multTransA_reorder(a, b, expected);
+
+        var c = new double[m * n];
+        MatrixKernels.multTransA(a.data, b.data, c, m, n, k);
+        assertArrayEquals(expected.data, c, DELTA);
+
+        var parallel = new double[m * n];
+        MatrixKernels.multTransA(a.data, b.data, parallel, m, n, k, 4, Pools.DEFAULT);
+        assertArrayEquals(expected.data, parallel, DELTA);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 1", "3, 5, 7", "4, 4, 4", "13, 66, 9", "70, 31, 300", "130, 90, 100"})
+    void multTransB(int m, int n, int k) {
+        var random = new Random(42);
+        var a = randomMatrix(m, k, random);
+        var b = randomMatrix(n, k, random);
+        var expected = new DMatrixRMaj(m, n);
+        MatrixMatrixMult_DDRM.multTransB(a, b, expected);
+
+        var c = new double[m * n];
+        Arrays.fill(c, 42D);
+        MatrixKernels.multTransB(a.data, b.data, c, m, n, k);
+        assertArrayEquals(expected.data, c, DELTA);
+
+        var parallel = new double[m * n];
+        MatrixKernels.multTransB(a.data, b.data, parallel, m, n, k, 4, Pools.DEFAULT);
+        assertArrayEquals(expected.data, parallel, DELTA);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "3, 7", "5, 4", "9, 300"})
+    void multVector(int rows, int k) {
+        var random = new Random(42);
+        var a = randomMatrix(rows + 2, k, random);
+        var x = randomMatrix(k, 1, random);
+        var expected = new DMatrixRMaj(rows + 2, 1);
+        MatrixMatrixMult_DDRM.mult_reorder(a, x, expected);
+
+        var y = new double[rows + 3];
+        MatrixKernels.multVector(a.data, x.data, y, 1, rows, k);
+
+        var expectedY = new double[rows + 3];
+        System.arraycopy(expected.data, 0, expectedY, 1, rows);
+        assertArrayEquals(expectedY, y, DELTA);
+    }
+
+    private static DMatrixRMaj randomMatrix(int rows, int cols, Random random) {
+        var data = new double[rows * cols];
+        Arrays.setAll(data, i -> random.nextDouble() - 0.5);
+        return DMatrixRMaj.wrap(rows, cols, data);
+    }
+}
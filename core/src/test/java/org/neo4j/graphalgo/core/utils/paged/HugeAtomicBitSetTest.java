@@ -71,6 +71,21 @@ class HugeAtomicBitSetTest {
         assertTrue(bitSet.get(0));
     }
 
+    @Test
+    void getAndClearReturnsTrueIfTheBitWasSet() {
+        var bitSet = HugeAtomicBitSet.create(1, AllocationTracker.empty());
+        bitSet.set(0);
+        assertTrue(bitSet.getAndClear(0));
+        assertFalse(bitSet.get(0));
+    }
+
+    @Test
+    void getAndClearReturnsFalseIfTheBitWasNotSet() {
+        var bitSet = HugeAtomicBitSet.create(1, AllocationTracker.empty());
+        assertFalse(bitSet.getAndClear(0));
+        assertFalse(bitSet.get(0));
+    }
+
     @ParameterizedTest
     @CsvSource({"0,1336", "0,63", "70,140"})
     void setRange(int startIndex, int endIndex) {
@@ -202,4 +217,51 @@ class HugeAtomicBitSetTest {
         atomicBitSet.flip(23);
         assertFalse(atomicBitSet.allSet());
     }
+
+    @Test
+    void testNextSetBit() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        assertEquals(-1L, bitSet.nextSetBit(0));
+
+        bitSet.set(3);
+        bitSet.set(64);
+        bitSet.set(199);
+        assertEquals(3L, bitSet.nextSetBit(0));
+        assertEquals(3L, bitSet.nextSetBit(3));
+        assertEquals(64L, bitSet.nextSetBit(4));
+        assertEquals(199L, bitSet.nextSetBit(65));
+
+        bitSet.clear(199);
+        assertEquals(-1L, bitSet.nextSetBit(65));
+    }
+
+    @Test
+    void testNextSetBitInRange() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        bitSet.set(10);
+        bitSet.set(130);
+
+        assertEquals(10L, bitSet.nextSetBit(0, 64));
+        assertEquals(-1L, bitSet.nextSetBit(0, 10));
+        assertEquals(-1L, bitSet.nextSetBit(11, 130));
+        assertEquals(130L, bitSet.nextSetBit(11, 131));
+        assertEquals(-1L, bitSet.nextSetBit(131, 131));
+    }
+
+    @Test
+    void testUnion() {
+        var bitSet = HugeAtomicBitSet.create(100, AllocationTracker.empty());
+        var other = HugeAtomicBitSet.create(100, AllocationTracker.empty());
+        bitSet.set(1);
+        other.set(1);
+        other.set(70);
+        other.set(99);
+
+        bitSet.union(other);
+
+        assertEquals(3L, bitSet.cardinality());
+        assertTrue(bitSet.get(1));
+        assertTrue(bitSet.get(70));
+        assertTrue(bitSet.get(99));
+    }
 }
@@ -100,6 +100,21 @@ final class HugeAtomicDoubleArrayTest {
         });
     }
 
+    /**
+     * getAndSet returns previous value and sets to given value
+     */
+    @Test
+    void testGetAndSet() {
+        testArray(SIZE, aa -> {
+            for (int i = 0; i < SIZE; i++) {
+                aa.set(i, 1);
+                assertEquals(1, aa.getAndSet(i, 0));
+                assertEquals(0, aa.getAndSet(i, -10));
+                assertEquals(-10, aa.get(i));
+            }
+        });
+    }
+
     /**
      * compareAndSet succeeds in changing value if equal to expected else fails
      */
@@ -114,6 +114,22 @@ final class HugeAtomicLongArrayTest {
         });
     }
 
+    /**
+     * getAndAdd returns previous value and adds given value
+     */
+    @Test
+    void testGetAndAdd() {
+        testArray(SIZE, aa -> {
+            for (int i = 0; i < SIZE; i++) {
+                aa.set(i, 1);
+                assertEquals(1, aa.getAndAdd(i, 2));
+                assertEquals(3, aa.get(i));
+                assertEquals(3, aa.getAndAdd(i, -4));
+                assertEquals(-1, aa.get(i));
+            }
+        });
+    }
+
     /**
      * compareAndSet succeeds in changing value if equal to expected else fails
      */
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HugeFloatMatrixTest {
+
+    @Test
+    void shouldSetAndGetValuesAcrossPages() {
+        // 3000 columns leave room for two rows per page
+        var matrix = HugeFloatMatrix.newMatrix(5, 3000, AllocationTracker.empty());
+        for (long row = 0; row < 5; row++) {
+            for (int column = 0; column < 3000; column++) {
+                matrix.set(row, column, row * 3000 + column);
+            }
+        }
+        for (long row = 0; row < 5; row++) {
+            for (int column = 0; column < 3000; column++) {
+                assertEquals(row * 3000 + column, matrix.get(row, column));
+            }
+        }
+    }
+
+    @Test
+    void shouldOperateOnRows() {
+        var matrix = HugeFloatMatrix.newMatrix(3, 3, AllocationTracker.empty());
+        matrix.setRow(0, new float[]{1, 2, 3});
+        matrix.fillRow(1, 1);
+        matrix.addToRow(1, new float[]{1, 2, 3}, 2);
+        matrix.scaleRow(1, 0.5);
+        matrix.addTo(2, 1, 4);
+
+        assertArrayEquals(new float[]{1, 2, 3}, matrix.getRow(0));
+        assertArrayEquals(new float[]{1.5f, 2.5f, 3.5f}, matrix.getRow(1));
+        assertArrayEquals(new float[]{0, 4, 0}, matrix.getRow(2));
+
+        var target = new float[]{1, 1, 1};
+        matrix.addRowTo(0, target);
+        assertArrayEquals(new float[]{2, 3, 4}, target);
+        matrix.addRowTo(0, target, -2);
+        assertArrayEquals(new float[]{0, -1, -2}, target);
+        matrix.copyRowTo(1, target);
+        assertArrayEquals(new float[]{1.5f, 2.5f, 3.5f}, target);
+
+        matrix.setRow(2, new float[]{9, 9, 5, 6, 7}, 2);
+        assertArrayEquals(new float[]{5, 6, 7}, matrix.getRow(2));
+
+        var tile = new float[6];
+        matrix.addRowTo(0, tile, 3, 2f);
+        assertArrayEquals(new float[]{0, 0, 0, 2, 4, 6}, tile);
+        matrix.addToRow(0, tile, 3, 0.5);
+        assertArrayEquals(new float[]{2, 4, 6}, matrix.getRow(0));
+    }
+
+    @Test
+    void shouldWriteThroughRowViews() {
+        var matrix = HugeFloatMatrix.newMatrix(2, 2, AllocationTracker.empty());
+        matrix.setRow(0, new float[]{1, 2});
+        matrix.setRow(1, new float[]{3, 4});
+
+        var first = matrix.initRow(0, new HugeFloatMatrix.Row());
+        var second = matrix.initRow(1, new HugeFloatMatrix.Row());
+        assertEquals(11, first.dot(second));
+
+        first.addScaled(second, 2);
+        first.set(0, first.get(0) + 1);
+        assertArrayEquals(new float[]{8, 10}, matrix.getRow(0));
+    }
+
+    @Test
+    void shouldTrackMemory() {
+        var tracker = AllocationTracker.create();
+        var matrix = HugeFloatMatrix.newMatrix(100_000, 100, tracker);
+
+        assertEquals(HugeFloatMatrix.memoryEstimation(100_000, 100), tracker.trackedBytes());
+        assertEquals(tracker.trackedBytes(), matrix.release());
+    }
+}
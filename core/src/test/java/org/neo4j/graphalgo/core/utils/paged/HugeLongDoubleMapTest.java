@@ -72,6 +72,18 @@ final class HugeLongDoubleMapTest {
         assertEquals(10L, actual);
     }
 
+    @Test
+    void putOverwritesValues() {
+        HugeLongDoubleMap map = new HugeLongDoubleMap(AllocationTracker.empty());
+        map.put(1L, 1.5D);
+        map.put(1L, 4.2D);
+        map.put(2L, 1.0D);
+
+        assertEquals(4.2D, map.getOrDefault(1L, 0D));
+        assertEquals(1.0D, map.getOrDefault(2L, 0D));
+        assertEquals(2L, map.size());
+    }
+
     @Test
     void acceptsInitialSize() {
         HugeLongDoubleMap map = new HugeLongDoubleMap(0L, AllocationTracker.empty());
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.loading.CSRGraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreSnapshotTest extends BaseTest {
+
+    private static final String GDL =
+        "  (a:A { long: 1, double: 4.2, longArray: [1L, 2L], floatArray: [1.0, 2.0] })" +
+        ", (b:A { long: 2, double: 1.3, longArray: [3L], floatArray: [4.0] })" +
+        ", (c:B { long: 3, double: 0.5, longArray: [4L, 5L, 6L], floatArray: [0.1, 0.2, 0.3] })" +
+        ", (d:A:B { long: 4, double: 1.5, longArray: [7L], floatArray: [0.0] })" +
+        ", (a)-[:REL { weight: 1.0 }]->(b)" +
+        ", (a)-[:REL { weight: 2.0 }]->(c)" +
+        ", (b)-[:REL { weight: 3.0 }]->(c)" +
+        ", (d)-[:REL { weight: 4.0 }]->(a)" +
+        ", (a)-[:OTHER]->(d)" +
+        ", (c)-[:OTHER]->(d)";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRoundTripGraphStore() {
+        GraphStore graphStore = GdlFactory.of(GDL).build().graphStore();
+        GraphCreateConfig config = GraphCreateFromStoreConfig.emptyWithName("", "snapshot");
+
+        var restored = writeAndRead(config, graphStore, Optional.empty());
+        GraphStore restoredGraphStore = restored.graphStore();
+
+        assertEquals("snapshot", restored.config().graphName());
+        assertThat(restored.config()).isInstanceOf(GraphCreateFromStoreConfig.class);
+        assertEquals(graphStore.schema(), restoredGraphStore.schema());
+        assertEquals(graphStore.nodeCount(), restoredGraphStore.nodeCount());
+        assertEquals(graphStore.relationshipCount(), restoredGraphStore.relationshipCount());
+
+        assertGraphEquals(graphStore.getUnion(), restoredGraphStore.getUnion());
+        for (NodeLabel nodeLabel : graphStore.nodeLabels()) {
+            assertGraphEquals(
+                graphStore.getGraph(List.of(nodeLabel), graphStore.relationshipTypes(), Optional.empty()),
+                restoredGraphStore.getGraph(List.of(nodeLabel), restoredGraphStore.relationshipTypes(), Optional.empty())
+            );
+        }
+        assertGraphEquals(
+            graphStore.getGraph(RelationshipType.of("REL"), Optional.of("weight")),
+            restoredGraphStore.getGraph(RelationshipType.of("REL"), Optional.of("weight"))
+        );
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            assertThat(restoredGraphStore.nodePropertyValues("longArray").longArrayValue(nodeId))
+                .containsExactly(graphStore.nodePropertyValues("longArray").longArrayValue(nodeId));
+            assertThat(restoredGraphStore.nodePropertyValues("floatArray").floatArrayValue(nodeId))
+                .containsExactly(graphStore.nodePropertyValues("floatArray").floatArrayValue(nodeId));
+        }
+    }
+
+    @Test
+    void shouldIncludeUncompactedRelationships() {
+        CSRGraphStore graphStore = (CSRGraphStore) GdlFactory.of(GDL).build().graphStore();
+        GraphCreateConfig config = GraphCreateFromStoreConfig.emptyWithName("", "snapshot");
+
+        var rel = RelationshipType.of("REL");
+        graphStore.addRelationship(rel, 2, 3, Map.of("weight", 5.0));
+        graphStore.removeRelationship(rel, 0, 1);
+
+        GraphStore restoredGraphStore = writeAndRead(config, graphStore, Optional.empty()).graphStore();
+
+        assertThat(graphStore.hasRelationshipDelta(rel)).isFalse();
+        assertEquals(4, restoredGraphStore.relationshipCount(rel));
+        assertGraphEquals(
+            graphStore.getGraph(rel, Optional.of("weight")),
+            restoredGraphStore.getGraph(rel, Optional.of("weight"))
+        );
+    }
+
+    @Test
+    void shouldRoundTripBlockPackedAdjacencyLists() {
+        GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY.enableAndRun(() -> {
+            GraphStore graphStore = GdlFactory.of(GDL).build().graphStore();
+            GraphCreateConfig config = GraphCreateFromStoreConfig.emptyWithName("", "snapshot");
+
+            GraphStore restoredGraphStore = writeAndRead(config, graphStore, Optional.empty()).graphStore();
+
+            assertGraphEquals(graphStore.getUnion(), restoredGraphStore.getUnion());
+        });
+    }
+
+    @Test
+    void shouldRoundTripMappedAdjacencyLists() {
+        runQuery("CREATE (a:A {p: 1})-[:REL {w: 0.5}]->(b:A {p: 2})-[:REL {w: 1.5}]->(c:A {p: 3}), (c)-[:REL {w: 2.5}]->(a)");
+
+        var loaderBuilder = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("mapped")
+            .addNodeProperty(PropertyMapping.of("p", 0))
+            .addRelationshipProperty(PropertyMapping.of("w", 0.0));
+
+        var defaultSpillDirectory = GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get();
+        GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(tempDir.toString());
+        try {
+            GdsFeatureToggles.USE_MAPPED_ADJACENCY.enableAndRun(() -> {
+                var loader = loaderBuilder.build();
+                GraphStore graphStore = loader.graphStore();
+
+                var restored = writeAndRead(loader.createConfig(), graphStore, Optional.of("restored"));
+
+                assertEquals("restored", restored.config().graphName());
+                assertGraphEquals(graphStore.getUnion(), restored.graphStore().getUnion());
+            });
+        } finally {
+            GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(defaultSpillDirectory);
+        }
+    }
+
+    @Test
+    void shouldFailForExistingFile() {
+        GraphStore graphStore = GdlFactory.of(GDL).build().graphStore();
+        GraphCreateConfig config = GraphCreateFromStoreConfig.emptyWithName("", "snapshot");
+        Path path = tempDir.resolve("graph.snapshot");
+
+        GraphStoreSnapshotWriter.write(config, graphStore, path);
+
+        assertThatThrownBy(() -> GraphStoreSnapshotWriter.write(config, graphStore, path))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void shouldFailForMissingFile() {
+        assertThatThrownBy(() -> GraphStoreSnapshotReader.read(
+            tempDir.resolve("missing.snapshot"),
+            "",
+            db.databaseId(),
+            Optional.empty(),
+            1,
+            AllocationTracker.empty()
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not exist");
+    }
+
+    @Test
+    void shouldFailForCorruptLength() throws IOException {
+        GraphStore graphStore = GdlFactory.of(GDL).build().graphStore();
+        GraphCreateConfig config = GraphCreateFromStoreConfig.emptyWithName("", "snapshot");
+        Path path = tempDir.resolve("graph.snapshot");
+        GraphStoreSnapshotWriter.write(config, graphStore, path);
+
+        // the length of the graph name follows the magic number, the version and the config type
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            length.putInt(Integer.MAX_VALUE).flip();
+            channel.write(length, Long.BYTES + Integer.BYTES + Byte.BYTES);
+        }
+
+        assertThatThrownBy(() -> GraphStoreSnapshotReader.read(
+            path,
+            "",
+            db.databaseId(),
+            Optional.empty(),
+            1,
+            AllocationTracker.empty()
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Corrupt graph snapshot: invalid length 2147483647");
+    }
+
+    private GraphStoreWithConfig writeAndRead(
+        GraphCreateConfig config,
+        GraphStore graphStore,
+        Optional<String> graphName
+    ) {
+        Path path = tempDir.resolve("graph.snapshot");
+        long sizeInBytes = GraphStoreSnapshotWriter.write(config, graphStore, path);
+        assertEquals(path.toFile().length(), sizeInBytes);
+        assertTrue(sizeInBytes > 0);
+
+        return GraphStoreSnapshotReader.read(path, "", db.databaseId(), graphName, 4, AllocationTracker.empty());
+    }
+}
@@ -35,6 +35,10 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringMutateProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStatsProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringStreamProc;
 import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenMutateProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenStatsProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenStreamProc;
+import org.neo4j.graphalgo.beta.leiden.LeidenWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationMutateProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
@@ -141,6 +145,11 @@ final class EstimationCliTest {
         "gds.beta.knn.stream.estimate",
         "gds.beta.knn.write.estimate",
 
+        "gds.beta.leiden.mutate.estimate",
+        "gds.beta.leiden.stats.estimate",
+        "gds.beta.leiden.stream.estimate",
+        "gds.beta.leiden.write.estimate",
+
         "gds.beta.modularityOptimization.mutate.estimate",
         "gds.beta.modularityOptimization.stream.estimate",
         "gds.beta.modularityOptimization.write.estimate",
@@ -423,6 +432,11 @@ final class EstimationCliTest {
                 "bar"
             ),
 
+            runEstimation(new LeidenMutateProc()::estimate, "mutateProperty", "foo"),
+            runEstimation(new LeidenStatsProc()::estimateStats),
+            runEstimation(new LeidenStreamProc()::estimate),
+            runEstimation(new LeidenWriteProc()::estimate, "writeProperty", "foo"),
+
             runEstimation(new ModularityOptimizationMutateProc()::mutateEstimate, "mutateProperty", "foo"),
             runEstimation(new ModularityOptimizationStreamProc()::estimate),
             runEstimation(new ModularityOptimizationWriteProc()::estimate, "writeProperty", "foo"),
@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.beta.pregel.Combiner;
 import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
@@ -86,6 +87,11 @@ public class PageRankPregel implements PregelComputation<PageRankPregel.PageRank
         }
     }
 
+    @Override
+    public Optional<Combiner> combiner() {
+        return Optional.of(new Combiner.Sum());
+    }
+
     @Override
     public double applyRelationshipWeight(double nodeValue, double relationshipWeight) {
         // ! assuming normalized relationshipWeights (sum of outgoing edge weights = 1 and none negative weights)
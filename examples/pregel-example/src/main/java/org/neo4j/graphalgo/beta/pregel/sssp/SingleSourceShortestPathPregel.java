@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.beta.pregel.sssp;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.beta.pregel.Combiner;
 import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
@@ -83,6 +84,11 @@ public class SingleSourceShortestPathPregel implements PregelComputation<SingleS
 
     }
 
+    @Override
+    public Optional<Combiner> combiner() {
+        return Optional.of(new Combiner.Min());
+    }
+
     @ValueClass
     @Configuration("SingleSourceShortestPathPregelConfigImpl")
     @SuppressWarnings("immutables:subtype")
@@ -68,8 +68,8 @@ public final class ComputationStreamProc extends PregelStreamProc<ComputationAlg
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
-                var schema = new Computation().schema();
-                return Pregel.memoryEstimation(schema);
+                var computation = new Computation();
+                return Pregel.memoryEstimation(computation, configuration);
             }
         };
     }
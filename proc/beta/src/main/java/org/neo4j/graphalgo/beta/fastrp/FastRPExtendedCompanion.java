@@ -31,6 +31,6 @@ final class FastRPExtendedCompanion {
     private FastRPExtendedCompanion() {}
 
     static <CONFIG extends FastRPExtendedBaseConfig> NodeProperties getNodeProperties(AlgoBaseProc.ComputationResult<FastRP, FastRP, CONFIG> computationResult) {
-        return (FloatArrayNodeProperties) nodeId -> computationResult.result().embeddings().get(nodeId);
+        return (FloatArrayNodeProperties) nodeId -> computationResult.result().embeddings().getRow(nodeId);
     }
 }
@@ -30,13 +30,13 @@ import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.beta.fastrp.FastRPExtendedCompanion.DESCRIPTION;
+import static org.neo4j.graphalgo.results.PrimitiveListViews.numberList;
 import static org.neo4j.procedure.Mode.READ;
 
 public class FastRPExtendedStreamProc extends StreamProc<FastRP, FastRP, FastRPExtendedStreamProc.StreamResult, FastRPExtendedStreamConfig> {
@@ -96,15 +96,7 @@ public class FastRPExtendedStreamProc extends StreamProc<FastRP, FastRP, FastRPE
 
         StreamResult(long nodeId, float[] embedding) {
             this.nodeId = nodeId;
-            this.embedding = arrayToList(embedding);
-        }
-
-        static List<Number> arrayToList(float[] values) {
-            var floats = new ArrayList<Number>(values.length);
-            for (float value : values) {
-                floats.add(value);
-            }
-            return floats;
+            this.embedding = numberList(embedding);
         }
     }
 }
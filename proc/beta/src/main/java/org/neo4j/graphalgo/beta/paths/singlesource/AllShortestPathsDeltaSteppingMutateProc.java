@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.MutatePropertyProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaSteppingFactory;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingMutateConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.graphalgo.results.StandardNodePropertyMutateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDeltaSteppingProc.DELTA_STEPPING_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+
+public class AllShortestPathsDeltaSteppingMutateProc extends MutatePropertyProc<DeltaStepping, HugeAtomicDoubleArray, StandardNodePropertyMutateResult, AllShortestPathsDeltaSteppingMutateConfig> {
+
+    @Procedure(name = "gds.beta.allShortestPaths.deltaStepping.mutate", mode = READ)
+    @Description(DELTA_STEPPING_DESCRIPTION)
+    public Stream<StandardNodePropertyMutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return mutate(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(name = "gds.beta.allShortestPaths.deltaStepping.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> mutateEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingMutateConfig> computationResult) {
+        return AllShortestPathsDeltaSteppingProc.nodeProperties(computationResult);
+    }
+
+    @Override
+    protected AbstractResultBuilder<StandardNodePropertyMutateResult> resultBuilder(ComputationResult<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingMutateConfig> computeResult) {
+        return new AllShortestPathsDeltaSteppingProc.MutateResultBuilder();
+    }
+
+    @Override
+    protected AllShortestPathsDeltaSteppingMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return AllShortestPathsDeltaSteppingMutateConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<DeltaStepping, AllShortestPathsDeltaSteppingMutateConfig> algorithmFactory() {
+        return new DeltaSteppingFactory<>();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingBaseConfig;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.StandardNodePropertyMutateResult;
+import org.neo4j.graphalgo.results.StandardNodePropertyWriteResult;
+
+final class AllShortestPathsDeltaSteppingProc {
+    static final String DELTA_STEPPING_DESCRIPTION = "The Delta Stepping shortest path algorithm computes the shortest (weighted) distance between one node and any other node in the graph.";
+
+    private AllShortestPathsDeltaSteppingProc() {}
+
+    static <CONFIG extends AllShortestPathsDeltaSteppingBaseConfig> NodeProperties nodeProperties(
+        AlgoBaseProc.ComputationResult<DeltaStepping, HugeAtomicDoubleArray, CONFIG> computationResult
+    ) {
+        return computationResult.result().asNodeProperties();
+    }
+
+    static final class MutateResultBuilder extends AbstractResultBuilder<StandardNodePropertyMutateResult> {
+        @Override
+        public StandardNodePropertyMutateResult build() {
+            return new StandardNodePropertyMutateResult(
+                createMillis,
+                computeMillis,
+                0L,
+                mutateMillis,
+                nodePropertiesWritten,
+                config.toMap()
+            );
+        }
+    }
+
+    static final class WriteResultBuilder extends AbstractResultBuilder<StandardNodePropertyWriteResult> {
+        @Override
+        public StandardNodePropertyWriteResult build() {
+            return new StandardNodePropertyWriteResult(
+                createMillis,
+                computeMillis,
+                0L,
+                writeMillis,
+                nodePropertiesWritten,
+                config.toMap()
+            );
+        }
+    }
+}
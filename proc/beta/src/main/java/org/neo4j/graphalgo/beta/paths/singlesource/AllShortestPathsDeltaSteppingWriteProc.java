@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.WriteProc;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaSteppingFactory;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingWriteConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.graphalgo.results.StandardNodePropertyWriteResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.beta.paths.singlesource.AllShortestPathsDeltaSteppingProc.DELTA_STEPPING_DESCRIPTION;
+import static org.neo4j.procedure.Mode.READ;
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class AllShortestPathsDeltaSteppingWriteProc extends WriteProc<DeltaStepping, HugeAtomicDoubleArray, StandardNodePropertyWriteResult, AllShortestPathsDeltaSteppingWriteConfig> {
+
+    @Procedure(name = "gds.beta.allShortestPaths.deltaStepping.write", mode = WRITE)
+    @Description(DELTA_STEPPING_DESCRIPTION)
+    public Stream<StandardNodePropertyWriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return write(compute(graphNameOrConfig, configuration));
+    }
+
+    @Procedure(name = "gds.beta.allShortestPaths.deltaStepping.write.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> writeEstimate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected NodeProperties nodeProperties(ComputationResult<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingWriteConfig> computationResult) {
+        return AllShortestPathsDeltaSteppingProc.nodeProperties(computationResult);
+    }
+
+    @Override
+    protected AbstractResultBuilder<StandardNodePropertyWriteResult> resultBuilder(ComputationResult<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingWriteConfig> computeResult) {
+        return new AllShortestPathsDeltaSteppingProc.WriteResultBuilder();
+    }
+
+    @Override
+    protected AllShortestPathsDeltaSteppingWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return AllShortestPathsDeltaSteppingWriteConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<DeltaStepping, AllShortestPathsDeltaSteppingWriteConfig> algorithmFactory() {
+        return new DeltaSteppingFactory<>();
+    }
+}
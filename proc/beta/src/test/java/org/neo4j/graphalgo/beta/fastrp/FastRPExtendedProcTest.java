@@ -77,7 +77,7 @@ public abstract class FastRPExtendedProcTest<CONFIG extends FastRPExtendedBaseCo
         FastRP result1, FastRP result2
     ) {
         // TODO: This just tests that the dimensions are the same for node 0, it's not a very good equality test
-        assertEquals(result1.embeddings().get(0).length, result1.embeddings().get(0).length);
+        assertEquals(result1.embeddings().columns(), result1.embeddings().columns());
     }
 
     private static Stream<Arguments> weights() {
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.ConsecutiveIdsConfigTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class LeidenStreamProcTest extends LeidenProcTest<LeidenStreamConfig> implements
+    ConsecutiveIdsConfigTest<Leiden, LeidenStreamConfig, Leiden> {
+
+    @Override
+    public Class<? extends AlgoBaseProc<Leiden, Leiden, LeidenStreamConfig>> getProcedureClazz() {
+        return LeidenStreamProc.class;
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.beta.leiden.LeidenProcTest#graphVariations")
+    void testStream(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        @Language("Cypher") String query = queryBuilder
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .yields("nodeId", "communityId", "intermediateCommunityIds");
+
+        List<Long> actualCommunities = new ArrayList<>();
+        runQueryWithRowConsumer(query, row -> {
+            int id = row.getNumber("nodeId").intValue();
+            long community = row.getNumber("communityId").longValue();
+            assertNull(row.get("intermediateCommunityIds"));
+            actualCommunities.add(id, community);
+        });
+        assertCommunities(actualCommunities, RESULT);
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.beta.leiden.LeidenProcTest#graphVariations")
+    void testStreamCommunities(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        @Language("Cypher") String query = queryBuilder
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .addParameter("includeIntermediateCommunities", true)
+            .yields("nodeId", "communityId", "intermediateCommunityIds");
+
+        runQueryWithRowConsumer(query, row -> {
+            Object maybeList = row.get("intermediateCommunityIds");
+            assertTrue(maybeList instanceof List);
+            List<Long> communities = (List<Long>) maybeList;
+            assertEquals(2, communities.size());
+            assertEquals(communities.get(1), row.getNumber("communityId").longValue());
+        });
+    }
+
+    @Test
+    void testStreamedCommunitiesAreConnected() {
+        @Language("Cypher") String query = GdsCypher.call().explicitCreation(LEIDEN_GRAPH)
+            .algo("gds", "beta", "leiden")
+            .streamMode()
+            .yields("nodeId", "communityId");
+
+        Map<Long, Long> communities = new HashMap<>();
+        runQueryWithRowConsumer(query, row -> communities.put(
+            row.getNumber("nodeId").longValue(),
+            row.getNumber("communityId").longValue()
+        ));
+
+        // Leiden guarantees connected communities, i.e. every node reaches all other nodes
+        // of its community without leaving the community
+        Map<Long, List<Long>> neighbours = new HashMap<>();
+        runQueryWithRowConsumer(
+            "MATCH (a:Node)-[:TYPE]-(b:Node) RETURN id(a) AS source, id(b) AS target",
+            row -> neighbours
+                .computeIfAbsent(row.getNumber("source").longValue(), ignore -> new ArrayList<>())
+                .add(row.getNumber("target").longValue())
+        );
+
+        Set<Long> visited = new HashSet<>();
+        Map<Long, Long> representatives = new HashMap<>();
+        communities.forEach((nodeId, communityId) -> {
+            if (visited.contains(nodeId)) {
+                return;
+            }
+            assertNull(
+                representatives.put(communityId, nodeId),
+                formatWithLocale("community %d is not connected", communityId)
+            );
+            Deque<Long> stack = new ArrayDeque<>();
+            stack.push(nodeId);
+            visited.add(nodeId);
+            while (!stack.isEmpty()) {
+                long current = stack.pop();
+                for (long neighbour : neighbours.getOrDefault(current, List.of())) {
+                    if (communities.get(neighbour).equals(communityId) && visited.add(neighbour)) {
+                        stack.push(neighbour);
+                    }
+                }
+            }
+        });
+        assertEquals(RESULT.size(), representatives.size());
+    }
+
+    @Test
+    void testCreateConfigWithDefaults() {
+        LeidenBaseConfig leidenConfig = LeidenStreamConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            CypherMapWrapper.empty()
+        );
+        assertEquals(false, leidenConfig.includeIntermediateCommunities());
+        assertEquals(10, leidenConfig.maxLevels());
+    }
+
+    @Override
+    public LeidenStreamConfig createConfig(CypherMapWrapper mapWrapper) {
+        return LeidenStreamConfig.of("", Optional.empty(), Optional.empty(), mapWrapper);
+    }
+}
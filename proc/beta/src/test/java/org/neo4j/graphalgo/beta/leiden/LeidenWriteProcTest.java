@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.leiden;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.ConsecutiveIdsConfigTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.WritePropertyConfigTest;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphdb.QueryExecutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.CommunityHelper.assertCommunities;
+import static org.neo4j.graphalgo.ThrowableRootCauseMatcher.rootCause;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class LeidenWriteProcTest extends LeidenProcTest<LeidenWriteConfig> implements
+    WritePropertyConfigTest<Leiden, LeidenWriteConfig, Leiden>,
+    ConsecutiveIdsConfigTest<Leiden, LeidenWriteConfig, Leiden> {
+
+    @Override
+    public Class<? extends AlgoBaseProc<Leiden, Leiden, LeidenWriteConfig>> getProcedureClazz() {
+        return LeidenWriteProc.class;
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.beta.leiden.LeidenProcTest#graphVariations")
+    void testWrite(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        String writeProperty = "myFancyCommunity";
+        @Language("Cypher") String query = queryBuilder
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("writeProperty", writeProperty)
+            .yields(
+                "communityCount",
+                "modularity",
+                "modularities",
+                "ranLevels",
+                "createMillis",
+                "computeMillis",
+                "writeMillis",
+                "postProcessingMillis",
+                "communityDistribution",
+                "configuration"
+            );
+
+        runQueryWithRowConsumer(query, row -> {
+            long communityCount = row.getNumber("communityCount").longValue();
+            double modularity = row.getNumber("modularity").doubleValue();
+            List<Double> modularities = (List<Double>) row.get("modularities");
+            long levels = row.getNumber("ranLevels").longValue();
+            long createMillis = row.getNumber("createMillis").longValue();
+            long computeMillis = row.getNumber("computeMillis").longValue();
+            long writeMillis = row.getNumber("writeMillis").longValue();
+
+            assertEquals(3, communityCount, "wrong community count");
+            assertEquals(2, modularities.size(), "invalid modularities");
+            assertEquals(2, levels, "invalid level count");
+            assertUserInput(row, "includeIntermediateCommunities", false);
+            assertTrue(modularity > 0, "wrong modularity value");
+            assertTrue(createMillis >= 0, "invalid loadTime");
+            assertTrue(writeMillis >= 0, "invalid writeTime");
+            assertTrue(computeMillis >= 0, "invalid computeTime");
+        });
+        assertWriteResult(RESULT, writeProperty);
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.beta.leiden.LeidenProcTest#graphVariations")
+    void testWriteIntermediateCommunities(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        String writeProperty = "myFancyCommunity";
+        String query = queryBuilder
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("writeProperty", writeProperty)
+            .addParameter("includeIntermediateCommunities", true)
+            .yields("configuration");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertUserInput(row, "includeIntermediateCommunities", true);
+        });
+
+        runQueryWithRowConsumer(formatWithLocale("MATCH (n) RETURN n.%s as %s", writeProperty, writeProperty), row -> {
+            Object maybeList = row.get(writeProperty);
+            assertTrue(maybeList instanceof long[]);
+            long[] communities = (long[]) maybeList;
+            assertEquals(2, communities.length);
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "writeProperty: null,",
+        "writeProperty: '',",
+    })
+    void testWriteRequiresWritePropertyToBeSet(String writePropertyParameter) {
+        String query = "CALL gds.beta.leiden.write({" +
+                       writePropertyParameter +
+                       "    nodeProjection: ['Node']," +
+                       "    relationshipProjection: {" +
+                       "      TYPE: {" +
+                       "        type: 'TYPE'," +
+                       "        orientation: 'UNDIRECTED'" +
+                       "      }" +
+                       "    }" +
+                       "})";
+
+        QueryExecutionException exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery(query)
+        );
+
+        assertThat(exception, rootCause(
+            IllegalArgumentException.class,
+            "No value specified for the mandatory configuration parameter `writeProperty`"
+        ));
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("org.neo4j.graphalgo.beta.leiden.LeidenProcTest#graphVariations")
+    void testWriteWithSeeding(GdsCypher.QueryBuilder queryBuilder, String testCaseName) {
+        String writeProperty = "myFancyWriteProperty";
+        String query = queryBuilder
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("writeProperty", writeProperty)
+            .addParameter("seedProperty", "seed")
+            .yields("communityCount", "ranLevels");
+
+        runQueryWithRowConsumer(
+            query,
+            row -> {
+                assertEquals(3, row.getNumber("communityCount").longValue(), "wrong community count");
+                assertEquals(1, row.getNumber("ranLevels").longValue(), "wrong number of levels");
+            }
+        );
+        assertWriteResult(RESULT, writeProperty);
+    }
+
+    @Test
+    void testCreateConfigWithDefaults() {
+        LeidenBaseConfig leidenConfig = LeidenWriteConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            createMinimalConfig(CypherMapWrapper.empty())
+        );
+        assertFalse(leidenConfig.includeIntermediateCommunities());
+        assertEquals(10, leidenConfig.maxLevels());
+        assertEquals(10, leidenConfig.maxIterations());
+        assertEquals(0.0001D, leidenConfig.tolerance());
+        assertNull(leidenConfig.seedProperty());
+    }
+
+    @Test
+    void testCreateConfigWithNonDefaults() {
+        LeidenBaseConfig leidenConfig = LeidenWriteConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            createMinimalConfig(CypherMapWrapper.create(Map.of(
+                "includeIntermediateCommunities", true,
+                "maxLevels", 3,
+                "maxIterations", 5,
+                "tolerance", 0.1,
+                "seedProperty", "seed"
+            )))
+        );
+        assertTrue(leidenConfig.includeIntermediateCommunities());
+        assertEquals(3, leidenConfig.maxLevels());
+        assertEquals(5, leidenConfig.maxIterations());
+        assertEquals(0.1D, leidenConfig.tolerance());
+        assertEquals("seed", leidenConfig.seedProperty());
+    }
+
+    @Test
+    void testWriteWithSingleLevel() {
+        String writeProperty = "myFancyCommunity";
+        String query = GdsCypher.call().explicitCreation(LEIDEN_GRAPH)
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("writeProperty", writeProperty)
+            .addParameter("maxLevels", 1)
+            .addParameter("includeIntermediateCommunities", true)
+            .yields("ranLevels", "modularities");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(1, row.getNumber("ranLevels").longValue(), "invalid level count");
+            assertEquals(1, ((List<Double>) row.get("modularities")).size(), "invalid modularities");
+        });
+
+        runQueryWithRowConsumer(formatWithLocale("MATCH (n) RETURN n.%s as %s", writeProperty, writeProperty), row -> {
+            long[] communities = (long[]) row.get(writeProperty);
+            assertEquals(1, communities.length);
+        });
+    }
+
+    @Test
+    void zeroCommunitiesInEmptyGraph() {
+        runQuery("CALL db.createLabel('VeryTemp')");
+        runQuery("CALL db.createRelationshipType('VERY_TEMP')");
+        String query = GdsCypher
+            .call()
+            .withNodeLabel("VeryTemp")
+            .withRelationshipType("VERY_TEMP")
+            .algo("gds", "beta", "leiden")
+            .writeMode()
+            .addParameter("writeProperty", "foo")
+            .yields("communityCount");
+
+        assertCypherResult(query, List.of(Map.of("communityCount", 0L)));
+    }
+
+    @Override
+    public LeidenWriteConfig createConfig(CypherMapWrapper mapWrapper) {
+        return LeidenWriteConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            mapWrapper
+        );
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper mapWrapper) {
+        if (!mapWrapper.containsKey("writeProperty")) {
+            return mapWrapper.withString("writeProperty", "writeProperty");
+        }
+        return mapWrapper;
+    }
+
+    private void assertWriteResult(List<List<Long>> expectedCommunities, String writeProperty) {
+        List<Long> actualCommunities = new ArrayList<>();
+        runQueryWithRowConsumer(formatWithLocale("MATCH (n) RETURN id(n) as id, n.%s as community", writeProperty), (row) -> {
+            long community = row.getNumber("community").longValue();
+            int id = row.getNumber("id").intValue();
+            actualCommunities.add(id, community);
+        });
+
+        assertCommunities(actualCommunities, expectedCommunities);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingMutateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AllShortestPathsDeltaSteppingMutateProcTest extends AllShortestPathsDeltaSteppingProcTest<AllShortestPathsDeltaSteppingMutateConfig> {
+
+    private static final String MUTATE_PROPERTY = "distance";
+
+    @Override
+    public Class<? extends AlgoBaseProc<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingMutateConfig>> getProcedureClazz() {
+        return AllShortestPathsDeltaSteppingMutateProc.class;
+    }
+
+    @Override
+    public AllShortestPathsDeltaSteppingMutateConfig createConfig(CypherMapWrapper mapWrapper) {
+        return AllShortestPathsDeltaSteppingMutateConfig.of("", Optional.empty(), Optional.empty(), mapWrapper);
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper mapWrapper) {
+        mapWrapper = super.createMinimalConfig(mapWrapper);
+        if (!mapWrapper.containsKey("mutateProperty")) {
+            mapWrapper = mapWrapper.withString("mutateProperty", MUTATE_PROPERTY);
+        }
+        return mapWrapper;
+    }
+
+    @Test
+    void shouldMutateDistances() {
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withRelationshipProperty("cost")
+            .graphCreate("graph")
+            .yields());
+
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.allShortestPaths.deltaStepping")
+            .mutateMode()
+            .addParameter("sourceNode", nodeIdByProperty(1))
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("mutateProperty", MUTATE_PROPERTY)
+            .yields("nodePropertiesWritten");
+
+        runQueryWithRowConsumer(query, row -> assertEquals(7L, row.getNumber("nodePropertiesWritten").longValue()));
+
+        Graph graph = GraphStoreCatalog.get(getUsername(), db.databaseId(), "graph").graphStore().getUnion();
+        var distances = graph.nodeProperties(MUTATE_PROPERTY);
+        assertEquals(0.0D, distances.doubleValue(graph.toMappedNodeId(nodeIdByProperty(1))));
+        assertEquals(9.0D, distances.doubleValue(graph.toMappedNodeId(nodeIdByProperty(4))));
+        assertEquals(20.0D, distances.doubleValue(graph.toMappedNodeId(nodeIdByProperty(6))));
+        assertEquals(Double.POSITIVE_INFINITY, distances.doubleValue(graph.toMappedNodeId(nodeIdByProperty(7))));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.neo4j.graphalgo.AlgoBaseProcTest;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.HeapControlTest;
+import org.neo4j.graphalgo.MemoryEstimateTest;
+import org.neo4j.graphalgo.RelationshipWeightConfigTest;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingBaseConfig;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.beta.paths.ShortestPathBaseConfig.SOURCE_NODE_KEY;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+abstract class AllShortestPathsDeltaSteppingProcTest<CONFIG extends AllShortestPathsDeltaSteppingBaseConfig> extends BaseProcTest implements
+    AlgoBaseProcTest<DeltaStepping, CONFIG, HugeAtomicDoubleArray>,
+    MemoryEstimateTest<DeltaStepping, CONFIG, HugeAtomicDoubleArray>,
+    HeapControlTest<DeltaStepping, CONFIG, HugeAtomicDoubleArray>,
+    RelationshipWeightConfigTest<DeltaStepping, CONFIG, HugeAtomicDoubleArray>
+{
+
+    @Override
+    public String createQuery() {
+        return "CREATE" +
+               "  (a:Label { id: 1 })" +
+               ", (b:Label { id: 2 })" +
+               ", (c:Label { id: 3 })" +
+               ", (d:Label { id: 4 })" +
+               ", (e:Label { id: 5 })" +
+               ", (f:Label { id: 6 })" +
+               ", (g:Label { id: 7 })" +
+               ", (a)-[:TYPE {cost: 4}]->(b)" +
+               ", (a)-[:TYPE {cost: 2}]->(c)" +
+               ", (b)-[:TYPE {cost: 5}]->(c)" +
+               ", (b)-[:TYPE {cost: 10}]->(d)" +
+               ", (c)-[:TYPE {cost: 3}]->(e)" +
+               ", (d)-[:TYPE {cost: 11}]->(f)" +
+               ", (e)-[:TYPE {cost: 4}]->(d)";
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            getProcedureClazz(),
+            GraphCreateProc.class
+        );
+        runQuery(createQuery());
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Override
+    public GraphDatabaseAPI graphDb() {
+        return db;
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper mapWrapper) {
+        long sourceId = nodeIdByProperty(1);
+
+        if (!mapWrapper.containsKey(SOURCE_NODE_KEY)) {
+            mapWrapper = mapWrapper.withNumber(SOURCE_NODE_KEY, sourceId);
+        }
+        return mapWrapper;
+    }
+
+    long nodeIdByProperty(long propertyValue) {
+        var nodeId = new MutableLong(0L);
+        runQueryWithRowConsumer(
+            formatWithLocale("MATCH (n) WHERE n.id = %d RETURN id(n) AS id", propertyValue),
+            resultRow -> nodeId.setValue(resultRow.getNumber("id"))
+        );
+        return nodeId.longValue();
+    }
+
+    @Override
+    public void assertResultEquals(HugeAtomicDoubleArray result1, HugeAtomicDoubleArray result2) {
+        assertEquals(result1.size(), result2.size());
+        for (long nodeId = 0; nodeId < result1.size(); nodeId++) {
+            assertEquals(result1.get(nodeId), result2.get(nodeId));
+        }
+    }
+}
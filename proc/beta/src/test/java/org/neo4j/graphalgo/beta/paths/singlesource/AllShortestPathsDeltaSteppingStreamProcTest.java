@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingStreamConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class AllShortestPathsDeltaSteppingStreamProcTest extends AllShortestPathsDeltaSteppingProcTest<AllShortestPathsDeltaSteppingStreamConfig> {
+
+    @Override
+    public Class<? extends AlgoBaseProc<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingStreamConfig>> getProcedureClazz() {
+        return AllShortestPathsDeltaSteppingStreamProc.class;
+    }
+
+    @Override
+    public AllShortestPathsDeltaSteppingStreamConfig createConfig(CypherMapWrapper mapWrapper) {
+        return AllShortestPathsDeltaSteppingStreamConfig.of("", Optional.empty(), Optional.empty(), mapWrapper);
+    }
+
+    @Test
+    void returnCorrectResult() {
+        AllShortestPathsDeltaSteppingStreamConfig config = createConfig(createMinimalConfig(CypherMapWrapper.empty()));
+        String createQuery = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withRelationshipProperty("cost")
+            .graphCreate("graph")
+            .yields();
+        runQuery(createQuery);
+
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.allShortestPaths.deltaStepping")
+            .streamMode()
+            .addParameter("sourceNode", config.sourceNode())
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("delta", 3.0)
+            .yields("nodeId", "distance") + " RETURN nodeId, distance ORDER BY distance";
+
+        assertCypherResult(query, List.of(
+            Map.of("nodeId", nodeIdByProperty(1), "distance", 0.0D),
+            Map.of("nodeId", nodeIdByProperty(3), "distance", 2.0D),
+            Map.of("nodeId", nodeIdByProperty(2), "distance", 4.0D),
+            Map.of("nodeId", nodeIdByProperty(5), "distance", 5.0D),
+            Map.of("nodeId", nodeIdByProperty(4), "distance", 9.0D),
+            Map.of("nodeId", nodeIdByProperty(6), "distance", 20.0D)
+            // node 7 is not reachable from the source node
+        ));
+    }
+}
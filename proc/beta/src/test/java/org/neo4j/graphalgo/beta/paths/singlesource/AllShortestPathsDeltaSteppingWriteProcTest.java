@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.singlesource;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.beta.paths.delta.DeltaStepping;
+import org.neo4j.graphalgo.beta.paths.delta.config.AllShortestPathsDeltaSteppingWriteConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AllShortestPathsDeltaSteppingWriteProcTest extends AllShortestPathsDeltaSteppingProcTest<AllShortestPathsDeltaSteppingWriteConfig> {
+
+    private static final String WRITE_PROPERTY = "distance";
+
+    @Override
+    public Class<? extends AlgoBaseProc<DeltaStepping, HugeAtomicDoubleArray, AllShortestPathsDeltaSteppingWriteConfig>> getProcedureClazz() {
+        return AllShortestPathsDeltaSteppingWriteProc.class;
+    }
+
+    @Override
+    public AllShortestPathsDeltaSteppingWriteConfig createConfig(CypherMapWrapper mapWrapper) {
+        return AllShortestPathsDeltaSteppingWriteConfig.of("", Optional.empty(), Optional.empty(), mapWrapper);
+    }
+
+    @Override
+    public CypherMapWrapper createMinimalConfig(CypherMapWrapper mapWrapper) {
+        mapWrapper = super.createMinimalConfig(mapWrapper);
+        if (!mapWrapper.containsKey("writeProperty")) {
+            mapWrapper = mapWrapper.withString("writeProperty", WRITE_PROPERTY);
+        }
+        return mapWrapper;
+    }
+
+    @Test
+    void shouldWriteDistances() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withRelationshipProperty("cost")
+            .algo("gds.beta.allShortestPaths.deltaStepping")
+            .writeMode()
+            .addParameter("sourceNode", nodeIdByProperty(1))
+            .addParameter("relationshipWeightProperty", "cost")
+            .addParameter("writeProperty", WRITE_PROPERTY)
+            .yields("nodePropertiesWritten");
+
+        runQueryWithRowConsumer(query, row -> assertEquals(7L, row.getNumber("nodePropertiesWritten").longValue()));
+
+        assertCypherResult(
+            "MATCH (n) WHERE n.id < 7 RETURN n.id AS id, n.distance AS distance ORDER BY id",
+            List.of(
+                Map.of("id", 1L, "distance", 0.0D),
+                Map.of("id", 2L, "distance", 4.0D),
+                Map.of("id", 3L, "distance", 2.0D),
+                Map.of("id", 4L, "distance", 9.0D),
+                Map.of("id", 5L, "distance", 5.0D),
+                Map.of("id", 6L, "distance", 20.0D)
+            )
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.sourcetarget;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class ShortestPathAStarStreamProcTest extends BaseProcTest {
+
+    // airports and their distances in nautical miles
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (ams:Airport {name: 'AMS', latitude: 52.3086, longitude: 4.7639})" +
+        ", (fra:Airport {name: 'FRA', latitude: 50.0333, longitude: 8.5706})" +
+        ", (muc:Airport {name: 'MUC', latitude: 48.3538, longitude: 11.7861})" +
+        ", (vie:Airport {name: 'VIE', latitude: 48.1103, longitude: 16.5697})" +
+        ", (zrh:Airport {name: 'ZRH', latitude: 47.4647, longitude: 8.5492})" +
+        ", (cdg:Airport {name: 'CDG', latitude: 49.0097, longitude: 2.5478})" +
+
+        ", (ams)-[:FLIGHT {distance: 198}]->(fra)" +
+        ", (ams)-[:FLIGHT {distance: 216}]->(cdg)" +
+        ", (fra)-[:FLIGHT {distance: 162}]->(muc)" +
+        ", (fra)-[:FLIGHT {distance: 155}]->(zrh)" +
+        ", (muc)-[:FLIGHT {distance: 193}]->(vie)" +
+        ", (zrh)-[:FLIGHT {distance: 400}]->(vie)" +
+        ", (cdg)-[:FLIGHT {distance: 560}]->(vie)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(ShortestPathAStarStreamProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withNodeProperty("latitude")
+            .withNodeProperty("longitude")
+            .withRelationshipProperty("distance")
+            .graphCreate("graph")
+            .yields());
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void returnCorrectResult() {
+        var idAms = nodeIdByName("AMS");
+        var idFra = nodeIdByName("FRA");
+        var idMuc = nodeIdByName("MUC");
+        var idVie = nodeIdByName("VIE");
+
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.shortestPath.astar")
+            .streamMode()
+            .addParameter("sourceNode", idAms)
+            .addParameter("targetNode", idVie)
+            .addParameter("latitudeProperty", "latitude")
+            .addParameter("longitudeProperty", "longitude")
+            .addParameter("relationshipWeightProperty", "distance")
+            .yields("index", "sourceNode", "targetNode", "totalCost", "nodeIds", "costs");
+
+        assertCypherResult(query, List.of(Map.of(
+            "index", 0L,
+            "sourceNode", idAms,
+            "targetNode", idVie,
+            "totalCost", 553.0D,
+            "nodeIds", List.of(idAms, idFra, idMuc, idVie),
+            "costs", List.of(0.0D, 198.0D, 360.0D, 553.0D)
+        )));
+    }
+
+    @Test
+    void shouldFailOnMissingCoordinateProperty() {
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.shortestPath.astar")
+            .streamMode()
+            .addParameter("sourceNode", nodeIdByName("AMS"))
+            .addParameter("targetNode", nodeIdByName("VIE"))
+            .addParameter("latitudeProperty", "lat")
+            .addParameter("longitudeProperty", "longitude")
+            .addParameter("relationshipWeightProperty", "distance")
+            .yields();
+
+        assertError(query, "Node property `lat` not found");
+    }
+
+    private long nodeIdByName(String name) {
+        return runQuery(
+            formatWithLocale("MATCH (n) WHERE n.name = '%s' RETURN id(n) AS id", name),
+            result -> (Long) result.next().get("id")
+        );
+    }
+}
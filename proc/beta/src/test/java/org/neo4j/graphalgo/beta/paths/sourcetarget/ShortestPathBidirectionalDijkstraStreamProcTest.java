@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.paths.sourcetarget;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class ShortestPathBidirectionalDijkstraStreamProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Label { id: 1 })" +
+        ", (b:Label { id: 2 })" +
+        ", (c:Label { id: 3 })" +
+        ", (d:Label { id: 4 })" +
+        ", (e:Label { id: 5 })" +
+        ", (f:Label { id: 6 })" +
+        ", (a)-[:TYPE {cost: 4}]->(b)" +
+        ", (a)-[:TYPE {cost: 2}]->(c)" +
+        ", (b)-[:TYPE {cost: 5}]->(c)" +
+        ", (b)-[:TYPE {cost: 10}]->(d)" +
+        ", (c)-[:TYPE {cost: 3}]->(e)" +
+        ", (d)-[:TYPE {cost: 11}]->(f)" +
+        ", (e)-[:TYPE {cost: 4}]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(ShortestPathBidirectionalDijkstraStreamProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void returnCorrectResult() {
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withRelationshipType("TYPE", Orientation.UNDIRECTED)
+            .withRelationshipProperty("cost")
+            .graphCreate("graph")
+            .yields());
+
+        var idA = nodeIdByProperty(1);
+        var idC = nodeIdByProperty(3);
+        var idD = nodeIdByProperty(4);
+        var idE = nodeIdByProperty(5);
+        var idF = nodeIdByProperty(6);
+
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.shortestPath.bidirectionalDijkstra")
+            .streamMode()
+            .addParameter("sourceNode", idA)
+            .addParameter("targetNode", idF)
+            .addParameter("relationshipWeightProperty", "cost")
+            .yields("index", "sourceNode", "targetNode", "totalCost", "nodeIds", "costs");
+
+        assertCypherResult(query, List.of(Map.of(
+            "index", 0L,
+            "sourceNode", idA,
+            "targetNode", idF,
+            "totalCost", 20.0D,
+            "nodeIds", List.of(idA, idC, idE, idD, idF),
+            "costs", List.of(0.0D, 2.0D, 5.0D, 9.0D, 20.0D)
+        )));
+    }
+
+    @Test
+    void shouldFailOnDirectedGraph() {
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .withRelationshipProperty("cost")
+            .graphCreate("graph")
+            .yields());
+
+        String query = GdsCypher.call().explicitCreation("graph")
+            .algo("gds.beta.shortestPath.bidirectionalDijkstra")
+            .streamMode()
+            .addParameter("sourceNode", nodeIdByProperty(1))
+            .addParameter("targetNode", nodeIdByProperty(6))
+            .addParameter("relationshipWeightProperty", "cost")
+            .yields();
+
+        assertError(query, "Bidirectional Dijkstra requires an undirected graph");
+    }
+
+    private long nodeIdByProperty(long propertyValue) {
+        var nodeId = new MutableLong(0L);
+        runQueryWithRowConsumer(
+            formatWithLocale("MATCH (n) WHERE n.id = %d RETURN id(n) AS id", propertyValue),
+            resultRow -> nodeId.setValue(resultRow.getNumber("id"))
+        );
+        return nodeId.longValue();
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.configuration.Config;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.Settings;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.snapshot.GraphStoreSnapshotConfig;
+import org.neo4j.graphalgo.core.utils.snapshot.GraphStoreSnapshotReader;
+import org.neo4j.graphalgo.core.utils.snapshot.GraphStoreSnapshotWriter;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphSnapshotProc extends CatalogProc {
+
+    @Procedure(name = "gds.graph.snapshot.write", mode = READ)
+    @Description("Writes a named graph into a binary snapshot file.")
+    public Stream<SnapshotResult> write(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "path") String path
+    ) {
+        validateGraphName(graphName);
+        CypherMapWrapper.failOnBlank("path", path);
+        if (!isAdmin()) {
+            throw new IllegalStateException("Writing a graph snapshot requires admin privileges.");
+        }
+        var snapshotPath = resolveSnapshotPath(path);
+
+        var result = runWithExceptionLogging("Graph snapshot failed", () -> {
+            var graphStoreWithConfig = GraphStoreCatalog.get(username(), databaseId(), graphName);
+            var graphStore = graphStoreWithConfig.graphStore();
+
+            var start = System.nanoTime();
+            var sizeInBytes = GraphStoreSnapshotWriter.write(graphStoreWithConfig.config(), graphStore, snapshotPath);
+            var end = System.nanoTime();
+
+            return new SnapshotResult(
+                graphName,
+                path,
+                graphStore.nodeCount(),
+                graphStore.relationshipCount(),
+                sizeInBytes,
+                TimeUnit.NANOSECONDS.toMillis(end - start)
+            );
+        });
+
+        return Stream.of(result);
+    }
+
+    @Procedure(name = "gds.graph.snapshot.read", mode = READ)
+    @Description("Restores a named graph from a binary snapshot file.")
+    public Stream<SnapshotResult> read(
+        @Name(value = "path") String path,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        CypherMapWrapper.failOnBlank("path", path);
+        var cypherConfig = CypherMapWrapper.create(configuration);
+        var config = GraphStoreSnapshotConfig.of(username(), cypherConfig);
+        validateConfig(cypherConfig, config);
+        config.graphName().ifPresent(graphName -> validateGraphName(username(), graphName));
+        var snapshotPath = resolveSnapshotPath(path);
+
+        var result = runWithExceptionLogging("Graph snapshot restore failed", () -> {
+            var start = System.nanoTime();
+            var graphStoreWithConfig = GraphStoreSnapshotReader.read(
+                snapshotPath,
+                username(),
+                databaseId(),
+                config.graphName(),
+                config.concurrency(),
+                allocationTracker()
+            );
+            var end = System.nanoTime();
+
+            var graphStore = graphStoreWithConfig.graphStore();
+            var graphName = graphStoreWithConfig.config().graphName();
+            validateGraphName(username(), graphName);
+            GraphStoreCatalog.set(graphStoreWithConfig.config(), graphStore);
+
+            return new SnapshotResult(
+                graphName,
+                path,
+                graphStore.nodeCount(),
+                graphStore.relationshipCount(),
+                snapshotPath.toFile().length(),
+                TimeUnit.NANOSECONDS.toMillis(end - start)
+            );
+        });
+
+        return Stream.of(result);
+    }
+
+    private boolean isAdmin() {
+        return transaction == null || transaction.securityContext().isAdmin();
+    }
+
+    /**
+     * Resolves the given path against the configured snapshot directory.
+     * Absolute paths and paths that point outside of that directory, also by following links, are rejected.
+     */
+    private Path resolveSnapshotPath(String path) {
+        var config = api.getDependencyResolver().resolveDependency(Config.class);
+        return resolveSnapshotPath(config.get(Settings.snapshotLocation()), path);
+    }
+
+    static Path resolveSnapshotPath(@Nullable String snapshotLocation, String path) {
+        if (snapshotLocation == null || snapshotLocation.isBlank()) {
+            throw new IllegalStateException(formatWithLocale(
+                "Graph snapshots are disabled. Set `%s` to the directory that should hold the snapshots.",
+                Settings.snapshotLocation().name()
+            ));
+        }
+        var relativePath = Path.of(path);
+        if (relativePath.isAbsolute()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The snapshot path `%s` must be relative to the snapshot directory.",
+                path
+            ));
+        }
+
+        try {
+            var directory = Path.of(snapshotLocation).toRealPath();
+            var snapshotPath = directory.resolve(relativePath).normalize();
+            // links are resolved through the closest existing ancestor
+            var existing = snapshotPath;
+            while (!Files.exists(existing)) {
+                existing = existing.getParent();
+            }
+            if (!snapshotPath.startsWith(directory) || !existing.toRealPath().startsWith(directory)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "The snapshot path `%s` must not point outside of the snapshot directory.",
+                    path
+                ));
+            }
+            return snapshotPath;
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException(formatWithLocale(
+                "The snapshot directory `%s` does not exist.",
+                snapshotLocation
+            ), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static class SnapshotResult {
+        public final String graphName;
+        public final String path;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long sizeInBytes;
+        public final long millis;
+
+        SnapshotResult(
+            String graphName,
+            String path,
+            long nodeCount,
+            long relationshipCount,
+            long sizeInBytes,
+            long millis
+        ) {
+            this.graphName = graphName;
+            this.path = path;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.sizeInBytes = sizeInBytes;
+            this.millis = millis;
+        }
+    }
+}
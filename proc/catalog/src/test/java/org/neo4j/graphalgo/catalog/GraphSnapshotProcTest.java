@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.core.Settings;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.neo4j.test.extension.ExtensionCallback;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class GraphSnapshotProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { prop1: 0, prop2: 42 })" +
+        ", (b:A { prop1: 1, prop2: 43 })" +
+        ", (c:B { prop1: 2, prop2: 44 })" +
+        ", (d:B { prop1: 3 })" +
+        ", (a)-[:REL1 { weight: 42 }]->(a)" +
+        ", (a)-[:REL1 { weight: 43 }]->(b)" +
+        ", (b)-[:REL2 { weight: 44 }]->(a)" +
+        ", (b)-[:REL2 { weight: 45 }]->(c)" +
+        ", (c)-[:REL1 { weight: 46 }]->(d)" +
+        ", (d)-[:REL2 { weight: 47 }]->(a)";
+
+    @TempDir
+    static Path snapshotDirectory;
+
+    @Override
+    @ExtensionCallback
+    protected void configuration(TestDatabaseManagementServiceBuilder builder) {
+        super.configuration(builder);
+        builder.setConfig(Settings.snapshotLocation(), snapshotDirectory.toString());
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphDropProc.class, GraphSnapshotProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+        try (var snapshots = Files.list(snapshotDirectory)) {
+            for (Path snapshot : (Iterable<Path>) snapshots::iterator) {
+                Files.delete(snapshot);
+            }
+        }
+    }
+
+    @Test
+    void writeAndReadSnapshot() {
+        var createQuery = GdsCypher.call()
+            .withNodeLabel("A")
+            .withNodeLabel("B")
+            .withNodeProperty("prop1")
+            .withNodeProperty("prop2")
+            .withRelationshipType("REL1")
+            .withRelationshipType("REL2")
+            .withRelationshipProperty("weight");
+        runQuery(createQuery.graphCreate("test-graph").yields());
+
+        var path = "test-graph.snapshot";
+
+        runQueryWithRowConsumer(formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path), row -> {
+            assertEquals("test-graph", row.getString("graphName"));
+            assertEquals(path, row.getString("path"));
+            assertEquals(4, row.getNumber("nodeCount").longValue());
+            assertEquals(6, row.getNumber("relationshipCount").longValue());
+            assertTrue(row.getNumber("sizeInBytes").longValue() > 0);
+        });
+
+        runQuery("CALL gds.graph.drop('test-graph')");
+
+        runQueryWithRowConsumer(formatWithLocale("CALL gds.graph.snapshot.read('%s')", path), row -> {
+            assertEquals("test-graph", row.getString("graphName"));
+            assertEquals(4, row.getNumber("nodeCount").longValue());
+            assertEquals(6, row.getNumber("relationshipCount").longValue());
+        });
+
+        runQuery(createQuery.graphCreate("expected-graph").yields());
+
+        GraphStore expected = GraphStoreCatalog.get(getUsername(), db.databaseId(), "expected-graph").graphStore();
+        GraphStore actual = GraphStoreCatalog.get(getUsername(), db.databaseId(), "test-graph").graphStore();
+        assertEquals(expected.schema(), actual.schema());
+        assertGraphEquals(expected.getUnion(), actual.getUnion());
+    }
+
+    @Test
+    void readSnapshotUnderDifferentName() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("test-graph").yields());
+        var path = "test-graph.snapshot";
+        runQuery(formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path));
+
+        runQueryWithRowConsumer(
+            formatWithLocale("CALL gds.graph.snapshot.read('%s', { graphName: 'restored', concurrency: 2 })", path),
+            row -> assertEquals("restored", row.getString("graphName"))
+        );
+
+        assertTrue(GraphStoreCatalog.exists(getUsername(), db.databaseId(), "restored"));
+    }
+
+    @Test
+    void failsOnExistingGraph() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("test-graph").yields());
+        var path = "test-graph.snapshot";
+        runQuery(formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path));
+
+        assertError(
+            formatWithLocale("CALL gds.graph.snapshot.read('%s')", path),
+            "A graph with name 'test-graph' already exists."
+        );
+    }
+
+    @Test
+    void failsOnExistingFile() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("test-graph").yields());
+        var path = "test-graph.snapshot";
+        runQuery(formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path));
+
+        assertError(
+            formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path),
+            "already exists"
+        );
+    }
+
+    @Test
+    void failsOnAbsolutePath() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("test-graph").yields());
+        var path = snapshotDirectory.resolve("test-graph.snapshot").toAbsolutePath().toString();
+
+        assertError(
+            formatWithLocale("CALL gds.graph.snapshot.write('test-graph', '%s')", path),
+            "must be relative to the snapshot directory"
+        );
+        assertError(
+            formatWithLocale("CALL gds.graph.snapshot.read('%s')", path),
+            "must be relative to the snapshot directory"
+        );
+    }
+
+    @Test
+    void failsOnPathOutsideOfSnapshotDirectory() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("test-graph").yields());
+
+        assertError(
+            "CALL gds.graph.snapshot.write('test-graph', '../test-graph.snapshot')",
+            "must not point outside of the snapshot directory"
+        );
+        assertError(
+            "CALL gds.graph.snapshot.read('nested/../../test-graph.snapshot')",
+            "must not point outside of the snapshot directory"
+        );
+    }
+
+    @Test
+    void failsWithoutSnapshotDirectory() {
+        assertThatThrownBy(() -> GraphSnapshotProc.resolveSnapshotPath(null, "test-graph.snapshot"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Graph snapshots are disabled. Set `gds.snapshot.location`");
+    }
+}
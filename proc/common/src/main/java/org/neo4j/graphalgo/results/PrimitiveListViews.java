@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.results;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link List} views over primitive arrays for procedure results.
+ *
+ * Copying an embedding into a list of boxed values allocates one object per element for every streamed row.
+ * The views share the array instead, and values are boxed only when Cypher reads them.
+ * The arrays must not be modified while the results are consumed.
+ */
+public final class PrimitiveListViews {
+
+    private PrimitiveListViews() {}
+
+    public static List<Double> doubleList(double[] values) {
+        return new DoubleArrayView(values);
+    }
+
+    public static List<Double> doubleList(float[] values) {
+        return new FloatArrayAsDoubleView(values);
+    }
+
+    public static List<Number> numberList(float[] values) {
+        return new FloatArrayView(values);
+    }
+
+    private static final class DoubleArrayView extends AbstractList<Double> implements RandomAccess {
+        private final double[] values;
+
+        DoubleArrayView(double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    private static final class FloatArrayAsDoubleView extends AbstractList<Double> implements RandomAccess {
+        private final float[] values;
+
+        FloatArrayAsDoubleView(float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return (double) values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    private static final class FloatArrayView extends AbstractList<Number> implements RandomAccess {
+        private final float[] values;
+
+        FloatArrayView(float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Number get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
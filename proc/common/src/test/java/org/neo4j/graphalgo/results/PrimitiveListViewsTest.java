@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.results;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrimitiveListViewsTest {
+
+    static Stream<Arguments> views() {
+        return Stream.of(
+            Arguments.of(PrimitiveListViews.doubleList(new double[]{1.5, -2.0, 42.0}), List.of(1.5, -2.0, 42.0)),
+            Arguments.of(PrimitiveListViews.doubleList(new float[]{1.5F, -2.0F, 42.0F}), List.of(1.5, -2.0, 42.0)),
+            Arguments.of(PrimitiveListViews.numberList(new float[]{1.5F, -2.0F, 42.0F}), List.of(1.5F, -2.0F, 42.0F))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("views")
+    void shouldReadValues(List<? extends Number> view, List<? extends Number> expected) {
+        assertEquals(expected.size(), view.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), view.get(i));
+        }
+        assertThat(view).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("views")
+    void shouldThrowOnOutOfBoundsAccess(List<? extends Number> view, List<? extends Number> expected) {
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(expected.size()));
+    }
+
+    @ParameterizedTest
+    @MethodSource("views")
+    void shouldBeImmutable(List<? extends Number> view, List<? extends Number> expected) {
+        @SuppressWarnings("unchecked") var numbers = (List<Number>) view;
+        assertThrows(UnsupportedOperationException.class, () -> numbers.set(0, 1.0));
+        assertThrows(UnsupportedOperationException.class, () -> numbers.add(1.0));
+        assertThrows(UnsupportedOperationException.class, () -> numbers.remove(0));
+        assertThrows(UnsupportedOperationException.class, numbers::clear);
+        assertThat(view).containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @MethodSource("views")
+    void shouldBeEqualToListsWithTheSameElements(List<? extends Number> view, List<? extends Number> expected) {
+        var copy = new ArrayList<>(expected);
+
+        assertEquals(copy, view);
+        assertEquals(view, copy);
+        assertEquals(copy.hashCode(), view.hashCode());
+        assertEquals(expected.hashCode(), view.hashCode());
+    }
+
+    @Test
+    void shouldNotBeEqualToListsWithOtherElements() {
+        var view = PrimitiveListViews.doubleList(new double[]{1.0, 2.0});
+
+        assertThat(view).isNotEqualTo(List.of(1.0));
+        assertThat(view).isNotEqualTo(List.of(2.0, 1.0));
+        // a float view boxes to Float, which is never equal to a Double
+        assertThat(PrimitiveListViews.numberList(new float[]{1.0F, 2.0F})).isNotEqualTo(view);
+    }
+
+    @Test
+    void shouldShareTheUnderlyingArray() {
+        var values = new double[]{1.0, 2.0};
+        var view = PrimitiveListViews.doubleList(values);
+
+        values[1] = 3.0;
+
+        assertEquals(List.of(1.0, 3.0), view);
+    }
+}
@@ -29,13 +29,13 @@ import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.neo4j.gds.embeddings.fastrp.FastRPCompanion.DESCRIPTION;
+import static org.neo4j.graphalgo.results.PrimitiveListViews.numberList;
 import static org.neo4j.procedure.Mode.READ;
 
 public class FastRPStreamProc extends StreamProc<FastRP, FastRP, FastRPStreamProc.StreamResult, FastRPStreamConfig> {
@@ -95,15 +95,7 @@ public class FastRPStreamProc extends StreamProc<FastRP, FastRP, FastRPStreamPro
 
         StreamResult(long nodeId, float[] embedding) {
             this.nodeId = nodeId;
-            this.embedding = arrayToList(embedding);
-        }
-
-        static List<Number> arrayToList(float[] values) {
-            var floats = new ArrayList<Number>(values.length);
-            for (float value : values) {
-                floats.add(value);
-            }
-            return floats;
+            this.embedding = numberList(embedding);
         }
     }
 }
@@ -38,7 +38,7 @@ public final class GraphSageCompanion {
 
     @NotNull
     public static <T extends GraphSageBaseConfig> DoubleArrayNodeProperties getNodeProperties(AlgoBaseProc.ComputationResult<GraphSage, GraphSage.GraphSageResult, T> computationResult) {
-        return computationResult.result().embeddings()::get;
+        return computationResult.result().embeddings()::getRow;
     }
 
     /**
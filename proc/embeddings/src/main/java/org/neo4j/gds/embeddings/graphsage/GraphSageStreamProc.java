@@ -34,15 +34,14 @@ import org.neo4j.procedure.Mode;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.neo4j.gds.embeddings.graphsage.GraphSageCompanion.GRAPHSAGE_DESCRIPTION;
+import static org.neo4j.graphalgo.results.PrimitiveListViews.doubleList;
 
 public class GraphSageStreamProc extends StreamProc<GraphSage, GraphSage.GraphSageResult, GraphSageStreamProc.GraphSageStreamResult, GraphSageStreamConfig> {
 
@@ -77,7 +76,7 @@ public class GraphSageStreamProc extends StreamProc<GraphSage, GraphSage.GraphSa
             return LongStream.range(0, graph.nodeCount())
                 .mapToObj(i -> new GraphSageStreamResult(
                     graph.toOriginalNodeId(i),
-                    result.embeddings().get(i)
+                    result.embeddings().getRow(i)
                 ));
         });
     }
@@ -124,7 +123,7 @@ public class GraphSageStreamProc extends StreamProc<GraphSage, GraphSage.GraphSa
 
         GraphSageStreamResult(long nodeId, double[] embeddings) {
             this.nodeId = nodeId;
-            this.embedding = Arrays.stream(embeddings).boxed().collect(Collectors.toList());
+            this.embedding = doubleList(embeddings);
         }
     }
 }
@@ -25,6 +25,8 @@ import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -101,6 +103,52 @@ public final class FeatureToggleProc {
         return Stream.of(new FeatureState(GdsFeatureToggles.USE_PARALLEL_PROPERTY_VALUE_INDEX.isEnabled()));
     }
 
+    @Procedure("gds.features.useBlockPackedAdjacency")
+    @Description("Toggle whether adjacency lists should be compressed into bit-packed blocks during graph creation.")
+    public void useBlockPackedAdjacency(@Name(value = "useBlockPackedAdjacency") boolean useBlockPackedAdjacency) {
+        GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY.toggle(useBlockPackedAdjacency);
+    }
+
+    @Procedure("gds.features.useBlockPackedAdjacency.reset")
+    @Description("Set the behavior of whether to use bit-packed adjacency lists to the default. That value is returned.")
+    public Stream<FeatureState> resetUseBlockPackedAdjacency() {
+        GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY.isEnabled()));
+    }
+
+    @Procedure("gds.features.useMappedAdjacency")
+    @Description("Toggle whether adjacency lists should be written to memory-mapped files during graph creation.")
+    public void useMappedAdjacency(@Name(value = "useMappedAdjacency") boolean useMappedAdjacency) {
+        GdsFeatureToggles.USE_MAPPED_ADJACENCY.toggle(useMappedAdjacency);
+    }
+
+    @Procedure("gds.features.useMappedAdjacency.reset")
+    @Description("Set the behavior of whether to use memory-mapped adjacency lists to the default. That value is returned.")
+    public Stream<FeatureState> resetUseMappedAdjacency() {
+        GdsFeatureToggles.USE_MAPPED_ADJACENCY.reset();
+        return Stream.of(new FeatureState(GdsFeatureToggles.USE_MAPPED_ADJACENCY.isEnabled()));
+    }
+
+    @Procedure("gds.features.adjacencySpillDirectory")
+    @Description("Set the directory in which memory-mapped adjacency lists are created.")
+    public void adjacencySpillDirectory(@Name(value = "adjacencySpillDirectory") String adjacencySpillDirectory) {
+        var directory = Path.of(adjacencySpillDirectory);
+        if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Invalid value for adjacencySpillDirectory, `%s` is not a writable directory",
+                adjacencySpillDirectory
+            ));
+        }
+        GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(adjacencySpillDirectory);
+    }
+
+    @Procedure("gds.features.adjacencySpillDirectory.reset")
+    @Description("Set the directory for memory-mapped adjacency lists to the default. That value is returned.")
+    public Stream<FeatureSetting> resetAdjacencySpillDirectory() {
+        GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY_DEFAULT_SETTING);
+        return Stream.of(new FeatureSetting(GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY_DEFAULT_SETTING));
+    }
+
     @Procedure("gds.features.maxArrayLengthShift")
     @Description("Toggle how large arrays are allowed to get before they are being paged; value is a power of two.")
     public void maxArrayLengthShift(@Name(value = "maxArrayLengthShift") long maxArrayLengthShift) {
@@ -162,4 +210,12 @@ public final class FeatureToggleProc {
             this.value = value;
         }
     }
+
+    public static final class FeatureSetting {
+        public final String value;
+
+        FeatureSetting(String value) {
+            this.value = value;
+        }
+    }
 }
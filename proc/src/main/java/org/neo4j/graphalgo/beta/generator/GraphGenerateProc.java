@@ -119,6 +119,7 @@ public final class GraphGenerateProc extends BaseProc {
             .aggregation(config.aggregation())
             .orientation(config.orientation())
             .allowSelfLoops(AllowSelfLoops.of(config.allowSelfLoops()))
+            .concurrency(config.readConcurrency())
             .allocationTracker(allocationTracker());
        if (config.relationshipSeed() != null) {
            builder.seed(config.relationshipSeed());
@@ -77,7 +77,9 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.degree.stream",
         "gds.alpha.dfs.stream",
         "gds.alpha.scc.write",
+        "gds.alpha.scc.write.estimate",
         "gds.alpha.scc.stream",
+        "gds.alpha.scc.stream.estimate",
         "gds.alpha.shortestPath.deltaStepping.write",
         "gds.alpha.shortestPath.deltaStepping.stream",
         "gds.alpha.randomWalk.stream",
@@ -21,9 +21,11 @@ package org.neo4j.graphalgo;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 import org.neo4j.graphdb.QueryExecutionException;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -33,7 +35,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.SKIP_ORPHANS;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BIT_ID_MAP;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_BLOCK_PACKED_ADJACENCY;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_KERNEL_TRACKER;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_MAPPED_ADJACENCY;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PARALLEL_PROPERTY_VALUE_INDEX;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PRE_AGGREGATION;
 import static org.neo4j.graphalgo.utils.GdsFeatureToggles.USE_PROPERTY_VALUE_INDEX;
@@ -141,6 +145,81 @@ class FeatureToggleProcTest extends BaseProcTest {
         assertEquals(false, USE_PARALLEL_PROPERTY_VALUE_INDEX.isEnabled());
     }
 
+    @Test
+    void toggleUseBlockPackedAdjacency() {
+        var useBlockPackedAdjacency = USE_BLOCK_PACKED_ADJACENCY.isEnabled();
+        runQuery("CALL gds.features.useBlockPackedAdjacency($value)", Map.of("value", !useBlockPackedAdjacency));
+        assertEquals(!useBlockPackedAdjacency, USE_BLOCK_PACKED_ADJACENCY.isEnabled());
+        runQuery("CALL gds.features.useBlockPackedAdjacency($value)", Map.of("value", useBlockPackedAdjacency));
+        assertEquals(useBlockPackedAdjacency, USE_BLOCK_PACKED_ADJACENCY.isEnabled());
+    }
+
+    @Test
+    void resetUseBlockPackedAdjacency() {
+        USE_BLOCK_PACKED_ADJACENCY.reset();
+        assertCypherResult(
+            "CALL gds.features.useBlockPackedAdjacency.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_BLOCK_PACKED_ADJACENCY.isEnabled());
+    }
+
+    @Test
+    void toggleUseMappedAdjacency() {
+        var useMappedAdjacency = USE_MAPPED_ADJACENCY.isEnabled();
+        runQuery("CALL gds.features.useMappedAdjacency($value)", Map.of("value", !useMappedAdjacency));
+        assertEquals(!useMappedAdjacency, USE_MAPPED_ADJACENCY.isEnabled());
+        runQuery("CALL gds.features.useMappedAdjacency($value)", Map.of("value", useMappedAdjacency));
+        assertEquals(useMappedAdjacency, USE_MAPPED_ADJACENCY.isEnabled());
+    }
+
+    @Test
+    void resetUseMappedAdjacency() {
+        USE_MAPPED_ADJACENCY.reset();
+        assertCypherResult(
+            "CALL gds.features.useMappedAdjacency.reset()",
+            List.of(Map.of("enabled", false))
+        );
+        assertEquals(false, USE_MAPPED_ADJACENCY.isEnabled());
+    }
+
+    @Test
+    void toggleAdjacencySpillDirectory(@TempDir Path directory) {
+        var spillDirectory = GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get();
+        runQuery("CALL gds.features.adjacencySpillDirectory($value)", Map.of("value", directory.toString()));
+        assertEquals(directory.toString(), GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get());
+        runQuery("CALL gds.features.adjacencySpillDirectory($value)", Map.of("value", spillDirectory));
+        assertEquals(spillDirectory, GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get());
+    }
+
+    @Test
+    void toggleAdjacencySpillDirectoryValidation(@TempDir Path directory) {
+        var spillDirectory = GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get();
+        var missing = directory.resolve("missing").toString();
+        var exception = assertThrows(
+            QueryExecutionException.class,
+            () -> runQuery("CALL gds.features.adjacencySpillDirectory($value)", Map.of("value", missing))
+        );
+        assertThat(exception)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class)
+            .hasRootCauseMessage(formatWithLocale(
+                "Invalid value for adjacencySpillDirectory, `%s` is not a writable directory",
+                missing
+            ));
+        assertEquals(spillDirectory, GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get());
+    }
+
+    @Test
+    void resetAdjacencySpillDirectory(@TempDir Path directory) {
+        var defaultValue = GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY_DEFAULT_SETTING;
+        GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.set(directory.toString());
+        assertCypherResult(
+            "CALL gds.features.adjacencySpillDirectory.reset()",
+            List.of(Map.of("value", defaultValue))
+        );
+        assertEquals(defaultValue, GdsFeatureToggles.ADJACENCY_SPILL_DIRECTORY.get());
+    }
+
     @Test
     void toggleUseBitIdMap() {
         runWithEnterpriseLicense(() -> {